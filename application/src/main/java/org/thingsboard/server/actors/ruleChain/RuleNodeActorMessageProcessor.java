@@ -26,6 +26,7 @@ import org.thingsboard.server.actors.shared.ComponentMsgProcessor;
 import org.thingsboard.server.common.data.ApiUsageRecordKey;
 import org.thingsboard.server.common.data.id.RuleNodeId;
 import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.data.plugin.ComponentLifecycleEvent;
 import org.thingsboard.server.common.data.plugin.ComponentLifecycleState;
 import org.thingsboard.server.common.data.rule.RuleNode;
 import org.thingsboard.server.common.msg.TbMsg;
@@ -102,7 +103,30 @@ public class RuleNodeActorMessageProcessor extends ComponentMsgProcessor<RuleNod
     public void stop(TbActorCtx context) {
         log.debug("[{}][{}] Stopping", tenantId, entityId);
         if (tbNode != null) {
-            tbNode.destroy();
+            if (isRuleNodeDeleted()) {
+                // the rule nodes of the deleted rule chain are stopped by the rule chain actor without the delete event
+                tbNode.destroy(defaultCtx, ComponentLifecycleEvent.DELETED);
+            } else {
+                tbNode.destroy();
+            }
+            state = ComponentLifecycleState.SUSPENDED;
+        }
+    }
+
+    private boolean isRuleNodeDeleted() {
+        try {
+            return systemContext.getRuleChainService().findRuleNodeById(tenantId, entityId) == null;
+        } catch (Exception e) {
+            log.debug("[{}][{}] Failed to check if the rule node is deleted", tenantId, entityId, e);
+            return false;
+        }
+    }
+
+    @Override
+    public void onDelete(TbActorCtx context) {
+        log.debug("[{}][{}] Deleting", tenantId, entityId);
+        if (tbNode != null) {
+            tbNode.destroy(defaultCtx, ComponentLifecycleEvent.DELETED);
             state = ComponentLifecycleState.SUSPENDED;
         }
     }
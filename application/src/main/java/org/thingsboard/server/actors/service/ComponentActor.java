@@ -120,7 +120,7 @@ public abstract class ComponentActor<T extends EntityId, P extends ComponentMsgP
                     processor.onSuspend(ctx);
                     break;
                 case DELETED:
-                    processor.onStop(ctx);
+                    processor.onDelete(ctx);
                     ctx.stop(ctx.getSelf());
                     break;
                 default:
@@ -74,6 +74,10 @@ public abstract class ComponentMsgProcessor<T extends EntityId> extends Abstract
         stop(context);
     }
 
+    public void onDelete(TbActorCtx context) throws Exception {
+        stop(context);
+    }
+
     private void restart(TbActorCtx context) throws Exception {
         stop(context);
         start(context);
@@ -0,0 +1,168 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.actors.stats;
+
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.thingsboard.server.actors.TbActorId;
+import org.thingsboard.server.actors.TbActorMailboxMonitor;
+import org.thingsboard.server.actors.TbCalculatedFieldEntityActorId;
+import org.thingsboard.server.common.data.EntityType;
+import org.thingsboard.server.common.stats.StatsFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "actors.system.mailbox_stats", name = "enabled", havingValue = "true")
+public class DefaultActorMailboxMonitor implements TbActorMailboxMonitor {
+
+    private static final String WAIT_TIME_KEY = "actors.mailbox.waitTime";
+    private static final String PROCESS_TIME_KEY = "actors.mailbox.processTime";
+    private static final String MAILBOX_SIZE_KEY = "actors.mailbox.size";
+    private static final String DISPATCHER_TAG = "dispatcher";
+    private static final String ACTOR_TYPE_TAG = "actorType";
+
+    private final StatsFactory statsFactory;
+
+    @Value("${actors.system.mailbox_stats.top_n:10}")
+    private int topN;
+
+    private final ConcurrentMap<String, ConcurrentMap<String, ActorTypeStats>> typeStats = new ConcurrentHashMap<>();
+    private final ConcurrentMap<TbActorId, ActorStats> actorStats = new ConcurrentHashMap<>();
+
+    @Override
+    public void onMsgProcessed(TbActorId actorId, String dispatcherId, int mailboxSize, long waitTimeNanos, long processTimeNanos) {
+        String actorType = getActorType(actorId);
+        typeStats.computeIfAbsent(dispatcherId, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(actorType, type -> new ActorTypeStats(dispatcherId, type))
+                .record(mailboxSize, waitTimeNanos, processTimeNanos);
+        actorStats.computeIfAbsent(actorId, id -> new ActorStats(id, dispatcherId, actorType))
+                .record(mailboxSize, waitTimeNanos, processTimeNanos);
+    }
+
+    @Scheduled(fixedDelayString = "${actors.system.mailbox_stats.print_interval_ms:60000}",
+            initialDelayString = "${actors.system.mailbox_stats.print_interval_ms:60000}")
+    public void printStats() {
+        typeStats.values().forEach(byType -> byType.values().forEach(stats -> {
+            if (stats.getCount().sum() > 0) {
+                log.info("[{}][{}] Processed msgs [{}] avgWaitTime [{}ms] avgProcessTime [{}ms] maxMailboxSize [{}]",
+                        stats.getDispatcherId(), stats.getActorType(), stats.getCount().sum(),
+                        toAvgMs(stats.getWaitTime().sum(), stats.getCount().sum()),
+                        toAvgMs(stats.getProcessTime().sum(), stats.getCount().sum()), stats.getMaxMailboxSize().get());
+                stats.reset();
+            }
+        }));
+        List<ActorStats> slowest = new ArrayList<>(actorStats.values());
+        actorStats.clear();
+        slowest.sort(Comparator.comparingLong((ActorStats stats) -> stats.getProcessTime().sum()).reversed());
+        for (int i = 0; i < Math.min(topN, slowest.size()); i++) {
+            ActorStats stats = slowest.get(i);
+            log.info("Top slow actor #{}: [{}][{}][{}] processed msgs [{}] totalProcessTime [{}ms] avgWaitTime [{}ms] maxMailboxSize [{}]",
+                    i + 1, stats.getDispatcherId(), stats.getActorType(), stats.getActorId(), stats.getCount().sum(),
+                    TimeUnit.NANOSECONDS.toMillis(stats.getProcessTime().sum()),
+                    toAvgMs(stats.getWaitTime().sum(), stats.getCount().sum()), stats.getMaxMailboxSize().get());
+        }
+    }
+
+    static String getActorType(TbActorId actorId) {
+        if (actorId instanceof TbCalculatedFieldEntityActorId) {
+            return "CF_ENTITY";
+        }
+        EntityType entityType = actorId.getEntityType();
+        if (entityType != null) {
+            return entityType.name();
+        }
+        String id = actorId.toString();
+        return id.startsWith("CFM|") ? "CF_MANAGER" : id;
+    }
+
+    private static double toAvgMs(long totalNanos, long count) {
+        return count > 0 ? (double) TimeUnit.NANOSECONDS.toMicros(totalNanos) / count / 1000 : 0.0;
+    }
+
+    @Getter
+    private static class ActorStats {
+
+        private final TbActorId actorId;
+        private final String dispatcherId;
+        private final String actorType;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder waitTime = new LongAdder();
+        private final LongAdder processTime = new LongAdder();
+        private final AtomicInteger maxMailboxSize = new AtomicInteger();
+
+        ActorStats(TbActorId actorId, String dispatcherId, String actorType) {
+            this.actorId = actorId;
+            this.dispatcherId = dispatcherId;
+            this.actorType = actorType;
+        }
+
+        void record(int mailboxSize, long waitTimeNanos, long processTimeNanos) {
+            count.increment();
+            waitTime.add(waitTimeNanos);
+            processTime.add(processTimeNanos);
+            maxMailboxSize.accumulateAndGet(mailboxSize, Math::max);
+        }
+
+        void reset() {
+            count.reset();
+            waitTime.reset();
+            processTime.reset();
+            maxMailboxSize.set(0);
+        }
+
+    }
+
+    @Getter
+    private class ActorTypeStats extends ActorStats {
+
+        private final Timer waitTimer;
+        private final Timer processTimer;
+        private final AtomicInteger mailboxSize;
+
+        ActorTypeStats(String dispatcherId, String actorType) {
+            super(null, dispatcherId, actorType);
+            this.waitTimer = statsFactory.createTimer(WAIT_TIME_KEY, DISPATCHER_TAG, dispatcherId, ACTOR_TYPE_TAG, actorType);
+            this.processTimer = statsFactory.createTimer(PROCESS_TIME_KEY, DISPATCHER_TAG, dispatcherId, ACTOR_TYPE_TAG, actorType);
+            this.mailboxSize = statsFactory.createGauge(MAILBOX_SIZE_KEY, new AtomicInteger(), DISPATCHER_TAG, dispatcherId, ACTOR_TYPE_TAG, actorType);
+        }
+
+        @Override
+        void record(int mailboxSize, long waitTimeNanos, long processTimeNanos) {
+            super.record(mailboxSize, waitTimeNanos, processTimeNanos);
+            waitTimer.record(waitTimeNanos, TimeUnit.NANOSECONDS);
+            processTimer.record(processTimeNanos, TimeUnit.NANOSECONDS);
+            this.mailboxSize.set(mailboxSize);
+        }
+
+    }
+
+}
@@ -28,6 +28,7 @@ import org.thingsboard.rule.engine.api.MqttClientSettings;
 public class MqttClientSettingsComponent implements MqttClientSettings {
 
     private final MqttClientRetransmissionSettingsComponent retransmissionSettingsComponent;
+    private final MqttClientOutboundBufferSettingsComponent outboundBufferSettingsComponent;
 
     @Override
     public int getRetransmissionMaxAttempts() {
@@ -44,4 +45,9 @@ public class MqttClientSettingsComponent implements MqttClientSettings {
         return retransmissionSettingsComponent.getJitterFactor();
     }
 
+    @Override
+    public String getOutboundBufferDirectory() {
+        return outboundBufferSettingsComponent.getDirectory();
+    }
+
 }
@@ -31,11 +31,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.annotation.Nullable;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -71,6 +74,8 @@ import org.thingsboard.server.common.data.kv.DataType;
 import org.thingsboard.server.common.data.kv.DeleteTsKvQuery;
 import org.thingsboard.server.common.data.kv.IntervalType;
 import org.thingsboard.server.common.data.kv.KvEntry;
+import org.thingsboard.server.common.data.kv.TimeseriesBatchRequest;
+import org.thingsboard.server.common.data.kv.TimeseriesExportFormat;
 import org.thingsboard.server.common.data.kv.TsKvEntry;
 import org.thingsboard.server.common.data.tenant.profile.DefaultTenantProfileConfiguration;
 import org.thingsboard.server.common.msg.rule.engine.DeviceAttributesEventNotificationMsg;
@@ -84,6 +89,7 @@ import org.thingsboard.server.service.telemetry.AttributeData;
 import org.thingsboard.server.service.telemetry.TbTelemetryService;
 import org.thingsboard.server.service.telemetry.TsData;
 
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
@@ -93,6 +99,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 import static org.thingsboard.server.controller.ControllerConstants.ATTRIBUTES_JSON_REQUEST_DESCRIPTION;
 import static org.thingsboard.server.controller.ControllerConstants.ATTRIBUTES_KEYS_DESCRIPTION;
@@ -320,6 +327,76 @@ public class TelemetryController extends BaseController {
         return response;
     }
 
+    @ApiOperation(value = "Get time series data of multiple entities (getTimeseriesBatch)",
+            notes = "Returns the same time series keys for the list of entities with a single request. " +
+                    "If 'startTs' and 'endTs' are not set, the latest values are returned, otherwise the values in the time range " +
+                    "with the optional aggregation, the same as 'getTimeseries' returns for a single entity. " +
+                    "The access to all the entities is checked before any data is fetched: the request fails if any of the entities can't be read. " +
+                    "The response is a JSON object where the keys are entity ids and the values have the same format as 'getTimeseries' response. \n\n"
+                    + TENANT_OR_CUSTOMER_AUTHORITY_PARAGRAPH)
+    @PreAuthorize("hasAnyAuthority('SYS_ADMIN', 'TENANT_ADMIN', 'CUSTOMER_USER')")
+    @PostMapping(value = "/values/timeseries/batch")
+    @ResponseBody
+    public DeferredResult<ResponseEntity> getTimeseriesBatch(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Batch request with the entity ids, keys and the optional time range.")
+            @RequestBody TimeseriesBatchRequest request) throws ThingsboardException {
+        DeferredResult<ResponseEntity> response = new DeferredResult<>();
+        Futures.addCallback(tbTelemetryService.getTimeseries(request, getCurrentUser()), new FutureCallback<>() {
+            @Override
+            public void onSuccess(Map<EntityId, List<TsKvEntry>> data) {
+                Map<String, Map<String, List<TsData>>> result = new LinkedHashMap<>();
+                data.forEach((entityId, entries) -> result.put(entityId.getId().toString(), toTsData(entries, request.isUseStrictDataTypes())));
+                response.setResult(new ResponseEntity<>(result, HttpStatus.OK));
+            }
+
+            @Override
+            public void onFailure(Throwable e) {
+                log.debug("Failed to fetch time series batch", e);
+                AccessValidator.handleError(e, response, HttpStatus.INTERNAL_SERVER_ERROR);
+            }
+        }, MoreExecutors.directExecutor());
+        return response;
+    }
+
+    @ApiOperation(value = "Export time series data (exportTimeseries)",
+            notes = "Streams all raw time series values of the specified keys in the time range, ordered by key and timestamp. " +
+                    "Unlike 'getTimeseries', the result is not limited and is not collected in memory: the records are fetched from the database in chunks " +
+                    "and written to the response as they are read. " +
+                    "Supported formats are NDJSON (one JSON object with 'ts', 'key' and 'value' per line) and CSV (with the 'ts,key,value' header). " +
+                    "Use 'gzip' parameter to compress the response." +
+                    "\n\n" + INVALID_ENTITY_ID_OR_ENTITY_TYPE_DESCRIPTION + TENANT_OR_CUSTOMER_AUTHORITY_PARAGRAPH)
+    @PreAuthorize("hasAnyAuthority('SYS_ADMIN', 'TENANT_ADMIN', 'CUSTOMER_USER')")
+    @GetMapping(value = "/{entityType}/{entityId}/values/timeseries/export", params = {"keys", "startTs", "endTs"})
+    public void exportTimeseries(
+            @Parameter(description = ENTITY_TYPE_PARAM_DESCRIPTION, required = true, schema = @Schema(defaultValue = "DEVICE")) @PathVariable("entityType") String entityType,
+            @Parameter(description = ENTITY_ID_PARAM_DESCRIPTION, required = true) @PathVariable("entityId") String entityIdStr,
+            @Parameter(description = TELEMETRY_KEYS_BASE_DESCRIPTION, required = true) @RequestParam(name = "keys") String keys,
+            @Parameter(description = "A long value representing the start timestamp of the time range in milliseconds, UTC.")
+            @RequestParam(name = "startTs") Long startTs,
+            @Parameter(description = "A long value representing the end timestamp of the time range in milliseconds, UTC.")
+            @RequestParam(name = "endTs") Long endTs,
+            @Parameter(description = "Format of the exported data.", schema = @Schema(allowableValues = {"NDJSON", "CSV"}))
+            @RequestParam(name = "format", defaultValue = "NDJSON") TimeseriesExportFormat format,
+            @Parameter(description = "Compress the response with gzip ('Content-Encoding: gzip').")
+            @RequestParam(name = "gzip", defaultValue = "false") boolean gzip,
+            @Parameter(description = STRICT_DATA_TYPES_DESCRIPTION)
+            @RequestParam(name = "useStrictDataTypes", required = false, defaultValue = "false") Boolean useStrictDataTypes,
+            HttpServletResponse response) throws Exception {
+        EntityId entityId = EntityIdFactory.getByTypeAndId(entityType, entityIdStr);
+        checkEntityId(entityId, Operation.READ_TELEMETRY);
+        List<String> keysList = toKeysList(keys);
+        checkNotNull(keysList, "Keys can't be empty");
+
+        // the response is written synchronously, so that long exports are not limited by the async request timeout
+        response.setContentType(format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + entityId.getId() + "_timeseries." + format.getFileExtension());
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        OutputStream out = gzip ? new GZIPOutputStream(response.getOutputStream(), 8192) : response.getOutputStream();
+        tbTelemetryService.exportTimeseries(getTenantId(), entityId, keysList, startTs, endTs, format, useStrictDataTypes, out);
+    }
+
     @ApiOperation(value = "Save device attributes (saveDeviceAttributes)",
             notes = "Creates or updates the device attributes based on device id and specified attribute scope. " +
                     SAVE_ATTRIBUTES_REQUEST_PAYLOAD
@@ -818,12 +895,7 @@ public class TelemetryController extends BaseController {
         return new FutureCallback<>() {
             @Override
             public void onSuccess(List<TsKvEntry> data) {
-                Map<String, List<TsData>> result = new LinkedHashMap<>();
-                for (TsKvEntry entry : data) {
-                    Object value = useStrictDataTypes ? getKvValue(entry) : entry.getValueAsString();
-                    result.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).add(new TsData(entry.getTs(), value));
-                }
-                response.setResult(new ResponseEntity<>(result, HttpStatus.OK));
+                response.setResult(new ResponseEntity<>(toTsData(data, useStrictDataTypes), HttpStatus.OK));
             }
 
             @Override
@@ -834,6 +906,15 @@ public class TelemetryController extends BaseController {
         };
     }
 
+    private Map<String, List<TsData>> toTsData(List<TsKvEntry> data, boolean useStrictDataTypes) {
+        Map<String, List<TsData>> result = new LinkedHashMap<>();
+        for (TsKvEntry entry : data) {
+            Object value = useStrictDataTypes ? getKvValue(entry) : entry.getValueAsString();
+            result.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).add(new TsData(entry.getTs(), value));
+        }
+        return result;
+    }
+
     private void logTimeseriesDeleted(SecurityUser user, EntityId entityId, List<String> keys, long startTs, long endTs, Throwable e) {
         logEntityActionService.logEntityAction(user.getTenantId(), entityId, ActionType.TIMESERIES_DELETED, user,
                 toException(e), keys, startTs, endTs);
@@ -32,6 +32,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.annotation.Validated;
+import org.thingsboard.common.util.ThingsBoardExecutors;
 import org.thingsboard.common.util.ThingsBoardThreadFactory;
 
 import java.time.Duration;
@@ -59,15 +60,23 @@ class DefaultAiRequestsExecutor implements AiRequestsExecutor {
         @Min(value = 1, message = "Termination timeout must be at least 1 second")
         private int terminationTimeoutSeconds = 60;
 
+        private boolean useVirtualThreads = false;
+
     }
 
     private ListeningExecutorService executorService;
 
     @PostConstruct
     private void init() {
-        executorService = MoreExecutors.listeningDecorator(
-                Executors.newFixedThreadPool(properties.getPoolSize(), ThingsBoardThreadFactory.forName(properties.getPoolName()))
-        );
+        if (properties.isUseVirtualThreads()) {
+            executorService = MoreExecutors.listeningDecorator(
+                    ThingsBoardExecutors.newVirtualThreadPerTaskExecutor(properties.getPoolSize(), properties.getPoolName())
+            );
+        } else {
+            executorService = MoreExecutors.listeningDecorator(
+                    Executors.newFixedThreadPool(properties.getPoolSize(), ThingsBoardThreadFactory.forName(properties.getPoolName()))
+            );
+        }
     }
 
     @Override
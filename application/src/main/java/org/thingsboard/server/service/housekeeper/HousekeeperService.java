@@ -15,6 +15,7 @@
  */
 package org.thingsboard.server.service.housekeeper;
 
+import com.google.common.collect.Lists;
 import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Lazy;
@@ -36,9 +37,13 @@ import org.thingsboard.server.queue.util.TbCoreComponent;
 import org.thingsboard.server.service.housekeeper.processor.HousekeeperTaskProcessor;
 import org.thingsboard.server.service.housekeeper.stats.HousekeeperStatsService;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -61,7 +66,8 @@ public class HousekeeperService {
     private final QueueConsumerManager<TbProtoQueueMsg<ToHousekeeperServiceMsg>> consumer;
 
     private final ExecutorService consumerExecutor = Executors.newSingleThreadExecutor(ThingsBoardThreadFactory.forName("housekeeper-consumer"));
-    private final ExecutorService taskExecutor = Executors.newSingleThreadExecutor(ThingsBoardThreadFactory.forName("housekeeper-task-processor"));
+    private final ExecutorService taskExecutor;
+    private final Map<HousekeeperTaskType, ExecutorService> taskTypeExecutors = new ConcurrentHashMap<>();
 
     public HousekeeperService(HousekeeperConfig config,
                               HousekeeperReprocessingService reprocessingService,
@@ -81,6 +87,9 @@ public class HousekeeperService {
                 .consumerExecutor(consumerExecutor)
                 .build();
         this.taskProcessors = taskProcessors.stream().collect(Collectors.toMap(HousekeeperTaskProcessor::getTaskType, p -> p));
+        // one thread per task dispatcher and one for the reprocessing consumer, so the tasks stuck after the timeout don't pile up threads
+        int maxConcurrentTasks = Arrays.stream(HousekeeperTaskType.values()).mapToInt(config::getTaskProcessingParallelism).sum() + 1;
+        this.taskExecutor = Executors.newFixedThreadPool(maxConcurrentTasks, ThingsBoardThreadFactory.forName("housekeeper-task-processor"));
     }
 
     @AfterStartUp(order = AfterStartUp.REGULAR_SERVICE)
@@ -89,21 +98,133 @@ public class HousekeeperService {
         consumer.launch();
     }
 
+    /*
+     * Tasks of different types are processed concurrently, tasks of the same type - by up to
+     * task-processing-parallelism threads. Tasks which processor supports batching are processed in batches
+     * */
     private void processMsgs(List<TbProtoQueueMsg<ToHousekeeperServiceMsg>> msgs, TbQueueConsumer<TbProtoQueueMsg<ToHousekeeperServiceMsg>> consumer) {
+        Map<HousekeeperTaskType, List<TbProtoQueueMsg<ToHousekeeperServiceMsg>>> msgsByTaskType = new EnumMap<>(HousekeeperTaskType.class);
+        List<TbProtoQueueMsg<ToHousekeeperServiceMsg>> unknownTypeMsgs = new ArrayList<>();
         for (TbProtoQueueMsg<ToHousekeeperServiceMsg> msg : msgs) {
-            log.trace("Processing task: {}", msg);
-            try {
-                processTask(msg.getValue());
-            } catch (InterruptedException e) {
-                return;
-            } catch (Throwable e) {
-                log.error("Unexpected error during message processing [{}]", msg, e);
-                reprocessingService.submitForReprocessing(msg.getValue(), e);
+            HousekeeperTaskType taskType = getTaskType(msg.getValue());
+            if (taskType != null) {
+                msgsByTaskType.computeIfAbsent(taskType, t -> new ArrayList<>()).add(msg);
+            } else {
+                unknownTypeMsgs.add(msg);
+            }
+        }
+
+        List<Future<?>> futures = new ArrayList<>();
+        msgsByTaskType.forEach((taskType, taskMsgs) -> {
+            ExecutorService executor = getTaskTypeExecutor(taskType);
+            HousekeeperTaskProcessor<?> taskProcessor = taskProcessors.get(taskType);
+            if (taskProcessor != null && taskProcessor.isBatchingSupported() && config.getTaskBatchSize() > 1 && taskMsgs.size() > 1
+                    && !config.getDisabledTaskTypes().contains(taskType)) {
+                for (List<TbProtoQueueMsg<ToHousekeeperServiceMsg>> batch : Lists.partition(taskMsgs, config.getTaskBatchSize())) {
+                    futures.add(executor.submit(() -> processBatch(taskType, batch)));
+                }
+            } else {
+                for (TbProtoQueueMsg<ToHousekeeperServiceMsg> msg : taskMsgs) {
+                    futures.add(executor.submit(() -> processMsg(msg)));
+                }
+            }
+        });
+        try {
+            for (TbProtoQueueMsg<ToHousekeeperServiceMsg> msg : unknownTypeMsgs) {
+                processMsg(msg);
             }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    log.error("Unexpected error during messages processing", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            return;
         }
         consumer.commit();
     }
 
+    private Void processMsg(TbProtoQueueMsg<ToHousekeeperServiceMsg> msg) throws InterruptedException {
+        log.trace("Processing task: {}", msg);
+        try {
+            processTask(msg.getValue());
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Throwable e) {
+            log.error("Unexpected error during message processing [{}]", msg, e);
+            reprocessingService.submitForReprocessing(msg.getValue(), e);
+        }
+        return null;
+    }
+
+    /*
+     * If the batch fails, its tasks are processed one by one, so that failures and reprocessing are tracked per task.
+     * The batch is given the task processing timeout per task. If it times out, its tasks are submitted for reprocessing
+     * instead, since the batch may still be running in the DB after the cancellation
+     * */
+    @SuppressWarnings("unchecked")
+    private <T extends HousekeeperTask> Void processBatch(HousekeeperTaskType taskType, List<TbProtoQueueMsg<ToHousekeeperServiceMsg>> msgs) throws InterruptedException {
+        log.trace("Processing batch of {} {} tasks", msgs.size(), taskType);
+        HousekeeperTaskProcessor<T> taskProcessor = (HousekeeperTaskProcessor<T>) taskProcessors.get(taskType);
+        List<T> tasks = msgs.stream()
+                .map(msg -> (T) JacksonUtil.fromString(msg.getValue().getTask().getValue(), HousekeeperTask.class))
+                .collect(Collectors.toList());
+
+        long timeout = (long) config.getTaskProcessingTimeout() * msgs.size();
+        Future<Object> future = null;
+        try {
+            long startTs = System.currentTimeMillis();
+            future = taskExecutor.submit(() -> {
+                taskProcessor.processBatch(tasks);
+                return null;
+            });
+            future.get(timeout, TimeUnit.MILLISECONDS);
+
+            long timing = System.currentTimeMillis() - startTs;
+            log.debug("Processed batch of {} {} tasks in {} ms", tasks.size(), taskType, timing);
+            statsService.ifPresent(statsService -> {
+                statsService.reportBatchProcessed(taskType, msgs.size());
+                msgs.forEach(msg -> statsService.reportProcessed(taskType, msg.getValue(), timing / msgs.size()));
+            });
+            return null;
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (TimeoutException e) {
+            log.warn("Batch of {} {} tasks timed out after {} ms, submitting them for reprocessing", tasks.size(), taskType, timeout);
+            TimeoutException error = new TimeoutException("Batch timeout after " + timeout + " ms");
+            for (int i = 0; i < msgs.size(); i++) {
+                onTaskFailure(msgs.get(i).getValue(), tasks.get(i), error);
+            }
+            return null;
+        } catch (Throwable e) {
+            log.debug("Failed to process batch of {} {} tasks, processing them one by one", tasks.size(), taskType, e);
+        } finally {
+            if (future != null && !future.isDone()) {
+                future.cancel(true);
+            }
+        }
+        for (TbProtoQueueMsg<ToHousekeeperServiceMsg> msg : msgs) {
+            processMsg(msg);
+        }
+        return null;
+    }
+
+    private HousekeeperTaskType getTaskType(ToHousekeeperServiceMsg msg) {
+        try {
+            return JacksonUtil.fromString(msg.getTask().getValue(), HousekeeperTask.class).getTaskType();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private ExecutorService getTaskTypeExecutor(HousekeeperTaskType taskType) {
+        return taskTypeExecutors.computeIfAbsent(taskType, type -> Executors.newFixedThreadPool(config.getTaskProcessingParallelism(type),
+                ThingsBoardThreadFactory.forName("housekeeper-task-dispatcher-" + type.name().toLowerCase())));
+    }
+
     @SuppressWarnings("unchecked")
     protected <T extends HousekeeperTask> void processTask(ToHousekeeperServiceMsg msg) throws Exception {
         HousekeeperTask task = JacksonUtil.fromString(msg.getTask().getValue(), HousekeeperTask.class);
@@ -140,20 +261,7 @@ public class HousekeeperService {
             } else if (e instanceof TimeoutException) {
                 error = new TimeoutException("Timeout after " + config.getTaskProcessingTimeout() + " ms");
             }
-
-            if (msg.getTask().getAttempt() < config.getMaxReprocessingAttempts()) {
-                log.warn("[{}] Failed to process {} (attempt {}), submitting for reprocessing",
-                        task.getTenantId(), task.getDescription(), msg.getTask().getAttempt(), error);
-                reprocessingService.submitForReprocessing(msg, error);
-            } else {
-                log.error("[{}] Failed to process task in {} attempts: {}", task.getTenantId(), msg.getTask().getAttempt(), msg, e);
-                notificationRuleProcessor.process(TaskProcessingFailureTrigger.builder()
-                        .task(task)
-                        .error(error)
-                        .attempt(msg.getTask().getAttempt())
-                        .build());
-            }
-            statsService.ifPresent(statsService -> statsService.reportFailure(taskType, msg));
+            onTaskFailure(msg, task, error);
         } finally {
             if (future != null && !future.isDone()) {
                 future.cancel(true);
@@ -161,10 +269,27 @@ public class HousekeeperService {
         }
     }
 
+    private void onTaskFailure(ToHousekeeperServiceMsg msg, HousekeeperTask task, Throwable error) {
+        if (msg.getTask().getAttempt() < config.getMaxReprocessingAttempts()) {
+            log.warn("[{}] Failed to process {} (attempt {}), submitting for reprocessing",
+                    task.getTenantId(), task.getDescription(), msg.getTask().getAttempt(), error);
+            reprocessingService.submitForReprocessing(msg, error);
+        } else {
+            log.error("[{}] Failed to process task in {} attempts: {}", task.getTenantId(), msg.getTask().getAttempt(), msg, error);
+            notificationRuleProcessor.process(TaskProcessingFailureTrigger.builder()
+                    .task(task)
+                    .error(error)
+                    .attempt(msg.getTask().getAttempt())
+                    .build());
+        }
+        statsService.ifPresent(statsService -> statsService.reportFailure(task.getTaskType(), msg));
+    }
+
     @PreDestroy
     private void stop() {
         consumer.stop();
         consumerExecutor.shutdownNow();
+        taskTypeExecutors.values().forEach(ExecutorService::shutdownNow);
         taskExecutor.shutdownNow();
         log.info("Stopped Housekeeper service");
     }
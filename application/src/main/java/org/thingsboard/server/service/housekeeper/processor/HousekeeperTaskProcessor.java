@@ -20,6 +20,7 @@ import org.thingsboard.server.common.data.housekeeper.HousekeeperTask;
 import org.thingsboard.server.common.data.housekeeper.HousekeeperTaskType;
 import org.thingsboard.server.common.msg.housekeeper.HousekeeperClient;
 
+import java.util.List;
 import java.util.concurrent.Future;
 
 public abstract class HousekeeperTaskProcessor<T extends HousekeeperTask> {
@@ -31,6 +32,19 @@ public abstract class HousekeeperTaskProcessor<T extends HousekeeperTask> {
 
     public abstract HousekeeperTaskType getTaskType();
 
+    /**
+     * Whether several tasks of this type can be processed together with {@link #processBatch(List)}
+     */
+    public boolean isBatchingSupported() {
+        return false;
+    }
+
+    public void processBatch(List<T> tasks) throws Exception {
+        for (T task : tasks) {
+            process(task);
+        }
+    }
+
     public <V> V wait(Future<V> future) throws Exception {
         try {
             return future.get(); // will be interrupted after taskProcessingTimeout
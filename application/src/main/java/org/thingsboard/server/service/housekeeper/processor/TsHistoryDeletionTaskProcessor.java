@@ -20,11 +20,16 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.thingsboard.server.common.data.housekeeper.HousekeeperTaskType;
 import org.thingsboard.server.common.data.housekeeper.TsHistoryDeletionHousekeeperTask;
+import org.thingsboard.server.common.data.id.EntityId;
+import org.thingsboard.server.common.data.id.TenantId;
 import org.thingsboard.server.common.data.kv.BaseDeleteTsKvQuery;
 import org.thingsboard.server.common.data.kv.DeleteTsKvQuery;
 import org.thingsboard.server.dao.timeseries.TimeseriesService;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
@@ -40,6 +45,29 @@ public class TsHistoryDeletionTaskProcessor extends HousekeeperTaskProcessor<TsH
         log.debug("[{}][{}][{}] Deleted timeseries history for key '{}'", task.getTenantId(), task.getEntityId().getEntityType(), task.getEntityId(), task.getKey());
     }
 
+    @Override
+    public void processBatch(List<TsHistoryDeletionHousekeeperTask> tasks) throws Exception {
+        long endTs = System.currentTimeMillis();
+        Map<TenantId, Map<String, List<EntityId>>> entitiesByTenantAndKey = new LinkedHashMap<>();
+        for (TsHistoryDeletionHousekeeperTask task : tasks) {
+            entitiesByTenantAndKey.computeIfAbsent(task.getTenantId(), tenantId -> new LinkedHashMap<>())
+                    .computeIfAbsent(task.getKey(), key -> new ArrayList<>())
+                    .add(task.getEntityId());
+        }
+        for (var tenantEntry : entitiesByTenantAndKey.entrySet()) {
+            for (var keyEntry : tenantEntry.getValue().entrySet()) {
+                DeleteTsKvQuery deleteQuery = new BaseDeleteTsKvQuery(keyEntry.getKey(), 0, endTs, false, false);
+                wait(timeseriesService.removeHistory(tenantEntry.getKey(), keyEntry.getValue(), deleteQuery));
+                log.debug("[{}] Deleted timeseries history for key '{}' of {} entities", tenantEntry.getKey(), keyEntry.getKey(), keyEntry.getValue().size());
+            }
+        }
+    }
+
+    @Override
+    public boolean isBatchingSupported() {
+        return true;
+    }
+
     @Override
     public HousekeeperTaskType getTaskType() {
         return HousekeeperTaskType.DELETE_TS_HISTORY;
@@ -41,6 +41,7 @@ import java.util.stream.Collectors;
 public class HousekeeperStatsService {
 
     private final Map<HousekeeperTaskType, HousekeeperStats> stats = new EnumMap<>(HousekeeperTaskType.class);
+    private long lastReportTs = System.currentTimeMillis();
 
     public HousekeeperStatsService(StatsFactory statsFactory) {
         for (HousekeeperTaskType taskType : HousekeeperTaskType.values()) {
@@ -51,6 +52,9 @@ public class HousekeeperStatsService {
     @Scheduled(initialDelayString = "${queue.core.housekeeper.stats.print-interval-ms:60000}",
             fixedDelayString = "${queue.core.housekeeper.stats.print-interval-ms:60000}")
     private void reportStats() {
+        long now = System.currentTimeMillis();
+        double intervalSeconds = Math.max(1, now - lastReportTs) / 1000.0;
+        lastReportTs = now;
         String statsStr = stats.values().stream().map(stats -> {
             String countersStr = stats.getCounters().stream()
                     .filter(counter -> counter.get() > 0)
@@ -59,7 +63,9 @@ public class HousekeeperStatsService {
             if (countersStr.isEmpty()) {
                 return null;
             } else {
-                return stats.getTaskType() + " " + countersStr + " avgProcessingTime [" + stats.getProcessingTimer().getAvg() + " ms]";
+                int processed = stats.getProcessedCounter().get() + stats.getReprocessedCounter().get();
+                return stats.getTaskType() + " " + countersStr + " avgProcessingTime [" + stats.getProcessingTimer().getAvg() + " ms]" +
+                        " throughput [" + String.format("%.2f", processed / intervalSeconds) + " tasks/s]";
             }
         }).filter(Objects::nonNull).collect(Collectors.joining(", "));
 
@@ -79,6 +85,12 @@ public class HousekeeperStatsService {
         stats.getProcessingTimer().record(timing);
     }
 
+    public void reportBatchProcessed(HousekeeperTaskType taskType, int batchSize) {
+        HousekeeperStats stats = this.stats.get(taskType);
+        stats.getProcessedBatchesCounter().increment();
+        stats.getBatchedTasksCounter().add(batchSize);
+    }
+
     public void reportFailure(HousekeeperTaskType taskType, ToHousekeeperServiceMsg msg) {
         HousekeeperStats stats = this.stats.get(taskType);
         if (msg.getTask().getErrorsCount() == 0) {
@@ -97,6 +109,8 @@ public class HousekeeperStatsService {
         private final StatsCounter failedProcessingCounter;
         private final StatsCounter reprocessedCounter;
         private final StatsCounter failedReprocessingCounter;
+        private final StatsCounter processedBatchesCounter;
+        private final StatsCounter batchedTasksCounter;
 
         private final StatsTimer processingTimer;
 
@@ -106,6 +120,8 @@ public class HousekeeperStatsService {
             this.failedProcessingCounter = register("failedProcessing", statsFactory);
             this.reprocessedCounter = register("reprocessed", statsFactory);
             this.failedReprocessingCounter = register("failedReprocessing", statsFactory);
+            this.processedBatchesCounter = register("processedBatches", statsFactory);
+            this.batchedTasksCounter = register("batchedTasks", statsFactory);
             this.processingTimer = statsFactory.createStatsTimer(StatsType.HOUSEKEEPER.getName(), "processingTime", "taskType", taskType.name());
         }
 
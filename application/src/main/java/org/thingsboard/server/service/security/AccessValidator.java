@@ -19,6 +19,8 @@ import com.google.common.base.Function;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
 import jakarta.annotation.Nullable;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
@@ -35,6 +37,7 @@ import org.thingsboard.server.common.data.EntityView;
 import org.thingsboard.server.common.data.OtaPackageInfo;
 import org.thingsboard.server.common.data.TbResourceInfo;
 import org.thingsboard.server.common.data.Tenant;
+import org.thingsboard.server.common.data.HasTenantId;
 import org.thingsboard.server.common.data.User;
 import org.thingsboard.server.common.data.asset.Asset;
 import org.thingsboard.server.common.data.asset.AssetProfile;
@@ -50,6 +53,7 @@ import org.thingsboard.server.common.data.id.EdgeId;
 import org.thingsboard.server.common.data.id.EntityId;
 import org.thingsboard.server.common.data.id.EntityIdFactory;
 import org.thingsboard.server.common.data.id.EntityViewId;
+import org.thingsboard.server.common.data.id.HasId;
 import org.thingsboard.server.common.data.id.OtaPackageId;
 import org.thingsboard.server.common.data.id.RpcId;
 import org.thingsboard.server.common.data.id.RuleChainId;
@@ -84,9 +88,15 @@ import org.thingsboard.server.service.security.permission.AccessControlService;
 import org.thingsboard.server.service.security.permission.Operation;
 import org.thingsboard.server.service.security.permission.Resource;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 /**
  * Created by ashvayka on 27.03.18.
@@ -229,6 +239,83 @@ public class AccessValidator {
         }
     }
 
+    /**
+     * Validates the access to each of the entities. Devices and assets are fetched with a single query per entity type,
+     * the rest of the entities are validated one by one. Results are returned in the order of the entity ids.
+     */
+    public ListenableFuture<Map<EntityId, ValidationResult>> validateAll(SecurityUser currentUser, Operation operation, Collection<EntityId> entityIds) {
+        List<DeviceId> deviceIds = new ArrayList<>();
+        List<AssetId> assetIds = new ArrayList<>();
+        List<ListenableFuture<Map<EntityId, ValidationResult>>> futures = new ArrayList<>();
+        for (EntityId entityId : entityIds) {
+            switch (entityId.getEntityType()) {
+                case DEVICE -> deviceIds.add(new DeviceId(entityId.getId()));
+                case ASSET -> assetIds.add(new AssetId(entityId.getId()));
+                default -> {
+                    SettableFuture<Map<EntityId, ValidationResult>> future = SettableFuture.create();
+                    validate(currentUser, operation, entityId, new FutureCallback<>() {
+                        @Override
+                        public void onSuccess(ValidationResult result) {
+                            future.set(Map.of(entityId, result));
+                        }
+
+                        @Override
+                        public void onFailure(Throwable t) {
+                            future.setException(t);
+                        }
+                    });
+                    futures.add(future);
+                }
+            }
+        }
+        if (!deviceIds.isEmpty()) {
+            futures.add(validateAll(currentUser, operation, Resource.DEVICE, deviceIds, DEVICE_WITH_REQUESTED_ID_NOT_FOUND,
+                    () -> deviceService.findDevicesByTenantIdAndIdsAsync(currentUser.getTenantId(), deviceIds)));
+        }
+        if (!assetIds.isEmpty()) {
+            futures.add(validateAll(currentUser, operation, Resource.ASSET, assetIds, "Asset with requested id wasn't found!",
+                    () -> assetService.findAssetsByTenantIdAndIdsAsync(currentUser.getTenantId(), assetIds)));
+        }
+        return Futures.transform(Futures.allAsList(futures), results -> {
+            Map<EntityId, ValidationResult> merged = new LinkedHashMap<>();
+            results.forEach(merged::putAll);
+            Map<EntityId, ValidationResult> ordered = new LinkedHashMap<>();
+            for (EntityId entityId : entityIds) {
+                ordered.put(entityId, merged.get(entityId));
+            }
+            return ordered;
+        }, MoreExecutors.directExecutor());
+    }
+
+    private <I extends EntityId, T extends HasId<I> & HasTenantId> ListenableFuture<Map<EntityId, ValidationResult>> validateAll(
+            SecurityUser currentUser, Operation operation, Resource resource, List<I> entityIds, String notFoundMessage,
+            Supplier<ListenableFuture<List<T>>> entitiesSupplier) {
+        if (currentUser.isSystemAdmin()) {
+            Map<EntityId, ValidationResult> result = new LinkedHashMap<>();
+            entityIds.forEach(entityId -> result.put(entityId, ValidationResult.accessDenied(SYSTEM_ADMINISTRATOR_IS_NOT_ALLOWED_TO_PERFORM_THIS_OPERATION)));
+            return Futures.immediateFuture(result);
+        }
+        return Futures.transform(entitiesSupplier.get(), entities -> {
+            Map<EntityId, T> entitiesById = new LinkedHashMap<>();
+            entities.forEach(entity -> entitiesById.put(entity.getId(), entity));
+            Map<EntityId, ValidationResult> result = new LinkedHashMap<>();
+            for (I entityId : entityIds) {
+                T entity = entitiesById.get(entityId);
+                if (entity == null) {
+                    result.put(entityId, ValidationResult.entityNotFound(notFoundMessage));
+                    continue;
+                }
+                try {
+                    accessControlService.checkPermission(currentUser, resource, operation, entityId, entity);
+                    result.put(entityId, ValidationResult.ok(entity));
+                } catch (ThingsboardException e) {
+                    result.put(entityId, ValidationResult.accessDenied(e.getMessage()));
+                }
+            }
+            return result;
+        }, executor);
+    }
+
     private void validateDevice(final SecurityUser currentUser, Operation operation, EntityId entityId, FutureCallback<ValidationResult> callback) {
         if (currentUser.isSystemAdmin()) {
             callback.onSuccess(ValidationResult.accessDenied(SYSTEM_ADMINISTRATOR_IS_NOT_ALLOWED_TO_PERFORM_THIS_OPERATION));
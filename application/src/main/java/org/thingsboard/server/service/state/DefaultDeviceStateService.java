@@ -91,12 +91,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -175,6 +173,9 @@ public class DefaultDeviceStateService extends AbstractPartitionBasedService<Dev
     @Value("${state.defaultStateCheckIntervalInSec}")
     private int defaultStateCheckIntervalInSec;
 
+    @Value("${state.stateCheckTickIntervalInMs:1000}")
+    private long stateCheckTickIntervalInMs;
+
     @Value("${usage.stats.devices.report_interval:60}")
     private int defaultActivityStatsIntervalInSec;
 
@@ -191,6 +192,7 @@ public class DefaultDeviceStateService extends AbstractPartitionBasedService<Dev
     private ListeningExecutorService deviceStateCallbackExecutor;
 
     final ConcurrentMap<DeviceId, DeviceStateData> deviceStates = new ConcurrentHashMap<>();
+    final DeviceInactivityDeadlineQueue inactivityDeadlines = new DeviceInactivityDeadlineQueue();
 
     @PostConstruct
     public void init() {
@@ -199,7 +201,7 @@ public class DefaultDeviceStateService extends AbstractPartitionBasedService<Dev
                 Math.max(4, Runtime.getRuntime().availableProcessors()), "device-state"));
         deviceStateCallbackExecutor = MoreExecutors.listeningDecorator(ThingsBoardExecutors.newWorkStealingPool(
                 Math.max(4, Runtime.getRuntime().availableProcessors()), "device-state-callback"));
-        scheduledExecutor.scheduleWithFixedDelay(this::checkStates, new Random().nextInt(defaultStateCheckIntervalInSec), defaultStateCheckIntervalInSec, TimeUnit.SECONDS);
+        scheduledExecutor.scheduleWithFixedDelay(this::checkStates, stateCheckTickIntervalInMs, stateCheckTickIntervalInMs, TimeUnit.MILLISECONDS);
         scheduledExecutor.scheduleWithFixedDelay(this::reportActivityStats, defaultActivityStatsIntervalInSec, defaultActivityStatsIntervalInSec, TimeUnit.SECONDS);
     }
 
@@ -273,6 +275,7 @@ public class DefaultDeviceStateService extends AbstractPartitionBasedService<Dev
                 }
                 onDeviceActivityStatusChange(true, stateData);
             }
+            scheduleInactivityCheck(getCurrentTimeMillis(), deviceId, stateData);
         } else {
             log.debug("updateActivityState - fetched state IS NULL for device {}, lastReportedActivity {}", deviceId, lastReportedActivity);
             cleanupEntity(deviceId);
@@ -300,6 +303,7 @@ public class DefaultDeviceStateService extends AbstractPartitionBasedService<Dev
         stateData.getState().setLastDisconnectTime(lastDisconnectTime);
         save(tenantId, deviceId, LAST_DISCONNECT_TIME, lastDisconnectTime);
         pushRuleEngineMessage(stateData, TbMsgType.DISCONNECT_EVENT);
+        scheduleInactivityCheck(getCurrentTimeMillis(), deviceId, stateData);
     }
 
     @Override
@@ -408,6 +412,9 @@ public class DefaultDeviceStateService extends AbstractPartitionBasedService<Dev
 
     private void initializeActivityState(DeviceId deviceId, DeviceStateData fetchedState) {
         DeviceStateData cachedState = deviceStates.putIfAbsent(fetchedState.getDeviceId(), fetchedState);
+        if (cachedState == null) {
+            scheduleInactivityCheck(getCurrentTimeMillis(), deviceId, fetchedState);
+        }
         boolean activityState = Objects.requireNonNullElse(cachedState, fetchedState).getState().isActive();
         save(fetchedState.getTenantId(), deviceId, ACTIVITY_STATE, activityState);
     }
@@ -491,39 +498,62 @@ public class DefaultDeviceStateService extends AbstractPartitionBasedService<Dev
                 }
             }
         }
+        scheduleInactivityCheck(getCurrentTimeMillis(), deviceId, state);
     }
 
+    /*
+     * Processes only the devices which inactivity deadline has passed, so the cost of a tick depends on the number
+     * of expirations rather than on the number of devices
+     * */
     void checkStates() {
         try {
             final long ts = getCurrentTimeMillis();
-            partitionedEntities.forEach((tpi, deviceIds) -> {
-                log.debug("Calculating state updates. tpi {} for {} devices", tpi.getFullTopicName(), deviceIds.size());
-                Set<DeviceId> idsFromRemovedTenant = new HashSet<>();
-                for (DeviceId deviceId : deviceIds) {
-                    DeviceStateData stateData;
-                    try {
-                        stateData = getOrFetchDeviceStateData(deviceId);
-                    } catch (Exception e) {
-                        log.error("[{}] Failed to get or fetch device state data", deviceId, e);
+            List<DeviceId> expired = inactivityDeadlines.pollExpired(ts);
+            if (!expired.isEmpty()) {
+                log.debug("Calculating state updates for {} devices with expired inactivity deadline", expired.size());
+            }
+            for (DeviceId deviceId : expired) {
+                DeviceStateData stateData = deviceStates.get(deviceId);
+                if (stateData == null) {
+                    continue;
+                }
+                try {
+                    updateInactivityStateIfExpired(ts, deviceId, stateData);
+                } catch (Exception e) {
+                    if (e instanceof TenantNotFoundException) {
+                        partitionedEntities.values().forEach(deviceIds -> deviceIds.remove(deviceId));
                         continue;
-                    }
-                    try {
-                        updateInactivityStateIfExpired(ts, deviceId, stateData);
-                    } catch (Exception e) {
-                        if (e instanceof TenantNotFoundException) {
-                            idsFromRemovedTenant.add(deviceId);
-                        } else {
-                            log.warn("[{}] Failed to update inactivity state [{}]", deviceId, e.getMessage());
-                        }
+                    } else {
+                        log.warn("[{}] Failed to update inactivity state [{}]", deviceId, e.getMessage());
                     }
                 }
-                deviceIds.removeAll(idsFromRemovedTenant);
-            });
+                if (deviceStates.containsKey(deviceId)) {
+                    scheduleInactivityCheck(ts, deviceId, stateData);
+                }
+            }
         } catch (Throwable t) {
             log.warn("Failed to check devices states", t);
         }
     }
 
+    /*
+     * Schedules the next inactivity check of the device: at its inactivity deadline if the device is active,
+     * after the state check interval if the deadline has passed but the inactivity is not reported yet (e.g. failed to save it).
+     * Nothing is scheduled for reported inactive devices, the next activity schedules the check again
+     * */
+    void scheduleInactivityCheck(long ts, DeviceId deviceId, DeviceStateData stateData) {
+        DeviceState state = stateData.getState();
+        if (state == null) {
+            return;
+        }
+        long deadline = Math.max(state.getLastActivityTime(), stateData.getDeviceCreationTime()) + state.getInactivityTimeout();
+        if (deadline > ts) {
+            inactivityDeadlines.schedule(deviceId, deadline);
+        } else if (state.isActive() || state.getLastInactivityAlarmTime() == 0L || state.getLastInactivityAlarmTime() <= state.getLastActivityTime()) {
+            inactivityDeadlines.schedule(deviceId, ts + TimeUnit.SECONDS.toMillis(defaultStateCheckIntervalInSec));
+        }
+    }
+
     private void reportActivityStats() {
         try {
             Map<TenantId, Pair<AtomicInteger, AtomicInteger>> stats = new HashMap<>();
@@ -594,7 +624,11 @@ public class DefaultDeviceStateService extends AbstractPartitionBasedService<Dev
 
     @Nonnull
     DeviceStateData getOrFetchDeviceStateData(DeviceId deviceId) {
-        return deviceStates.computeIfAbsent(deviceId, this::fetchDeviceStateDataUsingSeparateRequests);
+        return deviceStates.computeIfAbsent(deviceId, id -> {
+            DeviceStateData stateData = fetchDeviceStateDataUsingSeparateRequests(id);
+            scheduleInactivityCheck(getCurrentTimeMillis(), id, stateData);
+            return stateData;
+        });
     }
 
     DeviceStateData fetchDeviceStateDataUsingSeparateRequests(final DeviceId deviceId) {
@@ -656,6 +690,7 @@ public class DefaultDeviceStateService extends AbstractPartitionBasedService<Dev
 
     private void cleanupEntity(DeviceId deviceId) {
         deviceStates.remove(deviceId);
+        inactivityDeadlines.cancel(deviceId);
     }
 
     private ListenableFuture<DeviceStateData> fetchDeviceState(Device device) {
@@ -0,0 +1,99 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.state;
+
+import org.thingsboard.server.common.data.id.DeviceId;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Deadline queue of the device inactivity checks, ordered by the time at which a device becomes inactive
+ * unless it reports activity in the meantime.
+ * <p>
+ * Each device has at most one scheduled deadline. Scheduling a later deadline for an already scheduled device is a no-op,
+ * so reporting activity costs a single map lookup: the earlier deadline fires, and the caller reschedules the device
+ * according to its actual last activity time. Scheduling an earlier deadline (e.g. the inactivity timeout was decreased)
+ * replaces the scheduled one.
+ */
+class DeviceInactivityDeadlineQueue {
+
+    private final ConcurrentMap<DeviceId, Long> deadlines = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Deadline> queue = new ConcurrentSkipListSet<>();
+
+    void schedule(DeviceId deviceId, long deadline) {
+        deadlines.compute(deviceId, (id, current) -> {
+            if (current != null) {
+                if (current <= deadline) {
+                    return current;
+                }
+                queue.remove(new Deadline(current, id));
+            }
+            queue.add(new Deadline(deadline, id));
+            return deadline;
+        });
+    }
+
+    void cancel(DeviceId deviceId) {
+        deadlines.computeIfPresent(deviceId, (id, current) -> {
+            queue.remove(new Deadline(current, id));
+            return null;
+        });
+    }
+
+    /**
+     * Removes and returns the devices which deadlines are less than or equal to the given timestamp.
+     */
+    List<DeviceId> pollExpired(long ts) {
+        List<DeviceId> expired = new ArrayList<>();
+        for (Deadline deadline : queue) {
+            if (deadline.ts() > ts) {
+                break;
+            }
+            deadlines.computeIfPresent(deadline.deviceId(), (id, current) -> {
+                if (current == deadline.ts()) {
+                    queue.remove(deadline);
+                    expired.add(id);
+                    return null;
+                }
+                return current;
+            });
+        }
+        return expired;
+    }
+
+    Long getDeadline(DeviceId deviceId) {
+        return deadlines.get(deviceId);
+    }
+
+    int size() {
+        return deadlines.size();
+    }
+
+    private record Deadline(long ts, DeviceId deviceId) implements Comparable<Deadline> {
+
+        @Override
+        public int compareTo(Deadline other) {
+            int result = Long.compare(ts, other.ts);
+            return result != 0 ? result : deviceId.getId().compareTo(other.deviceId.getId());
+        }
+
+    }
+
+}
@@ -18,8 +18,12 @@ package org.thingsboard.server.service.subscription;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.thingsboard.server.common.data.AttributeScope;
 import org.thingsboard.server.common.data.alarm.AlarmInfo;
 import org.thingsboard.server.common.data.id.EntityId;
 import org.thingsboard.server.common.data.id.TenantId;
@@ -44,12 +48,14 @@ import org.thingsboard.server.queue.discovery.event.OtherServiceShutdownEvent;
 import org.thingsboard.server.queue.discovery.event.PartitionChangeEvent;
 import org.thingsboard.server.queue.provider.TbQueueProducerProvider;
 import org.thingsboard.server.queue.util.TbCoreComponent;
+import org.thingsboard.server.service.telemetry.ActiveAlarmIndex;
 import org.thingsboard.server.service.ws.notification.sub.NotificationUpdate;
 import org.thingsboard.server.service.ws.notification.sub.NotificationsSubscriptionUpdate;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -70,6 +76,14 @@ public class DefaultSubscriptionManagerService extends TbApplicationEventListene
     private final TbQueueProducerProvider producerProvider;
     private final TbLocalSubscriptionService localSubscriptionService;
     private final SubscriptionSchedulerComponent scheduler;
+    private final Optional<ActiveAlarmIndex> activeAlarmIndex;
+
+    @Autowired
+    @Lazy
+    private TbEntityDataSubscriptionService entityDataSubscriptionService;
+
+    @Value("${server.ws.dynamic_page_link.event_driven.enabled:false}")
+    private boolean dynamicQueryEventRefreshEnabled;
 
     private final Lock subsLock = new ReentrantLock();
     private final ConcurrentMap<EntityId, TbEntityRemoteSubsInfo> entitySubscriptions = new ConcurrentHashMap<>();
@@ -152,6 +166,9 @@ public class DefaultSubscriptionManagerService extends TbApplicationEventListene
     @Override
     public void onTimeSeriesUpdate(TenantId tenantId, EntityId entityId, List<TsKvEntry> ts, TbCallback callback) {
         onTimeSeriesUpdate(entityId, ts);
+        if (dynamicQueryEventRefreshEnabled) {
+            entityDataSubscriptionService.onTimeSeriesUpdate(tenantId, ts.stream().map(KvEntry::getKey).toList());
+        }
         callback.onSuccess();
     }
 
@@ -159,6 +176,9 @@ public class DefaultSubscriptionManagerService extends TbApplicationEventListene
     public void onTimeSeriesDelete(TenantId tenantId, EntityId entityId, List<String> keys, TbCallback callback) {
         onTimeSeriesUpdate(entityId,
                 keys.stream().map(key -> new BasicTsKvEntry(0, new StringDataEntry(key, ""))).collect(Collectors.toList()));
+        if (dynamicQueryEventRefreshEnabled) {
+            entityDataSubscriptionService.onTimeSeriesUpdate(tenantId, keys);
+        }
         callback.onSuccess();
     }
 
@@ -194,6 +214,9 @@ public class DefaultSubscriptionManagerService extends TbApplicationEventListene
     public void onAttributesUpdate(TenantId tenantId, EntityId entityId, String scope, List<AttributeKvEntry> attributes, TbCallback callback) {
         getEntityUpdatesInfo(entityId).attributesUpdateTs = System.currentTimeMillis();
         processAttributesUpdate(entityId, scope, attributes);
+        if (dynamicQueryEventRefreshEnabled) {
+            entityDataSubscriptionService.onAttributesUpdate(tenantId, AttributeScope.valueOf(scope), attributes.stream().map(KvEntry::getKey).toList());
+        }
         callback.onSuccess();
     }
 
@@ -204,6 +227,9 @@ public class DefaultSubscriptionManagerService extends TbApplicationEventListene
                     .<AttributeKvEntry>map(key -> new BaseAttributeKvEntry(0L, new StringDataEntry(key, "")))
                     .toList();
             processAttributesUpdate(entityId, scope, deletedEntries);
+            if (dynamicQueryEventRefreshEnabled) {
+                entityDataSubscriptionService.onAttributesUpdate(tenantId, AttributeScope.valueOf(scope), keys);
+            }
         } catch (Exception e) {
             callback.onFailure(e);
             return;
@@ -250,6 +276,19 @@ public class DefaultSubscriptionManagerService extends TbApplicationEventListene
     }
 
     private void onAlarmSubUpdate(TenantId tenantId, EntityId entityId, AlarmInfo alarm, boolean deleted, TbCallback callback) {
+        if (dynamicQueryEventRefreshEnabled) {
+            entityDataSubscriptionService.onAlarmUpdate(tenantId);
+        }
+        if (entityId.equals(alarm.getOriginator())) {
+            // the originator partition is owned by this node, so the index is updated for the alarms modified on other nodes as well
+            activeAlarmIndex.ifPresent(index -> {
+                if (deleted) {
+                    index.onAlarmDeleted(alarm);
+                } else {
+                    index.onAlarmUpdate(alarm);
+                }
+            });
+        }
         TbEntityRemoteSubsInfo subInfo = entitySubscriptions.get(entityId);
         if (subInfo != null) {
             log.trace("[{}][{}] Handling alarm update {}: {}", tenantId, entityId, alarm, deleted);
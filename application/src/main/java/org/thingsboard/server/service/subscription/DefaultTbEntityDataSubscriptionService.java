@@ -30,10 +30,13 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.web.socket.CloseStatus;
 import org.thingsboard.common.util.ThingsBoardExecutors;
 import org.thingsboard.common.util.ThingsBoardThreadFactory;
+import org.thingsboard.server.common.data.AttributeScope;
 import org.thingsboard.server.common.data.id.EntityId;
+import org.thingsboard.server.common.data.id.TenantId;
 import org.thingsboard.server.common.data.kv.BaseReadTsKvQuery;
 import org.thingsboard.server.common.data.kv.ReadTsKvQuery;
 import org.thingsboard.server.common.data.kv.ReadTsKvQueryResult;
@@ -50,6 +53,9 @@ import org.thingsboard.server.common.msg.tools.TbRateLimitsException;
 import org.thingsboard.server.dao.alarm.AlarmService;
 import org.thingsboard.server.dao.attributes.AttributesService;
 import org.thingsboard.server.dao.entity.EntityService;
+import org.thingsboard.server.dao.eventsourcing.DeleteEntityEvent;
+import org.thingsboard.server.dao.eventsourcing.RelationActionEvent;
+import org.thingsboard.server.dao.eventsourcing.SaveEntityEvent;
 import org.thingsboard.server.dao.timeseries.TimeseriesService;
 import org.thingsboard.server.queue.discovery.TbServiceInfoProvider;
 import org.thingsboard.server.queue.util.TbCoreComponent;
@@ -75,12 +81,15 @@ import org.thingsboard.server.service.ws.telemetry.cmd.v2.UnsubscribeCmd;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -88,6 +97,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @SuppressWarnings("UnstableApiUsage")
@@ -134,6 +144,18 @@ public class DefaultTbEntityDataSubscriptionService implements TbEntityDataSubsc
     private long dynamicPageLinkRefreshInterval;
     @Value("${server.ws.dynamic_page_link.refresh_pool_size:1}")
     private int dynamicPageLinkRefreshPoolSize;
+    @Value("${server.ws.dynamic_page_link.event_driven.enabled:false}")
+    private boolean eventDrivenRefreshEnabled;
+    @Value("${server.ws.dynamic_page_link.event_driven.check_interval_ms:1000}")
+    private long eventDrivenRefreshCheckIntervalMs;
+    @Value("${server.ws.dynamic_page_link.event_driven.fallback_refresh_interval:600}")
+    private long eventDrivenFallbackRefreshInterval;
+    @Value("${server.ws.dynamic_page_link.shared_query.enabled:false}")
+    private boolean sharedQueryEnabled;
+    @Value("${server.ws.dynamic_page_link.shared_query.ttl_ms:5000}")
+    private long sharedQueryTtlMs;
+    @Value("${server.ws.dynamic_page_link.shared_query.max_size:1000}")
+    private long sharedQueryMaxSize;
     @Value("${server.ws.max_entities_per_data_subscription:1000}")
     private int maxEntitiesPerDataSubscription;
     @Value("${server.ws.max_entities_per_alarm_subscription:1000}")
@@ -149,17 +171,27 @@ public class DefaultTbEntityDataSubscriptionService implements TbEntityDataSubsc
     private boolean tsInSqlDB;
     private String serviceId;
     private SubscriptionServiceStatistics stats = new SubscriptionServiceStatistics();
+    private TbSharedEntityDataQueryEvaluator sharedQueryEvaluator;
+    private final TbDynamicQueryIndex dynamicQueryIndex = new TbDynamicQueryIndex();
+    private final Queue<TbAbstractEntityQuerySubCtx<?>> pendingDynamicQueries = new ConcurrentLinkedQueue<>();
 
     @PostConstruct
     public void initExecutor() {
         serviceId = serviceInfoProvider.getServiceId();
         wsCallBackExecutor = Executors.newSingleThreadExecutor(ThingsBoardThreadFactory.forName("ws-entity-sub-callback"));
         tsInSqlDB = databaseTsType.equalsIgnoreCase("sql") || databaseTsType.equalsIgnoreCase("timescale");
+        if (sharedQueryEnabled) {
+            sharedQueryEvaluator = new TbSharedEntityDataQueryEvaluator(sharedQueryTtlMs, sharedQueryMaxSize, stats);
+        }
         if (dynamicPageLinkRefreshPoolSize == 1) {
             scheduler = ThingsBoardExecutors.newSingleThreadScheduledExecutor("ws-entity-sub-scheduler");
         } else {
             scheduler = ThingsBoardExecutors.newScheduledThreadPool(dynamicPageLinkRefreshPoolSize, "ws-entity-sub-scheduler");
         }
+        if (eventDrivenRefreshEnabled) {
+            scheduler.scheduleWithFixedDelay(this::refreshPendingDynamicQueries,
+                    eventDrivenRefreshCheckIntervalMs, eventDrivenRefreshCheckIntervalMs, TimeUnit.MILLISECONDS);
+        }
     }
 
     @PreDestroy
@@ -209,13 +241,15 @@ public class DefaultTbEntityDataSubscriptionService implements TbEntityDataSubsc
             stats.getRegularQueryInvocationCnt().incrementAndGet();
             stats.getRegularQueryTimeSpent().addAndGet(end - start);
             ctx.cancelTasks();
+            unregisterDynamicQuery(ctx);
             if (ctx.getQuery().getPageLink().isDynamic()) {
                 //TODO: validate number of dynamic page links against rate limits. Ignore dynamic flag if limit is reached.
                 TbEntityDataSubCtx finalCtx = ctx;
                 ScheduledFuture<?> task = scheduler.scheduleWithFixedDelay(
                         () -> refreshDynamicQuery(finalCtx),
-                        dynamicPageLinkRefreshInterval, dynamicPageLinkRefreshInterval, TimeUnit.SECONDS);
+                        getDynamicQueryRefreshInterval(), getDynamicQueryRefreshInterval(), TimeUnit.SECONDS);
                 finalCtx.setRefreshTask(task);
+                registerDynamicQuery(finalCtx);
             }
         }
 
@@ -379,8 +413,9 @@ public class DefaultTbEntityDataSubscriptionService implements TbEntityDataSubsc
             TbEntityCountSubCtx finalCtx = ctx;
             ScheduledFuture<?> task = scheduler.scheduleWithFixedDelay(
                     () -> refreshDynamicQuery(finalCtx),
-                    dynamicPageLinkRefreshInterval, dynamicPageLinkRefreshInterval, TimeUnit.SECONDS);
+                    getDynamicQueryRefreshInterval(), getDynamicQueryRefreshInterval(), TimeUnit.SECONDS);
             finalCtx.setRefreshTask(task);
+            registerDynamicQuery(finalCtx);
         } else {
             log.debug("[{}][{}] Received duplicate command: {}", session.getSessionId(), cmd.getCmdId(), cmd);
         }
@@ -442,8 +477,9 @@ public class DefaultTbEntityDataSubscriptionService implements TbEntityDataSubsc
                 TbAlarmCountSubCtx finalCtx = ctx;
                 ScheduledFuture<?> task = scheduler.scheduleWithFixedDelay(
                         () -> refreshDynamicQuery(finalCtx),
-                        dynamicPageLinkRefreshInterval, dynamicPageLinkRefreshInterval, TimeUnit.SECONDS);
+                        getDynamicQueryRefreshInterval(), getDynamicQueryRefreshInterval(), TimeUnit.SECONDS);
                 finalCtx.setRefreshTask(task);
+                registerDynamicQuery(finalCtx);
             }
         } else {
             log.debug("[{}][{}] Received duplicate command: {}", session.getSessionId(), cmd.getCmdId(), cmd);
@@ -500,6 +536,107 @@ public class DefaultTbEntityDataSubscriptionService implements TbEntityDataSubsc
         }
     }
 
+    private long getDynamicQueryRefreshInterval() {
+        return eventDrivenRefreshEnabled ? eventDrivenFallbackRefreshInterval : dynamicPageLinkRefreshInterval;
+    }
+
+    @Override
+    public void onTimeSeriesUpdate(TenantId tenantId, Collection<String> keys) {
+        if (eventDrivenRefreshEnabled) {
+            markDynamicQueries(dynamicQueryIndex.getByKeys(tenantId, keys), ctx -> ctx.isAffectedBy(EntityKeyType.TIME_SERIES, keys));
+        }
+    }
+
+    @Override
+    public void onAttributesUpdate(TenantId tenantId, AttributeScope scope, Collection<String> keys) {
+        if (eventDrivenRefreshEnabled) {
+            EntityKeyType keyType = switch (scope) {
+                case CLIENT_SCOPE -> EntityKeyType.CLIENT_ATTRIBUTE;
+                case SHARED_SCOPE -> EntityKeyType.SHARED_ATTRIBUTE;
+                case SERVER_SCOPE -> EntityKeyType.SERVER_ATTRIBUTE;
+            };
+            markDynamicQueries(dynamicQueryIndex.getByKeys(tenantId, keys), ctx -> ctx.isAffectedBy(keyType, keys));
+        }
+    }
+
+    @Override
+    public void onAlarmUpdate(TenantId tenantId) {
+        if (eventDrivenRefreshEnabled) {
+            markDynamicQueries(dynamicQueryIndex.getAlarmCountQueries(tenantId), ctx -> true);
+        }
+    }
+
+    @Override
+    public void onEntityUpdate(TenantId tenantId) {
+        if (eventDrivenRefreshEnabled) {
+            markDynamicQueries(dynamicQueryIndex.getAll(tenantId), ctx -> true);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntitySaved(SaveEntityEvent<?> event) {
+        if (event.getTenantId() != null) {
+            onEntityUpdate(event.getTenantId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityDeleted(DeleteEntityEvent<?> event) {
+        if (event.getTenantId() != null) {
+            onEntityUpdate(event.getTenantId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRelationUpdate(RelationActionEvent event) {
+        if (event.getTenantId() != null) {
+            onEntityUpdate(event.getTenantId());
+        }
+    }
+
+    private void registerDynamicQuery(TbAbstractEntityQuerySubCtx<?> ctx) {
+        if (eventDrivenRefreshEnabled) {
+            dynamicQueryIndex.register(ctx.getTenantId(), ctx);
+        }
+    }
+
+    private void unregisterDynamicQuery(TbAbstractEntityQuerySubCtx<?> ctx) {
+        if (eventDrivenRefreshEnabled) {
+            dynamicQueryIndex.unregister(ctx);
+        }
+    }
+
+    private void markDynamicQueries(Collection<TbAbstractEntityQuerySubCtx<?>> candidates, Predicate<TbAbstractEntityQuerySubCtx<?>> filter) {
+        for (TbAbstractEntityQuerySubCtx<?> ctx : candidates) {
+            if (ctx.isRefreshScheduled() && filter.test(ctx) && ctx.markRefreshPending()) {
+                pendingDynamicQueries.add(ctx);
+            }
+        }
+    }
+
+    private void refreshPendingDynamicQueries() {
+        try {
+            List<TbAbstractEntityQuerySubCtx<?>> pending = new ArrayList<>();
+            TbAbstractEntityQuerySubCtx<?> ctx;
+            while ((ctx = pendingDynamicQueries.poll()) != null) {
+                if (ctx.pollRefreshPending() && !ctx.isStopped()) {
+                    pending.add(ctx);
+                }
+            }
+            if (pending.isEmpty()) {
+                return;
+            }
+            if (sharedQueryEvaluator != null) {
+                pending.stream().map(TbAbstractSubCtx::getTenantId).distinct().forEach(sharedQueryEvaluator::invalidate);
+            }
+            log.trace("Refreshing {} dynamic queries triggered by entity updates", pending.size());
+            stats.getDynamicQueryEventRefreshCnt().addAndGet(pending.size());
+            pending.forEach(this::refreshDynamicQuery);
+        } catch (Exception e) {
+            log.warn("Failed to refresh pending dynamic queries", e);
+        }
+    }
+
     private void refreshAlarmQuery(TbAlarmDataSubCtx finalCtx) {
         if (validate(finalCtx)) {
             finalCtx.checkAndResetInvocationCounter();
@@ -516,13 +653,15 @@ public class DefaultTbEntityDataSubscriptionService implements TbEntityDataSubsc
         long regularQueryInvocationTimeValue = stats.getRegularQueryTimeSpent().getAndSet(0);
         int dynamicQueryInvocationCntValue = stats.getDynamicQueryInvocationCnt().getAndSet(0);
         long dynamicQueryInvocationTimeValue = stats.getDynamicQueryTimeSpent().getAndSet(0);
+        int dynamicQueryDedupCntValue = stats.getDynamicQueryDedupCnt().getAndSet(0);
+        int dynamicQueryEventRefreshCntValue = stats.getDynamicQueryEventRefreshCnt().getAndSet(0);
         long dynamicQueryCnt = subscriptionsBySessionId.values().stream().mapToLong(m -> m.values().stream().filter(TbAbstractSubCtx::isDynamic).count()).sum();
         if (regularQueryInvocationCntValue > 0 || dynamicQueryInvocationCntValue > 0 || dynamicQueryCnt > 0 || alarmQueryInvocationCntValue > 0) {
             log.info("Stats: regularQueryInvocationCnt = [{}], regularQueryInvocationTime = [{}], " +
-                            "dynamicQueryCnt = [{}] dynamicQueryInvocationCnt = [{}], dynamicQueryInvocationTime = [{}], " +
+                            "dynamicQueryCnt = [{}] dynamicQueryInvocationCnt = [{}], dynamicQueryInvocationTime = [{}], dynamicQueryDedupCnt = [{}], dynamicQueryEventRefreshCnt = [{}], " +
                             "alarmQueryInvocationCnt = [{}], alarmQueryInvocationTime = [{}]",
                     regularQueryInvocationCntValue, regularQueryInvocationTimeValue,
-                    dynamicQueryCnt, dynamicQueryInvocationCntValue, dynamicQueryInvocationTimeValue,
+                    dynamicQueryCnt, dynamicQueryInvocationCntValue, dynamicQueryInvocationTimeValue, dynamicQueryDedupCntValue, dynamicQueryEventRefreshCntValue,
                     alarmQueryInvocationCntValue, alarmQueryInvocationTimeValue);
         }
     }
@@ -531,6 +670,7 @@ public class DefaultTbEntityDataSubscriptionService implements TbEntityDataSubsc
         Map<Integer, TbAbstractSubCtx> sessionSubs = subscriptionsBySessionId.computeIfAbsent(sessionRef.getSessionId(), k -> new ConcurrentHashMap<>());
         TbEntityDataSubCtx ctx = new TbEntityDataSubCtx(serviceId, wsService, entityService, localSubscriptionService,
                 attributesService, stats, sessionRef, cmd.getCmdId(), maxEntitiesPerDataSubscription);
+        ctx.setSharedQueryEvaluator(sharedQueryEvaluator);
         if (cmd.getQuery() != null) {
             ctx.setAndResolveQuery(cmd.getQuery());
         }
@@ -767,6 +907,9 @@ public class DefaultTbEntityDataSubscriptionService implements TbEntityDataSubsc
     private void cleanupAndCancel(TbAbstractSubCtx ctx) {
         if (ctx != null) {
             ctx.stop();
+            if (ctx instanceof TbAbstractEntityQuerySubCtx<?> queryCtx) {
+                unregisterDynamicQuery(queryCtx);
+            }
             if (ctx.getSessionId() != null) {
                 Map<Integer, TbAbstractSubCtx> sessionSubs = subscriptionsBySessionId.get(ctx.getSessionId());
                 if (sessionSubs != null) {
@@ -16,6 +16,7 @@
 package org.thingsboard.server.service.subscription;
 
 import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.thingsboard.server.common.data.id.EntityId;
 import org.thingsboard.server.common.data.kv.Aggregation;
@@ -35,10 +36,12 @@ import org.thingsboard.server.service.ws.telemetry.sub.TelemetrySubscriptionUpda
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -49,6 +52,8 @@ public abstract class TbAbstractDataSubCtx<T extends AbstractDataQuery<? extends
     protected final Map<Integer, EntityId> subToEntityIdMap;
     @Getter
     protected PageData<EntityData> data;
+    @Setter
+    protected TbSharedEntityDataQueryEvaluator sharedQueryEvaluator;
 
     public TbAbstractDataSubCtx(String serviceId, WebSocketService wsService,
                                 EntityService entityService, TbLocalSubscriptionService localSubscriptionService,
@@ -64,7 +69,18 @@ public abstract class TbAbstractDataSubCtx<T extends AbstractDataQuery<? extends
     }
 
     protected PageData<EntityData> findEntityData() {
-        PageData<EntityData> result = entityService.findEntityDataByQuery(getTenantId(), getCustomerId(), buildEntityDataQuery());
+        return findEntityData(false);
+    }
+
+    protected PageData<EntityData> findEntityData(boolean shared) {
+        EntityDataQuery entityDataQuery = buildEntityDataQuery();
+        PageData<EntityData> result;
+        if (shared && sharedQueryEvaluator != null) {
+            result = sharedQueryEvaluator.evaluate(getTenantId(), getCustomerId(), entityDataQuery,
+                    () -> entityService.findEntityDataByQuery(getTenantId(), getCustomerId(), entityDataQuery));
+        } else {
+            result = entityService.findEntityDataByQuery(getTenantId(), getCustomerId(), entityDataQuery);
+        }
         if (log.isTraceEnabled()) {
             result.getData().forEach(ed -> {
                 log.trace("[{}][{}] EntityData: {}", getSessionId(), getCmdId(), ed);
@@ -78,9 +94,29 @@ public abstract class TbAbstractDataSubCtx<T extends AbstractDataQuery<? extends
         return query != null && query.getPageLink().isDynamic();
     }
 
+    @Override
+    public boolean isAffectedBy(EntityKeyType keyType, Collection<String> keys) {
+        if (super.isAffectedBy(keyType, keys)) {
+            return true;
+        }
+        T query = this.query;
+        return query != null && query.getPageLink().getSortOrder() != null
+                && isKeyAffected(query.getPageLink().getSortOrder().getKey(), keyType, keys);
+    }
+
+    @Override
+    public Set<String> getQueryKeyNames() {
+        Set<String> keyNames = super.getQueryKeyNames();
+        T query = this.query;
+        if (query != null && query.getPageLink().getSortOrder() != null && query.getPageLink().getSortOrder().getKey() != null) {
+            keyNames.add(query.getPageLink().getSortOrder().getKey().getKey());
+        }
+        return keyNames;
+    }
+
     @Override
     protected synchronized void update() {
-        PageData<EntityData> newData = findEntityData();
+        PageData<EntityData> newData = findEntityData(true);
         Map<EntityId, EntityData> oldDataMap;
         if (data != null && !data.getData().isEmpty()) {
             oldDataMap = data.getData().stream().collect(Collectors.toMap(EntityData::getEntityId, Function.identity(), (a, b) -> a));
@@ -33,6 +33,8 @@ import org.thingsboard.server.common.data.query.DynamicValue;
 import org.thingsboard.server.common.data.query.DynamicValueSourceType;
 import org.thingsboard.server.common.data.query.EntityCountQuery;
 import org.thingsboard.server.common.data.query.EntityFilter;
+import org.thingsboard.server.common.data.query.EntityKey;
+import org.thingsboard.server.common.data.query.EntityKeyType;
 import org.thingsboard.server.common.data.query.FilterPredicateType;
 import org.thingsboard.server.common.data.query.KeyFilter;
 import org.thingsboard.server.common.data.query.KeyFilterPredicate;
@@ -45,8 +47,10 @@ import org.thingsboard.server.service.ws.WebSocketSessionRef;
 import org.thingsboard.server.service.ws.telemetry.sub.TelemetrySubscriptionUpdate;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -54,6 +58,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Slf4j
 public abstract class TbAbstractEntityQuerySubCtx<T extends EntityCountQuery> extends TbAbstractSubCtx {
@@ -68,6 +73,7 @@ public abstract class TbAbstractEntityQuerySubCtx<T extends EntityCountQuery> ex
     protected T query;
     @Setter
     protected volatile ScheduledFuture<?> refreshTask;
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
 
     public TbAbstractEntityQuerySubCtx(String serviceId, WebSocketService wsService, EntityService entityService, TbLocalSubscriptionService localSubscriptionService,
                                        AttributesService attributesService, SubscriptionServiceStatistics stats, WebSocketSessionRef sessionRef, int cmdId) {
@@ -282,6 +288,62 @@ public abstract class TbAbstractEntityQuerySubCtx<T extends EntityCountQuery> ex
         }
     }
 
+    public boolean isRefreshScheduled() {
+        ScheduledFuture<?> task = this.refreshTask;
+        return task != null && !task.isCancelled();
+    }
+
+    /**
+     * @return true if the refresh was not pending yet
+     */
+    public boolean markRefreshPending() {
+        return refreshPending.compareAndSet(false, true);
+    }
+
+    public boolean pollRefreshPending() {
+        return refreshPending.getAndSet(false);
+    }
+
+    /**
+     * Checks whether an update of the given keys may change the result of the query, i.e. the keys are used by the query filters.
+     */
+    public boolean isAffectedBy(EntityKeyType keyType, Collection<String> keys) {
+        T query = this.query;
+        if (query == null || query.getKeyFilters() == null) {
+            return false;
+        }
+        for (KeyFilter keyFilter : query.getKeyFilters()) {
+            if (isKeyAffected(keyFilter.getKey(), keyType, keys)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return names of the keys which updates may change the result of the query
+     */
+    public Set<String> getQueryKeyNames() {
+        T query = this.query;
+        Set<String> keyNames = new HashSet<>();
+        if (query != null && query.getKeyFilters() != null) {
+            for (KeyFilter keyFilter : query.getKeyFilters()) {
+                if (keyFilter.getKey() != null) {
+                    keyNames.add(keyFilter.getKey().getKey());
+                }
+            }
+        }
+        return keyNames;
+    }
+
+    protected static boolean isKeyAffected(EntityKey key, EntityKeyType keyType, Collection<String> keys) {
+        if (key == null || !keys.contains(key.getKey())) {
+            return false;
+        }
+        return key.getType() == keyType || (key.getType() == EntityKeyType.ATTRIBUTE && (keyType == EntityKeyType.CLIENT_ATTRIBUTE
+                || keyType == EntityKeyType.SHARED_ATTRIBUTE || keyType == EntityKeyType.SERVER_ATTRIBUTE));
+    }
+
     public void cancelTasks() {
         if (this.refreshTask != null) {
             log.trace("[{}][{}] Canceling old refresh task", sessionRef.getSessionId(), cmdId);
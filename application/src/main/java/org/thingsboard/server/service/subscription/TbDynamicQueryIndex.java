@@ -0,0 +1,125 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.subscription;
+
+import org.thingsboard.server.common.data.id.TenantId;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Index of the dynamic entity queries refreshed by updates, by tenant and by the names of the keys used by the query
+ * filters and sort order. Lets the update handlers find the affected queries without iterating over all subscriptions.
+ */
+class TbDynamicQueryIndex {
+
+    private final ConcurrentMap<TenantId, TenantQueries> tenants = new ConcurrentHashMap<>();
+    private final ConcurrentMap<QueryRef, RegisteredQuery> registered = new ConcurrentHashMap<>();
+
+    synchronized void register(TenantId tenantId, TbAbstractEntityQuerySubCtx<?> ctx) {
+        unregister(ctx);
+        QueryRef ref = new QueryRef(ctx.getSessionId(), ctx.getCmdId());
+        Set<String> keyNames = ctx.getQueryKeyNames();
+        TenantQueries tenantQueries = tenants.computeIfAbsent(tenantId, id -> new TenantQueries());
+        tenantQueries.all.put(ref, ctx);
+        if (ctx instanceof TbAlarmCountSubCtx) {
+            tenantQueries.alarmCounts.put(ref, ctx);
+        }
+        for (String keyName : keyNames) {
+            tenantQueries.byKey.computeIfAbsent(keyName, k -> new ConcurrentHashMap<>()).put(ref, ctx);
+        }
+        registered.put(ref, new RegisteredQuery(tenantId, keyNames));
+    }
+
+    synchronized void unregister(TbAbstractEntityQuerySubCtx<?> ctx) {
+        QueryRef ref = new QueryRef(ctx.getSessionId(), ctx.getCmdId());
+        RegisteredQuery query = registered.remove(ref);
+        if (query == null) {
+            return;
+        }
+        TenantQueries tenantQueries = tenants.get(query.tenantId());
+        if (tenantQueries == null) {
+            return;
+        }
+        tenantQueries.all.remove(ref);
+        tenantQueries.alarmCounts.remove(ref);
+        for (String keyName : query.keyNames()) {
+            Map<QueryRef, TbAbstractEntityQuerySubCtx<?>> queries = tenantQueries.byKey.get(keyName);
+            if (queries != null) {
+                queries.remove(ref);
+                if (queries.isEmpty()) {
+                    tenantQueries.byKey.remove(keyName);
+                }
+            }
+        }
+        if (tenantQueries.all.isEmpty()) {
+            tenants.remove(query.tenantId());
+        }
+    }
+
+    /**
+     * @return queries of the tenant that use any of the given key names; the key type still has to be checked by the caller
+     */
+    Collection<TbAbstractEntityQuerySubCtx<?>> getByKeys(TenantId tenantId, Collection<String> keyNames) {
+        TenantQueries tenantQueries = tenants.get(tenantId);
+        if (tenantQueries == null || tenantQueries.byKey.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<QueryRef, TbAbstractEntityQuerySubCtx<?>> result = null;
+        for (String keyName : keyNames) {
+            Map<QueryRef, TbAbstractEntityQuerySubCtx<?>> queries = tenantQueries.byKey.get(keyName);
+            if (queries != null) {
+                if (result == null) {
+                    result = new HashMap<>();
+                }
+                result.putAll(queries);
+            }
+        }
+        return result != null ? result.values() : Collections.emptyList();
+    }
+
+    Collection<TbAbstractEntityQuerySubCtx<?>> getAlarmCountQueries(TenantId tenantId) {
+        TenantQueries tenantQueries = tenants.get(tenantId);
+        return tenantQueries != null ? tenantQueries.alarmCounts.values() : Collections.emptyList();
+    }
+
+    Collection<TbAbstractEntityQuerySubCtx<?>> getAll(TenantId tenantId) {
+        TenantQueries tenantQueries = tenants.get(tenantId);
+        return tenantQueries != null ? tenantQueries.all.values() : Collections.emptyList();
+    }
+
+    int size() {
+        return registered.size();
+    }
+
+    private static class TenantQueries {
+
+        private final ConcurrentMap<QueryRef, TbAbstractEntityQuerySubCtx<?>> all = new ConcurrentHashMap<>();
+        private final ConcurrentMap<QueryRef, TbAbstractEntityQuerySubCtx<?>> alarmCounts = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, ConcurrentMap<QueryRef, TbAbstractEntityQuerySubCtx<?>>> byKey = new ConcurrentHashMap<>();
+
+    }
+
+    private record QueryRef(String sessionId, int cmdId) {}
+
+    private record RegisteredQuery(TenantId tenantId, Set<String> keyNames) {}
+
+}
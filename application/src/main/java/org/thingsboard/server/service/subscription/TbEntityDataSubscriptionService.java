@@ -15,6 +15,8 @@
  */
 package org.thingsboard.server.service.subscription;
 
+import org.thingsboard.server.common.data.AttributeScope;
+import org.thingsboard.server.common.data.id.TenantId;
 import org.thingsboard.server.service.ws.WebSocketSessionRef;
 import org.thingsboard.server.service.ws.telemetry.cmd.v2.AlarmCountCmd;
 import org.thingsboard.server.service.ws.telemetry.cmd.v2.AlarmDataCmd;
@@ -23,6 +25,8 @@ import org.thingsboard.server.service.ws.telemetry.cmd.v2.EntityCountCmd;
 import org.thingsboard.server.service.ws.telemetry.cmd.v2.EntityDataCmd;
 import org.thingsboard.server.service.ws.telemetry.cmd.v2.UnsubscribeCmd;
 
+import java.util.Collection;
+
 public interface TbEntityDataSubscriptionService {
 
     void handleCmd(WebSocketSessionRef sessionId, EntityDataCmd cmd);
@@ -39,4 +43,12 @@ public interface TbEntityDataSubscriptionService {
 
     void cancelAllSessionSubscriptions(String sessionId);
 
+    void onTimeSeriesUpdate(TenantId tenantId, Collection<String> keys);
+
+    void onAttributesUpdate(TenantId tenantId, AttributeScope scope, Collection<String> keys);
+
+    void onAlarmUpdate(TenantId tenantId);
+
+    void onEntityUpdate(TenantId tenantId);
+
 }
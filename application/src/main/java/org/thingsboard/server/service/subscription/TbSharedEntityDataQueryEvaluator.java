@@ -0,0 +1,90 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.subscription;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.thingsboard.common.util.JacksonUtil;
+import org.thingsboard.server.common.data.id.CustomerId;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.data.page.PageData;
+import org.thingsboard.server.common.data.query.EntityData;
+import org.thingsboard.server.common.data.query.EntityDataQuery;
+import org.thingsboard.server.common.data.query.EntityKeyType;
+import org.thingsboard.server.common.data.query.TsValue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Evaluates identical dynamic entity data queries once per TTL and shares the result between subscriptions.
+ * Queries are fingerprinted by tenant, customer and the JSON form of the query.
+ * Each caller receives its own copy of the entity data, since subscription contexts update it in place.
+ */
+public class TbSharedEntityDataQueryEvaluator {
+
+    private final Cache<QueryFingerprint, PageData<EntityData>> results;
+    private final SubscriptionServiceStatistics stats;
+
+    public TbSharedEntityDataQueryEvaluator(long ttlMs, long maxSize, SubscriptionServiceStatistics stats) {
+        this.results = Caffeine.newBuilder()
+                .expireAfterWrite(ttlMs, TimeUnit.MILLISECONDS)
+                .maximumSize(maxSize)
+                .build();
+        this.stats = stats;
+    }
+
+    public PageData<EntityData> evaluate(TenantId tenantId, CustomerId customerId, EntityDataQuery query, Supplier<PageData<EntityData>> dbCall) {
+        QueryFingerprint fingerprint = new QueryFingerprint(tenantId, customerId, JacksonUtil.toString(query));
+        boolean[] executed = new boolean[1];
+        PageData<EntityData> result = results.get(fingerprint, key -> {
+            executed[0] = true;
+            return dbCall.get();
+        });
+        if (!executed[0]) {
+            stats.getDynamicQueryDedupCnt().incrementAndGet();
+        }
+        return copy(result);
+    }
+
+    public void invalidate(TenantId tenantId) {
+        results.asMap().keySet().removeIf(fingerprint -> fingerprint.tenantId().equals(tenantId));
+    }
+
+    private static PageData<EntityData> copy(PageData<EntityData> pageData) {
+        List<EntityData> data = pageData.getData().stream().map(TbSharedEntityDataQueryEvaluator::copy).toList();
+        return new PageData<>(data, pageData.getTotalPages(), pageData.getTotalElements(), pageData.hasNext());
+    }
+
+    private static EntityData copy(EntityData entityData) {
+        Map<EntityKeyType, Map<String, TsValue>> latest = null;
+        if (entityData.getLatest() != null) {
+            latest = new HashMap<>();
+            for (Map.Entry<EntityKeyType, Map<String, TsValue>> entry : entityData.getLatest().entrySet()) {
+                latest.put(entry.getKey(), new HashMap<>(entry.getValue()));
+            }
+        }
+        return new EntityData(entityData.getEntityId(), latest,
+                entityData.getTimeseries() != null ? new HashMap<>(entityData.getTimeseries()) : null,
+                entityData.getAggLatest() != null ? new HashMap<>(entityData.getAggLatest()) : null);
+    }
+
+    private record QueryFingerprint(TenantId tenantId, CustomerId customerId, String query) {}
+
+}
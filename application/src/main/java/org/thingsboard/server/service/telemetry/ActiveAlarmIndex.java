@@ -0,0 +1,42 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.telemetry;
+
+import org.thingsboard.server.common.data.alarm.Alarm;
+import org.thingsboard.server.common.data.id.EntityId;
+import org.thingsboard.server.common.data.id.TenantId;
+
+/**
+ * In-memory index of the active (not cleared) alarms by originator and alarm type.
+ * Contains the originators of the core partitions that are assigned to the current node.
+ */
+public interface ActiveAlarmIndex {
+
+    /**
+     * Whether the active alarms of the originator are indexed by this node, i.e. {@link #getActiveAlarm} result is authoritative.
+     */
+    boolean isIndexed(TenantId tenantId, EntityId originator);
+
+    /**
+     * Returns a copy of the latest active alarm of the originator with the given type, or null if there is no such alarm.
+     */
+    Alarm getActiveAlarm(EntityId originator, String type);
+
+    void onAlarmUpdate(Alarm alarm);
+
+    void onAlarmDeleted(Alarm alarm);
+
+}
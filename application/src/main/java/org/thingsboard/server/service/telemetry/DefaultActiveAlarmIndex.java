@@ -0,0 +1,234 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.telemetry;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.thingsboard.common.util.ThingsBoardThreadFactory;
+import org.thingsboard.server.common.data.alarm.Alarm;
+import org.thingsboard.server.common.data.alarm.AlarmApiCallResult;
+import org.thingsboard.server.common.data.id.AlarmId;
+import org.thingsboard.server.common.data.id.EntityId;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.data.page.PageDataIterable;
+import org.thingsboard.server.common.msg.queue.ServiceType;
+import org.thingsboard.server.common.msg.queue.TopicPartitionInfo;
+import org.thingsboard.server.dao.alarm.AlarmService;
+import org.thingsboard.server.dao.eventsourcing.ActionEntityEvent;
+import org.thingsboard.server.dao.eventsourcing.DeleteEntityEvent;
+import org.thingsboard.server.dao.eventsourcing.SaveEntityEvent;
+import org.thingsboard.server.dao.tenant.TenantService;
+import org.thingsboard.server.queue.util.TbCoreComponent;
+import org.thingsboard.server.service.partition.AbstractPartitionBasedService;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Service
+@TbCoreComponent
+@ConditionalOnProperty(prefix = "state.activeAlarmIndex", value = "enabled", havingValue = "true")
+@Slf4j
+@RequiredArgsConstructor
+public class DefaultActiveAlarmIndex extends AbstractPartitionBasedService<EntityId> implements ActiveAlarmIndex {
+
+    private final AlarmService alarmService;
+    private final TenantService tenantService;
+
+    @Value("${state.activeAlarmIndex.initFetchPackSize:10000}")
+    private int initFetchPackSize;
+
+    private final ConcurrentMap<EntityId, Map<String, Alarm>> activeAlarms = new ConcurrentHashMap<>();
+    private final Set<TopicPartitionInfo> loadedPartitions = ConcurrentHashMap.newKeySet();
+    // alarms are never re-activated, so the updates of the cleared or deleted alarms that arrive late are ignored
+    private final Cache<AlarmId, Boolean> inactiveAlarmIds = Caffeine.newBuilder()
+            .expireAfterWrite(10, TimeUnit.MINUTES)
+            .build();
+
+    private ListeningExecutorService loadExecutor;
+
+    @PostConstruct
+    public void init() {
+        super.init();
+        loadExecutor = MoreExecutors.listeningDecorator(Executors.newSingleThreadExecutor(ThingsBoardThreadFactory.forName("active-alarm-index-loader")));
+    }
+
+    @PreDestroy
+    public void stop() {
+        super.stop();
+        if (loadExecutor != null) {
+            loadExecutor.shutdownNow();
+        }
+    }
+
+    @Override
+    protected String getServiceName() {
+        return "Active Alarm Index";
+    }
+
+    @Override
+    protected String getSchedulerExecutorName() {
+        return "active-alarm-index-scheduled";
+    }
+
+    @Override
+    public boolean isIndexed(TenantId tenantId, EntityId originator) {
+        return loadedPartitions.contains(partitionService.resolve(ServiceType.TB_CORE, tenantId, originator));
+    }
+
+    @Override
+    public Alarm getActiveAlarm(EntityId originator, String type) {
+        Map<String, Alarm> alarms = activeAlarms.get(originator);
+        Alarm alarm = alarms != null ? alarms.get(type) : null;
+        return alarm != null ? new Alarm(alarm) : null;
+    }
+
+    @Override
+    public void onAlarmUpdate(Alarm alarm) {
+        if (alarm.isCleared()) {
+            onAlarmDeleted(alarm);
+            return;
+        }
+        Set<EntityId> originators = getPartitionedOriginators(alarm);
+        if (originators != null && inactiveAlarmIds.getIfPresent(alarm.getId()) == null) {
+            originators.add(alarm.getOriginator());
+            putActiveAlarm(alarm);
+        }
+    }
+
+    @Override
+    public void onAlarmDeleted(Alarm alarm) {
+        if (getPartitionedOriginators(alarm) == null) {
+            return;
+        }
+        inactiveAlarmIds.put(alarm.getId(), Boolean.TRUE);
+        activeAlarms.computeIfPresent(alarm.getOriginator(), (originator, alarms) -> {
+            alarms.computeIfPresent(alarm.getType(), (type, current) -> current.getId().equals(alarm.getId()) ? null : current);
+            return alarms.isEmpty() ? null : alarms;
+        });
+    }
+
+    /*
+     * Alarm service events cover the modifications that do not go through the alarm subscription service,
+     * e.g. the alarms synced from the cloud or removed by the housekeeper
+     * */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleEvent(SaveEntityEvent<?> event) {
+        if (event.getEntity() instanceof AlarmApiCallResult result && result.getAlarm() != null) {
+            onAlarmUpdate(result.getAlarm());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleEvent(ActionEntityEvent<?> event) {
+        if (event.getEntity() instanceof AlarmApiCallResult result && result.getAlarm() != null) {
+            onAlarmUpdate(result.getAlarm());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleEvent(DeleteEntityEvent<?> event) {
+        if (event.getEntity() instanceof Alarm alarm) {
+            onAlarmDeleted(alarm);
+        }
+    }
+
+    /*
+     * Loads the active alarms of the tenants which core topic has added partitions, off the partition change thread.
+     * The added partitions are served from the DB until the load completes
+     * */
+    @Override
+    protected Map<TopicPartitionInfo, List<ListenableFuture<?>>> onAddedPartitions(Set<TopicPartitionInfo> addedPartitions) {
+        ListenableFuture<?> future = loadExecutor.submit(() -> loadActiveAlarms(addedPartitions));
+        Map<TopicPartitionInfo, List<ListenableFuture<?>>> result = new HashMap<>();
+        addedPartitions.forEach(tpi -> result.put(tpi, List.of(future)));
+        return result;
+    }
+
+    private void loadActiveAlarms(Set<TopicPartitionInfo> addedPartitions) {
+        long startTs = System.currentTimeMillis();
+        Set<String> addedTopics = addedPartitions.stream().map(TopicPartitionInfo::getTopic).collect(Collectors.toSet());
+        int count = 0;
+        for (TenantId tenantId : new PageDataIterable<>(tenantService::findTenantsIds, initFetchPackSize)) {
+            if (!addedTopics.contains(partitionService.resolve(ServiceType.TB_CORE, tenantId, tenantId).getTopic())) {
+                continue;
+            }
+            AlarmId idOffset = null;
+            while (true) {
+                List<Alarm> alarms = alarmService.findActiveAlarms(tenantId, idOffset, initFetchPackSize);
+                for (Alarm alarm : alarms) {
+                    TopicPartitionInfo tpi = partitionService.resolve(ServiceType.TB_CORE, alarm.getTenantId(), alarm.getOriginator());
+                    Set<EntityId> originators = partitionedEntities.get(tpi);
+                    if (addedPartitions.contains(tpi) && originators != null && inactiveAlarmIds.getIfPresent(alarm.getId()) == null) {
+                        originators.add(alarm.getOriginator());
+                        putActiveAlarm(alarm);
+                        count++;
+                    }
+                }
+                if (alarms.size() < initFetchPackSize) {
+                    break;
+                }
+                idOffset = alarms.get(alarms.size() - 1).getId();
+            }
+        }
+        addedPartitions.stream().filter(partitionedEntities::containsKey).forEach(loadedPartitions::add);
+        log.info("[{}] Loaded {} active alarms of the added partitions in {} ms", getServiceName(), count, System.currentTimeMillis() - startTs);
+    }
+
+    @Override
+    protected void onRepartitionEvent() {
+        loadedPartitions.retainAll(partitionedEntities.keySet());
+    }
+
+    @Override
+    protected void cleanupEntityOnPartitionRemoval(EntityId originator) {
+        activeAlarms.remove(originator);
+    }
+
+    private Set<EntityId> getPartitionedOriginators(Alarm alarm) {
+        return partitionedEntities.get(partitionService.resolve(ServiceType.TB_CORE, alarm.getTenantId(), alarm.getOriginator()));
+    }
+
+    private void putActiveAlarm(Alarm alarm) {
+        Alarm copy = new Alarm(alarm);
+        activeAlarms.compute(alarm.getOriginator(), (originator, alarms) -> {
+            if (alarms == null) {
+                alarms = new ConcurrentHashMap<>();
+            }
+            alarms.merge(alarm.getType(), copy, (current, updated) ->
+                    current.getId().equals(updated.getId()) || updated.getCreatedTime() >= current.getCreatedTime() ? updated : current);
+            return alarms;
+        });
+    }
+
+}
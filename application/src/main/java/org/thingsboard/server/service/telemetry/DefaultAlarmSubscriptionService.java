@@ -60,6 +60,7 @@ import org.thingsboard.server.service.entitiy.alarm.TbAlarmCommentService;
 import org.thingsboard.server.service.subscription.TbSubscriptionUtils;
 
 import java.util.Collection;
+import java.util.Optional;
 
 /**
  * Created by ashvayka on 27.03.18.
@@ -74,6 +75,7 @@ public class DefaultAlarmSubscriptionService extends AbstractSubscriptionService
     private final TbApiUsageReportClient apiUsageClient;
     private final TbApiUsageStateService apiUsageStateService;
     private final NotificationRuleProcessor notificationRuleProcessor;
+    private final Optional<ActiveAlarmIndex> activeAlarmIndex;
 
     @Override
     protected String getExecutorPrefix() {
@@ -169,17 +171,23 @@ public class DefaultAlarmSubscriptionService extends AbstractSubscriptionService
 
     @Override
     public Alarm findLatestActiveByOriginatorAndType(TenantId tenantId, EntityId originator, String type) {
+        if (isIndexed(tenantId, originator)) {
+            return activeAlarmIndex.get().getActiveAlarm(originator, type);
+        }
         return alarmService.findLatestActiveByOriginatorAndType(tenantId, originator, type);
     }
 
     @Override
     public FluentFuture<Alarm> findLatestActiveByOriginatorAndTypeAsync(TenantId tenantId, EntityId originator, String type) {
+        if (isIndexed(tenantId, originator)) {
+            return FluentFuture.from(Futures.immediateFuture(activeAlarmIndex.get().getActiveAlarm(originator, type)));
+        }
         return alarmService.findLatestActiveByOriginatorAndTypeAsync(tenantId, originator, type);
     }
 
     @Override
     public Alarm findLatestByOriginatorAndType(TenantId tenantId, EntityId originator, String type) {
-        return alarmService.findLatestActiveByOriginatorAndType(tenantId, originator, type);
+        return findLatestActiveByOriginatorAndType(tenantId, originator, type);
     }
 
     @Override
@@ -187,6 +195,10 @@ public class DefaultAlarmSubscriptionService extends AbstractSubscriptionService
         return alarmService.findAlarmTypesByTenantId(tenantId, pageLink);
     }
 
+    private boolean isIndexed(TenantId tenantId, EntityId originator) {
+        return activeAlarmIndex.isPresent() && activeAlarmIndex.get().isIndexed(tenantId, originator);
+    }
+
     private void onAlarmUpdated(AlarmApiCallResult result) {
         wsCallBackExecutor.submit(() -> {
             AlarmInfo alarm = result.getAlarm();
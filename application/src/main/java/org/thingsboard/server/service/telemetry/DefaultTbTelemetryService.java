@@ -22,21 +22,29 @@ import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.thingsboard.server.common.data.id.EntityId;
+import org.thingsboard.server.common.data.id.TenantId;
 import org.thingsboard.server.common.data.kv.Aggregation;
 import org.thingsboard.server.common.data.kv.AggregationParams;
 import org.thingsboard.server.common.data.kv.BaseReadTsKvQuery;
 import org.thingsboard.server.common.data.kv.IntervalType;
 import org.thingsboard.server.common.data.kv.ReadTsKvQuery;
+import org.thingsboard.server.common.data.kv.TimeseriesBatchRequest;
+import org.thingsboard.server.common.data.kv.TimeseriesExportFormat;
 import org.thingsboard.server.common.data.kv.TsKvEntry;
 import org.thingsboard.server.dao.timeseries.TimeseriesService;
 import org.thingsboard.server.service.security.AccessValidator;
+import org.thingsboard.server.service.security.ValidationCallback;
 import org.thingsboard.server.service.security.ValidationResult;
+import org.thingsboard.server.service.security.ValidationResultCode;
 import org.thingsboard.server.service.security.model.SecurityUser;
 import org.thingsboard.server.service.security.permission.Operation;
 
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -47,6 +55,12 @@ public class DefaultTbTelemetryService implements TbTelemetryService {
     private final TimeseriesService tsService;
     private final AccessValidator accessValidator;
 
+    @Value("${database.ts_export_chunk_size:10000}")
+    private int exportChunkSize;
+
+    @Value("${database.ts_batch_max_entities:1000}")
+    private int batchMaxEntities;
+
     @Override
     public ListenableFuture<List<TsKvEntry>> getTimeseries(EntityId entityId, List<String> keys, Long startTs, Long endTs, IntervalType intervalType,
                                                            Long interval, String timeZone, Integer limit, Aggregation agg, String orderBy,
@@ -56,14 +70,7 @@ public class DefaultTbTelemetryService implements TbTelemetryService {
             @Override
             public void onSuccess(ValidationResult validationResult) {
                 try {
-                    AggregationParams params;
-                    if (Aggregation.NONE.equals(agg)) {
-                        params = AggregationParams.none();
-                    } else if (intervalType == null || IntervalType.MILLISECONDS.equals(intervalType)) {
-                        params = interval == 0L ? AggregationParams.none() : AggregationParams.milliseconds(agg, interval);
-                    } else {
-                        params = AggregationParams.calendar(agg, intervalType, timeZone);
-                    }
+                    AggregationParams params = toAggregationParams(agg, intervalType, interval, timeZone);
                     List<ReadTsKvQuery> queries = keys.stream().map(key -> new BaseReadTsKvQuery(key, startTs, endTs, params, limit, orderBy)).collect(Collectors.toList());
                     Futures.addCallback(tsService.findAll(currentUser.getTenantId(), entityId, queries), new FutureCallback<>() {
                         @Override
@@ -89,4 +96,68 @@ public class DefaultTbTelemetryService implements TbTelemetryService {
         return future;
     }
 
+    @Override
+    public ListenableFuture<Map<EntityId, List<TsKvEntry>>> getTimeseries(TimeseriesBatchRequest request, SecurityUser currentUser) {
+        List<EntityId> entityIds = request.getEntityIds();
+        List<String> keys = request.getKeys();
+        if (entityIds == null || entityIds.isEmpty() || keys == null || keys.isEmpty()) {
+            return Futures.immediateFailedFuture(new IllegalArgumentException("Entity ids and keys can't be empty"));
+        }
+        if (entityIds.size() > batchMaxEntities) {
+            return Futures.immediateFailedFuture(new IllegalArgumentException("Max number of entities in the batch is " + batchMaxEntities));
+        }
+        boolean latest = request.getStartTs() == null && request.getEndTs() == null;
+        if (!latest && (request.getStartTs() == null || request.getEndTs() == null)) {
+            return Futures.immediateFailedFuture(new IllegalArgumentException("Both 'startTs' and 'endTs' must be set"));
+        }
+        return Futures.transformAsync(accessValidator.validateAll(currentUser, Operation.READ_TELEMETRY, entityIds), validationResults -> {
+            for (ValidationResult validationResult : validationResults.values()) {
+                if (validationResult.getResultCode() != ValidationResultCode.OK) {
+                    throw ValidationCallback.getException(validationResult);
+                }
+            }
+            if (latest) {
+                return tsService.findLatest(currentUser.getTenantId(), entityIds, keys);
+            }
+            AggregationParams params = toAggregationParams(request.getAgg(), request.getIntervalType(), request.getInterval(), request.getTimeZone());
+            List<ReadTsKvQuery> queries = keys.stream()
+                    .map(key -> new BaseReadTsKvQuery(key, request.getStartTs(), request.getEndTs(), params, request.getLimit(), request.getOrderBy()))
+                    .collect(Collectors.toList());
+            return tsService.findAll(currentUser.getTenantId(), entityIds, queries);
+        }, MoreExecutors.directExecutor());
+    }
+
+    private static AggregationParams toAggregationParams(Aggregation agg, IntervalType intervalType, Long interval, String timeZone) {
+        if (Aggregation.NONE.equals(agg)) {
+            return AggregationParams.none();
+        } else if (intervalType == null || IntervalType.MILLISECONDS.equals(intervalType)) {
+            return interval == 0L ? AggregationParams.none() : AggregationParams.milliseconds(agg, interval);
+        } else {
+            return AggregationParams.calendar(agg, intervalType, timeZone);
+        }
+    }
+
+    @Override
+    public void exportTimeseries(TenantId tenantId, EntityId entityId, List<String> keys, long startTs, long endTs,
+                                 TimeseriesExportFormat format, boolean useStrictDataTypes, OutputStream out) throws Exception {
+        try (TimeseriesExportWriter writer = TimeseriesExportWriter.create(format, out, useStrictDataTypes)) {
+            for (String key : keys) {
+                long chunkStartTs = startTs;
+                while (chunkStartTs < endTs) {
+                    ReadTsKvQuery query = new BaseReadTsKvQuery(key, chunkStartTs, endTs, AggregationParams.none(), exportChunkSize, "ASC");
+                    List<TsKvEntry> chunk = tsService.findAll(tenantId, entityId, List.of(query)).get();
+                    for (TsKvEntry entry : chunk) {
+                        writer.write(entry);
+                    }
+                    writer.flush();
+                    if (chunk.size() < exportChunkSize) {
+                        break;
+                    }
+                    // timestamps are unique per entity and key, so the next chunk starts right after the last exported record
+                    chunkStartTs = chunk.get(chunk.size() - 1).getTs() + 1;
+                }
+            }
+        }
+    }
+
 }
@@ -18,12 +18,17 @@ package org.thingsboard.server.service.telemetry;
 import com.google.common.util.concurrent.ListenableFuture;
 import org.thingsboard.server.common.data.exception.ThingsboardException;
 import org.thingsboard.server.common.data.id.EntityId;
+import org.thingsboard.server.common.data.id.TenantId;
 import org.thingsboard.server.common.data.kv.Aggregation;
 import org.thingsboard.server.common.data.kv.IntervalType;
+import org.thingsboard.server.common.data.kv.TimeseriesBatchRequest;
+import org.thingsboard.server.common.data.kv.TimeseriesExportFormat;
 import org.thingsboard.server.common.data.kv.TsKvEntry;
 import org.thingsboard.server.service.security.model.SecurityUser;
 
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Map;
 
 public interface TbTelemetryService {
 
@@ -40,4 +45,17 @@ public interface TbTelemetryService {
                                                    Boolean useStrictDataTypes,
                                                    SecurityUser currentUser) throws ThingsboardException;
 
+    /**
+     * Fetches the same time series keys for multiple entities: latest values if the time range is not set, otherwise the values in the range.
+     * The access to all the entities is validated at once, the result fails if any of the entities can't be read by the user.
+     */
+    ListenableFuture<Map<EntityId, List<TsKvEntry>>> getTimeseries(TimeseriesBatchRequest request, SecurityUser currentUser);
+
+    /**
+     * Writes all the raw time series records in the range to the output, querying the database in chunks.
+     * The access to the entity must be validated by the caller.
+     */
+    void exportTimeseries(TenantId tenantId, EntityId entityId, List<String> keys, long startTs, long endTs,
+                          TimeseriesExportFormat format, boolean useStrictDataTypes, OutputStream out) throws Exception;
+
 }
@@ -0,0 +1,135 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.telemetry;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.thingsboard.common.util.JacksonUtil;
+import org.thingsboard.server.common.data.kv.TimeseriesExportFormat;
+import org.thingsboard.server.common.data.kv.TsKvEntry;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes time series records to the output one by one, without collecting them in memory.
+ */
+abstract class TimeseriesExportWriter implements AutoCloseable {
+
+    static TimeseriesExportWriter create(TimeseriesExportFormat format, OutputStream out, boolean useStrictDataTypes) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdJsonWriter(out, useStrictDataTypes);
+            case CSV -> new CsvWriter(out);
+        };
+    }
+
+    abstract void write(TsKvEntry entry) throws IOException;
+
+    abstract void flush() throws IOException;
+
+    @Override
+    public abstract void close() throws IOException;
+
+    private static class NdJsonWriter extends TimeseriesExportWriter {
+
+        private final JsonGenerator generator;
+        private final boolean useStrictDataTypes;
+
+        NdJsonWriter(OutputStream out, boolean useStrictDataTypes) throws IOException {
+            this.generator = JacksonUtil.OBJECT_MAPPER.getFactory().createGenerator(out, JsonEncoding.UTF8);
+            this.generator.setRootValueSeparator(null);
+            this.useStrictDataTypes = useStrictDataTypes;
+        }
+
+        @Override
+        void write(TsKvEntry entry) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("ts", entry.getTs());
+            generator.writeStringField("key", entry.getKey());
+            generator.writeFieldName("value");
+            if (useStrictDataTypes) {
+                switch (entry.getDataType()) {
+                    case BOOLEAN -> generator.writeBoolean(entry.getBooleanValue().get());
+                    case LONG -> generator.writeNumber(entry.getLongValue().get());
+                    case DOUBLE -> generator.writeNumber(entry.getDoubleValue().get());
+                    case JSON -> generator.writeRawValue(entry.getJsonValue().get());
+                    default -> generator.writeString(entry.getValueAsString());
+                }
+            } else {
+                generator.writeString(entry.getValueAsString());
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+
+    }
+
+    private static class CsvWriter extends TimeseriesExportWriter {
+
+        private final Writer writer;
+
+        CsvWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            this.writer.write("ts,key,value\n");
+        }
+
+        @Override
+        void write(TsKvEntry entry) throws IOException {
+            writer.write(Long.toString(entry.getTs()));
+            writer.write(',');
+            writeEscaped(entry.getKey());
+            writer.write(',');
+            writeEscaped(entry.getValueAsString());
+            writer.write('\n');
+        }
+
+        private void writeEscaped(String value) throws IOException {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+            } else {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            }
+        }
+
+        @Override
+        void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+
+    }
+
+}
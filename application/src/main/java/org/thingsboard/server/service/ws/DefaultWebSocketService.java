@@ -141,6 +141,9 @@ public class DefaultWebSocketService implements WebSocketService {
     @Value("${server.ws.ping_timeout:30000}")
     private long pingTimeout;
 
+    @Value("${server.ws.use_virtual_threads:false}")
+    private boolean useVirtualThreads;
+
     private final ConcurrentMap<TenantId, Set<String>> tenantSubscriptionsMap = new ConcurrentHashMap<>();
     private final ConcurrentMap<CustomerId, Set<String>> customerSubscriptionsMap = new ConcurrentHashMap<>();
     private final ConcurrentMap<UserId, Set<String>> regularUserSubscriptionsMap = new ConcurrentHashMap<>();
@@ -156,7 +159,11 @@ public class DefaultWebSocketService implements WebSocketService {
     @PostConstruct
     public void init() {
         serviceId = serviceInfoProvider.getServiceId();
-        executor = ThingsBoardExecutors.newWorkStealingPool(50, getClass());
+        if (useVirtualThreads) {
+            executor = ThingsBoardExecutors.newVirtualThreadPerTaskExecutor(50, getClass().getSimpleName());
+        } else {
+            executor = ThingsBoardExecutors.newWorkStealingPool(50, getClass());
+        }
 
         pingExecutor = ThingsBoardExecutors.newSingleThreadScheduledExecutor("telemetry-web-socket-ping");
         pingExecutor.scheduleWithFixedDelay(this::sendPing, pingTimeout / NUMBER_OF_PING_ATTEMPTS, pingTimeout / NUMBER_OF_PING_ATTEMPTS, TimeUnit.MILLISECONDS);
@@ -118,7 +118,7 @@ public class TenantActorTest {
         TbActorSystem system = spy(new DefaultTbActorSystem(settings));
         system.createDispatcher(RULE_DISPATCHER_NAME, mock());
         system.createDispatcher(DefaultActorService.CF_MANAGER_DISPATCHER_NAME, mock());
-        TbActorMailbox tenantCtx = new TbActorMailbox(system, settings, null, mock(), mock(), null);
+        TbActorMailbox tenantCtx = new TbActorMailbox(system, settings, null, mock(), mock(), null, null);
         tenantActor.init(tenantCtx);
 
         TbMsg msg = mock(TbMsg.class);
@@ -25,6 +25,7 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.testcontainers.shaded.org.apache.commons.lang3.RandomStringUtils;
 import org.thingsboard.common.util.JacksonUtil;
 import org.thingsboard.rule.engine.metadata.TbGetAttributesNode;
@@ -45,6 +46,8 @@ import org.thingsboard.server.common.data.event.EventType;
 import org.thingsboard.server.common.data.event.LifecycleEvent;
 import org.thingsboard.server.common.data.housekeeper.HousekeeperTask;
 import org.thingsboard.server.common.data.housekeeper.HousekeeperTaskType;
+import org.thingsboard.server.common.data.housekeeper.LatestTsDeletionHousekeeperTask;
+import org.thingsboard.server.common.data.housekeeper.TsHistoryDeletionHousekeeperTask;
 import org.thingsboard.server.common.data.id.AlarmId;
 import org.thingsboard.server.common.data.id.AssetId;
 import org.thingsboard.server.common.data.id.DeviceId;
@@ -90,13 +93,19 @@ import org.thingsboard.server.dao.timeseries.TimeseriesService;
 import org.thingsboard.server.dao.usagerecord.ApiUsageStateDao;
 import org.thingsboard.server.gen.transport.TransportProtos.HousekeeperTaskProto;
 import org.thingsboard.server.gen.transport.TransportProtos.ToHousekeeperServiceMsg;
+import org.thingsboard.server.queue.TbQueueConsumer;
+import org.thingsboard.server.queue.common.TbProtoQueueMsg;
+import org.thingsboard.server.service.housekeeper.processor.LatestTsDeletionTaskProcessor;
 import org.thingsboard.server.service.housekeeper.processor.TsHistoryDeletionTaskProcessor;
+import org.thingsboard.server.service.housekeeper.stats.HousekeeperStatsService;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -110,11 +119,16 @@ import java.util.stream.Collectors;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -155,6 +169,10 @@ public class HousekeeperServiceTest extends AbstractControllerTest {
     private DashboardService dashboardService;
     @SpyBean
     private TsHistoryDeletionTaskProcessor tsHistoryDeletionTaskProcessor;
+    @SpyBean
+    private LatestTsDeletionTaskProcessor latestTsDeletionTaskProcessor;
+    @SpyBean
+    private HousekeeperStatsService housekeeperStatsService;
 
     private TenantId tenantId;
 
@@ -485,6 +503,159 @@ public class HousekeeperServiceTest extends AbstractControllerTest {
         verify(housekeeperService, never()).processTask(argThat(getTaskMatcher(device.getId(), HousekeeperTaskType.DELETE_TS_HISTORY, null)));
     }
 
+    @Test
+    public void whenTsHistoryTasksProcessedInBatch_thenDeleteHistoryOfAllEntities() throws Exception {
+        List<DeviceId> deviceIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            DeviceId deviceId = new DeviceId(UUID.randomUUID());
+            createTelemetry(deviceId);
+            deviceIds.add(deviceId);
+        }
+        DeviceId otherDeviceId = new DeviceId(UUID.randomUUID());
+        createTelemetry(otherDeviceId);
+
+        tsHistoryDeletionTaskProcessor.processBatch(deviceIds.stream()
+                .map(deviceId -> new TsHistoryDeletionHousekeeperTask(tenantId, deviceId, TELEMETRY_KEY))
+                .collect(Collectors.toList()));
+
+        for (DeviceId deviceId : deviceIds) {
+            assertThat(getTimeseriesHistory(deviceId)).isEmpty();
+        }
+        assertThat(getTimeseriesHistory(otherDeviceId)).isNotEmpty();
+    }
+
+    @Test
+    public void whenTasksOfDifferentTypesPolled_thenProcessTypesInParallelAndBatchSameTypeTasks() throws Exception {
+        List<DeviceId> deviceIds = new ArrayList<>();
+        List<TbProtoQueueMsg<ToHousekeeperServiceMsg>> msgs = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            DeviceId deviceId = new DeviceId(UUID.randomUUID());
+            createTelemetry(deviceId);
+            deviceIds.add(deviceId);
+            msgs.add(toQueueMsg(new TsHistoryDeletionHousekeeperTask(tenantId, deviceId, TELEMETRY_KEY)));
+        }
+        DeviceId otherDeviceId = new DeviceId(UUID.randomUUID());
+        msgs.add(toQueueMsg(new LatestTsDeletionHousekeeperTask(tenantId, otherDeviceId, TELEMETRY_KEY)));
+
+        // the batch only completes if the task of the other type is processed while it is running
+        CountDownLatch latestTsTaskProcessed = new CountDownLatch(1);
+        AtomicBoolean processedInParallel = new AtomicBoolean(false);
+        doAnswer(invocation -> {
+            latestTsTaskProcessed.countDown();
+            return invocation.callRealMethod();
+        }).when(latestTsDeletionTaskProcessor).process(any());
+        doAnswer(invocation -> {
+            processedInParallel.set(latestTsTaskProcessed.await(3, TimeUnit.SECONDS));
+            return invocation.callRealMethod();
+        }).when(tsHistoryDeletionTaskProcessor).processBatch(any());
+        TbQueueConsumer<TbProtoQueueMsg<ToHousekeeperServiceMsg>> consumer = mock(TbQueueConsumer.class);
+
+        processMsgs(msgs, consumer);
+
+        assertThat(processedInParallel).isTrue();
+        verify(tsHistoryDeletionTaskProcessor).processBatch(argThat(tasks -> tasks.size() == deviceIds.size()));
+        verify(latestTsDeletionTaskProcessor).process(argThat(task -> task.getEntityId().equals(otherDeviceId)));
+        for (DeviceId deviceId : deviceIds) {
+            verify(housekeeperService, never()).processTask(argThat(getTaskMatcher(deviceId, HousekeeperTaskType.DELETE_TS_HISTORY, null)));
+            assertThat(getTimeseriesHistory(deviceId)).isEmpty();
+        }
+        verify(housekeeperStatsService).reportBatchProcessed(HousekeeperTaskType.DELETE_TS_HISTORY, deviceIds.size());
+        verify(housekeeperStatsService, times(deviceIds.size())).reportProcessed(eq(HousekeeperTaskType.DELETE_TS_HISTORY),
+                argThat(msg -> deviceIds.contains(getTaskEntityId(msg))), anyLong());
+        verify(housekeeperStatsService).reportProcessed(eq(HousekeeperTaskType.DELETE_LATEST_TS),
+                argThat(msg -> otherDeviceId.equals(getTaskEntityId(msg))), anyLong());
+        verify(consumer).commit();
+    }
+
+    @Test
+    public void whenBatchProcessingFails_thenProcessTasksOneByOne() throws Exception {
+        doThrow(new RuntimeException("Just a test")).when(tsHistoryDeletionTaskProcessor).processBatch(any());
+
+        verifyTasksProcessedOneByOneAfterFailedBatch();
+    }
+
+    @Test
+    public void whenBatchProcessingTimedOut_thenInterruptAndSubmitTasksForReprocessing() throws Exception {
+        AtomicBoolean batchInterrupted = new AtomicBoolean(false);
+        doAnswer(invocation -> {
+            try {
+                Thread.sleep(TimeUnit.HOURS.toMillis(24));
+            } catch (InterruptedException e) {
+                batchInterrupted.set(true);
+                throw e;
+            }
+            return null;
+        }).when(tsHistoryDeletionTaskProcessor).processBatch(any());
+        List<DeviceId> deviceIds = new ArrayList<>();
+        List<TbProtoQueueMsg<ToHousekeeperServiceMsg>> msgs = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            DeviceId deviceId = new DeviceId(UUID.randomUUID());
+            createTelemetry(deviceId);
+            deviceIds.add(deviceId);
+            msgs.add(toQueueMsg(new TsHistoryDeletionHousekeeperTask(tenantId, deviceId, TELEMETRY_KEY)));
+        }
+        TbQueueConsumer<TbProtoQueueMsg<ToHousekeeperServiceMsg>> consumer = mock(TbQueueConsumer.class);
+
+        long startTs = System.currentTimeMillis();
+        processMsgs(msgs, consumer);
+
+        // the batch is given the task processing timeout per task
+        assertThat(System.currentTimeMillis() - startTs).isGreaterThanOrEqualTo(TimeUnit.SECONDS.toMillis(5) * deviceIds.size());
+        await().atMost(TIMEOUT, TimeUnit.SECONDS).untilTrue(batchInterrupted);
+        verify(tsHistoryDeletionTaskProcessor).processBatch(argThat(tasks -> tasks.size() == deviceIds.size()));
+        for (DeviceId deviceId : deviceIds) {
+            // the timed out tasks are not processed again alongside the batch that may still be running
+            verify(housekeeperService, never()).processTask(argThat(getTaskMatcher(deviceId, HousekeeperTaskType.DELETE_TS_HISTORY, task -> task.getAttempt() == 0)));
+            verify(housekeeperReprocessingService).submitForReprocessing(argThat(msg -> deviceId.equals(getTaskEntityId(msg))), any(TimeoutException.class));
+        }
+        verify(housekeeperStatsService, times(deviceIds.size())).reportFailure(eq(HousekeeperTaskType.DELETE_TS_HISTORY),
+                argThat(msg -> deviceIds.contains(getTaskEntityId(msg))));
+        verify(consumer).commit();
+    }
+
+    private void verifyTasksProcessedOneByOneAfterFailedBatch() throws Exception {
+        List<DeviceId> deviceIds = new ArrayList<>();
+        List<TbProtoQueueMsg<ToHousekeeperServiceMsg>> msgs = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            DeviceId deviceId = new DeviceId(UUID.randomUUID());
+            createTelemetry(deviceId);
+            deviceIds.add(deviceId);
+            msgs.add(toQueueMsg(new TsHistoryDeletionHousekeeperTask(tenantId, deviceId, TELEMETRY_KEY)));
+        }
+        TbQueueConsumer<TbProtoQueueMsg<ToHousekeeperServiceMsg>> consumer = mock(TbQueueConsumer.class);
+
+        processMsgs(msgs, consumer);
+
+        verify(tsHistoryDeletionTaskProcessor).processBatch(argThat(tasks -> tasks.size() == deviceIds.size()));
+        for (DeviceId deviceId : deviceIds) {
+            verifyTaskProcessing(deviceId, HousekeeperTaskType.DELETE_TS_HISTORY, 0);
+            assertThat(getTimeseriesHistory(deviceId)).isEmpty();
+        }
+        verify(housekeeperStatsService, never()).reportBatchProcessed(eq(HousekeeperTaskType.DELETE_TS_HISTORY), anyInt());
+        verify(housekeeperStatsService, times(deviceIds.size())).reportProcessed(eq(HousekeeperTaskType.DELETE_TS_HISTORY),
+                argThat(msg -> deviceIds.contains(getTaskEntityId(msg))), anyLong());
+        verify(housekeeperReprocessingService, never()).submitForReprocessing(argThat(msg -> deviceIds.contains(getTaskEntityId(msg))), any());
+        verify(consumer).commit();
+    }
+
+    private void processMsgs(List<TbProtoQueueMsg<ToHousekeeperServiceMsg>> msgs, TbQueueConsumer<TbProtoQueueMsg<ToHousekeeperServiceMsg>> consumer) {
+        ReflectionTestUtils.invokeMethod(housekeeperService, "processMsgs", msgs, consumer);
+    }
+
+    private TbProtoQueueMsg<ToHousekeeperServiceMsg> toQueueMsg(HousekeeperTask task) {
+        return new TbProtoQueueMsg<>(UUID.randomUUID(), ToHousekeeperServiceMsg.newBuilder()
+                .setTask(HousekeeperTaskProto.newBuilder()
+                        .setValue(JacksonUtil.toString(task))
+                        .setTs(task.getTs())
+                        .setAttempt(0)
+                        .build())
+                .build());
+    }
+
+    private EntityId getTaskEntityId(ToHousekeeperServiceMsg msg) {
+        return JacksonUtil.fromString(msg.getTask().getValue(), HousekeeperTask.class).getEntityId();
+    }
+
     private void verifyTaskProcessing(EntityId entityId, HousekeeperTaskType taskType, int expectedAttempt) throws Exception {
         verify(housekeeperService).processTask(argThat(getTaskMatcher(entityId, taskType, task -> task.getAttempt() == expectedAttempt)));
     }
@@ -543,6 +543,26 @@ class DefaultDeviceStateServiceTest {
         verify(service).fetchDeviceStateDataUsingSeparateRequests(deviceId);
     }
 
+    @Test
+    void givenDeviceIdWithoutDeviceStateInMap_whenGetOrFetchDeviceStateData_thenScheduleInactivityCheck() {
+        service.deviceStates.clear();
+        var deviceStateData = DeviceStateData.builder()
+                .tenantId(tenantId)
+                .deviceId(deviceId)
+                .state(DeviceState.builder()
+                        .active(true)
+                        .lastActivityTime(100L)
+                        .inactivityTimeout(50L)
+                        .build())
+                .metaData(TbMsgMetaData.EMPTY)
+                .build();
+        willReturn(deviceStateData).given(service).fetchDeviceStateDataUsingSeparateRequests(deviceId);
+        doReturn(120L).when(service).getCurrentTimeMillis();
+
+        assertThat(service.getOrFetchDeviceStateData(deviceId)).isEqualTo(deviceStateData);
+        assertThat(service.inactivityDeadlines.getDeadline(deviceId)).isEqualTo(150L);
+    }
+
     @MethodSource
     @ParameterizedTest
     void testOnDeviceInactivityTimeoutUpdate(boolean initialActivityStatus, long newInactivityTimeout, boolean expectedActivityStatus) {
@@ -936,22 +956,26 @@ class DefaultDeviceStateServiceTest {
 
         service.deviceStates.put(deviceId, deviceStateData);
         service.getPartitionedEntities(tpi).add(deviceId);
+        service.scheduleInactivityCheck(100L, deviceId, deviceStateData);
+        assertThat(service.inactivityDeadlines.getDeadline(deviceId)).isEqualTo(150L);
 
-        // WHEN-THEN (assuming periodic activity states check is done every 100 millis)
+        // WHEN-THEN
 
         // simulating short DB outage
         given(telemetrySubscriptionService.saveAttributesInternal(any())).willReturn(Futures.immediateFailedFuture(new RuntimeException("failed to save")));
         doReturn(200L).when(service).getCurrentTimeMillis();
         service.checkStates();
         assertThat(deviceState.isActive()).isTrue(); // still active
+        assertThat(service.inactivityDeadlines.getDeadline(deviceId)).isEqualTo(200L + TimeUnit.SECONDS.toMillis(60));
 
-        // waiting 100 millis... periodic activity states check is triggered again
+        // waiting for the retry deadline... activity states check is triggered again
 
         // this time DB save is successful
         when(telemetrySubscriptionService.saveAttributesInternal(any())).thenReturn(Futures.immediateFuture(AttributesSaveResult.of(generateRandomVersions(1))));
-        doReturn(300L).when(service).getCurrentTimeMillis();
+        doReturn(200L + TimeUnit.SECONDS.toMillis(60)).when(service).getCurrentTimeMillis();
         service.checkStates();
         assertThat(deviceState.isActive()).isFalse();
+        assertThat(service.inactivityDeadlines.getDeadline(deviceId)).isNull();
     }
 
     @Test
@@ -0,0 +1,83 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.state;
+
+import org.junit.jupiter.api.Test;
+import org.thingsboard.server.common.data.id.DeviceId;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DeviceInactivityDeadlineQueueTest {
+
+    private final DeviceInactivityDeadlineQueue queue = new DeviceInactivityDeadlineQueue();
+
+    @Test
+    void givenScheduledDevice_whenScheduleLaterDeadline_thenKeepsEarlierDeadline() {
+        DeviceId deviceId = new DeviceId(UUID.randomUUID());
+
+        queue.schedule(deviceId, 100L);
+        queue.schedule(deviceId, 200L);
+
+        assertThat(queue.getDeadline(deviceId)).isEqualTo(100L);
+        assertThat(queue.size()).isEqualTo(1);
+        assertThat(queue.pollExpired(100L)).containsExactly(deviceId);
+        assertThat(queue.pollExpired(200L)).isEmpty();
+    }
+
+    @Test
+    void givenScheduledDevice_whenScheduleEarlierDeadline_thenReplacesDeadline() {
+        DeviceId deviceId = new DeviceId(UUID.randomUUID());
+
+        queue.schedule(deviceId, 200L);
+        queue.schedule(deviceId, 100L);
+
+        assertThat(queue.getDeadline(deviceId)).isEqualTo(100L);
+        assertThat(queue.pollExpired(150L)).containsExactly(deviceId);
+        assertThat(queue.size()).isZero();
+        assertThat(queue.pollExpired(200L)).isEmpty();
+    }
+
+    @Test
+    void givenScheduledDevices_whenPollExpired_thenReturnsOnlyExpiredDevicesInDeadlineOrder() {
+        DeviceId first = new DeviceId(UUID.randomUUID());
+        DeviceId second = new DeviceId(UUID.randomUUID());
+        DeviceId third = new DeviceId(UUID.randomUUID());
+
+        queue.schedule(third, 300L);
+        queue.schedule(second, 200L);
+        queue.schedule(first, 100L);
+
+        assertThat(queue.pollExpired(50L)).isEmpty();
+        assertThat(queue.pollExpired(200L)).containsExactly(first, second);
+        assertThat(queue.getDeadline(first)).isNull();
+        assertThat(queue.getDeadline(third)).isEqualTo(300L);
+        assertThat(queue.size()).isEqualTo(1);
+    }
+
+    @Test
+    void givenScheduledDevice_whenCancel_thenDeviceIsNotPolled() {
+        DeviceId deviceId = new DeviceId(UUID.randomUUID());
+
+        queue.schedule(deviceId, 100L);
+        queue.cancel(deviceId);
+
+        assertThat(queue.getDeadline(deviceId)).isNull();
+        assertThat(queue.pollExpired(Long.MAX_VALUE)).isEmpty();
+    }
+
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.subscription;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.data.query.EntityDataPageLink;
+import org.thingsboard.server.common.data.query.EntityDataQuery;
+import org.thingsboard.server.common.data.query.EntityDataSortOrder;
+import org.thingsboard.server.common.data.query.EntityKey;
+import org.thingsboard.server.common.data.query.EntityKeyType;
+import org.thingsboard.server.common.data.query.EntityTypeFilter;
+import org.thingsboard.server.common.data.query.KeyFilter;
+import org.thingsboard.server.service.ws.WebSocketSessionRef;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TbDynamicQueryIndexTest {
+
+    private final TenantId tenantId = TenantId.fromUUID(UUID.randomUUID());
+    private final TenantId otherTenantId = TenantId.fromUUID(UUID.randomUUID());
+
+    @Mock
+    private WebSocketSessionRef sessionRef;
+
+    private TbDynamicQueryIndex index;
+    private TbEntityDataSubCtx ctx;
+
+    @BeforeEach
+    public void setUp() {
+        when(sessionRef.getSessionId()).thenReturn("session");
+        index = new TbDynamicQueryIndex();
+        ctx = new TbEntityDataSubCtx("service", mock(), mock(), mock(), mock(), mock(), sessionRef, 1, 100);
+
+        KeyFilter keyFilter = new KeyFilter();
+        keyFilter.setKey(new EntityKey(EntityKeyType.ATTRIBUTE, "active"));
+        EntityDataSortOrder sortOrder = new EntityDataSortOrder(new EntityKey(EntityKeyType.TIME_SERIES, "temperature"));
+        EntityDataPageLink pageLink = new EntityDataPageLink(10, 0, null, sortOrder, true);
+        ctx.setQuery(new EntityDataQuery(new EntityTypeFilter(), pageLink, null, null, List.of(keyFilter)));
+    }
+
+    @Test
+    public void testIsAffectedByFilterAndSortKeys() {
+        assertThat(ctx.isAffectedBy(EntityKeyType.SERVER_ATTRIBUTE, List.of("active"))).isTrue();
+        assertThat(ctx.isAffectedBy(EntityKeyType.TIME_SERIES, List.of("humidity", "temperature"))).isTrue();
+        assertThat(ctx.isAffectedBy(EntityKeyType.TIME_SERIES, List.of("active"))).isFalse();
+        assertThat(ctx.isAffectedBy(EntityKeyType.SHARED_ATTRIBUTE, List.of("humidity"))).isFalse();
+    }
+
+    @Test
+    public void givenRegisteredQuery_whenGetByKeys_thenOnlyQueriesUsingKeysOfTenantReturned() {
+        index.register(tenantId, ctx);
+
+        assertThat(index.getByKeys(tenantId, List.of("humidity", "temperature"))).containsExactly(ctx);
+        assertThat(index.getByKeys(tenantId, List.of("active"))).containsExactly(ctx);
+        assertThat(index.getByKeys(tenantId, List.of("humidity"))).isEmpty();
+        assertThat(index.getByKeys(otherTenantId, List.of("active"))).isEmpty();
+        assertThat(index.getAll(tenantId)).containsExactly(ctx);
+        assertThat(index.getAlarmCountQueries(tenantId)).isEmpty();
+    }
+
+    @Test
+    public void givenQueryChanged_whenRegisterAgain_thenIndexedByNewKeys() {
+        index.register(tenantId, ctx);
+
+        ctx.setQuery(new EntityDataQuery(new EntityTypeFilter(), new EntityDataPageLink(10, 0, null, null, true), null, null, null));
+        index.register(tenantId, ctx);
+
+        assertThat(index.getByKeys(tenantId, List.of("active", "temperature"))).isEmpty();
+        assertThat(index.getAll(tenantId)).containsExactly(ctx);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenRegisteredQuery_whenUnregister_thenRemovedFromIndex() {
+        index.register(tenantId, ctx);
+
+        index.unregister(ctx);
+
+        assertThat(index.getByKeys(tenantId, List.of("active"))).isEmpty();
+        assertThat(index.getAll(tenantId)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+}
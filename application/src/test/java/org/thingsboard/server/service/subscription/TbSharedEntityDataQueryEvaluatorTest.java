@@ -0,0 +1,90 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.subscription;
+
+import org.junit.jupiter.api.Test;
+import org.thingsboard.server.common.data.EntityType;
+import org.thingsboard.server.common.data.id.CustomerId;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.data.page.PageData;
+import org.thingsboard.server.common.data.query.EntityData;
+import org.thingsboard.server.common.data.query.EntityDataPageLink;
+import org.thingsboard.server.common.data.query.EntityDataQuery;
+import org.thingsboard.server.common.data.query.EntityKeyType;
+import org.thingsboard.server.common.data.query.EntityTypeFilter;
+import org.thingsboard.server.common.data.query.TsValue;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TbSharedEntityDataQueryEvaluatorTest {
+
+    private final TenantId tenantId = TenantId.fromUUID(UUID.randomUUID());
+    private final SubscriptionServiceStatistics stats = new SubscriptionServiceStatistics();
+    private final TbSharedEntityDataQueryEvaluator evaluator = new TbSharedEntityDataQueryEvaluator(60000, 100, stats);
+    private final AtomicInteger dbCalls = new AtomicInteger();
+
+    @Test
+    public void givenIdenticalQueries_whenEvaluate_thenQueryExecutedOnce() {
+        evaluator.evaluate(tenantId, null, newQuery(10), this::findEntityData);
+        evaluator.evaluate(tenantId, null, newQuery(10), this::findEntityData);
+
+        assertThat(dbCalls.get()).isEqualTo(1);
+        assertThat(stats.getDynamicQueryDedupCnt().get()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenDifferentScopeOrQuery_whenEvaluate_thenQueriesExecutedSeparately() {
+        evaluator.evaluate(tenantId, null, newQuery(10), this::findEntityData);
+        evaluator.evaluate(tenantId, new CustomerId(UUID.randomUUID()), newQuery(10), this::findEntityData);
+        evaluator.evaluate(tenantId, null, newQuery(20), this::findEntityData);
+
+        assertThat(dbCalls.get()).isEqualTo(3);
+        assertThat(stats.getDynamicQueryDedupCnt().get()).isZero();
+    }
+
+    @Test
+    public void givenSharedResult_whenModifiedByOneSubscriber_thenOtherSubscriberNotAffected() {
+        PageData<EntityData> first = evaluator.evaluate(tenantId, null, newQuery(10), this::findEntityData);
+        first.getData().get(0).getLatest().get(EntityKeyType.TIME_SERIES).put("temperature", new TsValue(2L, "25"));
+
+        PageData<EntityData> second = evaluator.evaluate(tenantId, null, newQuery(10), this::findEntityData);
+
+        assertThat(second.getData().get(0).getLatest().get(EntityKeyType.TIME_SERIES).get("temperature").getValue()).isEqualTo("20");
+    }
+
+    private EntityDataQuery newQuery(int pageSize) {
+        EntityTypeFilter filter = new EntityTypeFilter();
+        filter.setEntityType(EntityType.DEVICE);
+        return new EntityDataQuery(filter, new EntityDataPageLink(pageSize, 0, null, null, true), null, null, null);
+    }
+
+    private PageData<EntityData> findEntityData() {
+        dbCalls.incrementAndGet();
+        Map<String, TsValue> values = new HashMap<>(Map.of("temperature", new TsValue(1L, "20")));
+        Map<EntityKeyType, Map<String, TsValue>> latest = new HashMap<>(Map.of(EntityKeyType.TIME_SERIES, values));
+        EntityData entityData = new EntityData(new DeviceId(UUID.randomUUID()), latest, Collections.emptyMap());
+        return new PageData<>(List.of(entityData), 1, 1, false);
+    }
+
+}
@@ -0,0 +1,207 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.telemetry;
+
+import com.google.common.util.concurrent.Futures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thingsboard.server.common.data.alarm.Alarm;
+import org.thingsboard.server.common.data.alarm.AlarmApiCallResult;
+import org.thingsboard.server.common.data.alarm.AlarmInfo;
+import org.thingsboard.server.common.data.audit.ActionType;
+import org.thingsboard.server.common.data.id.AlarmId;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.data.id.EntityId;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.data.page.PageData;
+import org.thingsboard.server.common.msg.queue.ServiceType;
+import org.thingsboard.server.common.msg.queue.TopicPartitionInfo;
+import org.thingsboard.server.dao.alarm.AlarmService;
+import org.thingsboard.server.dao.eventsourcing.ActionEntityEvent;
+import org.thingsboard.server.dao.eventsourcing.DeleteEntityEvent;
+import org.thingsboard.server.dao.tenant.TenantService;
+import org.thingsboard.server.queue.discovery.PartitionService;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.willReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DefaultActiveAlarmIndexTest {
+
+    private final TenantId tenantId = TenantId.fromUUID(UUID.randomUUID());
+    private final DeviceId myDeviceId = new DeviceId(UUID.randomUUID());
+    private final DeviceId otherDeviceId = new DeviceId(UUID.randomUUID());
+    private final TopicPartitionInfo myTpi = new TopicPartitionInfo("tb_core", tenantId, 0, true);
+    private final TopicPartitionInfo otherTpi = new TopicPartitionInfo("tb_core", tenantId, 1, false);
+
+    @Mock
+    AlarmService alarmService;
+    @Mock
+    PartitionService partitionService;
+    @Mock
+    TenantService tenantService;
+
+    DefaultActiveAlarmIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new DefaultActiveAlarmIndex(alarmService, tenantService);
+        ReflectionTestUtils.setField(index, "partitionService", partitionService);
+        ReflectionTestUtils.setField(index, "initFetchPackSize", 2);
+        index.init();
+        lenient().when(tenantService.findTenantsIds(any())).thenReturn(new PageData<>(List.of(tenantId), 1, 1, false));
+        lenient().when(partitionService.resolve(ServiceType.TB_CORE, tenantId, tenantId)).thenReturn(myTpi);
+        lenient().when(partitionService.resolve(ServiceType.TB_CORE, tenantId, myDeviceId)).thenReturn(myTpi);
+        lenient().when(partitionService.resolve(ServiceType.TB_CORE, tenantId, otherDeviceId)).thenReturn(otherTpi);
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.stop();
+    }
+
+    @Test
+    void testLoadOnPartitionAssignment() throws Exception {
+        Alarm highTemp = alarm(myDeviceId, "High Temperature");
+        Alarm lowBattery = alarm(myDeviceId, "Low Battery");
+        Alarm otherAlarm = alarm(otherDeviceId, "High Temperature");
+        willReturn(List.of(highTemp, otherAlarm)).given(alarmService).findActiveAlarms(eq(tenantId), isNull(), anyInt());
+        willReturn(List.of(lowBattery)).given(alarmService).findActiveAlarms(eq(tenantId), eq(otherAlarm.getId()), anyInt());
+
+        assignPartition(myTpi);
+
+        assertThat(index.isIndexed(tenantId, myDeviceId)).isTrue();
+        assertThat(index.isIndexed(tenantId, otherDeviceId)).isFalse();
+        assertThat(index.getActiveAlarm(myDeviceId, "High Temperature")).isEqualTo(highTemp);
+        assertThat(index.getActiveAlarm(myDeviceId, "Low Battery")).isEqualTo(lowBattery);
+        assertThat(index.getActiveAlarm(myDeviceId, "Unknown")).isNull();
+        assertThat(index.getActiveAlarm(otherDeviceId, "High Temperature")).isNull();
+    }
+
+    @Test
+    void testUpdatesAreApplied() throws Exception {
+        willReturn(List.of()).given(alarmService).findActiveAlarms(any(), any(), anyInt());
+        assignPartition(myTpi);
+
+        Alarm alarm = alarm(myDeviceId, "High Temperature");
+        index.onAlarmUpdate(alarm);
+        assertThat(index.getActiveAlarm(myDeviceId, "High Temperature")).isEqualTo(alarm);
+
+        Alarm cleared = new Alarm(alarm);
+        cleared.setCleared(true);
+        index.onAlarmUpdate(cleared);
+        assertThat(index.getActiveAlarm(myDeviceId, "High Temperature")).isNull();
+
+        // late update of the already cleared alarm is ignored
+        index.onAlarmUpdate(alarm);
+        assertThat(index.getActiveAlarm(myDeviceId, "High Temperature")).isNull();
+
+        index.onAlarmUpdate(alarm(otherDeviceId, "High Temperature"));
+        assertThat(index.getActiveAlarm(otherDeviceId, "High Temperature")).isNull();
+    }
+
+    @Test
+    void testReturnedAlarmIsCopy() throws Exception {
+        willReturn(List.of()).given(alarmService).findActiveAlarms(any(), any(), anyInt());
+        assignPartition(myTpi);
+        index.onAlarmUpdate(alarm(myDeviceId, "High Temperature"));
+
+        index.getActiveAlarm(myDeviceId, "High Temperature").setCleared(true);
+
+        assertThat(index.getActiveAlarm(myDeviceId, "High Temperature").isCleared()).isFalse();
+    }
+
+    @Test
+    void testTenantsOfOtherTopicsAreNotLoaded() throws Exception {
+        TenantId isolatedTenantId = TenantId.fromUUID(UUID.randomUUID());
+        willReturn(new PageData<>(List.of(tenantId, isolatedTenantId), 1, 2, false)).given(tenantService).findTenantsIds(any());
+        willReturn(new TopicPartitionInfo("tb_core.isolated", isolatedTenantId, 0, false))
+                .given(partitionService).resolve(ServiceType.TB_CORE, isolatedTenantId, isolatedTenantId);
+        willReturn(List.of()).given(alarmService).findActiveAlarms(eq(tenantId), any(), anyInt());
+
+        assignPartition(myTpi);
+
+        verify(alarmService, never()).findActiveAlarms(eq(isolatedTenantId), any(), anyInt());
+        assertThat(index.isIndexed(tenantId, myDeviceId)).isTrue();
+    }
+
+    @Test
+    void testAlarmClearedThroughAlarmServiceIsRemoved() throws Exception {
+        Alarm alarm = alarm(myDeviceId, "High Temperature");
+        willReturn(List.of(alarm)).given(alarmService).findActiveAlarms(eq(tenantId), isNull(), anyInt());
+        assignPartition(myTpi);
+        assertThat(index.getActiveAlarm(myDeviceId, "High Temperature")).isEqualTo(alarm);
+
+        // e.g. the alarm is cleared in the cloud and synced to the edge with AlarmService.clearAlarm
+        Alarm cleared = new Alarm(alarm);
+        cleared.setCleared(true);
+        index.handleEvent(ActionEntityEvent.builder().tenantId(tenantId).entityId(alarm.getId())
+                .entity(AlarmApiCallResult.builder().successful(true).cleared(true).alarm(new AlarmInfo(cleared)).build())
+                .actionType(ActionType.ALARM_CLEAR).build());
+
+        assertThat(index.isIndexed(tenantId, myDeviceId)).isTrue();
+        assertThat(index.getActiveAlarm(myDeviceId, "High Temperature")).isNull();
+    }
+
+    @Test
+    void testAlarmDeletedThroughAlarmServiceIsRemoved() throws Exception {
+        Alarm alarm = alarm(myDeviceId, "High Temperature");
+        willReturn(List.of(alarm)).given(alarmService).findActiveAlarms(eq(tenantId), isNull(), anyInt());
+        assignPartition(myTpi);
+
+        index.handleEvent(DeleteEntityEvent.builder().tenantId(tenantId).entityId(alarm.getId()).entity(new AlarmInfo(alarm)).build());
+
+        assertThat(index.getActiveAlarm(myDeviceId, "High Temperature")).isNull();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void assignPartition(TopicPartitionInfo tpi) throws Exception {
+        var partitionedEntities = (Map<TopicPartitionInfo, Set<EntityId>>) ReflectionTestUtils.getField(index, "partitionedEntities");
+        partitionedEntities.put(tpi, ConcurrentHashMap.newKeySet());
+        var fetchTasks = index.onAddedPartitions(Set.of(tpi));
+        Futures.allAsList(fetchTasks.values().stream().flatMap(Collection::stream).toList()).get(10, TimeUnit.SECONDS);
+    }
+
+    private Alarm alarm(EntityId originator, String type) {
+        Alarm alarm = new Alarm(new AlarmId(UUID.randomUUID()));
+        alarm.setTenantId(tenantId);
+        alarm.setOriginator(originator);
+        alarm.setType(type);
+        alarm.setCreatedTime(System.currentTimeMillis());
+        return alarm;
+    }
+
+}
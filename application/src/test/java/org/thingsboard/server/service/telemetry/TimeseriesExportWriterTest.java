@@ -0,0 +1,73 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.service.telemetry;
+
+import org.junit.jupiter.api.Test;
+import org.thingsboard.server.common.data.kv.BasicTsKvEntry;
+import org.thingsboard.server.common.data.kv.BooleanDataEntry;
+import org.thingsboard.server.common.data.kv.DoubleDataEntry;
+import org.thingsboard.server.common.data.kv.StringDataEntry;
+import org.thingsboard.server.common.data.kv.TimeseriesExportFormat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeseriesExportWriterTest {
+
+    @Test
+    void testNdJsonStrictDataTypes() throws Exception {
+        String result = export(TimeseriesExportFormat.NDJSON, true);
+        assertThat(result).isEqualTo("""
+                {"ts":1,"key":"temperature","value":21.5}
+                {"ts":2,"key":"active","value":true}
+                {"ts":3,"key":"status","value":"a,\\"b\\""}
+                """);
+    }
+
+    @Test
+    void testNdJsonValuesAsStrings() throws Exception {
+        String result = export(TimeseriesExportFormat.NDJSON, false);
+        assertThat(result).isEqualTo("""
+                {"ts":1,"key":"temperature","value":"21.5"}
+                {"ts":2,"key":"active","value":"true"}
+                {"ts":3,"key":"status","value":"a,\\"b\\""}
+                """);
+    }
+
+    @Test
+    void testCsv() throws Exception {
+        String result = export(TimeseriesExportFormat.CSV, false);
+        assertThat(result).isEqualTo("""
+                ts,key,value
+                1,temperature,21.5
+                2,active,true
+                3,status,"a,""b\"""
+                """);
+    }
+
+    private String export(TimeseriesExportFormat format, boolean useStrictDataTypes) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (TimeseriesExportWriter writer = TimeseriesExportWriter.create(format, out, useStrictDataTypes)) {
+            writer.write(new BasicTsKvEntry(1, new DoubleDataEntry("temperature", 21.5)));
+            writer.write(new BasicTsKvEntry(2, new BooleanDataEntry("active", true)));
+            writer.write(new BasicTsKvEntry(3, new StringDataEntry("status", "a,\"b\"")));
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+}
@@ -15,6 +15,8 @@
  */
 package org.thingsboard.server.system;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.awaitility.Awaitility;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.test.context.TestPropertySource;
@@ -26,8 +28,10 @@ import org.thingsboard.server.common.data.security.DeviceCredentials;
 import org.thingsboard.server.controller.AbstractControllerTest;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -42,7 +46,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  */
 @TestPropertySource(properties = {
         "transport.http.enabled=true",
-        "transport.http.max_payload_size=/api/v1/*/rpc/**=10000;/api/v1/**=20000"
+        "transport.http.max_payload_size=/api/v1/*/rpc/**=10000;/api/v1/**=20000",
+        "transport.http.max_batch_devices=5"
 })
 public abstract class BaseHttpDeviceApiTest extends AbstractControllerTest {
 
@@ -119,6 +124,79 @@ public abstract class BaseHttpDeviceApiTest extends AbstractControllerTest {
                 status().isOk());
     }
 
+    @Test
+    public void testPostBatch() throws Exception {
+        Device newDevice = new Device();
+        newDevice.setName("My second device");
+        newDevice.setType("default");
+        Device secondDevice = doPost("/api/device", newDevice, Device.class);
+        DeviceCredentials secondDeviceCredentials =
+                doGet("/api/device/" + secondDevice.getId().getId().toString() + "/credentials", DeviceCredentials.class);
+
+        String token = deviceCredentials.getCredentialsId();
+        String secondToken = secondDeviceCredentials.getCredentialsId();
+        String batch = "{" +
+                "\"" + token + "\":{\"telemetry\":{\"batchTemperature\":26},\"attributes\":{\"batchFirmware\":\"1.0.1\"}}," +
+                "\"" + secondToken + "\":{\"telemetry\":[{\"ts\":1634712287000,\"values\":{\"batchTemperature\":22}}]}," +
+                "\"WRONG_TOKEN\":{\"telemetry\":{\"batchTemperature\":30}}," +
+                "\"MALFORMED_ENTRY\":\"batchTemperature\"," +
+                "\"EMPTY_ENTRY\":{}" +
+                "}";
+
+        Map<String, Integer> response = readResponse(doPostAsync("/api/v1/batch", batch, 10000L).andExpect(status().isOk()),
+                new TypeReference<>() {});
+        assertThat(response).containsOnly(
+                Map.entry(token, 200),
+                Map.entry(secondToken, 200),
+                Map.entry("WRONG_TOKEN", 401),
+                Map.entry("MALFORMED_ENTRY", 400),
+                Map.entry("EMPTY_ENTRY", 400));
+
+        Awaitility.await()
+                .atMost(10, TimeUnit.SECONDS)
+                .untilAsserted(() -> {
+                    Map<String, List<Map<String, Object>>> firstTelemetry = doGetAsyncTyped("/api/plugins/telemetry/DEVICE/" + device.getUuidId() +
+                            "/values/timeseries?keys=batchTemperature", new TypeReference<>() {});
+                    assertThat(firstTelemetry.get("batchTemperature")).singleElement()
+                            .satisfies(kv -> assertThat(kv.get("value")).hasToString("26"));
+                    List<Map<String, Object>> firstAttributes = doGetAsyncTyped("/api/plugins/telemetry/DEVICE/" + device.getUuidId() +
+                            "/values/attributes/CLIENT_SCOPE?keys=batchFirmware", new TypeReference<>() {});
+                    assertThat(firstAttributes).singleElement()
+                            .satisfies(kv -> assertThat(kv.get("value")).isEqualTo("1.0.1"));
+                });
+        Awaitility.await()
+                .atMost(10, TimeUnit.SECONDS)
+                .untilAsserted(() -> {
+                    Map<String, List<Map<String, Object>>> secondTelemetry = doGetAsyncTyped("/api/plugins/telemetry/DEVICE/" + secondDevice.getUuidId() +
+                            "/values/timeseries?keys=batchTemperature", new TypeReference<>() {});
+                    assertThat(secondTelemetry.get("batchTemperature")).singleElement()
+                            .satisfies(kv -> {
+                                assertThat(kv.get("ts")).hasToString("1634712287000");
+                                assertThat(kv.get("value")).hasToString("22");
+                            });
+                });
+        List<Map<String, Object>> secondAttributes = doGetAsyncTyped("/api/plugins/telemetry/DEVICE/" + secondDevice.getUuidId() +
+                "/values/attributes/CLIENT_SCOPE?keys=batchFirmware", new TypeReference<>() {});
+        assertThat(secondAttributes).isEmpty();
+    }
+
+    @Test
+    public void testPostBatchWithInvalidPayload() throws Exception {
+        doPostAsync("/api/v1/batch", "[{\"telemetry\":{\"batchTemperature\":26}}]", 10000L)
+                .andExpect(status().isBadRequest());
+        doPostAsync("/api/v1/batch", "{\"" + deviceCredentials.getCredentialsId() + "\":", 10000L)
+                .andExpect(status().isBadRequest());
+
+        StringBuilder batch = new StringBuilder("{");
+        for (int i = 0; i < 6; i++) {
+            batch.append(i > 0 ? "," : "").append("\"TOKEN_").append(i).append("\":{\"telemetry\":{\"batchTemperature\":").append(i).append("}}");
+        }
+        batch.append("}");
+        String errorResponse = readResponse(doPostAsync("/api/v1/batch", batch.toString(), 10000L).andExpect(status().isPayloadTooLarge()),
+                String.class);
+        assertThat(errorResponse).contains("Batch contains more than 5 devices");
+    }
+
     private String createJsonPayloadOfSize(int size) {
         String value = "a".repeat(size - 19);
         return "{\"result\":\"" + value + "\"}";
@@ -47,9 +47,15 @@ public class DefaultTbActorSystem implements TbActorSystem {
     private final TbActorSystemSettings settings;
     @Getter
     private final ScheduledExecutorService scheduler;
+    private final TbActorMailboxMonitor mailboxMonitor;
 
     public DefaultTbActorSystem(TbActorSystemSettings settings) {
+        this(settings, null);
+    }
+
+    public DefaultTbActorSystem(TbActorSystemSettings settings, TbActorMailboxMonitor mailboxMonitor) {
         this.settings = settings;
+        this.mailboxMonitor = mailboxMonitor;
         this.scheduler = ThingsBoardExecutors.newScheduledThreadPool(settings.getSchedulerPoolSize(), "actor-system-scheduler");
     }
 
@@ -112,7 +118,7 @@ public class DefaultTbActorSystem implements TbActorSystem {
                             throw new TbActorNotRegisteredException(parent, "Parent Actor with id [" + parent + "] is not registered!");
                         }
                     }
-                    TbActorMailbox mailbox = new TbActorMailbox(this, settings, actorId, parentRef, actor, dispatcher);
+                    TbActorMailbox mailbox = new TbActorMailbox(this, settings, actorId, parentRef, actor, dispatcher, mailboxMonitor);
                     actors.put(actorId, mailbox);
                     mailbox.initActor();
                     actorMailbox = mailbox;
@@ -28,6 +28,7 @@ import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
@@ -51,11 +52,13 @@ public final class TbActorMailbox implements TbActorCtx {
     private final TbActorRef parentRef;
     private final TbActor actor;
     private final Dispatcher dispatcher;
+    private final TbActorMailboxMonitor monitor;
     private final ConcurrentLinkedQueue<TbActorMsg> highPriorityMsgs = new ConcurrentLinkedQueue<>();
     private final ConcurrentLinkedQueue<TbActorMsg> normalPriorityMsgs = new ConcurrentLinkedQueue<>();
     private final AtomicBoolean busy = new AtomicBoolean(FREE);
     private final AtomicBoolean ready = new AtomicBoolean(NOT_READY);
     private final AtomicBoolean destroyInProgress = new AtomicBoolean();
+    private final AtomicInteger mailboxSize = new AtomicInteger();
     private volatile TbActorStopReason stopReason;
 
     public void initActor() {
@@ -106,6 +109,10 @@ public final class TbActorMailbox implements TbActorCtx {
 
     private void enqueue(TbActorMsg msg, boolean highPriority) {
         if (!destroyInProgress.get()) {
+            if (monitor != null) {
+                msg = new TbTimedActorMsg(msg);
+                mailboxSize.incrementAndGet();
+            }
             if (highPriority) {
                 highPriorityMsgs.add(msg);
             } else {
@@ -153,6 +160,13 @@ public final class TbActorMailbox implements TbActorCtx {
                 msg = normalPriorityMsgs.poll();
             }
             if (msg != null) {
+                TbTimedActorMsg timedMsg = null;
+                long processStartTime = 0;
+                if (msg instanceof TbTimedActorMsg) {
+                    timedMsg = (TbTimedActorMsg) msg;
+                    msg = timedMsg.getMsg();
+                    processStartTime = System.nanoTime();
+                }
                 try {
                     log.trace("[{}] Going to process message: {}", selfId, msg);
                     actor.process(msg);
@@ -166,6 +180,9 @@ public final class TbActorMailbox implements TbActorCtx {
                         system.stop(selfId);
                     }
                 }
+                if (timedMsg != null) {
+                    onMsgProcessed(timedMsg, processStartTime);
+                }
             } else {
                 noMoreElements = true;
                 break;
@@ -179,6 +196,15 @@ public final class TbActorMailbox implements TbActorCtx {
         }
     }
 
+    private void onMsgProcessed(TbTimedActorMsg timedMsg, long processStartTime) {
+        try {
+            monitor.onMsgProcessed(selfId, dispatcher.getDispatcherId(), mailboxSize.decrementAndGet(),
+                    processStartTime - timedMsg.getEnqueueTime(), System.nanoTime() - processStartTime);
+        } catch (Throwable t) {
+            log.debug("[{}] Failed to record mailbox stats", selfId, t);
+        }
+    }
+
     @Override
     public TbActorId getSelf() {
         return selfId;
@@ -246,6 +272,7 @@ public final class TbActorMailbox implements TbActorCtx {
                     msg.onTbActorStopped(stopReason);
                     return true;
                 });
+                mailboxSize.set(0);
             } catch (Throwable t) {
                 log.warn("[{}] Failed to destroy actor: ", selfId, t);
             }
@@ -0,0 +1,33 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.actors;
+
+/**
+ * Receives timings of the messages processed by the actor mailboxes.
+ * Invoked on the dispatcher thread, so implementations must be cheap and thread-safe.
+ */
+public interface TbActorMailboxMonitor {
+
+    /**
+     * @param actorId          id of the actor that processed the message
+     * @param dispatcherId     id of the dispatcher the actor is bound to
+     * @param mailboxSize      number of messages left in the mailbox
+     * @param waitTimeNanos    time between the message was enqueued and the processing was started
+     * @param processTimeNanos time the actor spent processing the message
+     */
+    void onMsgProcessed(TbActorId actorId, String dispatcherId, int mailboxSize, long waitTimeNanos, long processTimeNanos);
+
+}
@@ -217,6 +217,36 @@ public class ActorSystemTest {
         Assertions.assertTrue(testCtx1.getLatch().await(3, TimeUnit.SECONDS));
     }
 
+    @Test
+    public void testMailboxMonitor() throws InterruptedException {
+        actorSystem.stop();
+        AtomicInteger processedMsgs = new AtomicInteger();
+        AtomicInteger unknownActorMsgs = new AtomicInteger();
+        TbActorId actorId = new TbEntityActorId(new DeviceId(UUID.randomUUID()));
+        actorSystem = new DefaultTbActorSystem(new TbActorSystemSettings(5, parallelism, 42),
+                (id, dispatcherId, mailboxSize, waitTimeNanos, processTimeNanos) -> {
+                    if (actorId.equals(id) && ROOT_DISPATCHER.equals(dispatcherId) && mailboxSize >= 0 && waitTimeNanos >= 0 && processTimeNanos >= 0) {
+                        processedMsgs.incrementAndGet();
+                    } else {
+                        unknownActorMsgs.incrementAndGet();
+                    }
+                });
+        executor = ThingsBoardExecutors.newWorkStealingPool(parallelism, getClass());
+        actorSystem.createDispatcher(ROOT_DISPATCHER, executor);
+        int msgNumber = 1000;
+        ActorTestCtx testCtx = getActorTestCtx(msgNumber);
+        TbActorRef actorRef = actorSystem.createRootActor(ROOT_DISPATCHER, new TestRootActor.TestRootActorCreator(actorId, testCtx));
+        for (int i = 0; i < msgNumber; i++) {
+            actorRef.tell(new IntTbActorMsg(1));
+        }
+
+        Assertions.assertTrue(testCtx.getLatch().await(TIMEOUT_AWAIT_MAX_SEC, TimeUnit.SECONDS));
+        Assertions.assertEquals(msgNumber, testCtx.getActual().get());
+        Awaitility.await("all messages are recorded").atMost(TIMEOUT_AWAIT_MAX_SEC, TimeUnit.SECONDS)
+                .until(() -> processedMsgs.get() == msgNumber);
+        Assertions.assertEquals(0, unknownActorMsgs.get());
+    }
+
 
     public void testActorsAndMessages(int actorsCount, int msgNumber, int times) throws InterruptedException {
         Random random = new Random();
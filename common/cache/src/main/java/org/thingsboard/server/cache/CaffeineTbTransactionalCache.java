@@ -15,10 +15,13 @@
  */
 package org.thingsboard.server.cache;
 
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.thingsboard.common.util.ListeningExecutor;
 
 import java.io.Serializable;
 import java.util.Collection;
@@ -32,6 +35,8 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @RequiredArgsConstructor
 public abstract class CaffeineTbTransactionalCache<K extends Serializable, V extends Serializable> implements TbTransactionalCache<K, V> {
@@ -54,6 +59,20 @@ public abstract class CaffeineTbTransactionalCache<K extends Serializable, V ext
         return SimpleTbCacheValueWrapper.wrap(cache.get(key));
     }
 
+    /**
+     * Local cache lookup does not block, so cache hits are served on the caller thread.
+     */
+    @Override
+    public <R> ListenableFuture<R> getAndPutInTransactionAsync(K key, Supplier<R> dbCall, Function<V, R> cacheValueToResult, Function<R, V> dbValueToCacheValue,
+                                                               boolean cacheNullValue, ListeningExecutor executor) {
+        TbCacheValueWrapper<V> cacheValueWrapper = get(key);
+        if (cacheValueWrapper != null) {
+            V cacheValue = cacheValueWrapper.get();
+            return Futures.immediateFuture(cacheValue != null ? cacheValueToResult.apply(cacheValue) : null);
+        }
+        return TbTransactionalCache.super.getAndPutInTransactionAsync(key, dbCall, cacheValueToResult, dbValueToCacheValue, cacheNullValue, executor);
+    }
+
     @Override
     public void put(K key, V value) {
         lock.lock();
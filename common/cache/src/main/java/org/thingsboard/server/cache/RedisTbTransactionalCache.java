@@ -15,11 +15,14 @@
  */
 package org.thingsboard.server.cache;
 
+import com.google.common.collect.Lists;
+import jakarta.annotation.PostConstruct;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.support.NullValue;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.connection.Message;
 import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStringCommands;
@@ -28,6 +31,8 @@ import org.springframework.data.redis.connection.jedis.JedisClusterConnection;
 import org.springframework.data.redis.connection.jedis.JedisConnection;
 import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
 import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.thingsboard.server.common.data.FstStatsService;
@@ -36,9 +41,14 @@ import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.util.JedisClusterCRC16;
 
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
@@ -50,8 +60,14 @@ public abstract class RedisTbTransactionalCache<K extends Serializable, V extend
     static final byte[] BINARY_NULL_VALUE = RedisSerializer.java().serialize(NullValue.INSTANCE);
     static final JedisPool MOCK_POOL = new JedisPool(); //non-null pool required for JedisConnection to trigger closing jedis connection
 
+    private static final String NEAR_CACHE_CHANNEL_PREFIX = "tbNearCacheInvalidation:";
+    private static final char NEAR_CACHE_VERSION_SEPARATOR = '\n';
+    static final int MGET_BATCH_SIZE = 500;
+
     @Autowired
     private FstStatsService fstStatsService;
+    @Autowired(required = false)
+    private RedisMessageListenerContainer nearCacheListenerContainer;
 
     @Getter
     private final String cacheName;
@@ -62,6 +78,8 @@ public abstract class RedisTbTransactionalCache<K extends Serializable, V extend
     protected final Expiration evictExpiration;
     protected final Expiration cacheTtl;
     protected final boolean cacheEnabled;
+    private final TbRedisNearCache<V> nearCache;
+    private final String nearCacheChannel;
 
     public RedisTbTransactionalCache(String cacheName,
                                      CacheSpecsMap cacheSpecsMap,
@@ -85,6 +103,22 @@ public abstract class RedisTbTransactionalCache<K extends Serializable, V extend
                 .map(CacheSpecs::getMaxSize)
                 .map(size -> size > 0)
                 .orElse(false);
+        this.nearCache = cacheEnabled && configuration.isNearCacheEnabled(cacheName) ?
+                new TbRedisNearCache<>(configuration.getNearCacheMaxSize(), configuration.getNearCacheTimeToLiveInSec()) : null;
+        this.nearCacheChannel = NEAR_CACHE_CHANNEL_PREFIX + cacheName;
+    }
+
+    @PostConstruct
+    public void initNearCache() {
+        if (nearCache == null) {
+            return;
+        }
+        if (nearCacheListenerContainer == null) {
+            log.warn("[{}] Near cache listener container is not available, near cache entries will be invalidated by local writes and TTL only", cacheName);
+            return;
+        }
+        nearCacheListenerContainer.addMessageListener((message, pattern) -> onNearCacheInvalidation(message), new ChannelTopic(nearCacheChannel));
+        log.info("[{}] Near cache is enabled", cacheName);
     }
 
     @Override
@@ -92,21 +126,92 @@ public abstract class RedisTbTransactionalCache<K extends Serializable, V extend
         if (!cacheEnabled) {
             return null;
         }
+        if (nearCache == null) {
+            return getFromRedis(key);
+        }
+        String nearCacheKey = getKeyString(key);
+        TbCacheValueWrapper<V> cached = nearCache.get(nearCacheKey);
+        if (cached != null) {
+            return cached;
+        }
+        long invalidationSeq = nearCache.getInvalidationSeq();
+        TbCacheValueWrapper<V> result = getFromRedis(key);
+        if (result != null) {
+            nearCache.put(nearCacheKey, result, invalidationSeq);
+        }
+        return result;
+    }
+
+    private TbCacheValueWrapper<V> getFromRedis(K key) {
         try (var connection = connectionFactory.getConnection()) {
-            byte[] rawValue = doGet(key, connection);
-            if (rawValue == null || rawValue.length == 0) {
-                return null;
-            } else if (Arrays.equals(rawValue, BINARY_NULL_VALUE)) {
-                return SimpleTbCacheValueWrapper.empty();
+            return toValueWrapper(key, doGet(key, connection));
+        }
+    }
+
+    /**
+     * Fetches all the keys missing in the near cache with a single MGET command instead of a round trip per key.
+     */
+    @Override
+    public Map<K, TbCacheValueWrapper<V>> getAll(Collection<K> keys) {
+        if (!cacheEnabled || keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<K, TbCacheValueWrapper<V>> result = new HashMap<>();
+        List<K> keysToFetch = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            TbCacheValueWrapper<V> cached = nearCache != null ? nearCache.get(getKeyString(key)) : null;
+            if (cached != null) {
+                result.put(key, cached);
             } else {
-                long startTime = System.nanoTime();
-                V value = valueSerializer.deserialize(key, rawValue);
-                if (value != null) {
-                    fstStatsService.recordDecodeTime(value.getClass(), startTime);
-                    fstStatsService.incrementDecode(value.getClass());
+                keysToFetch.add(key);
+            }
+        }
+        if (keysToFetch.isEmpty()) {
+            return result;
+        }
+        long invalidationSeq = nearCache != null ? nearCache.getInvalidationSeq() : 0;
+        try (var connection = connectionFactory.getConnection()) {
+            // large batches are split so that a single MGET doesn't block Redis for too long
+            for (List<K> keysBatch : Lists.partition(keysToFetch, MGET_BATCH_SIZE)) {
+                List<byte[]> rawValues = connection.stringCommands().mGet(keysBatch.stream().map(this::getRawKey).toArray(byte[][]::new));
+                if (rawValues == null) {
+                    continue;
                 }
-                return SimpleTbCacheValueWrapper.wrap(value);
+                for (int i = 0; i < keysBatch.size(); i++) {
+                    K key = keysBatch.get(i);
+                    TbCacheValueWrapper<V> value = toValueWrapper(key, fromRawMGetValue(key, rawValues.get(i)));
+                    if (value != null) {
+                        result.put(key, value);
+                        if (nearCache != null) {
+                            nearCache.put(getKeyString(key), value, invalidationSeq);
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Converts the value returned by MGET to the same format as returned by {@link #doGet(Serializable, RedisConnection)}.
+     */
+    protected byte[] fromRawMGetValue(K key, byte[] rawValue) {
+        return rawValue;
+    }
+
+    private TbCacheValueWrapper<V> toValueWrapper(K key, byte[] rawValue) {
+        if (rawValue == null || rawValue.length == 0) {
+            return null;
+        } else if (Arrays.equals(rawValue, BINARY_NULL_VALUE)) {
+            return SimpleTbCacheValueWrapper.empty();
+        } else {
+            long startTime = System.nanoTime();
+            V value = valueSerializer.deserialize(key, rawValue);
+            if (value != null) {
+                fstStatsService.recordDecodeTime(value.getClass(), startTime);
+                fstStatsService.incrementDecode(value.getClass());
             }
+            return SimpleTbCacheValueWrapper.wrap(value);
         }
     }
 
@@ -120,12 +225,19 @@ public abstract class RedisTbTransactionalCache<K extends Serializable, V extend
             return;
         }
         try (var connection = connectionFactory.getConnection()) {
-            put(key, value, connection);
+            put(connection, key, value, RedisStringCommands.SetOption.UPSERT);
         }
     }
 
+    /**
+     * Puts the value within the transaction that fills the key missing in the cache.
+     * The key was absent, so there is nothing to invalidate in the near caches of other nodes.
+     */
     public void put(K key, V value, RedisConnection connection) {
-        put(connection, key, value, RedisStringCommands.SetOption.UPSERT);
+        if (!cacheEnabled) {
+            return;
+        }
+        set(connection, getRawKey(key), value, RedisStringCommands.SetOption.UPSERT);
     }
 
     @Override
@@ -144,7 +256,9 @@ public abstract class RedisTbTransactionalCache<K extends Serializable, V extend
             return;
         }
         try (var connection = connectionFactory.getConnection()) {
-            connection.keyCommands().del(getRawKey(key));
+            byte[] rawKey = getRawKey(key);
+            connection.keyCommands().del(rawKey);
+            onKeyChanged(connection, rawKey, null);
         }
     }
 
@@ -158,7 +272,11 @@ public abstract class RedisTbTransactionalCache<K extends Serializable, V extend
             return;
         }
         try (var connection = connectionFactory.getConnection()) {
-            connection.keyCommands().del(keys.stream().map(this::getRawKey).toArray(byte[][]::new));
+            byte[][] rawKeys = keys.stream().map(this::getRawKey).toArray(byte[][]::new);
+            connection.keyCommands().del(rawKeys);
+            for (byte[] rawKey : rawKeys) {
+                onKeyChanged(connection, rawKey, null);
+            }
         }
     }
 
@@ -174,6 +292,7 @@ public abstract class RedisTbTransactionalCache<K extends Serializable, V extend
                 //We need to put the value in case of Redis, because evict will NOT cancel concurrent transaction used to "get" the missing value from cache.
                 connection.stringCommands().set(rawKey, getRawValue(value), evictExpiration, RedisStringCommands.SetOption.UPSERT);
             }
+            onKeyChanged(connection, rawKey, null);
         }
     }
 
@@ -225,8 +344,12 @@ public abstract class RedisTbTransactionalCache<K extends Serializable, V extend
         return connection;
     }
 
+    private String getKeyString(K key) {
+        return cacheName + key.toString();
+    }
+
     protected byte[] getRawKey(K key) {
-        String keyString = cacheName + key.toString();
+        String keyString = getKeyString(key);
         byte[] rawKey;
         try {
             rawKey = keySerializer.serialize(keyString);
@@ -267,21 +390,69 @@ public abstract class RedisTbTransactionalCache<K extends Serializable, V extend
     }
 
     public void put(RedisConnection connection, byte[] rawKey, V value, RedisStringCommands.SetOption setOption) {
+        set(connection, rawKey, value, setOption);
+        if (setOption != RedisStringCommands.SetOption.SET_IF_ABSENT) {
+            // the fill of an absent key does not change any value cached by other nodes
+            onKeyChanged(connection, rawKey, null);
+        }
+    }
+
+    private void set(RedisConnection connection, byte[] rawKey, V value, RedisStringCommands.SetOption setOption) {
         byte[] rawValue = getRawValue(value);
         connection.stringCommands().set(rawKey, rawValue, this.cacheTtl, setOption);
     }
 
+    /**
+     * Invalidates the near cache entry of this node and notifies other nodes.
+     * The notification is published over the same connection as the change itself,
+     * so other nodes receive it only after the change is applied (or it is discarded together with the failed transaction).
+     *
+     * @param version the version of the new value for the versioned caches, or null
+     */
+    protected void onKeyChanged(RedisConnection connection, byte[] rawKey, Long version) {
+        if (nearCache == null) {
+            return;
+        }
+        String key = new String(rawKey, StandardCharsets.UTF_8);
+        invalidateNearCache(key, version);
+        String message = version != null ? key + NEAR_CACHE_VERSION_SEPARATOR + version : key;
+        connection.publish(keySerializer.serialize(nearCacheChannel), keySerializer.serialize(message));
+    }
+
+    private void onNearCacheInvalidation(Message message) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separatorIdx = body.lastIndexOf(NEAR_CACHE_VERSION_SEPARATOR);
+        if (separatorIdx < 0) {
+            invalidateNearCache(body, null);
+        } else {
+            invalidateNearCache(body.substring(0, separatorIdx), Long.parseLong(body.substring(separatorIdx + 1)));
+        }
+    }
+
+    private void invalidateNearCache(String key, Long version) {
+        if (version != null) {
+            TbCacheValueWrapper<V> cached = nearCache.get(key);
+            Long cachedVersion = cached != null ? getNearCacheValueVersion(cached.get()) : null;
+            if (cachedVersion != null && cachedVersion >= version) {
+                // the change is older than the cached value and is ignored by Redis as well
+                return;
+            }
+        }
+        nearCache.invalidate(key);
+    }
+
+    /**
+     * @return the version of the value for the versioned caches, used to skip near cache invalidation by outdated changes
+     */
+    protected Long getNearCacheValueVersion(V value) {
+        return null;
+    }
+
     protected void executeScript(RedisConnection connection, byte[] scriptSha, byte[] luaScript, ReturnType returnType, int numKeys, byte[]... keysAndArgs) {
         try {
             connection.scriptingCommands().evalSha(scriptSha, returnType, numKeys, keysAndArgs);
         } catch (InvalidDataAccessApiUsageException ignored) {
-            log.debug("Loading LUA with expected SHA [{}], connection [{}]", new String(scriptSha), connection.getNativeConnection());
-            String actualSha = connection.scriptingCommands().scriptLoad(luaScript);
-            if (!Arrays.equals(scriptSha, StringRedisSerializer.UTF_8.serialize(actualSha))) {
-                String message = String.format("SHA for LUA script wrong! Expected [%s], but actual [%s], connection [%s]",
-                        new String(scriptSha), actualSha, connection.getNativeConnection());
-                throw new IllegalStateException(message);
-            }
+            loadScript(connection, scriptSha, luaScript);
             try {
                 connection.scriptingCommands().evalSha(scriptSha, returnType, numKeys, keysAndArgs);
             } catch (InvalidDataAccessApiUsageException exception) {
@@ -291,4 +462,14 @@ public abstract class RedisTbTransactionalCache<K extends Serializable, V extend
         }
     }
 
+    protected void loadScript(RedisConnection connection, byte[] scriptSha, byte[] luaScript) {
+        log.debug("Loading LUA with expected SHA [{}], connection [{}]", new String(scriptSha), connection.getNativeConnection());
+        String actualSha = connection.scriptingCommands().scriptLoad(luaScript);
+        if (!Arrays.equals(scriptSha, StringRedisSerializer.UTF_8.serialize(actualSha))) {
+            String message = String.format("SHA for LUA script wrong! Expected [%s], but actual [%s], connection [%s]",
+                    new String(scriptSha), actualSha, connection.getNativeConnection());
+            throw new IllegalStateException(message);
+        }
+    }
+
 }
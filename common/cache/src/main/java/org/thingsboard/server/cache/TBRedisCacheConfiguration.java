@@ -31,6 +31,7 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisNode;
 import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.format.support.DefaultFormattingConversionService;
 import org.springframework.util.Assert;
 import org.thingsboard.common.util.SslUtil;
@@ -54,8 +55,11 @@ import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Configuration
 @ConditionalOnProperty(prefix = "cache", value = "type", havingValue = "redis")
@@ -106,6 +110,21 @@ public abstract class TBRedisCacheConfiguration {
     @Value("${redis.ssl.enabled:false}")
     private boolean sslEnabled;
 
+    @Value("${redis.near_cache.enabled:false}")
+    private boolean nearCacheEnabled;
+
+    @Value("${redis.near_cache.caches:}")
+    private String nearCacheNames;
+
+    @Value("${redis.near_cache.maxSize:10000}")
+    private int nearCacheMaxSize;
+
+    @Value("${redis.near_cache.timeToLiveInSec:60}")
+    private int nearCacheTimeToLiveInSec;
+
+    @Value("${redis.proto_serializer.caches:}")
+    private String protoSerializerCacheNames;
+
     @Bean
     public RedisConnectionFactory redisConnectionFactory() {
         return loadFactory();
@@ -138,6 +157,31 @@ public abstract class TBRedisCacheConfiguration {
         return template;
     }
 
+    /**
+     * Subscribes the caches with the local near cache enabled to the invalidation messages from other nodes.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "redis.near_cache", value = "enabled", havingValue = "true")
+    public RedisMessageListenerContainer nearCacheListenerContainer(RedisConnectionFactory cf) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(cf);
+        return container;
+    }
+
+    public boolean isNearCacheEnabled(String cacheName) {
+        return nearCacheEnabled && isCacheListed(nearCacheNames, cacheName);
+    }
+
+    public boolean isProtoSerializerEnabled(String cacheName) {
+        return isCacheListed(protoSerializerCacheNames, cacheName);
+    }
+
+    private static boolean isCacheListed(String cacheNamesStr, String cacheName) {
+        Set<String> cacheNames = StringUtils.isBlank(cacheNamesStr) ? Collections.emptySet() :
+                Arrays.stream(cacheNamesStr.split(COMMA)).map(String::trim).collect(Collectors.toSet());
+        return cacheNames.contains(cacheName);
+    }
+
     private static void registerDefaultConverters(ConverterRegistry registry) {
         Assert.notNull(registry, "ConverterRegistry must not be null!");
         registry.addConverter(EntityId.class, String.class, EntityId::toString);
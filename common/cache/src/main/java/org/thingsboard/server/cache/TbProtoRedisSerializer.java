@@ -0,0 +1,90 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.cache;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.util.function.Function;
+
+/**
+ * Serializes cached values as protobuf messages prefixed with a 2-byte header: {@link #MAGIC} and the format version.
+ * Values without the header are delegated to the legacy serializer, so that entries written by nodes that still use
+ * the JSON or Java format remain readable during a rolling upgrade.
+ * Whether new values are written in the protobuf format is controlled by the {@code writeProto} flag.
+ */
+public class TbProtoRedisSerializer<K, V, P extends MessageLite> implements TbRedisSerializer<K, V> {
+
+    // neither JSON nor Java serialization output starts with a zero byte
+    static final byte MAGIC = 0;
+    static final byte FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 2;
+
+    private final Function<V, P> toProto;
+    private final Function<P, V> fromProto;
+    private final Parser<P> parser;
+    private final TbRedisSerializer<K, V> legacySerializer;
+    private final boolean writeProto;
+
+    public TbProtoRedisSerializer(Function<V, P> toProto, Function<P, V> fromProto, Parser<P> parser,
+                                  TbRedisSerializer<K, V> legacySerializer, boolean writeProto) {
+        this.toProto = toProto;
+        this.fromProto = fromProto;
+        this.parser = parser;
+        this.legacySerializer = legacySerializer;
+        this.writeProto = writeProto;
+    }
+
+    @Override
+    public byte[] serialize(V value) throws SerializationException {
+        if (!writeProto) {
+            return legacySerializer.serialize(value);
+        }
+        P proto = toProto.apply(value);
+        int size = proto.getSerializedSize();
+        byte[] bytes = new byte[HEADER_SIZE + size];
+        bytes[0] = MAGIC;
+        bytes[1] = FORMAT_VERSION;
+        try {
+            CodedOutputStream output = CodedOutputStream.newInstance(bytes, HEADER_SIZE, size);
+            proto.writeTo(output);
+            output.checkNoSpaceLeft();
+        } catch (IOException e) {
+            throw new SerializationException("Failed to serialize " + value, e);
+        }
+        return bytes;
+    }
+
+    @Override
+    public V deserialize(K key, byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0 || bytes[0] != MAGIC) {
+            return legacySerializer.deserialize(key, bytes);
+        }
+        if (bytes.length < HEADER_SIZE || bytes[1] != FORMAT_VERSION) {
+            throw new SerializationException("Unsupported cache value format for key " + key);
+        }
+        try {
+            return fromProto.apply(parser.parseFrom(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE));
+        } catch (InvalidProtocolBufferException e) {
+            throw new SerializationException(e.getMessage());
+        }
+    }
+
+}
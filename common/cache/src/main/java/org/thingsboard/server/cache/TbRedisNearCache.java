@@ -0,0 +1,85 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local in-memory tier in front of the Redis cache.
+ * Entries are removed by local writes and by invalidation messages from other nodes;
+ * the time to live bounds the staleness in case an invalidation message is lost.
+ * <p>
+ * Every invalidation gets the next sequence number, remembered per key. A value fetched from Redis is not cached
+ * if its key was invalidated after the fetch started, while the invalidations of other keys do not affect it.
+ */
+class TbRedisNearCache<V> {
+
+    private final Cache<String, TbCacheValueWrapper<V>> cache;
+    private final AtomicLong invalidationSeq = new AtomicLong();
+    private final Cache<String, Long> invalidations;
+    // the highest sequence number of the invalidations evicted from the bounded invalidations cache
+    private final AtomicLong evictedInvalidationSeq = new AtomicLong();
+
+    TbRedisNearCache(int maxSize, long timeToLiveInSec) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(timeToLiveInSec, TimeUnit.SECONDS)
+                .build();
+        this.invalidations = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .<String, Long>evictionListener((key, seq, cause) -> {
+                    if (seq != null) {
+                        evictedInvalidationSeq.accumulateAndGet(seq, Math::max);
+                    }
+                })
+                .build();
+    }
+
+    TbCacheValueWrapper<V> get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Should be called before the value is fetched from Redis, and the result passed to {@link #put}.
+     */
+    long getInvalidationSeq() {
+        return invalidationSeq.get();
+    }
+
+    /**
+     * Puts the value fetched from Redis, unless the key was invalidated since the value was requested:
+     * in such case the fetched value may be already outdated. If the invalidation of the key is no longer tracked,
+     * the value is not cached when any key was invalidated since then.
+     */
+    void put(String key, TbCacheValueWrapper<V> value, long invalidationSeqBeforeFetch) {
+        cache.put(key, value);
+        Long keyInvalidationSeq = invalidations.getIfPresent(key);
+        if ((keyInvalidationSeq != null && keyInvalidationSeq > invalidationSeqBeforeFetch)
+                || evictedInvalidationSeq.get() > invalidationSeqBeforeFetch) {
+            cache.invalidate(key);
+        }
+    }
+
+    void invalidate(String key) {
+        invalidations.put(key, invalidationSeq.incrementAndGet());
+        cache.invalidate(key);
+    }
+
+}
@@ -15,9 +15,14 @@
  */
 package org.thingsboard.server.cache;
 
+import com.google.common.util.concurrent.ListenableFuture;
+import org.thingsboard.common.util.ListeningExecutor;
+
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -27,6 +32,21 @@ public interface TbTransactionalCache<K extends Serializable, V extends Serializ
 
     TbCacheValueWrapper<V> get(K key);
 
+    /**
+     * Batch version of {@link #get(Object)}.
+     * @return the cached values by keys; keys that are not present in the cache are absent in the result
+     */
+    default Map<K, TbCacheValueWrapper<V>> getAll(Collection<K> keys) {
+        Map<K, TbCacheValueWrapper<V>> result = new HashMap<>();
+        for (K key : keys) {
+            TbCacheValueWrapper<V> value = get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
     void put(K key, V value);
 
     void putIfAbsent(K key, V value);
@@ -86,6 +106,17 @@ public interface TbTransactionalCache<K extends Serializable, V extends Serializ
         }
     }
 
+    /**
+     * Async variant of {@link #getAndPutInTransaction(Serializable, Supplier, Function, Function, boolean)}.
+     * The cache lookup is done on the executor thread, since it may be a remote call. On a miss, the transaction is opened
+     * on the same thread right before the DB call and committed there, so the put is skipped if the key was evicted
+     * or updated concurrently.
+     */
+    default <R> ListenableFuture<R> getAndPutInTransactionAsync(K key, Supplier<R> dbCall, Function<V, R> cacheValueToResult, Function<R, V> dbValueToCacheValue,
+                                                                boolean cacheNullValue, ListeningExecutor executor) {
+        return executor.submit(() -> getAndPutInTransaction(key, dbCall, cacheValueToResult, dbValueToCacheValue, cacheNullValue));
+    }
+
     default <R> R getOrFetchFromDB(K key, Supplier<R> dbCall, Function<V, R> cacheValueToResult, Function<R, V> dbValueToCacheValue, boolean cacheNullValue, boolean putToCache) {
         if (putToCache) {
             return getAndPutInTransaction(key, dbCall, cacheValueToResult, dbValueToCacheValue, cacheNullValue);
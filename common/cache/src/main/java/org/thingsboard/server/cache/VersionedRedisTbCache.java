@@ -19,12 +19,15 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.NotImplementedException;
 import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
 import org.springframework.data.redis.connection.ReturnType;
 import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.thingsboard.server.common.data.HasVersion;
 
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Map;
 
 @Slf4j
 public abstract class VersionedRedisTbCache<K extends VersionedCacheKey, V extends Serializable & HasVersion> extends RedisTbTransactionalCache<K, V> implements VersionedTbCache<K, V> {
@@ -71,17 +74,59 @@ public abstract class VersionedRedisTbCache<K extends VersionedCacheKey, V exten
         return connection.stringCommands().getRange(rawKey, VERSION_SIZE, VALUE_END_OFFSET);
     }
 
+    @Override
+    protected byte[] fromRawMGetValue(K key, byte[] rawValue) {
+        if (!key.isVersioned() || rawValue == null) {
+            return rawValue;
+        }
+        // same as GETRANGE used by doGet: skip the version prefix
+        return rawValue.length > VERSION_SIZE ? Arrays.copyOfRange(rawValue, VERSION_SIZE, rawValue.length) : new byte[0];
+    }
+
     @Override
     public void put(K key, V value) {
-        if (!key.isVersioned()) {
-            super.put(key, value);
+        doPut(key, value, true);
+    }
+
+    @Override
+    public void fill(K key, V value) {
+        doPut(key, value, false);
+    }
+
+    /**
+     * Fills all the values with a single pipeline instead of a round trip per key.
+     */
+    @Override
+    public void fillAll(Map<K, V> values) {
+        if (!cacheEnabled || values.isEmpty()) {
             return;
         }
-        Long version = getVersion(value);
-        if (version == null) {
+        if (getConnectionFactory().isRedisClusterAware()) {
+            // keys of the batch may belong to different cluster nodes
+            VersionedTbCache.super.fillAll(values);
             return;
         }
-        doPut(key, value, version, cacheTtl);
+        log.trace("fillAll [{}]", values);
+        try (var connection = getConnectionFactory().getConnection()) {
+            // NOSCRIPT error can't be handled within the pipeline, so the script is loaded in advance
+            loadScript(connection, SET_VERSIONED_VALUE_SHA, SET_VERSIONED_VALUE_LUA_SCRIPT);
+            connection.openPipeline();
+            try {
+                values.forEach((key, value) -> {
+                    byte[] rawKey = getRawKey(key);
+                    if (!key.isVersioned()) {
+                        connection.stringCommands().set(rawKey, getRawValue(value), cacheTtl, RedisStringCommands.SetOption.UPSERT);
+                        return;
+                    }
+                    Long version = getVersion(value);
+                    if (version != null) {
+                        connection.scriptingCommands().evalSha(SET_VERSIONED_VALUE_SHA, ReturnType.VALUE, 1, toScriptArgs(rawKey, value, version, cacheTtl));
+                    }
+                });
+            } finally {
+                connection.closePipeline();
+            }
+        }
     }
 
     @Override
@@ -95,32 +140,63 @@ public abstract class VersionedRedisTbCache<K extends VersionedCacheKey, V exten
             return;
         }
         byte[] rawKey = getRawKey(key);
-        doPut(rawKey, value, version, cacheTtl, connection);
+        // the put within the transaction fills the missing key, so the change is not published
+        doPut(rawKey, value, version, cacheTtl, connection, false);
     }
 
-    private void doPut(K key, V value, Long version, Expiration expiration) {
+    private void doPut(K key, V value, boolean publish) {
+        if (!key.isVersioned()) {
+            if (publish) {
+                super.put(key, value);
+            } else if (cacheEnabled) {
+                try (var connection = getConnection(getRawKey(key))) {
+                    super.put(key, value, connection);
+                }
+            }
+            return;
+        }
+        Long version = getVersion(value);
+        if (version == null) {
+            return;
+        }
+        doPut(key, value, version, cacheTtl, publish);
+    }
+
+    private void doPut(K key, V value, Long version, Expiration expiration, boolean publish) {
         if (!cacheEnabled) {
             return;
         }
         log.trace("put [{}][{}][{}]", key, value, version);
         final byte[] rawKey = getRawKey(key);
         try (var connection = getConnection(rawKey)) {
-            doPut(rawKey, value, version, expiration, connection);
+            doPut(rawKey, value, version, expiration, connection, publish);
+        }
+    }
+
+    private void doPut(byte[] rawKey, V value, Long version, Expiration expiration, RedisConnection connection, boolean publish) {
+        executeScript(connection, SET_VERSIONED_VALUE_SHA, SET_VERSIONED_VALUE_LUA_SCRIPT, ReturnType.VALUE, 1, toScriptArgs(rawKey, value, version, expiration));
+        if (publish) {
+            onKeyChanged(connection, rawKey, version);
         }
     }
 
-    private void doPut(byte[] rawKey, V value, Long version, Expiration expiration, RedisConnection connection) {
+    private byte[][] toScriptArgs(byte[] rawKey, V value, Long version, Expiration expiration) {
         byte[] rawValue = getRawValue(value);
         byte[] rawVersion = StringRedisSerializer.UTF_8.serialize(String.valueOf(version));
         byte[] rawExpiration = StringRedisSerializer.UTF_8.serialize(String.valueOf(expiration.getExpirationTimeInSeconds()));
-        executeScript(connection, SET_VERSIONED_VALUE_SHA, SET_VERSIONED_VALUE_LUA_SCRIPT, ReturnType.VALUE, 1, rawKey, rawValue, rawVersion, rawExpiration);
+        return new byte[][]{rawKey, rawValue, rawVersion, rawExpiration};
+    }
+
+    @Override
+    protected Long getNearCacheValueVersion(V value) {
+        return value != null ? getVersion(value) : null;
     }
 
     @Override
     public void evict(K key, Long version) {
         log.trace("evict [{}][{}]", key, version);
         if (version != null) {
-            doPut(key, null, version, evictExpiration);
+            doPut(key, null, version, evictExpiration, true);
         }
     }
 
@@ -19,6 +19,7 @@ import org.thingsboard.server.common.data.HasVersion;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Supplier;
 
@@ -44,6 +45,22 @@ public interface VersionedTbCache<K extends VersionedCacheKey, V extends Seriali
 
     void put(K key, V value);
 
+    /**
+     * Puts the value loaded from the database after a cache miss.
+     * Unlike {@link #put(VersionedCacheKey, Serializable)}, does not notify other nodes about the change,
+     * since the key was missing and none of them could have cached the value.
+     */
+    default void fill(K key, V value) {
+        put(key, value);
+    }
+
+    /**
+     * Same as {@link #fill(VersionedCacheKey, Serializable)} for a batch of the loaded values.
+     */
+    default void fillAll(Map<K, V> values) {
+        values.forEach(this::fill);
+    }
+
     void evict(K key);
 
     void evict(Collection<K> keys);
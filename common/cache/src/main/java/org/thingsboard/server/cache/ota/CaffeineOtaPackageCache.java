@@ -20,6 +20,9 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
+import java.util.Optional;
+
 import static org.thingsboard.server.common.data.CacheConstants.OTA_PACKAGE_DATA_CACHE;
 
 @Service
@@ -28,6 +31,7 @@ import static org.thingsboard.server.common.data.CacheConstants.OTA_PACKAGE_DATA
 public class CaffeineOtaPackageCache implements OtaPackageDataCache {
 
     private final CacheManager cacheManager;
+    private final Optional<OtaPackageFileStore> fileStore;
 
     @Override
     public byte[] get(String key) {
@@ -36,6 +40,15 @@ public class CaffeineOtaPackageCache implements OtaPackageDataCache {
 
     @Override
     public byte[] get(String key, int chunkSize, int chunk) {
+        if (fileStore.isPresent()) {
+            ByteBuffer data = getChunk(key, chunkSize, chunk);
+            if (data == null) {
+                return chunkSize < 1 ? null : new byte[0];
+            }
+            byte[] result = new byte[data.remaining()];
+            data.get(result);
+            return result;
+        }
         byte[] data = cacheManager.getCache(OTA_PACKAGE_DATA_CACHE).get(key, byte[].class);
 
         if (chunkSize < 1) {
@@ -56,13 +69,26 @@ public class CaffeineOtaPackageCache implements OtaPackageDataCache {
         return new byte[0];
     }
 
+    @Override
+    public ByteBuffer getChunk(String key, int chunkSize, int chunk) {
+        if (fileStore.isEmpty()) {
+            return OtaPackageDataCache.super.getChunk(key, chunkSize, chunk);
+        }
+        return OtaPackageFileStore.slice(fileStore.get().get(key), chunkSize, chunk);
+    }
+
     @Override
     public void put(String key, byte[] value) {
+        if (fileStore.isPresent()) {
+            fileStore.get().put(key, value);
+            return;
+        }
         cacheManager.getCache(OTA_PACKAGE_DATA_CACHE).putIfAbsent(key, value);
     }
 
     @Override
     public void evict(String key) {
+        fileStore.ifPresent(store -> store.evict(key));
         cacheManager.getCache(OTA_PACKAGE_DATA_CACHE).evict(key);
     }
 }
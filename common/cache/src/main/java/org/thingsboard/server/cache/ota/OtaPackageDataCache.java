@@ -15,12 +15,23 @@
  */
 package org.thingsboard.server.cache.ota;
 
+import java.nio.ByteBuffer;
+
 public interface OtaPackageDataCache {
 
     byte[] get(String key);
 
     byte[] get(String key, int chunkSize, int chunk);
 
+    /**
+     * Same as {@link #get(String, int, int)}, but returns a read-only view of the chunk.
+     * When the {@link OtaPackageFileStore} is enabled, the view is backed by the mapped package file and the data is not copied.
+     */
+    default ByteBuffer getChunk(String key, int chunkSize, int chunk) {
+        byte[] data = get(key, chunkSize, chunk);
+        return data != null ? ByteBuffer.wrap(data).asReadOnlyBuffer() : null;
+    }
+
     void put(String key, byte[] value);
 
     void evict(String key);
@@ -0,0 +1,169 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.cache.ota;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Keeps OTA package data in local files mapped into memory, so that the package data is not stored in the heap
+ * and chunks are served as views of the mapped file without copying.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "cache.ota.file_store", value = "enabled", havingValue = "true")
+public class OtaPackageFileStore {
+
+    private static final String FILE_PREFIX = "tb-ota-package-";
+    private static final String FILE_SUFFIX = ".bin";
+
+    @Value("${cache.ota.file_store.directory:${java.io.tmpdir}/tb-ota-packages}")
+    private String directory;
+
+    @Value("${cache.ota.file_store.max_packages:100}")
+    private int maxPackages;
+
+    private final AtomicLong fileCounter = new AtomicLong();
+    private Path dir;
+    private Cache<String, MappedPackage> packages;
+
+    @PostConstruct
+    public void init() throws IOException {
+        dir = Path.of(directory);
+        Files.createDirectories(dir);
+        // files left by the previous run may belong to deleted packages; other files in the directory are not touched
+        try (Stream<Path> files = Files.list(dir)) {
+            files.filter(OtaPackageFileStore::isPackageFile).forEach(this::deleteFile);
+        }
+        packages = Caffeine.newBuilder()
+                .maximumSize(maxPackages)
+                .executor(Runnable::run)
+                .<String, MappedPackage>removalListener((key, mappedPackage, cause) -> {
+                    if (mappedPackage != null) {
+                        deleteFile(mappedPackage.file());
+                    }
+                })
+                .build();
+        log.info("Using OTA package file store in {}", dir);
+    }
+
+    /**
+     * @return read-only view of the package data or null if the package is not stored
+     */
+    public ByteBuffer get(String key) {
+        MappedPackage mappedPackage = packages.getIfPresent(key);
+        return mappedPackage != null ? mappedPackage.data().duplicate() : null;
+    }
+
+    /**
+     * Returns the stored package data or writes the data provided by the loader to a new file.
+     * @return read-only view of the package data or null if the loader did not find the package
+     */
+    public ByteBuffer load(String key, OtaPackageDataLoader loader) {
+        MappedPackage mappedPackage = packages.get(key, k -> write(k, loader));
+        return mappedPackage != null ? mappedPackage.data().duplicate() : null;
+    }
+
+    public void put(String key, byte[] data) {
+        load(key, channel -> {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            return true;
+        });
+    }
+
+    public void evict(String key) {
+        packages.invalidate(key);
+    }
+
+    /**
+     * @return view of the requested chunk, or the whole data if the chunk size is not positive
+     */
+    public static ByteBuffer slice(ByteBuffer data, int chunkSize, int chunk) {
+        if (data == null || chunkSize < 1) {
+            return data;
+        }
+        long startIndex = (long) chunkSize * chunk;
+        if (startIndex >= data.remaining()) {
+            return ByteBuffer.allocate(0);
+        }
+        int size = (int) Math.min(data.remaining() - startIndex, chunkSize);
+        return data.slice(data.position() + (int) startIndex, size);
+    }
+
+    private MappedPackage write(String key, OtaPackageDataLoader loader) {
+        // unique file names, so that a file of the evicted package never clashes with the one loaded after it
+        Path file = dir.resolve(FILE_PREFIX + key + "-" + fileCounter.incrementAndGet() + FILE_SUFFIX);
+        try (FileChannel channel = FileChannel.open(file, CREATE_NEW, READ, WRITE)) {
+            if (!loader.load(channel) || channel.size() == 0) {
+                deleteFile(file);
+                return null;
+            }
+            return new MappedPackage(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            deleteFile(file);
+            throw new RuntimeException("Failed to store OTA package " + key, e);
+        }
+    }
+
+    private static boolean isPackageFile(Path file) {
+        String fileName = file.getFileName().toString();
+        return fileName.startsWith(FILE_PREFIX) && fileName.endsWith(FILE_SUFFIX) && Files.isRegularFile(file);
+    }
+
+    private void deleteFile(Path file) {
+        try {
+            // the mapping stays valid for the chunks that are still being sent
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete OTA package file {}", file, e);
+        }
+    }
+
+    @FunctionalInterface
+    public interface OtaPackageDataLoader {
+
+        /**
+         * Writes the package data to the channel.
+         * @return false if the package is not found
+         */
+        boolean load(FileChannel channel) throws IOException;
+
+    }
+
+    private record MappedPackage(Path file, MappedByteBuffer data) {}
+
+}
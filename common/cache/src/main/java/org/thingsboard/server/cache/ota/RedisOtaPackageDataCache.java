@@ -21,6 +21,9 @@ import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
+import java.util.Optional;
+
 import static org.thingsboard.server.common.data.CacheConstants.OTA_PACKAGE_DATA_CACHE;
 
 @Service
@@ -28,7 +31,10 @@ import static org.thingsboard.server.common.data.CacheConstants.OTA_PACKAGE_DATA
 @RequiredArgsConstructor
 public class RedisOtaPackageDataCache implements OtaPackageDataCache {
 
+    private static final int LOAD_CHUNK_SIZE = 1024 * 1024;
+
     private final RedisConnectionFactory redisConnectionFactory;
+    private final Optional<OtaPackageFileStore> fileStore;
 
     @Override
     public byte[] get(String key) {
@@ -48,6 +54,35 @@ public class RedisOtaPackageDataCache implements OtaPackageDataCache {
         }
     }
 
+    /**
+     * With the file store enabled, the package is copied from Redis to the local file once
+     * and all the chunks are then served from the mapped file.
+     */
+    @Override
+    public ByteBuffer getChunk(String key, int chunkSize, int chunk) {
+        if (fileStore.isEmpty()) {
+            return OtaPackageDataCache.super.getChunk(key, chunkSize, chunk);
+        }
+        ByteBuffer data = fileStore.get().load(key, channel -> {
+            try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+                byte[] cacheKey = toOtaPackageCacheKey(key);
+                long offset = 0;
+                while (true) {
+                    byte[] part = connection.getRange(cacheKey, offset, offset + LOAD_CHUNK_SIZE - 1);
+                    if (part == null || part.length == 0) {
+                        return offset > 0;
+                    }
+                    ByteBuffer buffer = ByteBuffer.wrap(part);
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    offset += part.length;
+                }
+            }
+        });
+        return OtaPackageFileStore.slice(data, chunkSize, chunk);
+    }
+
     @Override
     public void put(String key, byte[] value) {
         try (RedisConnection connection = redisConnectionFactory.getConnection()) {
@@ -57,6 +92,7 @@ public class RedisOtaPackageDataCache implements OtaPackageDataCache {
 
     @Override
     public void evict(String key) {
+        fileStore.ifPresent(store -> store.evict(key));
         try (RedisConnection connection = redisConnectionFactory.getConnection()) {
             connection.del(toOtaPackageCacheKey(key));
         }
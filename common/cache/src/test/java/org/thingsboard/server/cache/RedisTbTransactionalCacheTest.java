@@ -0,0 +1,213 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thingsboard.server.common.data.FstStatsService;
+import org.thingsboard.server.common.data.HasVersion;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RedisTbTransactionalCacheTest {
+
+    private static final String CACHE_NAME = "test";
+
+    private RedisConnection connection;
+    private RedisStringCommands stringCommands;
+    private RedisScriptingCommands scriptingCommands;
+    private RedisTbTransactionalCache<String, String> cache;
+    private VersionedRedisTbCache<TestVersionedKey, TestVersionedValue> versionedCache;
+
+    @BeforeEach
+    public void setUp() {
+        JedisConnectionFactory connectionFactory = mock(JedisConnectionFactory.class);
+        connection = mock(RedisConnection.class);
+        stringCommands = mock(RedisStringCommands.class);
+        scriptingCommands = mock(RedisScriptingCommands.class);
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(connection.scriptingCommands()).thenReturn(scriptingCommands);
+        when(scriptingCommands.scriptLoad(any())).thenReturn(new String(VersionedRedisTbCache.SET_VERSIONED_VALUE_SHA, StandardCharsets.UTF_8));
+
+        TBRedisCacheConfiguration configuration = mock(TBRedisCacheConfiguration.class);
+        when(configuration.getEvictTtlInMs()).thenReturn(60000);
+        when(configuration.isNearCacheEnabled(CACHE_NAME)).thenReturn(true);
+        when(configuration.getNearCacheMaxSize()).thenReturn(100);
+        when(configuration.getNearCacheTimeToLiveInSec()).thenReturn(60);
+        CacheSpecs specs = new CacheSpecs();
+        specs.setMaxSize(100);
+        specs.setTimeToLiveInMinutes(10);
+        CacheSpecsMap specsMap = new CacheSpecsMap();
+        specsMap.setSpecs(Map.of(CACHE_NAME, specs));
+
+        cache = new RedisTbTransactionalCache<>(CACHE_NAME, specsMap, connectionFactory, configuration, new TbRedisSerializer<>() {
+            @Override
+            public byte[] serialize(String value) {
+                return value.getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public String deserialize(String key, byte[] bytes) {
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        }) {};
+        ReflectionTestUtils.setField(cache, "fstStatsService", mock(FstStatsService.class));
+
+        versionedCache = new VersionedRedisTbCache<>(CACHE_NAME, specsMap, connectionFactory, configuration, new TbRedisSerializer<>() {
+            @Override
+            public byte[] serialize(TestVersionedValue value) {
+                return value.value().getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public TestVersionedValue deserialize(TestVersionedKey key, byte[] bytes) {
+                return new TestVersionedValue(new String(bytes, StandardCharsets.UTF_8), 0L);
+            }
+        }) {
+            @Override
+            public Long getVersion(TestVersionedValue value) {
+                return value != null ? value.getVersion() : 0L;
+            }
+        };
+        ReflectionTestUtils.setField(versionedCache, "fstStatsService", mock(FstStatsService.class));
+    }
+
+    @Test
+    public void givenNearCache_whenPutIfAbsent_thenInvalidationIsNotPublished() {
+        cache.putIfAbsent("key", "value");
+
+        verify(stringCommands).set(any(), any(), any(), eq(RedisStringCommands.SetOption.SET_IF_ABSENT));
+        verify(connection, never()).publish(any(), any());
+    }
+
+    @Test
+    public void givenNearCache_whenPutInTransaction_thenInvalidationIsNotPublished() {
+        TbCacheTransaction<String, String> transaction = cache.newTransactionForKey("key");
+        transaction.put("key", "value");
+
+        verify(stringCommands).set(any(), any(), any(), eq(RedisStringCommands.SetOption.UPSERT));
+        verify(connection, never()).publish(any(), any());
+    }
+
+    @Test
+    public void givenNearCache_whenPut_thenInvalidationIsPublished() {
+        cache.put("key", "value");
+
+        verify(stringCommands).set(any(), any(), any(), eq(RedisStringCommands.SetOption.UPSERT));
+        verify(connection).publish(any(), eq((CACHE_NAME + "key").getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void givenManyKeys_whenGetAll_thenKeysAreFetchedInBatches() {
+        List<String> keys = IntStream.range(0, RedisTbTransactionalCache.MGET_BATCH_SIZE + 1).mapToObj(i -> "key" + i).toList();
+        when(stringCommands.mGet(any(byte[][].class))).thenAnswer(invocation -> {
+            Object[] rawKeys = invocation.getArguments();
+            return Arrays.stream(rawKeys).map(rawKey -> "value".getBytes(StandardCharsets.UTF_8)).toList();
+        });
+
+        Map<String, TbCacheValueWrapper<String>> result = cache.getAll(keys);
+
+        assertThat(result).hasSize(keys.size());
+        verify(stringCommands, times(2)).mGet(any(byte[][].class));
+    }
+
+    @Test
+    public void givenVersionedCache_whenFill_thenInvalidationIsNotPublished() {
+        versionedCache.fill(new TestVersionedKey("key"), new TestVersionedValue("value", 1L));
+
+        verify(scriptingCommands).evalSha(eq(VersionedRedisTbCache.SET_VERSIONED_VALUE_SHA), eq(ReturnType.VALUE), eq(1), any(byte[][].class));
+        verify(connection, never()).publish(any(), any());
+    }
+
+    @Test
+    public void givenVersionedCache_whenFillAll_thenValuesArePipelinedAndInvalidationIsNotPublished() {
+        Map<TestVersionedKey, TestVersionedValue> values = new HashMap<>();
+        values.put(new TestVersionedKey("key1"), new TestVersionedValue("value1", 1L));
+        values.put(new TestVersionedKey("key2"), null);
+
+        versionedCache.fillAll(values);
+
+        InOrder inOrder = inOrder(connection, scriptingCommands);
+        inOrder.verify(scriptingCommands).scriptLoad(VersionedRedisTbCache.SET_VERSIONED_VALUE_LUA_SCRIPT);
+        inOrder.verify(connection).openPipeline();
+        inOrder.verify(scriptingCommands, times(2)).evalSha(eq(VersionedRedisTbCache.SET_VERSIONED_VALUE_SHA), eq(ReturnType.VALUE), eq(1), any(byte[][].class));
+        inOrder.verify(connection).closePipeline();
+        verify(connection, never()).publish(any(), any());
+    }
+
+    @Test
+    public void givenVersionedCache_whenPut_thenInvalidationIsPublished() {
+        versionedCache.put(new TestVersionedKey("key"), new TestVersionedValue("value", 1L));
+
+        verify(scriptingCommands).evalSha(eq(VersionedRedisTbCache.SET_VERSIONED_VALUE_SHA), eq(ReturnType.VALUE), eq(1), any(byte[][].class));
+        verify(connection).publish(any(), eq((CACHE_NAME + "key\n1").getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void givenVersionedCache_whenEvictWithVersion_thenInvalidationIsPublished() {
+        versionedCache.evict(new TestVersionedKey("key"), 2L);
+
+        verify(connection).publish(any(), eq((CACHE_NAME + "key\n2").getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private record TestVersionedKey(String key) implements VersionedCacheKey {
+
+        @Override
+        public boolean isVersioned() {
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return key;
+        }
+
+    }
+
+    private record TestVersionedValue(String value, Long version) implements Serializable, HasVersion {
+
+        @Override
+        public Long getVersion() {
+            return version;
+        }
+
+    }
+
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.cache;
+
+import org.junit.jupiter.api.Test;
+import org.thingsboard.common.util.JacksonUtil;
+import org.thingsboard.server.common.data.Tenant;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.data.id.TenantProfileId;
+import org.thingsboard.server.common.util.ProtoUtils;
+import org.thingsboard.server.gen.transport.TransportProtos;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TbProtoRedisSerializerTest {
+
+    private final TbJsonRedisSerializer<TenantId, Tenant> jsonSerializer = new TbJsonRedisSerializer<>(Tenant.class);
+
+    @Test
+    public void givenProtoEnabled_whenSerialize_thenValueIsRestoredAndSmallerThanJson() {
+        var serializer = newSerializer(true);
+        Tenant tenant = newTenant();
+
+        byte[] bytes = serializer.serialize(tenant);
+
+        assertThat(bytes[0]).isEqualTo(TbProtoRedisSerializer.MAGIC);
+        assertThat(bytes[1]).isEqualTo(TbProtoRedisSerializer.FORMAT_VERSION);
+        assertThat(bytes.length).isLessThan(jsonSerializer.serialize(tenant).length);
+        assertThat(serializer.deserialize(tenant.getId(), bytes)).isEqualTo(tenant);
+    }
+
+    @Test
+    public void givenJsonValue_whenDeserialize_thenLegacySerializerIsUsed() {
+        Tenant tenant = newTenant();
+
+        assertThat(newSerializer(true).deserialize(tenant.getId(), jsonSerializer.serialize(tenant))).isEqualTo(tenant);
+    }
+
+    @Test
+    public void givenProtoDisabled_whenSerialize_thenJsonIsWrittenAndProtoIsStillReadable() {
+        var serializer = newSerializer(false);
+        Tenant tenant = newTenant();
+
+        assertThat(serializer.serialize(tenant)).isEqualTo(jsonSerializer.serialize(tenant));
+        assertThat(serializer.deserialize(tenant.getId(), newSerializer(true).serialize(tenant))).isEqualTo(tenant);
+    }
+
+    private TbProtoRedisSerializer<TenantId, Tenant, TransportProtos.TenantProto> newSerializer(boolean writeProto) {
+        return new TbProtoRedisSerializer<>(ProtoUtils::toProto, ProtoUtils::fromProto, TransportProtos.TenantProto.parser(), jsonSerializer, writeProto);
+    }
+
+    private Tenant newTenant() {
+        Tenant tenant = new Tenant(TenantId.fromUUID(UUID.randomUUID()));
+        tenant.setCreatedTime(System.currentTimeMillis());
+        tenant.setTenantProfileId(new TenantProfileId(UUID.randomUUID()));
+        tenant.setTitle("Tenant");
+        tenant.setCountry("Ukraine");
+        tenant.setCity("Kyiv");
+        tenant.setEmail("tenant@thingsboard.org");
+        tenant.setAdditionalInfo(JacksonUtil.newObjectNode().put("description", "Test tenant"));
+        tenant.setVersion(1L);
+        return tenant;
+    }
+
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TbRedisNearCacheTest {
+
+    @Test
+    void givenNoInvalidations_whenPut_thenValueIsCached() {
+        TbRedisNearCache<String> nearCache = new TbRedisNearCache<>(10, 60);
+        long invalidationSeq = nearCache.getInvalidationSeq();
+
+        nearCache.put("key", SimpleTbCacheValueWrapper.wrap("value"), invalidationSeq);
+
+        assertThat(nearCache.get("key").get()).isEqualTo("value");
+    }
+
+    @Test
+    void givenInvalidationDuringFetch_whenPut_thenValueIsNotCached() {
+        TbRedisNearCache<String> nearCache = new TbRedisNearCache<>(10, 60);
+        long invalidationSeq = nearCache.getInvalidationSeq();
+
+        nearCache.invalidate("key");
+        nearCache.put("key", SimpleTbCacheValueWrapper.wrap("outdated"), invalidationSeq);
+
+        assertThat(nearCache.get("key")).isNull();
+    }
+
+    @Test
+    void givenInvalidationOfOtherKeyDuringFetch_whenPut_thenValueIsCached() {
+        TbRedisNearCache<String> nearCache = new TbRedisNearCache<>(10, 60);
+        long invalidationSeq = nearCache.getInvalidationSeq();
+
+        nearCache.invalidate("otherKey");
+        nearCache.put("key", SimpleTbCacheValueWrapper.wrap("value"), invalidationSeq);
+
+        assertThat(nearCache.get("key").get()).isEqualTo("value");
+    }
+
+    @Test
+    void givenInvalidationBeforeFetch_whenPut_thenValueIsCached() {
+        TbRedisNearCache<String> nearCache = new TbRedisNearCache<>(10, 60);
+        nearCache.invalidate("key");
+        long invalidationSeq = nearCache.getInvalidationSeq();
+
+        nearCache.put("key", SimpleTbCacheValueWrapper.wrap("value"), invalidationSeq);
+
+        assertThat(nearCache.get("key").get()).isEqualTo("value");
+    }
+
+    @Test
+    void givenCachedValue_whenInvalidate_thenValueIsRemoved() {
+        TbRedisNearCache<String> nearCache = new TbRedisNearCache<>(10, 60);
+        nearCache.put("key", SimpleTbCacheValueWrapper.empty(), nearCache.getInvalidationSeq());
+        assertThat(nearCache.get("key")).isNotNull();
+
+        nearCache.invalidate("key");
+
+        assertThat(nearCache.get("key")).isNull();
+    }
+
+}
@@ -0,0 +1,277 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.cache;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thingsboard.common.util.ListeningExecutor;
+import org.thingsboard.server.common.data.FstStatsService;
+import org.thingsboard.server.common.data.HasVersion;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TbTransactionalCacheAsyncTest {
+
+    private static final String KEY = "key";
+    private static final String REDIS_CACHE_NAME = "redisTest";
+
+    private ExecutorService executorService;
+    private ListeningExecutor executor;
+    private CaffeineTbTransactionalCache<String, String> cache;
+
+    @BeforeEach
+    public void setUp() {
+        executorService = Executors.newSingleThreadExecutor();
+        var listeningExecutorService = MoreExecutors.listeningDecorator(executorService);
+        executor = new ListeningExecutor() {
+            @Override
+            public <T> ListenableFuture<T> executeAsync(Callable<T> task) {
+                return listeningExecutorService.submit(task);
+            }
+
+            @Override
+            public void execute(Runnable command) {
+                listeningExecutorService.execute(command);
+            }
+        };
+        cache = new CaffeineTbTransactionalCache<>("test", new ConcurrentMapCache("test")) {};
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void givenCacheMiss_whenGetAsync_thenValueFetchedOnceAndCached() throws Exception {
+        AtomicInteger dbCalls = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            String value = cache.getAndPutInTransactionAsync(KEY, () -> "db-" + dbCalls.incrementAndGet(),
+                    v -> v, v -> v, false, executor).get(10, TimeUnit.SECONDS);
+            assertThat(value).isEqualTo("db-1");
+        }
+
+        assertThat(dbCalls.get()).isEqualTo(1);
+        assertThat(cache.get(KEY).get()).isEqualTo("db-1");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void givenRemoteCache_whenGetAsync_thenCacheLookupNotDoneOnCallerThread() throws Exception {
+        TbTransactionalCache<String, String> remoteCache = mock(TbTransactionalCache.class, CALLS_REAL_METHODS);
+        AtomicReference<Thread> lookupThread = new AtomicReference<>();
+        doAnswer(invocation -> {
+            lookupThread.set(Thread.currentThread());
+            return SimpleTbCacheValueWrapper.wrap("cached");
+        }).when(remoteCache).get(KEY);
+
+        String value = remoteCache.getAndPutInTransactionAsync(KEY, () -> "db", v -> v, v -> v, false, executor).get(10, TimeUnit.SECONDS);
+
+        assertThat(value).isEqualTo("cached");
+        assertThat(lookupThread.get()).isNotNull().isNotEqualTo(Thread.currentThread());
+        verify(remoteCache, never()).newTransactionForKey(any());
+        verify(remoteCache).get(eq(KEY));
+    }
+
+    @Test
+    public void givenEvictDuringDbCall_whenGetAsync_thenStaleValueNotCached() throws Exception {
+        String value = cache.getAndPutInTransactionAsync(KEY, () -> {
+            cache.evict(KEY);
+            return "stale";
+        }, v -> v, v -> v, false, executor).get(10, TimeUnit.SECONDS);
+
+        assertThat(value).isEqualTo("stale");
+        assertThat(cache.get(KEY)).isNull();
+    }
+
+    @Test
+    public void givenNullValue_whenGetAsyncWithoutCachingNulls_thenNothingCached() throws Exception {
+        assertThat(cache.getAndPutInTransactionAsync(KEY, () -> null, v -> v, v -> v, false, executor).get(10, TimeUnit.SECONDS)).isNull();
+        assertThat(cache.get(KEY)).isNull();
+    }
+
+    @Test
+    public void givenSomeKeysCached_whenGetAll_thenOnlyCachedKeysReturned() {
+        cache.put("k1", "v1");
+        cache.put("k2", "v2");
+
+        var result = cache.getAll(List.of("k1", "k2", "k3"));
+
+        assertThat(result).containsOnlyKeys("k1", "k2");
+        assertThat(result.get("k1").get()).isEqualTo("v1");
+        assertThat(result.get("k2").get()).isEqualTo("v2");
+    }
+
+    @Test
+    public void givenRedisCache_whenGetAll_thenMissingKeysFetchedWithSingleMGetAndCachedInNearCache() {
+        Map<String, byte[]> redis = new HashMap<>();
+        redis.put(REDIS_CACHE_NAME + "k1", "v1".getBytes(StandardCharsets.UTF_8));
+        redis.put(REDIS_CACHE_NAME + "k3", RedisTbTransactionalCache.BINARY_NULL_VALUE);
+        List<Integer> mGetSizes = new ArrayList<>();
+        RedisStringCommands stringCommands = mockRedisStringCommands(redis, mGetSizes);
+        RedisTbTransactionalCache<String, String> redisCache = new RedisTbTransactionalCache<>(REDIS_CACHE_NAME, redisCacheSpecs(),
+                mockRedisConnectionFactory(stringCommands), mockRedisCacheConfiguration(), new TbRedisSerializer<>() {
+            @Override
+            public byte[] serialize(String value) {
+                return value.getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public String deserialize(String key, byte[] bytes) {
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        }) {};
+        ReflectionTestUtils.setField(redisCache, "fstStatsService", mock(FstStatsService.class));
+
+        var result = redisCache.getAll(List.of("k1", "k2", "k3"));
+
+        assertThat(result).containsOnlyKeys("k1", "k3");
+        assertThat(result.get("k1").get()).isEqualTo("v1");
+        assertThat(result.get("k3").get()).isNull();
+        assertThat(mGetSizes).containsExactly(3);
+
+        result = redisCache.getAll(List.of("k1", "k2"));
+
+        assertThat(result).containsOnlyKeys("k1");
+        assertThat(result.get("k1").get()).isEqualTo("v1");
+        assertThat(mGetSizes).containsExactly(3, 1);
+        verify(stringCommands, never()).get(any());
+    }
+
+    @Test
+    public void givenVersionedRedisCache_whenGetAll_thenVersionPrefixIsStripped() {
+        Map<String, byte[]> redis = new HashMap<>();
+        TestVersionedKey versionedKey = new TestVersionedKey("versioned", true);
+        TestVersionedKey plainKey = new TestVersionedKey("plain", false);
+        TestVersionedKey missingKey = new TestVersionedKey("missing", true);
+        byte[] versionedValue = "versioned-value".getBytes(StandardCharsets.UTF_8);
+        redis.put(REDIS_CACHE_NAME + versionedKey, ByteBuffer.allocate(Long.BYTES + versionedValue.length).putLong(42L).put(versionedValue).array());
+        redis.put(REDIS_CACHE_NAME + plainKey, "plain-value".getBytes(StandardCharsets.UTF_8));
+        List<Integer> mGetSizes = new ArrayList<>();
+        RedisStringCommands stringCommands = mockRedisStringCommands(redis, mGetSizes);
+        VersionedRedisTbCache<TestVersionedKey, TestVersionedValue> redisCache = new VersionedRedisTbCache<>(REDIS_CACHE_NAME, redisCacheSpecs(),
+                mockRedisConnectionFactory(stringCommands), mockRedisCacheConfiguration(), new TbRedisSerializer<>() {
+            @Override
+            public byte[] serialize(TestVersionedValue value) {
+                return value.value().getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public TestVersionedValue deserialize(TestVersionedKey key, byte[] bytes) {
+                return new TestVersionedValue(new String(bytes, StandardCharsets.UTF_8), null);
+            }
+        }) {};
+        ReflectionTestUtils.setField(redisCache, "fstStatsService", mock(FstStatsService.class));
+
+        var result = redisCache.getAll(List.of(versionedKey, plainKey, missingKey));
+
+        assertThat(result).containsOnlyKeys(versionedKey, plainKey);
+        assertThat(result.get(versionedKey).get().value()).isEqualTo("versioned-value");
+        assertThat(result.get(plainKey).get().value()).isEqualTo("plain-value");
+        assertThat(mGetSizes).containsExactly(3);
+        verify(stringCommands, never()).getRange(any(), anyLong(), anyLong());
+    }
+
+    private static RedisStringCommands mockRedisStringCommands(Map<String, byte[]> redis, List<Integer> mGetSizes) {
+        RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+        when(stringCommands.mGet(any(byte[][].class))).thenAnswer(invocation -> {
+            Object[] rawKeys = invocation.getArguments();
+            mGetSizes.add(rawKeys.length);
+            return Arrays.stream(rawKeys)
+                    .map(rawKey -> redis.get(new String((byte[]) rawKey, StandardCharsets.UTF_8)))
+                    .toList();
+        });
+        return stringCommands;
+    }
+
+    private static JedisConnectionFactory mockRedisConnectionFactory(RedisStringCommands stringCommands) {
+        JedisConnectionFactory connectionFactory = mock(JedisConnectionFactory.class);
+        RedisConnection connection = mock(RedisConnection.class);
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        return connectionFactory;
+    }
+
+    private static TBRedisCacheConfiguration mockRedisCacheConfiguration() {
+        TBRedisCacheConfiguration configuration = mock(TBRedisCacheConfiguration.class);
+        when(configuration.getEvictTtlInMs()).thenReturn(60000);
+        when(configuration.isNearCacheEnabled(REDIS_CACHE_NAME)).thenReturn(true);
+        when(configuration.getNearCacheMaxSize()).thenReturn(100);
+        when(configuration.getNearCacheTimeToLiveInSec()).thenReturn(60);
+        return configuration;
+    }
+
+    private static CacheSpecsMap redisCacheSpecs() {
+        CacheSpecs specs = new CacheSpecs();
+        specs.setMaxSize(100);
+        specs.setTimeToLiveInMinutes(10);
+        CacheSpecsMap specsMap = new CacheSpecsMap();
+        specsMap.setSpecs(Map.of(REDIS_CACHE_NAME, specs));
+        return specsMap;
+    }
+
+    private record TestVersionedKey(String id, boolean versioned) implements VersionedCacheKey {
+
+        @Override
+        public boolean isVersioned() {
+            return versioned;
+        }
+
+    }
+
+    private record TestVersionedValue(String value, Long version) implements Serializable, HasVersion {
+
+        @Override
+        public Long getVersion() {
+            return version;
+        }
+
+    }
+
+}
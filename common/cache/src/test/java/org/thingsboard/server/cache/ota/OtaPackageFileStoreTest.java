@@ -0,0 +1,116 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.cache.ota;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OtaPackageFileStoreTest {
+
+    private static final String KEY = "0b4ff3a0-2c6d-11ef-8c2e-95ad37ebf1f3";
+
+    @TempDir
+    Path dir;
+
+    private OtaPackageFileStore store;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        store = new OtaPackageFileStore();
+        ReflectionTestUtils.setField(store, "directory", dir.toString());
+        ReflectionTestUtils.setField(store, "maxPackages", 10);
+        store.init();
+    }
+
+    @Test
+    public void givenStoredPackage_whenSlice_thenChunksAreViewsOfTheData() {
+        store.put(KEY, new byte[]{1, 2, 3, 4, 5});
+
+        ByteBuffer data = store.get(KEY);
+        assertThat(data.remaining()).isEqualTo(5);
+        assertThat(toArray(OtaPackageFileStore.slice(data, 2, 0))).containsExactly(1, 2);
+        assertThat(toArray(OtaPackageFileStore.slice(data, 2, 2))).containsExactly(5);
+        assertThat(OtaPackageFileStore.slice(data, 2, 3).hasRemaining()).isFalse();
+        assertThat(OtaPackageFileStore.slice(data, 0, 0)).isSameAs(data);
+    }
+
+    @Test
+    public void givenStoredPackage_whenLoad_thenLoaderIsNotCalled() {
+        store.put(KEY, new byte[]{1, 2, 3});
+
+        ByteBuffer data = store.load(KEY, channel -> {
+            throw new IllegalStateException("Package should not be loaded again");
+        });
+
+        assertThat(toArray(data)).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    public void givenMissingPackage_whenLoad_thenNothingIsStored() throws Exception {
+        assertThat(store.load(KEY, channel -> false)).isNull();
+        assertThat(store.get(KEY)).isNull();
+        assertThat(countFiles()).isZero();
+    }
+
+    @Test
+    public void givenStoredPackage_whenEvict_thenFileIsDeleted() throws Exception {
+        store.put(KEY, new byte[]{1, 2, 3});
+        assertThat(countFiles()).isOne();
+
+        store.evict(KEY);
+
+        assertThat(store.get(KEY)).isNull();
+        assertThat(countFiles()).isZero();
+    }
+
+    @Test
+    public void givenFilesInDirectory_whenInit_thenOnlyPackageFilesAreDeleted() throws Exception {
+        store.put(KEY, new byte[]{1, 2, 3});
+        Path otherFile = Files.write(dir.resolve("other.bin"), new byte[]{1});
+        Path otherDirectory = Files.createDirectories(dir.resolve("tb-ota-package-dir.bin"));
+
+        OtaPackageFileStore restartedStore = new OtaPackageFileStore();
+        ReflectionTestUtils.setField(restartedStore, "directory", dir.toString());
+        ReflectionTestUtils.setField(restartedStore, "maxPackages", 10);
+        restartedStore.init();
+
+        assertThat(countFiles()).isEqualTo(2);
+        assertThat(otherFile).exists();
+        assertThat(otherDirectory).exists();
+    }
+
+    private long countFiles() throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    private static byte[] toArray(ByteBuffer buffer) {
+        byte[] result = new byte[buffer.remaining()];
+        buffer.duplicate().get(result);
+        return result;
+    }
+
+}
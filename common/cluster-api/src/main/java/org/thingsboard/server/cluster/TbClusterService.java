@@ -26,6 +26,7 @@ import org.thingsboard.server.common.data.cf.CalculatedField;
 import org.thingsboard.server.common.data.cloud.CloudEventType;
 import org.thingsboard.server.common.data.edge.EdgeEventActionType;
 import org.thingsboard.server.common.data.edge.EdgeEventType;
+import org.thingsboard.server.common.data.id.DeviceId;
 import org.thingsboard.server.common.data.id.EdgeId;
 import org.thingsboard.server.common.data.id.EntityId;
 import org.thingsboard.server.common.data.id.TenantId;
@@ -110,6 +111,8 @@ public interface TbClusterService extends TbQueueClusterService {
 
     void onDeviceAssignedToTenant(TenantId oldTenantId, Device device);
 
+    void onDeviceCredentialsUpdated(TenantId tenantId, DeviceId deviceId, TbQueueCallback callback);
+
     void onAssetUpdated(Asset asset, Asset old);
 
     void onAssetDeleted(TenantId tenantId, Asset asset, TbQueueCallback callback);
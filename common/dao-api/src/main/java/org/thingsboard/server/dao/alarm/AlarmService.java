@@ -108,6 +108,8 @@ public interface AlarmService extends EntityDaoService {
 
     FluentFuture<Alarm> findLatestActiveByOriginatorAndTypeAsync(TenantId tenantId, EntityId originator, String type);
 
+    List<Alarm> findActiveAlarms(TenantId tenantId, AlarmId idOffset, int limit);
+
     PageData<AlarmData> findAlarmDataByQueryForEntities(TenantId tenantId,
                                                         AlarmDataQuery query, Collection<EntityId> orderedEntityIds);
 
@@ -28,6 +28,7 @@ import org.thingsboard.server.common.data.kv.TsKvLatestRemovingResult;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -39,10 +40,20 @@ public interface TimeseriesService {
 
     ListenableFuture<List<TsKvEntry>> findAll(TenantId tenantId, EntityId entityId, List<ReadTsKvQuery> queries);
 
+    /**
+     * Executes the same queries for each of the entities. Entities are returned in the order of the entity ids.
+     */
+    ListenableFuture<Map<EntityId, List<TsKvEntry>>> findAll(TenantId tenantId, Collection<EntityId> entityIds, List<ReadTsKvQuery> queries);
+
     ListenableFuture<Optional<TsKvEntry>> findLatest(TenantId tenantId, EntityId entityId, String key);
 
     ListenableFuture<List<TsKvEntry>> findLatest(TenantId tenantId, EntityId entityId, Collection<String> keys);
 
+    /**
+     * Returns the latest values of the keys for each of the entities. Entities are returned in the order of the entity ids.
+     */
+    ListenableFuture<Map<EntityId, List<TsKvEntry>>> findLatest(TenantId tenantId, Collection<EntityId> entityIds, Collection<String> keys);
+
     ListenableFuture<List<TsKvEntry>> findAllLatest(TenantId tenantId, EntityId entityId);
 
     ListenableFuture<TimeseriesSaveResult> save(TenantId tenantId, EntityId entityId, TsKvEntry tsKvEntry);
@@ -55,6 +66,11 @@ public interface TimeseriesService {
 
     ListenableFuture<List<TsKvLatestRemovingResult>> remove(TenantId tenantId, EntityId entityId, List<DeleteTsKvQuery> queries);
 
+    /**
+     * Removes the timeseries history matching the query for all the entities at once. Latest values are not removed.
+     */
+    ListenableFuture<Void> removeHistory(TenantId tenantId, Collection<EntityId> entityIds, DeleteTsKvQuery query);
+
     ListenableFuture<List<TsKvLatestRemovingResult>> removeLatest(TenantId tenantId, EntityId entityId, Collection<String> keys);
 
     ListenableFuture<List<String>> removeAllLatest(TenantId tenantId, EntityId entityId);
@@ -0,0 +1,51 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.common.data.kv;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import org.thingsboard.server.common.data.id.EntityId;
+
+import java.util.List;
+
+@Schema
+@Data
+public class TimeseriesBatchRequest {
+
+    @Schema(description = "List of the entity ids to fetch the time series for.", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<EntityId> entityIds;
+    @Schema(description = "List of the time series keys to fetch.", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<String> keys;
+    @Schema(description = "Start timestamp of the time range in milliseconds, UTC. If both 'startTs' and 'endTs' are not set, the latest values are returned.")
+    private Long startTs;
+    @Schema(description = "End timestamp of the time range in milliseconds, UTC. If both 'startTs' and 'endTs' are not set, the latest values are returned.")
+    private Long endTs;
+    @Schema(description = "Type of the aggregation interval.", allowableValues = {"MILLISECONDS", "WEEK", "WEEK_ISO", "MONTH", "QUARTER"})
+    private IntervalType intervalType;
+    @Schema(description = "Aggregation interval in milliseconds.")
+    private long interval;
+    @Schema(description = "Timezone that will be used to calculate exact timestamps for 'WEEK', 'WEEK_ISO', 'MONTH' and 'QUARTER' interval types.")
+    private String timeZone;
+    @Schema(description = "Max number of data points to fetch for each of the entities and keys. Used only if 'agg' is set to 'NONE'.")
+    private int limit = 100;
+    @Schema(description = "Aggregation function. If the interval is not specified, 'NONE' is used.")
+    private Aggregation agg = Aggregation.NONE;
+    @Schema(description = "Sort order of the data points.", allowableValues = {"ASC", "DESC"})
+    private String orderBy = "DESC";
+    @Schema(description = "Return the values of the original data types instead of strings.")
+    private boolean useStrictDataTypes;
+
+}
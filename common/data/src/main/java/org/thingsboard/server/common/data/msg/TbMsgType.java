@@ -77,6 +77,7 @@ public enum TbMsgType {
     DEDUPLICATION_TIMEOUT_SELF_MSG(null, true),
     DELAY_TIMEOUT_SELF_MSG(null, true),
     MSG_COUNT_SELF_MSG(null, true),
+    EXTERNAL_NODE_BATCH_TIMEOUT_SELF_MSG(null, true),
 
     // Custom or N/A type:
     NA;
@@ -29,6 +29,7 @@ import static org.thingsboard.server.common.data.msg.TbMsgType.DEVICE_PROFILE_UP
 import static org.thingsboard.server.common.data.msg.TbMsgType.DEVICE_UPDATE_SELF_MSG;
 import static org.thingsboard.server.common.data.msg.TbMsgType.ENTITY_ASSIGNED_TO_EDGE;
 import static org.thingsboard.server.common.data.msg.TbMsgType.ENTITY_UNASSIGNED_FROM_EDGE;
+import static org.thingsboard.server.common.data.msg.TbMsgType.EXTERNAL_NODE_BATCH_TIMEOUT_SELF_MSG;
 import static org.thingsboard.server.common.data.msg.TbMsgType.GENERATOR_NODE_SELF_MSG;
 import static org.thingsboard.server.common.data.msg.TbMsgType.MSG_COUNT_SELF_MSG;
 import static org.thingsboard.server.common.data.msg.TbMsgType.NA;
@@ -53,6 +54,7 @@ class TbMsgTypeTest {
             DEDUPLICATION_TIMEOUT_SELF_MSG,
             DELAY_TIMEOUT_SELF_MSG,
             MSG_COUNT_SELF_MSG,
+            EXTERNAL_NODE_BATCH_TIMEOUT_SELF_MSG,
             NA
     );
 
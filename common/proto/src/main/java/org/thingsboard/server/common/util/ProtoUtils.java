@@ -32,6 +32,7 @@ import org.thingsboard.server.common.data.DeviceProfileType;
 import org.thingsboard.server.common.data.DeviceTransportType;
 import org.thingsboard.server.common.data.EdgeUtils;
 import org.thingsboard.server.common.data.EntityType;
+import org.thingsboard.server.common.data.OtaPackageInfo;
 import org.thingsboard.server.common.data.ResourceSubType;
 import org.thingsboard.server.common.data.ResourceType;
 import org.thingsboard.server.common.data.StringUtils;
@@ -73,6 +74,8 @@ import org.thingsboard.server.common.data.kv.KvEntry;
 import org.thingsboard.server.common.data.kv.LongDataEntry;
 import org.thingsboard.server.common.data.kv.StringDataEntry;
 import org.thingsboard.server.common.data.kv.TsKvEntry;
+import org.thingsboard.server.common.data.ota.ChecksumAlgorithm;
+import org.thingsboard.server.common.data.ota.OtaPackageType;
 import org.thingsboard.server.common.data.plugin.ComponentLifecycleEvent;
 import org.thingsboard.server.common.data.rpc.RpcError;
 import org.thingsboard.server.common.data.rpc.ToDeviceRpcRequestBody;
@@ -1217,6 +1220,94 @@ public class ProtoUtils {
         return resource;
     }
 
+    public static TransportProtos.OtaPackageInfoProto toProto(OtaPackageInfo otaPackageInfo) {
+        var builder = TransportProtos.OtaPackageInfoProto.newBuilder()
+                .setTenantIdMSB(getMsb(otaPackageInfo.getTenantId()))
+                .setTenantIdLSB(getLsb(otaPackageInfo.getTenantId()))
+                .setOtaPackageIdMSB(getMsb(otaPackageInfo.getId()))
+                .setOtaPackageIdLSB(getLsb(otaPackageInfo.getId()))
+                .setCreatedTime(otaPackageInfo.getCreatedTime())
+                .setType(otaPackageInfo.getType().name())
+                .setTitle(otaPackageInfo.getTitle())
+                .setVersion(otaPackageInfo.getVersion())
+                .setHasData(otaPackageInfo.isHasData());
+
+        if (isNotNull(otaPackageInfo.getDeviceProfileId())) {
+            builder.setDeviceProfileIdMSB(getMsb(otaPackageInfo.getDeviceProfileId()))
+                    .setDeviceProfileIdLSB(getLsb(otaPackageInfo.getDeviceProfileId()));
+        }
+        if (isNotNull(otaPackageInfo.getTag())) {
+            builder.setTag(otaPackageInfo.getTag());
+        }
+        if (isNotNull(otaPackageInfo.getUrl())) {
+            builder.setUrl(otaPackageInfo.getUrl());
+        }
+        if (isNotNull(otaPackageInfo.getFileName())) {
+            builder.setFileName(otaPackageInfo.getFileName());
+        }
+        if (isNotNull(otaPackageInfo.getContentType())) {
+            builder.setContentType(otaPackageInfo.getContentType());
+        }
+        if (isNotNull(otaPackageInfo.getChecksumAlgorithm())) {
+            builder.setChecksumAlgorithm(otaPackageInfo.getChecksumAlgorithm().name());
+        }
+        if (isNotNull(otaPackageInfo.getChecksum())) {
+            builder.setChecksum(otaPackageInfo.getChecksum());
+        }
+        if (isNotNull(otaPackageInfo.getDataSize())) {
+            builder.setDataSize(otaPackageInfo.getDataSize());
+        }
+        if (isNotNull(otaPackageInfo.getExternalId())) {
+            builder.setExternalIdMSB(getMsb(otaPackageInfo.getExternalId()))
+                    .setExternalIdLSB(getLsb(otaPackageInfo.getExternalId()));
+        }
+        if (isNotNull(otaPackageInfo.getAdditionalInfo())) {
+            builder.setAdditionalInfo(JacksonUtil.toString(otaPackageInfo.getAdditionalInfo()));
+        }
+        return builder.build();
+    }
+
+    public static OtaPackageInfo fromProto(TransportProtos.OtaPackageInfoProto proto) {
+        OtaPackageInfo otaPackageInfo = new OtaPackageInfo(getEntityId(proto.getOtaPackageIdMSB(), proto.getOtaPackageIdLSB(), OtaPackageId::new));
+        otaPackageInfo.setTenantId(getEntityId(proto.getTenantIdMSB(), proto.getTenantIdLSB(), TenantId::fromUUID));
+        otaPackageInfo.setCreatedTime(proto.getCreatedTime());
+        otaPackageInfo.setType(OtaPackageType.valueOf(proto.getType()));
+        otaPackageInfo.setTitle(proto.getTitle());
+        otaPackageInfo.setVersion(proto.getVersion());
+        otaPackageInfo.setHasData(proto.getHasData());
+        if (proto.hasDeviceProfileIdMSB() && proto.hasDeviceProfileIdLSB()) {
+            otaPackageInfo.setDeviceProfileId(getEntityId(proto.getDeviceProfileIdMSB(), proto.getDeviceProfileIdLSB(), DeviceProfileId::new));
+        }
+        if (proto.hasTag()) {
+            otaPackageInfo.setTag(proto.getTag());
+        }
+        if (proto.hasUrl()) {
+            otaPackageInfo.setUrl(proto.getUrl());
+        }
+        if (proto.hasFileName()) {
+            otaPackageInfo.setFileName(proto.getFileName());
+        }
+        if (proto.hasContentType()) {
+            otaPackageInfo.setContentType(proto.getContentType());
+        }
+        if (proto.hasChecksumAlgorithm()) {
+            otaPackageInfo.setChecksumAlgorithm(ChecksumAlgorithm.valueOf(proto.getChecksumAlgorithm()));
+        }
+        if (proto.hasChecksum()) {
+            otaPackageInfo.setChecksum(proto.getChecksum());
+        }
+        if (proto.hasDataSize()) {
+            otaPackageInfo.setDataSize(proto.getDataSize());
+        }
+        if (proto.hasExternalIdMSB() && proto.hasExternalIdLSB()) {
+            otaPackageInfo.setExternalId(getEntityId(proto.getExternalIdMSB(), proto.getExternalIdLSB(), OtaPackageId::new));
+        }
+        if (proto.hasAdditionalInfo()) {
+            otaPackageInfo.setAdditionalInfo(JacksonUtil.toJsonNode(proto.getAdditionalInfo()));
+        }
+        return otaPackageInfo;
+    }
+
     public static TransportProtos.ApiUsageStateProto toProto(ApiUsageState apiUsageState) {
         var builder = TransportProtos.ApiUsageStateProto.newBuilder()
                 .setTenantProfileIdMSB(getMsb(apiUsageState.getTenantId()))
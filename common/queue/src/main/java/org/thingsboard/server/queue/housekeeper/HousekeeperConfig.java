@@ -15,11 +15,16 @@
  */
 package org.thingsboard.server.queue.housekeeper;
 
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.thingsboard.server.common.data.housekeeper.HousekeeperTaskType;
+import org.thingsboard.server.queue.util.PropertyUtils;
 
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Set;
 
 @Component
@@ -36,5 +41,26 @@ public class HousekeeperConfig {
     private int taskReprocessingDelay;
     @Value("${queue.core.housekeeper.max-reprocessing-attempts:10}")
     private int maxReprocessingAttempts;
+    @Value("${queue.core.housekeeper.task-processing-parallelism:1}")
+    private int taskProcessingParallelism;
+    @Getter(AccessLevel.NONE)
+    @Value("${queue.core.housekeeper.task-processing-parallelism-per-type:}")
+    private String taskProcessingParallelismPerType;
+    @Value("${queue.core.housekeeper.task-batch-size:100}")
+    private int taskBatchSize;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<HousekeeperTaskType, Integer> parallelismPerType = new EnumMap<>(HousekeeperTaskType.class);
+
+    @PostConstruct
+    private void init() {
+        PropertyUtils.getProps(taskProcessingParallelismPerType).forEach((taskType, parallelism) -> {
+            parallelismPerType.put(HousekeeperTaskType.valueOf(taskType.trim()), Integer.parseInt(parallelism.trim()));
+        });
+    }
+
+    public int getTaskProcessingParallelism(HousekeeperTaskType taskType) {
+        return Math.max(1, parallelismPerType.getOrDefault(taskType, taskProcessingParallelism));
+    }
 
 }
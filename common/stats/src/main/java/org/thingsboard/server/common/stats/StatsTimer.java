@@ -19,6 +19,7 @@ import io.micrometer.core.instrument.Timer;
 import lombok.Getter;
 
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 public class StatsTimer {
 
@@ -26,8 +27,8 @@ public class StatsTimer {
     private final String name;
     private final Timer timer;
 
-    private int count;
-    private long totalTime;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalTime = new LongAdder();
 
     public StatsTimer(String name, Timer micrometerTimer) {
         this.name = name;
@@ -39,21 +40,22 @@ public class StatsTimer {
     }
 
     public void record(long timing, TimeUnit timeUnit) {
-        count++;
-        totalTime += timeUnit.toMillis(timing);
+        count.increment();
+        totalTime.add(timeUnit.toMillis(timing));
         timer.record(timing, timeUnit);
     }
 
     public double getAvg() {
+        long count = this.count.sum();
         if (count == 0) {
             return 0.0;
         }
-        return (double) totalTime / count;
+        return (double) totalTime.sum() / count;
     }
 
     public void reset() {
-        count = 0;
-        totalTime = 0;
+        count.reset();
+        totalTime.reset();
     }
 
 }
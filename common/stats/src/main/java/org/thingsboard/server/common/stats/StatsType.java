@@ -24,7 +24,8 @@ public enum StatsType {
     RATE_EXECUTOR("rateExecutor"),
     HOUSEKEEPER("housekeeper"),
     EDGE("edge"),
-    EDQS("edqs");
+    EDQS("edqs"),
+    SQL_QUEUE("sqlQueue");
 
     private final String name;
 
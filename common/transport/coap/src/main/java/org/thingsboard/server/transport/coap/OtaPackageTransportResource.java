@@ -34,6 +34,7 @@ import org.thingsboard.server.common.transport.auth.ValidateDeviceCredentialsRes
 import org.thingsboard.server.gen.transport.TransportProtos;
 import org.thingsboard.server.transport.coap.callback.CoapDeviceAuthCallback;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -121,7 +122,7 @@ public class OtaPackageTransportResource extends AbstractCoapTransportResource {
                     String strChunk = exchange.getQueryParameter("chunk");
                     int chunkSize = StringUtils.isEmpty(strChunkSize) ? 0 : Integer.parseInt(strChunkSize);
                     int chunk = StringUtils.isEmpty(strChunk) ? 0 : Integer.parseInt(strChunk);
-                    respondOtaPackage(exchange, transportContext.getOtaPackageDataCache().get(firmwareId, chunkSize, chunk));
+                    respondOtaPackage(exchange, transportContext.getOtaPackageDataCache().getChunk(firmwareId, chunkSize, chunk));
                 } else {
                     exchange.respond(CoAP.ResponseCode.BAD_REQUEST);
                 }
@@ -137,9 +138,12 @@ public class OtaPackageTransportResource extends AbstractCoapTransportResource {
         }
     }
 
-    private void respondOtaPackage(CoapExchange exchange, byte[] data) {
+    private void respondOtaPackage(CoapExchange exchange, ByteBuffer chunk) {
         Response response = new Response(CoAP.ResponseCode.CONTENT);
-        if (data != null && data.length > 0) {
+        if (chunk != null && chunk.hasRemaining()) {
+            // Californium requires the payload as an array, so only the requested chunk is copied
+            byte[] data = new byte[chunk.remaining()];
+            chunk.get(data);
             response.setPayload(data);
             if (exchange.getRequestOptions().getBlock2() != null) {
                 int chunkSize = exchange.getRequestOptions().getBlock2().getSzx();
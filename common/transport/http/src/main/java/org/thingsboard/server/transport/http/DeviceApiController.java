@@ -15,6 +15,7 @@
  */
 package org.thingsboard.server.transport.http;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
@@ -28,7 +29,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -49,6 +49,7 @@ import org.thingsboard.server.common.data.TbTransportService;
 import org.thingsboard.server.common.data.id.DeviceId;
 import org.thingsboard.server.common.data.ota.OtaPackageType;
 import org.thingsboard.server.common.data.rpc.RpcStatus;
+import org.thingsboard.server.common.msg.tools.TbRateLimitsException;
 import org.thingsboard.server.common.transport.SessionMsgListener;
 import org.thingsboard.server.common.transport.TransportContext;
 import org.thingsboard.server.common.transport.TransportService;
@@ -71,9 +72,15 @@ import org.thingsboard.server.gen.transport.TransportProtos.ToServerRpcRequestMs
 import org.thingsboard.server.gen.transport.TransportProtos.ToServerRpcResponseMsg;
 import org.thingsboard.server.gen.transport.TransportProtos.ValidateDeviceTokenRequestMsg;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 
@@ -189,7 +196,7 @@ public class DeviceApiController implements TbTransportService {
                     TransportService transportService = transportContext.getTransportService();
                     transportService.process(sessionInfo, JsonConverter.convertToAttributesProto(JsonParser.parseString(json)),
                             new HttpOkCallback(responseWriter));
-                }));
+                }, transportContext.isDeviceSessionReuseEnabled()));
         return responseWriter;
     }
 
@@ -209,7 +216,7 @@ public class DeviceApiController implements TbTransportService {
                     TransportService transportService = transportContext.getTransportService();
                     transportService.process(sessionInfo, JsonConverter.convertToTelemetryProto(JsonParser.parseString(json)),
                             new HttpOkCallback(responseWriter));
-                }));
+                }, transportContext.isDeviceSessionReuseEnabled()));
         return responseWriter;
     }
 
@@ -235,7 +242,7 @@ public class DeviceApiController implements TbTransportService {
                     DeviceId deviceId = new DeviceId(new UUID(sessionInfo.getDeviceIdMSB(), sessionInfo.getDeviceIdLSB()));
                     transportService.process(sessionInfo, JsonConverter.convertToClaimDeviceProto(deviceId, json),
                             new HttpOkCallback(responseWriter));
-                }));
+                }, transportContext.isDeviceSessionReuseEnabled()));
         return responseWriter;
     }
 
@@ -285,7 +292,7 @@ public class DeviceApiController implements TbTransportService {
                 new DeviceAuthCallback(transportContext, responseWriter, sessionInfo -> {
                     TransportService transportService = transportContext.getTransportService();
                     transportService.process(sessionInfo, ToDeviceRpcResponseMsg.newBuilder().setRequestId(requestId).setPayload(json).build(), new HttpOkCallback(responseWriter));
-                }));
+                }, transportContext.isDeviceSessionReuseEnabled()));
         return responseWriter;
     }
 
@@ -432,6 +439,85 @@ public class DeviceApiController implements TbTransportService {
         return responseWriter;
     }
 
+    @Operation(summary = "Post telemetry and attributes of multiple devices (postBatch)",
+            description = "Post time series data and client attribute updates on behalf of multiple devices in a single request. " +
+                    "The request payload is a JSON object where each key is a device access token and each value is an object with " +
+                    "optional 'telemetry' and 'attributes' fields. The 'telemetry' field supports the same formats as the 'postTelemetry' API call " +
+                    "and the 'attributes' field supports the same format as the 'postDeviceAttributes' API call. For example: " +
+                    MARKDOWN_CODE_BLOCK_START +
+                    "{\n" +
+                    " \"DEVICE_A_ACCESS_TOKEN\": {\n" +
+                    "   \"telemetry\": [{\"ts\":1634712287000,\"values\":{\"temperature\":26}}, {\"ts\":1634712588000,\"values\":{\"temperature\":25}}],\n" +
+                    "   \"attributes\": {\"firmwareVersion\":\"1.0.1\"}\n" +
+                    " },\n" +
+                    " \"DEVICE_B_ACCESS_TOKEN\": {\n" +
+                    "   \"telemetry\": {\"temperature\":22}\n" +
+                    " }\n" +
+                    "}" +
+                    MARKDOWN_CODE_BLOCK_END +
+                    "The response contains the HTTP status code of the processing result for each device access token. For example: " +
+                    MARKDOWN_CODE_BLOCK_START +
+                    "{\"DEVICE_A_ACCESS_TOKEN\": 200, \"DEVICE_B_ACCESS_TOKEN\": 401}" +
+                    MARKDOWN_CODE_BLOCK_END)
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch was processed. See the response body for the result of each device."),
+            @ApiResponse(responseCode = "400", description = "Invalid structure of the request."),
+            @ApiResponse(responseCode = "413", description = "Request payload is too large or contains too many devices."),
+    })
+    @RequestMapping(value = "/batch", method = RequestMethod.POST, produces = MediaType.APPLICATION_JSON_VALUE)
+    public DeferredResult<ResponseEntity> postBatch(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "JSON object with telemetry and attributes per device access token. See API call description for example.")
+            @RequestBody String json) {
+        DeferredResult<ResponseEntity> responseWriter = new DeferredResult<>();
+        JsonElement batch;
+        try {
+            batch = JsonParser.parseString(json);
+        } catch (JsonParseException e) {
+            responseWriter.setResult(new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST));
+            return responseWriter;
+        }
+        if (!batch.isJsonObject()) {
+            responseWriter.setResult(new ResponseEntity<>("Batch payload should be a JSON object!", HttpStatus.BAD_REQUEST));
+            return responseWriter;
+        }
+        Set<Map.Entry<String, JsonElement>> devices = batch.getAsJsonObject().entrySet();
+        if (devices.size() > transportContext.getMaxBatchDevices()) {
+            responseWriter.setResult(new ResponseEntity<>("Batch contains more than " + transportContext.getMaxBatchDevices() + " devices!", HttpStatus.PAYLOAD_TOO_LARGE));
+            return responseWriter;
+        }
+        BatchResponse batchResponse = new BatchResponse(responseWriter, devices.size());
+        TransportService transportService = transportContext.getTransportService();
+        for (Map.Entry<String, JsonElement> device : devices) {
+            String deviceToken = device.getKey();
+            TransportProtos.PostTelemetryMsg telemetryMsg;
+            TransportProtos.PostAttributeMsg attributesMsg;
+            try {
+                JsonObject deviceData = device.getValue().getAsJsonObject();
+                telemetryMsg = deviceData.has("telemetry") ? JsonConverter.convertToTelemetryProto(deviceData.get("telemetry")) : null;
+                attributesMsg = deviceData.has("attributes") ? JsonConverter.convertToAttributesProto(deviceData.get("attributes")) : null;
+            } catch (IllegalStateException | JsonParseException e) {
+                log.debug("[{}] Failed to parse batch entry: {}", deviceToken, e.getMessage());
+                batchResponse.onResult(deviceToken, HttpStatus.BAD_REQUEST);
+                continue;
+            }
+            if (telemetryMsg == null && attributesMsg == null) {
+                batchResponse.onResult(deviceToken, HttpStatus.BAD_REQUEST);
+                continue;
+            }
+            transportService.process(DeviceTransportType.DEFAULT, ValidateDeviceTokenRequestMsg.newBuilder().setToken(deviceToken).build(),
+                    new BatchDeviceAuthCallback(transportContext, batchResponse, deviceToken, sessionInfo -> {
+                        BatchDeviceCallback callback = new BatchDeviceCallback(batchResponse, deviceToken, telemetryMsg != null && attributesMsg != null ? 2 : 1);
+                        if (telemetryMsg != null) {
+                            transportService.process(sessionInfo, telemetryMsg, callback);
+                        }
+                        if (attributesMsg != null) {
+                            transportService.process(sessionInfo, attributesMsg, callback);
+                        }
+                    }));
+        }
+        return responseWriter;
+    }
+
     private DeferredResult<ResponseEntity> getOtaPackageCallback(String deviceToken, String title, String version, int size, int chunk, OtaPackageType firmwareType) {
         DeferredResult<ResponseEntity> responseWriter = new DeferredResult<>();
         transportContext.getTransportService().process(DeviceTransportType.DEFAULT, ValidateDeviceTokenRequestMsg.newBuilder().setToken(deviceToken).build(),
@@ -443,20 +529,32 @@ public class DeviceApiController implements TbTransportService {
                             .setDeviceIdLSB(sessionInfo.getDeviceIdLSB())
                             .setType(firmwareType.name()).build();
                     transportContext.getTransportService().process(sessionInfo, requestMsg, new GetOtaPackageCallback(transportContext, responseWriter, title, version, size, chunk));
-                }));
+                }, transportContext.isDeviceSessionReuseEnabled()));
         return responseWriter;
     }
 
-    @RequiredArgsConstructor
     static class DeviceAuthCallback implements TransportServiceCallback<ValidateDeviceCredentialsResponse> {
         private final TransportContext transportContext;
         private final DeferredResult<ResponseEntity> responseWriter;
         private final Consumer<SessionInfoProto> onSuccess;
+        private final boolean reuseDeviceSession;
+
+        DeviceAuthCallback(TransportContext transportContext, DeferredResult<ResponseEntity> responseWriter, Consumer<SessionInfoProto> onSuccess) {
+            this(transportContext, responseWriter, onSuccess, false);
+        }
+
+        DeviceAuthCallback(TransportContext transportContext, DeferredResult<ResponseEntity> responseWriter, Consumer<SessionInfoProto> onSuccess, boolean reuseDeviceSession) {
+            this.transportContext = transportContext;
+            this.responseWriter = responseWriter;
+            this.onSuccess = onSuccess;
+            this.reuseDeviceSession = reuseDeviceSession;
+        }
 
         @Override
         public void onSuccess(ValidateDeviceCredentialsResponse msg) {
             if (msg.hasDeviceInfo()) {
-                onSuccess.accept(SessionInfoCreator.create(msg, transportContext, UUID.randomUUID()));
+                UUID sessionId = reuseDeviceSession ? toDeviceSessionId(transportContext.getNodeId(), msg.getDeviceInfo().getDeviceId()) : UUID.randomUUID();
+                onSuccess.accept(SessionInfoCreator.create(msg, transportContext, sessionId));
             } else {
                 responseWriter.setResult(new ResponseEntity<>(HttpStatus.UNAUTHORIZED));
             }
@@ -475,6 +573,90 @@ public class DeviceApiController implements TbTransportService {
         }
     }
 
+    /*
+     * Requests that do not register a session with the transport service (e.g. telemetry uploads) share
+     * the same pseudo-session per device, so the activity manager and the device actor track a single
+     * session for the device instead of a new one for each request.
+     */
+    static UUID toDeviceSessionId(String nodeId, DeviceId deviceId) {
+        return UUID.nameUUIDFromBytes((nodeId + ":" + deviceId.getId()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static class BatchResponse {
+        private final DeferredResult<ResponseEntity> responseWriter;
+        private final Map<String, Integer> results = new ConcurrentHashMap<>();
+        private final AtomicInteger remaining;
+
+        BatchResponse(DeferredResult<ResponseEntity> responseWriter, int size) {
+            this.responseWriter = responseWriter;
+            this.remaining = new AtomicInteger(size);
+            if (size == 0) {
+                complete();
+            }
+        }
+
+        void onResult(String deviceToken, HttpStatus status) {
+            if (results.putIfAbsent(deviceToken, status.value()) == null && remaining.decrementAndGet() == 0) {
+                complete();
+            }
+        }
+
+        private void complete() {
+            JsonObject response = new JsonObject();
+            results.forEach(response::addProperty);
+            responseWriter.setResult(new ResponseEntity<>(response.toString(), HttpStatus.OK));
+        }
+    }
+
+    @RequiredArgsConstructor
+    static class BatchDeviceAuthCallback implements TransportServiceCallback<ValidateDeviceCredentialsResponse> {
+        private final HttpTransportContext transportContext;
+        private final BatchResponse batchResponse;
+        private final String deviceToken;
+        private final Consumer<SessionInfoProto> onSuccess;
+
+        @Override
+        public void onSuccess(ValidateDeviceCredentialsResponse msg) {
+            if (msg.hasDeviceInfo()) {
+                UUID sessionId = transportContext.isDeviceSessionReuseEnabled() ?
+                        toDeviceSessionId(transportContext.getNodeId(), msg.getDeviceInfo().getDeviceId()) : UUID.randomUUID();
+                onSuccess.accept(SessionInfoCreator.create(msg, transportContext, sessionId));
+            } else {
+                batchResponse.onResult(deviceToken, HttpStatus.UNAUTHORIZED);
+            }
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            log.warn("Failed to process request in BatchDeviceAuthCallback", e);
+            batchResponse.onResult(deviceToken, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    static class BatchDeviceCallback implements TransportServiceCallback<Void> {
+        private final BatchResponse batchResponse;
+        private final String deviceToken;
+        private final AtomicInteger pending;
+
+        BatchDeviceCallback(BatchResponse batchResponse, String deviceToken, int parts) {
+            this.batchResponse = batchResponse;
+            this.deviceToken = deviceToken;
+            this.pending = new AtomicInteger(parts);
+        }
+
+        @Override
+        public void onSuccess(Void msg) {
+            if (pending.decrementAndGet() == 0) {
+                batchResponse.onResult(deviceToken, HttpStatus.OK);
+            }
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            batchResponse.onResult(deviceToken, e instanceof TbRateLimitsException ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     @RequiredArgsConstructor
     static class DeviceProvisionCallback implements TransportServiceCallback<ProvisionDeviceResponseMsg> {
         private final DeferredResult<ResponseEntity> responseWriter;
@@ -512,8 +694,13 @@ public class DeviceApiController implements TbTransportService {
                 responseWriter.setResult(new ResponseEntity<>(HttpStatus.NOT_FOUND));
             } else if (title.equals(otaPackageResponseMsg.getTitle()) && version.equals(otaPackageResponseMsg.getVersion())) {
                 String otaPackageId = new UUID(otaPackageResponseMsg.getOtaPackageIdMSB(), otaPackageResponseMsg.getOtaPackageIdLSB()).toString();
-                ByteArrayResource resource = new ByteArrayResource(transportContext.getOtaPackageDataCache().get(otaPackageId, chunkSize, chunk));
-                ResponseEntity<ByteArrayResource> response = ResponseEntity.ok()
+                ByteBuffer data = transportContext.getOtaPackageDataCache().getChunk(otaPackageId, chunkSize, chunk);
+                if (data == null) {
+                    responseWriter.setResult(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+                    return;
+                }
+                ByteBufferResource resource = new ByteBufferResource(data, "OTA package " + otaPackageId);
+                ResponseEntity<ByteBufferResource> response = ResponseEntity.ok()
                         .header(HttpHeaders.CONTENT_DISPOSITION, "attachment;filename=" + otaPackageResponseMsg.getFileName())
                         .header("x-filename", otaPackageResponseMsg.getFileName())
                         .contentLength(resource.contentLength())
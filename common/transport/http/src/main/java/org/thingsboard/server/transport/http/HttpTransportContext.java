@@ -42,6 +42,14 @@ public class HttpTransportContext extends TransportContext {
     @Value("${transport.http.max_request_timeout}")
     private long maxRequestTimeout;
 
+    @Getter
+    @Value("${transport.http.device_session_reuse:false}")
+    private boolean deviceSessionReuseEnabled;
+
+    @Getter
+    @Value("${transport.http.max_batch_devices:1000}")
+    private int maxBatchDevices;
+
     @Bean
     public TomcatConnectorCustomizer tomcatAsyncTimeoutConnectorCustomizer() {
         return connector -> {
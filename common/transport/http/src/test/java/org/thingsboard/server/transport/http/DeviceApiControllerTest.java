@@ -16,17 +16,24 @@
 package org.thingsboard.server.transport.http;
 
 import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.context.request.async.DeferredResult;
+import org.thingsboard.server.common.data.id.DeviceId;
 import org.thingsboard.server.common.transport.TransportContext;
 import org.thingsboard.server.gen.transport.TransportProtos;
 
 import java.io.IOException;
+import java.util.UUID;
 import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 class DeviceApiControllerTest {
 
     @Test
@@ -46,6 +53,36 @@ class DeviceApiControllerTest {
         callback.onError(new RuntimeException("oops it is run time error"));
     }
 
+    @Test
+    void deviceSessionIdTest() {
+        DeviceId deviceId = new DeviceId(UUID.randomUUID());
+
+        assertThat(DeviceApiController.toDeviceSessionId("node-1", deviceId)).isEqualTo(DeviceApiController.toDeviceSessionId("node-1", deviceId));
+        assertThat(DeviceApiController.toDeviceSessionId("node-1", deviceId)).isNotEqualTo(DeviceApiController.toDeviceSessionId("node-2", deviceId));
+        assertThat(DeviceApiController.toDeviceSessionId("node-1", deviceId)).isNotEqualTo(DeviceApiController.toDeviceSessionId("node-1", new DeviceId(UUID.randomUUID())));
+    }
+
+    @Test
+    void batchResponseTest() {
+        DeferredResult<ResponseEntity> responseWriter = Mockito.mock(DeferredResult.class);
+        var batchResponse = new DeviceApiController.BatchResponse(responseWriter, 3);
+        var callback = new DeviceApiController.BatchDeviceCallback(batchResponse, "tokenA", 2);
+
+        callback.onSuccess(null);
+        batchResponse.onResult("tokenB", HttpStatus.UNAUTHORIZED);
+        batchResponse.onResult("tokenB", HttpStatus.INTERNAL_SERVER_ERROR);
+        Mockito.verify(responseWriter, Mockito.never()).setResult(Mockito.any());
+
+        new DeviceApiController.BatchDeviceCallback(batchResponse, "tokenC", 1).onError(new RuntimeException("oops"));
+        callback.onSuccess(null);
+
+        ArgumentCaptor<ResponseEntity> captor = ArgumentCaptor.forClass(ResponseEntity.class);
+        Mockito.verify(responseWriter).setResult(captor.capture());
+        assertThat(captor.getValue().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(JsonParser.parseString((String) captor.getValue().getBody()).getAsJsonObject())
+                .isEqualTo(JsonParser.parseString("{\"tokenA\":200,\"tokenB\":401,\"tokenC\":500}"));
+    }
+
     @Test
     void deviceProvisionCallbackTest() {
         DeferredResult<ResponseEntity> responseWriter = Mockito.mock(DeferredResult.class);
@@ -78,6 +78,14 @@ public class LwM2MTransportServerConfig implements LwM2MSecureServerConfig {
     @Value("${transport.lwm2m.clean_period_in_sec:}")
     private int cleanPeriodInSec;
 
+    @Getter
+    @Value("${transport.lwm2m.persistence.enabled:false}")
+    private boolean persistenceEnabled;
+
+    @Getter
+    @Value("${transport.lwm2m.persistence.rocks_db_path:${user.home}/.rocksdb/edge_lwm2m_store}")
+    private String persistenceRocksDbPath;
+
     @Getter
     @Value("${transport.lwm2m.server.id:}")
     private Integer id;
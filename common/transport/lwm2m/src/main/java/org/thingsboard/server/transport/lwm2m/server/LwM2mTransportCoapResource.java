@@ -26,6 +26,7 @@ import org.eclipse.californium.core.server.resources.Resource;
 import org.eclipse.californium.core.server.resources.ResourceObserver;
 import org.thingsboard.server.cache.ota.OtaPackageDataCache;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -143,9 +144,12 @@ public class LwM2mTransportCoapResource extends AbstractLwM2mTransportResource {
         UUID currentId = UUID.fromString(idStr);
         log.info("Start Read ota data (path): [{}]", exchange.getRequestOptions().getUriPath().toString());
         Response response = new Response(CoAP.ResponseCode.CONTENT);
-        byte[] otaData = this.getOtaData(currentId);
-        if (otaData != null && otaData.length > 0) {
-            if (otaData.length <= this.maxResourceBodySize) {
+        ByteBuffer otaDataBuffer = this.getOtaData(currentId);
+        if (otaDataBuffer != null && otaDataBuffer.hasRemaining()) {
+            if (otaDataBuffer.remaining() <= this.maxResourceBodySize) {
+                // the size is checked before the data is copied: Californium requires the payload as an array
+                byte[] otaData = new byte[otaDataBuffer.remaining()];
+                otaDataBuffer.get(otaData);
                 log.info("Read ota data (length): [{}]", otaData.length);
                 response.setPayload(otaData);
                 int chunkSize = calculateSzx(this.chunkSize);
@@ -160,15 +164,15 @@ public class LwM2mTransportCoapResource extends AbstractLwM2mTransportResource {
                 response.setType(CoAP.Type.CON);
                 exchange.respond(response);
             } else {
-                log.info("Ota package size: [{}] is larger than server's MAX_RESOURCE_BODY_SIZE [{}]", otaData.length, this.maxResourceBodySize);
+                log.info("Ota package size: [{}] is larger than server's MAX_RESOURCE_BODY_SIZE [{}]", otaDataBuffer.remaining(), this.maxResourceBodySize);
             }
         } else {
             log.info("Ota packaged currentId: [{}] is not found.", currentId.toString());
         }
     }
 
-    private byte[] getOtaData(UUID currentId) {
-        return otaPackageDataCache.get(currentId.toString());
+    private ByteBuffer getOtaData(UUID currentId) {
+        return otaPackageDataCache.getChunk(currentId.toString(), 0, 0);
     }
 
 }
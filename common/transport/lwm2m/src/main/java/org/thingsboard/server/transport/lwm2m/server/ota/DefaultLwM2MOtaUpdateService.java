@@ -68,6 +68,7 @@ import org.thingsboard.server.transport.lwm2m.server.rpc.RpcCreateRequest;
 import org.thingsboard.server.transport.lwm2m.server.store.TbLwM2MClientOtaInfoStore;
 import org.thingsboard.server.transport.lwm2m.server.uplink.LwM2mUplinkMsgHandler;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -691,12 +692,13 @@ public class DefaultLwM2MOtaUpdateService extends LwM2MExecutorAwareService impl
             try {
                 if (client.getRegistration().getSupportedObject().get(19) != null) {
                     ObjectNode objectNodeInfoOta = JacksonUtil.newObjectNode();
-                    byte[] firmwareChunk = otaPackageDataCache.get(otaPackageId.toString(), 0, 0);
+                    ByteBuffer firmwareChunk = otaPackageDataCache.getChunk(otaPackageId.toString(), 0, 0);
+                    int fileSize = firmwareChunk.remaining();
                     String fileChecksumSHA256 = Hashing.sha256().hashBytes(firmwareChunk).toString();
                     objectNodeInfoOta.put(OTA_INFO_19_TITLE, response.getTitle());
                     objectNodeInfoOta.put(OTA_INFO_19_VERSION, response.getVersion());
                     objectNodeInfoOta.put(OTA_INFO_19_FILE_CHECKSUM256, fileChecksumSHA256);
-                    objectNodeInfoOta.put(OTA_INFO_19_FILE_SIZE, firmwareChunk.length);
+                    objectNodeInfoOta.put(OTA_INFO_19_FILE_SIZE, fileSize);
                     objectNodeInfoOta.put(OTA_INFO_19_FILE_NAME, response.getFileName());
                     String objectNodeInfoOtaStr = JacksonUtil.toString(objectNodeInfoOta);
                     assert objectNodeInfoOtaStr != null;
@@ -0,0 +1,104 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.transport.lwm2m.server.store;
+
+import lombok.SneakyThrows;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteOptions;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.BiConsumer;
+
+/**
+ * Embedded key-value storage for LwM2M transport state when Redis is not available.
+ * All stores share the same database and separate their records by key prefix.
+ */
+public class TbLwM2mRocksDb {
+
+    private final String path;
+    private final Options dbOptions;
+    private final WriteOptions writeOptions;
+    private RocksDB db;
+
+    static {
+        RocksDB.loadLibrary();
+    }
+
+    public TbLwM2mRocksDb(String path) {
+        this.path = path;
+        this.dbOptions = new Options().setCreateIfMissing(true);
+        this.writeOptions = new WriteOptions();
+    }
+
+    @SneakyThrows
+    public void init() {
+        Files.createDirectories(Path.of(path).getParent());
+        db = RocksDB.open(dbOptions, path);
+    }
+
+    @SneakyThrows
+    public void put(String key, byte[] value) {
+        db.put(writeOptions, toBytes(key), value);
+    }
+
+    @SneakyThrows
+    public byte[] get(String key) {
+        return db.get(toBytes(key));
+    }
+
+    @SneakyThrows
+    public void delete(String key) {
+        db.delete(writeOptions, toBytes(key));
+    }
+
+    public void forEach(String prefix, BiConsumer<String, byte[]> processor) {
+        byte[] prefixBytes = toBytes(prefix);
+        try (RocksIterator iterator = db.newIterator()) {
+            for (iterator.seek(prefixBytes); iterator.isValid() && startsWith(iterator.key(), prefixBytes); iterator.next()) {
+                processor.accept(new String(iterator.key(), StandardCharsets.UTF_8), iterator.value());
+            }
+        }
+    }
+
+    public void close() {
+        if (db != null) {
+            db.close();
+        }
+        writeOptions.close();
+        dbOptions.close();
+    }
+
+    private static byte[] toBytes(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static boolean startsWith(byte[] key, byte[] prefix) {
+        if (key.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (key[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
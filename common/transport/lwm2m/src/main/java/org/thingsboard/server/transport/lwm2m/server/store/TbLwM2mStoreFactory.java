@@ -15,6 +15,8 @@
  */
 package org.thingsboard.server.transport.lwm2m.server.store;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.leshan.server.registration.RegistrationStore;
@@ -40,32 +42,67 @@ public class TbLwM2mStoreFactory {
     private final LwM2mCredentialsSecurityInfoValidator validator;
     private final LwM2mVersionedModelProvider modelProvider;
 
+    private TbLwM2mRocksDb rocksDb;
+
+    @PostConstruct
+    public void init() {
+        if (redisConfiguration.isEmpty() && config.isPersistenceEnabled()) {
+            log.info("Using local RocksDB storage for LwM2M registrations and clients: {}", config.getPersistenceRocksDbPath());
+            rocksDb = new TbLwM2mRocksDb(config.getPersistenceRocksDbPath());
+            rocksDb.init();
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (rocksDb != null) {
+            rocksDb.close();
+        }
+    }
+
     @Bean
     private RegistrationStore registrationStore() {
-        return redisConfiguration.isPresent() ?
-                new TbLwM2mRedisRegistrationStore(config, getConnectionFactory(), modelProvider) :
+        if (redisConfiguration.isPresent()) {
+            return new TbLwM2mRedisRegistrationStore(config, getConnectionFactory(), modelProvider);
+        }
+        return rocksDb != null ?
+                new TbRocksDbRegistrationStore(config, config.getCleanPeriodInSec(), modelProvider, rocksDb) :
                 new TbInMemoryRegistrationStore(config, config.getCleanPeriodInSec(), modelProvider);
     }
 
     @Bean
     private TbMainSecurityStore securityStore() {
-        return new TbLwM2mSecurityStore(redisConfiguration.isPresent() ?
-                new TbLwM2mRedisSecurityStore(getConnectionFactory()) : new TbInMemorySecurityStore(), validator);
+        TbEditableSecurityStore securityStore;
+        if (redisConfiguration.isPresent()) {
+            securityStore = new TbLwM2mRedisSecurityStore(getConnectionFactory());
+        } else {
+            securityStore = rocksDb != null ? new TbRocksDbSecurityStore(rocksDb) : new TbInMemorySecurityStore();
+        }
+        return new TbLwM2mSecurityStore(securityStore, validator);
     }
 
     @Bean
     private TbLwM2MClientStore clientStore() {
-        return redisConfiguration.isPresent() ? new TbRedisLwM2MClientStore(getConnectionFactory()) : new TbDummyLwM2MClientStore();
+        if (redisConfiguration.isPresent()) {
+            return new TbRedisLwM2MClientStore(getConnectionFactory());
+        }
+        return rocksDb != null ? new TbRocksDbLwM2MClientStore(rocksDb) : new TbDummyLwM2MClientStore();
     }
 
     @Bean
     private TbLwM2MModelConfigStore modelConfigStore() {
-        return redisConfiguration.isPresent() ? new TbRedisLwM2MModelConfigStore(getConnectionFactory()) : new TbDummyLwM2MModelConfigStore();
+        if (redisConfiguration.isPresent()) {
+            return new TbRedisLwM2MModelConfigStore(getConnectionFactory());
+        }
+        return rocksDb != null ? new TbRocksDbLwM2MModelConfigStore(rocksDb) : new TbDummyLwM2MModelConfigStore();
     }
 
     @Bean
     private TbLwM2MClientOtaInfoStore otaStore() {
-        return redisConfiguration.isPresent() ? new TbLwM2mRedisClientOtaInfoStore(getConnectionFactory()) : new TbDummyLwM2MClientOtaInfoStore();
+        if (redisConfiguration.isPresent()) {
+            return new TbLwM2mRedisClientOtaInfoStore(getConnectionFactory());
+        }
+        return rocksDb != null ? new TbRocksDbLwM2MClientOtaInfoStore(rocksDb) : new TbDummyLwM2MClientOtaInfoStore();
     }
 
     @Bean
@@ -0,0 +1,61 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.transport.lwm2m.server.store;
+
+import org.thingsboard.common.util.JacksonUtil;
+import org.thingsboard.server.common.data.ota.OtaPackageType;
+import org.thingsboard.server.transport.lwm2m.server.ota.LwM2MClientOtaInfo;
+import org.thingsboard.server.transport.lwm2m.server.ota.firmware.LwM2MClientFwOtaInfo;
+import org.thingsboard.server.transport.lwm2m.server.ota.software.LwM2MClientSwOtaInfo;
+
+public class TbRocksDbLwM2MClientOtaInfoStore implements TbLwM2MClientOtaInfoStore {
+
+    private static final String OTA_EP = "OTA#EP#";
+    private final TbLwM2mRocksDb db;
+
+    public TbRocksDbLwM2MClientOtaInfoStore(TbLwM2mRocksDb db) {
+        this.db = db;
+    }
+
+    @Override
+    public LwM2MClientFwOtaInfo getFw(String endpoint) {
+        return get(OtaPackageType.FIRMWARE, endpoint, LwM2MClientFwOtaInfo.class);
+    }
+
+    @Override
+    public LwM2MClientSwOtaInfo getSw(String endpoint) {
+        return get(OtaPackageType.SOFTWARE, endpoint, LwM2MClientSwOtaInfo.class);
+    }
+
+    @Override
+    public void putFw(LwM2MClientFwOtaInfo info) {
+        put(OtaPackageType.FIRMWARE, info);
+    }
+
+    @Override
+    public void putSw(LwM2MClientSwOtaInfo info) {
+        put(OtaPackageType.SOFTWARE, info);
+    }
+
+    private void put(OtaPackageType type, LwM2MClientOtaInfo<?, ?, ?> info) {
+        db.put(OTA_EP + type + info.getEndpoint(), JacksonUtil.writeValueAsBytes(info));
+    }
+
+    private <T extends LwM2MClientOtaInfo<?, ?, ?>> T get(OtaPackageType type, String endpoint, Class<T> clazz) {
+        return JacksonUtil.fromBytes(db.get(OTA_EP + type + endpoint), clazz);
+    }
+
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.transport.lwm2m.server.store;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.binary.Hex;
+import org.thingsboard.server.transport.lwm2m.server.client.LwM2MClientState;
+import org.thingsboard.server.transport.lwm2m.server.client.LwM2mClient;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.thingsboard.server.transport.lwm2m.server.store.util.LwM2MClientSerDes.deserialize;
+import static org.thingsboard.server.transport.lwm2m.server.store.util.LwM2MClientSerDes.serialize;
+
+@Slf4j
+public class TbRocksDbLwM2MClientStore implements TbLwM2MClientStore {
+
+    private static final String CLIENT_EP = "CLIENT#EP#";
+    private final TbLwM2mRocksDb db;
+
+    public TbRocksDbLwM2MClientStore(TbLwM2mRocksDb db) {
+        this.db = db;
+    }
+
+    @Override
+    public LwM2mClient get(String endpoint) {
+        byte[] data = db.get(CLIENT_EP + endpoint);
+        return data != null ? deserializeClient(endpoint, data) : null;
+    }
+
+    @Override
+    public Set<LwM2mClient> getAll() {
+        Set<LwM2mClient> clients = new HashSet<>();
+        db.forEach(CLIENT_EP, (key, data) -> {
+            LwM2mClient client = deserializeClient(key, data);
+            if (client != null) {
+                clients.add(client);
+            }
+        });
+        return clients;
+    }
+
+    @Override
+    public void put(LwM2mClient client) {
+        if (client.getState().equals(LwM2MClientState.UNREGISTERED)) {
+            log.error("[{}] Client is in invalid state: {}!", client.getEndpoint(), client.getState(), new Exception());
+        } else {
+            try {
+                db.put(CLIENT_EP + client.getEndpoint(), serialize(client));
+            } catch (Exception e) {
+                log.warn("Failed to serialize client: {}", client, e);
+            }
+        }
+    }
+
+    @Override
+    public void remove(String endpoint) {
+        db.delete(CLIENT_EP + endpoint);
+    }
+
+    private LwM2mClient deserializeClient(String key, byte[] data) {
+        try {
+            return deserialize(data);
+        } catch (Exception e) {
+            log.warn("[{}] Failed to deserialize client from data: {}", key, Hex.encodeHexString(data), e);
+            return null;
+        }
+    }
+
+}
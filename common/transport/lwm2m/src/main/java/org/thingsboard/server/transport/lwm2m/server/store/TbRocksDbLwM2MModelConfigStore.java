@@ -0,0 +1,58 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.transport.lwm2m.server.store;
+
+import lombok.extern.slf4j.Slf4j;
+import org.thingsboard.common.util.JacksonUtil;
+import org.thingsboard.server.transport.lwm2m.server.model.LwM2MModelConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+public class TbRocksDbLwM2MModelConfigStore implements TbLwM2MModelConfigStore {
+
+    private static final String MODEL_EP = "MODEL#EP#";
+    private final TbLwM2mRocksDb db;
+
+    public TbRocksDbLwM2MModelConfigStore(TbLwM2mRocksDb db) {
+        this.db = db;
+    }
+
+    @Override
+    public List<LwM2MModelConfig> getAll() {
+        List<LwM2MModelConfig> configs = new ArrayList<>();
+        db.forEach(MODEL_EP, (key, data) -> {
+            try {
+                configs.add(JacksonUtil.fromBytes(data, LwM2MModelConfig.class));
+            } catch (Exception e) {
+                log.warn("[{}] Failed to deserialize model config", key, e);
+            }
+        });
+        return configs;
+    }
+
+    @Override
+    public void put(LwM2MModelConfig modelConfig) {
+        db.put(MODEL_EP + modelConfig.getEndpoint(), JacksonUtil.writeValueAsBytes(modelConfig));
+    }
+
+    @Override
+    public void remove(String endpoint) {
+        db.delete(MODEL_EP + endpoint);
+    }
+
+}
@@ -0,0 +1,167 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.transport.lwm2m.server.store;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.leshan.core.observation.Observation;
+import org.eclipse.leshan.core.observation.ObservationIdentifier;
+import org.eclipse.leshan.server.redis.serialization.ObservationSerDes;
+import org.eclipse.leshan.server.redis.serialization.RegistrationSerDes;
+import org.eclipse.leshan.server.registration.Deregistration;
+import org.eclipse.leshan.server.registration.Registration;
+import org.eclipse.leshan.server.registration.RegistrationUpdate;
+import org.eclipse.leshan.server.registration.UpdatedRegistration;
+import org.thingsboard.common.util.JacksonUtil;
+import org.thingsboard.server.transport.lwm2m.config.LwM2MTransportServerConfig;
+import org.thingsboard.server.transport.lwm2m.server.LwM2mVersionedModelProvider;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Registration store that keeps registrations and observations in memory and writes them through to the local RocksDB.
+ * Persisted state is restored on creation, so clients keep their registrations across transport restarts
+ * instead of re-registering all at once. Registrations that expired while the transport was down
+ * are removed by the regular cleaner task and reported to the expiration listener.
+ */
+@Slf4j
+public class TbRocksDbRegistrationStore extends TbInMemoryRegistrationStore {
+
+    static final String REG_EP = "REG#EP#";
+    static final String OBS_REG = "OBS#REG#";
+
+    private final TbLwM2mRocksDb db;
+    private final RegistrationSerDes registrationSerDes = new RegistrationSerDes();
+    private final ObservationSerDes observationSerDes = new ObservationSerDes();
+    private final Object persistenceLock = new Object();
+
+    public TbRocksDbRegistrationStore(LwM2MTransportServerConfig config, long cleanPeriodInSec, LwM2mVersionedModelProvider modelProvider, TbLwM2mRocksDb db) {
+        super(config, cleanPeriodInSec, modelProvider);
+        this.db = db;
+        restore();
+    }
+
+    @Override
+    public Deregistration addRegistration(Registration registration) {
+        synchronized (persistenceLock) {
+            Deregistration deregistration = super.addRegistration(registration);
+            db.put(REG_EP + registration.getEndpoint(), registrationSerDes.bSerialize(registration));
+            if (deregistration != null && !deregistration.getRegistration().getId().equals(registration.getId())) {
+                db.delete(OBS_REG + deregistration.getRegistration().getId());
+            }
+            return deregistration;
+        }
+    }
+
+    @Override
+    public UpdatedRegistration updateRegistration(RegistrationUpdate update) {
+        synchronized (persistenceLock) {
+            UpdatedRegistration updatedRegistration = super.updateRegistration(update);
+            if (updatedRegistration != null) {
+                Registration registration = updatedRegistration.getUpdatedRegistration();
+                db.put(REG_EP + registration.getEndpoint(), registrationSerDes.bSerialize(registration));
+            }
+            return updatedRegistration;
+        }
+    }
+
+    @Override
+    public Deregistration removeRegistration(String registrationId) {
+        synchronized (persistenceLock) {
+            Deregistration deregistration = super.removeRegistration(registrationId);
+            if (deregistration != null) {
+                db.delete(REG_EP + deregistration.getRegistration().getEndpoint());
+                db.delete(OBS_REG + registrationId);
+            }
+            return deregistration;
+        }
+    }
+
+    @Override
+    public Collection<Observation> addObservation(String registrationId, Observation observation, boolean addIfAbsent) {
+        synchronized (persistenceLock) {
+            Collection<Observation> removed = super.addObservation(registrationId, observation, addIfAbsent);
+            persistObservations(registrationId);
+            return removed;
+        }
+    }
+
+    @Override
+    public Observation removeObservation(String registrationId, ObservationIdentifier observationId) {
+        synchronized (persistenceLock) {
+            Observation removed = super.removeObservation(registrationId, observationId);
+            if (removed != null) {
+                persistObservations(registrationId);
+            }
+            return removed;
+        }
+    }
+
+    @Override
+    public Collection<Observation> removeObservations(String registrationId) {
+        synchronized (persistenceLock) {
+            Collection<Observation> removed = super.removeObservations(registrationId);
+            db.delete(OBS_REG + registrationId);
+            return removed;
+        }
+    }
+
+    private void persistObservations(String registrationId) {
+        Collection<Observation> observations = getObservations(registrationId);
+        if (observations.isEmpty()) {
+            db.delete(OBS_REG + registrationId);
+        } else {
+            ArrayNode array = JacksonUtil.newArrayNode();
+            observations.forEach(observation -> array.add(JacksonUtil.fromBytes(observationSerDes.serialize(observation))));
+            db.put(OBS_REG + registrationId, JacksonUtil.writeValueAsBytes(array));
+        }
+    }
+
+    private void restore() {
+        Map<String, Registration> registrations = new HashMap<>();
+        db.forEach(REG_EP, (key, data) -> {
+            try {
+                Registration registration = registrationSerDes.deserialize(data);
+                super.addRegistration(registration);
+                registrations.put(registration.getId(), registration);
+            } catch (Exception e) {
+                log.warn("[{}] Failed to restore registration", key, e);
+                db.delete(key);
+            }
+        });
+        int observationsCount = 0;
+        for (String registrationId : registrations.keySet()) {
+            byte[] data = db.get(OBS_REG + registrationId);
+            if (data == null) {
+                continue;
+            }
+            try {
+                for (JsonNode node : JacksonUtil.fromBytes(data)) {
+                    super.addObservation(registrationId, observationSerDes.deserialize(JacksonUtil.writeValueAsBytes(node)), false);
+                    observationsCount++;
+                }
+            } catch (Exception e) {
+                log.warn("[{}] Failed to restore observations", registrationId, e);
+                db.delete(OBS_REG + registrationId);
+            }
+        }
+        log.info("Restored {} LwM2M registrations and {} observations from the local storage", registrations.size(), observationsCount);
+    }
+
+}
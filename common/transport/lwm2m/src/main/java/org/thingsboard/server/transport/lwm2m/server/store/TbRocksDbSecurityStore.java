@@ -0,0 +1,71 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.transport.lwm2m.server.store;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.leshan.server.security.NonUniqueSecurityInfoException;
+import org.thingsboard.server.common.data.JavaSerDesUtil;
+import org.thingsboard.server.transport.lwm2m.secure.TbLwM2MSecurityInfo;
+
+/**
+ * Security store that keeps the security info in memory and writes it through to the local RocksDB,
+ * so the credentials of registered clients are available right after the transport restart.
+ */
+@Slf4j
+public class TbRocksDbSecurityStore extends TbInMemorySecurityStore {
+
+    private static final String SEC_EP = "SEC#EP#";
+
+    private final TbLwM2mRocksDb db;
+
+    public TbRocksDbSecurityStore(TbLwM2mRocksDb db) {
+        this.db = db;
+        db.forEach(SEC_EP, (key, data) -> {
+            try {
+                TbLwM2MSecurityInfo securityInfo = JavaSerDesUtil.decode(data);
+                if (securityInfo != null) {
+                    super.put(securityInfo);
+                }
+            } catch (Exception e) {
+                log.warn("[{}] Failed to restore security info", key, e);
+                db.delete(key);
+            }
+        });
+    }
+
+    @Override
+    public void put(TbLwM2MSecurityInfo tbSecurityInfo) throws NonUniqueSecurityInfoException {
+        writeLock.lock();
+        try {
+            super.put(tbSecurityInfo);
+            db.put(SEC_EP + tbSecurityInfo.getEndpoint(), JavaSerDesUtil.encode(tbSecurityInfo));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void remove(String endpoint) {
+        writeLock.lock();
+        try {
+            super.remove(endpoint);
+            db.delete(SEC_EP + endpoint);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+}
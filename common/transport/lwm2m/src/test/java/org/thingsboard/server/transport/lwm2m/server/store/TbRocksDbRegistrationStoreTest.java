@@ -0,0 +1,167 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.transport.lwm2m.server.store;
+
+import org.eclipse.leshan.core.SecurityMode;
+import org.eclipse.leshan.core.endpoint.EndpointUriUtil;
+import org.eclipse.leshan.core.link.Link;
+import org.eclipse.leshan.core.peer.IpPeer;
+import org.eclipse.leshan.server.registration.Registration;
+import org.eclipse.leshan.server.security.SecurityInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.thingsboard.server.common.data.id.CustomerId;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.data.id.DeviceProfileId;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.transport.auth.TransportDeviceInfo;
+import org.thingsboard.server.common.transport.auth.ValidateDeviceCredentialsResponse;
+import org.thingsboard.server.transport.lwm2m.secure.TbLwM2MSecurityInfo;
+import org.thingsboard.server.transport.lwm2m.server.client.LwM2MClientState;
+import org.thingsboard.server.transport.lwm2m.server.client.LwM2mClient;
+import org.thingsboard.server.transport.lwm2m.server.ota.firmware.LwM2MClientFwOtaInfo;
+import org.thingsboard.server.transport.lwm2m.server.ota.firmware.LwM2MFirmwareUpdateStrategy;
+
+import java.net.Inet4Address;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TbRocksDbRegistrationStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private TbLwM2mRocksDb db;
+    private TbRocksDbRegistrationStore store;
+
+    @AfterEach
+    public void after() {
+        if (store != null) {
+            store.destroy();
+        }
+        if (db != null) {
+            db.close();
+        }
+    }
+
+    @Test
+    public void testRegistrationsAreRestoredAfterRestart() {
+        restart();
+        store.addRegistration(registration("reg1", "endpoint1", 1001));
+        store.addRegistration(registration("reg2", "endpoint2", 1002));
+        store.removeRegistration("reg2");
+
+        restart();
+
+        Registration restored = store.getRegistrationByEndpoint("endpoint1");
+        assertThat(restored).isNotNull();
+        assertThat(restored.getId()).isEqualTo("reg1");
+        assertThat(store.getRegistration("reg1")).isNotNull();
+        assertThat(store.getRegistrationByEndpoint("endpoint2")).isNull();
+    }
+
+    @Test
+    public void testReRegistrationReplacesPersistedRegistration() {
+        restart();
+        store.addRegistration(registration("reg1", "endpoint1", 1001));
+        store.addRegistration(registration("reg3", "endpoint1", 1003));
+
+        restart();
+
+        assertThat(store.getRegistrationByEndpoint("endpoint1").getId()).isEqualTo("reg3");
+        assertThat(store.getRegistration("reg1")).isNull();
+    }
+
+    @Test
+    public void testClientOtaInfoAndSecurityStoresShareDatabase() throws Exception {
+        restart();
+        store.addRegistration(registration("reg1", "endpoint1", 1001));
+
+        UUID deviceId = UUID.randomUUID();
+        LwM2mClient client = new LwM2mClient("nodeId", "endpoint1");
+        client.init(credentials(deviceId), UUID.randomUUID());
+        client.setRegistration(registration("reg1", "endpoint1", 1001));
+        client.setState(LwM2MClientState.REGISTERED);
+        new TbRocksDbLwM2MClientStore(db).put(client);
+
+        LwM2MClientFwOtaInfo fwInfo = new LwM2MClientFwOtaInfo("endpoint1", "coap://localhost:5685", LwM2MFirmwareUpdateStrategy.OBJ_5_BINARY);
+        fwInfo.updateTarget("firmware", "1.0.1", Optional.empty(), Optional.empty());
+        new TbRocksDbLwM2MClientOtaInfoStore(db).putFw(fwInfo);
+
+        TbLwM2MSecurityInfo securityInfo = new TbLwM2MSecurityInfo();
+        securityInfo.setEndpoint("endpoint1");
+        securityInfo.setSecurityMode(SecurityMode.PSK);
+        securityInfo.setSecurityInfo(SecurityInfo.newPreSharedKeyInfo("endpoint1", "identity1", new byte[]{1, 2, 3, 4}));
+        new TbRocksDbSecurityStore(db).put(securityInfo);
+
+        restart();
+
+        assertThat(store.getRegistrationByEndpoint("endpoint1").getId()).isEqualTo("reg1");
+
+        TbRocksDbLwM2MClientStore clientStore = new TbRocksDbLwM2MClientStore(db);
+        assertThat(clientStore.getAll()).singleElement()
+                .satisfies(restored -> {
+                    assertThat(restored.getEndpoint()).isEqualTo("endpoint1");
+                    assertThat(restored.getDeviceId()).isEqualTo(deviceId);
+                    assertThat(restored.getState()).isEqualTo(LwM2MClientState.REGISTERED);
+                    assertThat(restored.getRegistration().getId()).isEqualTo("reg1");
+                });
+        assertThat(clientStore.get("endpoint2")).isNull();
+
+        TbRocksDbLwM2MClientOtaInfoStore otaInfoStore = new TbRocksDbLwM2MClientOtaInfoStore(db);
+        assertThat(otaInfoStore.getFw("endpoint1")).isEqualTo(fwInfo);
+        assertThat(otaInfoStore.getSw("endpoint1")).isNull();
+
+        TbRocksDbSecurityStore securityStore = new TbRocksDbSecurityStore(db);
+        assertThat(securityStore.getByEndpoint("endpoint1").getPskIdentity()).isEqualTo("identity1");
+        assertThat(securityStore.getByIdentity("identity1").getEndpoint()).isEqualTo("endpoint1");
+        assertThat(securityStore.getTbLwM2MSecurityInfoByEndpoint("endpoint1").getSecurityMode()).isEqualTo(SecurityMode.PSK);
+    }
+
+    private void restart() {
+        after();
+        db = new TbLwM2mRocksDb(tempDir.resolve("lwm2m").toString());
+        db.init();
+        store = new TbRocksDbRegistrationStore(null, 2, null, db);
+    }
+
+    private static ValidateDeviceCredentialsResponse credentials(UUID deviceId) {
+        TransportDeviceInfo deviceInfo = new TransportDeviceInfo();
+        deviceInfo.setTenantId(TenantId.fromUUID(UUID.randomUUID()));
+        deviceInfo.setCustomerId(new CustomerId(UUID.randomUUID()));
+        deviceInfo.setDeviceId(new DeviceId(deviceId));
+        deviceInfo.setDeviceProfileId(new DeviceProfileId(UUID.randomUUID()));
+        deviceInfo.setDeviceName("testDevice");
+        deviceInfo.setDeviceType("testType");
+        return ValidateDeviceCredentialsResponse.builder()
+                .deviceInfo(deviceInfo)
+                .build();
+    }
+
+    private static Registration registration(String id, String endpoint, int port) {
+        return new Registration.Builder(id, endpoint, new IpPeer(new InetSocketAddress(Inet4Address.getLoopbackAddress(), port)),
+                EndpointUriUtil.createUri("coap://localhost:5685"))
+                .objectLinks(new Link[]{new Link("/3")})
+                .lifeTimeInSec(3600L)
+                .build();
+    }
+
+}
@@ -156,6 +156,12 @@ public class DefaultTransportService extends TransportActivityManager implements
     private int notificationsPollDuration;
     @Value("${transport.stats.enabled:false}")
     private boolean statsEnabled;
+    @Value("${transport.credentials_cache.enabled:false}")
+    private boolean credentialsCacheEnabled;
+    @Value("${transport.credentials_cache.ttl:60000}")
+    private long credentialsCacheTtl;
+    @Value("${transport.credentials_cache.max_size:100000}")
+    private int credentialsCacheMaxSize;
 
     @Autowired
     @Lazy
@@ -195,6 +201,8 @@ public class DefaultTransportService extends TransportActivityManager implements
 
     private final Map<String, RpcRequestMetadata> toServerRpcPendingMap = new ConcurrentHashMap<>();
 
+    private TransportCredentialsCache credentialsCache;
+
     @PostConstruct
     public void init() {
         super.init();
@@ -202,6 +210,9 @@ public class DefaultTransportService extends TransportActivityManager implements
         this.tbCoreProducerStats = statsFactory.createMessagesStats(StatsType.CORE.getName() + ".producer");
         this.transportApiStats = statsFactory.createMessagesStats(StatsType.TRANSPORT.getName() + ".producer");
         this.transportCallbackExecutor = ThingsBoardExecutors.newWorkStealingPool(20, getClass());
+        if (credentialsCacheEnabled) {
+            this.credentialsCache = new TransportCredentialsCache(credentialsCacheTtl, credentialsCacheMaxSize);
+        }
         this.scheduler.scheduleAtFixedRate(this::invalidateRateLimits, new Random().nextInt((int) sessionReportTimeout), sessionReportTimeout, TimeUnit.MILLISECONDS);
         transportApiRequestTemplate = queueProvider.createTransportApiRequestTemplate();
         transportApiRequestTemplate.setMessagesStats(transportApiStats);
@@ -353,9 +364,26 @@ public class DefaultTransportService extends TransportActivityManager implements
     public void process(DeviceTransportType transportType, TransportProtos.ValidateDeviceTokenRequestMsg msg,
                         TransportServiceCallback<ValidateDeviceCredentialsResponse> callback) {
         log.trace("Processing msg: {}", msg);
+        if (credentialsCache == null) {
+            TbProtoQueueMsg<TransportApiRequestMsg> protoMsg = new TbProtoQueueMsg<>(UUID.randomUUID(),
+                    TransportApiRequestMsg.newBuilder().setValidateTokenRequestMsg(msg).build());
+            doProcess(transportType, protoMsg, callback);
+            return;
+        }
+        ValidateDeviceCredentialsResponse cached = credentialsCache.get(transportType, msg.getToken());
+        if (cached != null) {
+            log.trace("[{}] Found cached credentials validation result", cached.getDeviceInfo().getDeviceId());
+            transportCallbackExecutor.submit(() -> callback.onSuccess(cached));
+            return;
+        }
+        long cacheVersion = credentialsCache.getVersion();
         TbProtoQueueMsg<TransportApiRequestMsg> protoMsg = new TbProtoQueueMsg<>(UUID.randomUUID(),
                 TransportApiRequestMsg.newBuilder().setValidateTokenRequestMsg(msg).build());
-        doProcess(transportType, protoMsg, callback);
+        ListenableFuture<ValidateDeviceCredentialsResponse> response = Futures.transform(validateCredentials(transportType, protoMsg), result -> {
+            credentialsCache.put(cacheVersion, transportType, msg.getToken(), result);
+            return result;
+        }, MoreExecutors.directExecutor());
+        AsyncCallbackTemplate.withCallback(response, callback::onSuccess, callback::onError, transportCallbackExecutor);
     }
 
     @Override
@@ -404,7 +432,11 @@ public class DefaultTransportService extends TransportActivityManager implements
 
     private void doProcess(DeviceTransportType transportType, TbProtoQueueMsg<TransportApiRequestMsg> protoMsg,
                            TransportServiceCallback<ValidateDeviceCredentialsResponse> callback) {
-        ListenableFuture<ValidateDeviceCredentialsResponse> response = Futures.transform(transportApiRequestTemplate.send(protoMsg), tmp -> {
+        AsyncCallbackTemplate.withCallback(validateCredentials(transportType, protoMsg), callback::onSuccess, callback::onError, transportCallbackExecutor);
+    }
+
+    private ListenableFuture<ValidateDeviceCredentialsResponse> validateCredentials(DeviceTransportType transportType, TbProtoQueueMsg<TransportApiRequestMsg> protoMsg) {
+        return Futures.transform(transportApiRequestTemplate.send(protoMsg), tmp -> {
             TransportProtos.ValidateDeviceCredentialsResponseMsg msg = tmp.getValue().getValidateCredResponseMsg();
             ValidateDeviceCredentialsResponse.ValidateDeviceCredentialsResponseBuilder result = ValidateDeviceCredentialsResponse.builder();
             if (msg.hasDeviceInfo()) {
@@ -423,7 +455,6 @@ public class DefaultTransportService extends TransportActivityManager implements
             }
             return result.build();
         }, MoreExecutors.directExecutor());
-        AsyncCallbackTemplate.withCallback(response, callback::onSuccess, callback::onError, transportCallbackExecutor);
     }
 
     @Override
@@ -890,6 +921,10 @@ public class DefaultTransportService extends TransportActivityManager implements
         if (md != null) {
             log.trace("[{}] Processing notification: {}", sessionId, toSessionMsg);
             SessionMsgListener listener = md.getListener();
+            if (credentialsCache != null && (toSessionMsg.hasToTransportUpdateCredentialsNotification()
+                    || (toSessionMsg.hasSessionCloseNotification() && toSessionMsg.getSessionCloseNotification().getReason() == TransportProtos.SessionCloseReason.CREDENTIALS_UPDATED))) {
+                credentialsCache.evictByDevice(new DeviceId(new UUID(md.getSessionInfo().getDeviceIdMSB(), md.getSessionInfo().getDeviceIdLSB())));
+            }
             transportCallbackExecutor.submit(() -> {
                 if (toSessionMsg.hasGetAttributesResponse()) {
                     listener.onGetAttributesResponse(toSessionMsg.getGetAttributesResponse());
@@ -925,16 +960,27 @@ public class DefaultTransportService extends TransportActivityManager implements
                 UUID entityUuid = new UUID(msg.getEntityIdMSB(), msg.getEntityIdLSB());
                 if (EntityType.DEVICE_PROFILE.equals(entityType)) {
                     deviceProfileCache.evict(new DeviceProfileId(new UUID(msg.getEntityIdMSB(), msg.getEntityIdLSB())));
+                    if (credentialsCache != null) {
+                        credentialsCache.evictByDeviceProfile(new DeviceProfileId(entityUuid));
+                    }
                 } else if (EntityType.TENANT_PROFILE.equals(entityType)) {
                     tenantProfileCache.remove(new TenantProfileId(entityUuid));
                 } else if (EntityType.TENANT.equals(entityType)) {
                     TenantId tenantId = TenantId.fromUUID(entityUuid);
                     rateLimitService.remove(tenantId);
                     partitionService.removeTenant(tenantId);
+                    if (credentialsCache != null) {
+                        credentialsCache.evictByTenant(tenantId);
+                    }
                 } else if (EntityType.DEVICE.equals(entityType)) {
                     rateLimitService.remove(new DeviceId(entityUuid));
                     onDeviceDeleted(new DeviceId(entityUuid));
                 }
+            } else if (toSessionMsg.hasToTransportUpdateCredentialsNotification()) {
+                TransportProtos.ToTransportUpdateCredentialsProto msg = toSessionMsg.getToTransportUpdateCredentialsNotification();
+                if (credentialsCache != null) {
+                    credentialsCache.evictByDevice(new DeviceId(new UUID(msg.getDeviceIdMSB(), msg.getDeviceIdLSB())));
+                }
             } else if (toSessionMsg.hasResourceUpdateMsg()) {
                 TransportProtos.ResourceUpdateMsg msg = toSessionMsg.getResourceUpdateMsg();
                 TenantId tenantId = TenantId.fromUUID(new UUID(msg.getTenantIdMSB(), msg.getTenantIdLSB()));
@@ -968,6 +1014,9 @@ public class DefaultTransportService extends TransportActivityManager implements
 
 
     public void onProfileUpdate(DeviceProfile deviceProfile) {
+        if (credentialsCache != null) {
+            credentialsCache.evictByDeviceProfile(deviceProfile.getId());
+        }
         long deviceProfileIdMSB = deviceProfile.getId().getId().getMostSignificantBits();
         long deviceProfileIdLSB = deviceProfile.getId().getId().getLeastSignificantBits();
         sessions.forEach((id, md) -> {
@@ -1020,6 +1069,9 @@ public class DefaultTransportService extends TransportActivityManager implements
     }
 
     private void onDeviceUpdate(Device device) {
+        if (credentialsCache != null) {
+            credentialsCache.evictByDevice(device.getId());
+        }
         long deviceIdMSB = device.getId().getId().getMostSignificantBits();
         long deviceIdLSB = device.getId().getId().getLeastSignificantBits();
         long deviceProfileIdMSB = device.getDeviceProfileId().getId().getMostSignificantBits();
@@ -1060,6 +1112,9 @@ public class DefaultTransportService extends TransportActivityManager implements
     }
 
     private void onDeviceDeleted(DeviceId deviceId) {
+        if (credentialsCache != null) {
+            credentialsCache.evictByDevice(deviceId);
+        }
         sessions.forEach((id, md) -> {
             DeviceId sessionDeviceId = new DeviceId(new UUID(md.getSessionInfo().getDeviceIdMSB(), md.getSessionInfo().getDeviceIdLSB()));
             if (sessionDeviceId.equals(deviceId)) {
@@ -0,0 +1,90 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.common.transport.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.thingsboard.server.common.data.DeviceTransportType;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.data.id.DeviceProfileId;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.transport.auth.TransportDeviceInfo;
+import org.thingsboard.server.common.transport.auth.ValidateDeviceCredentialsResponse;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Bounded cache of successful access token validation results.
+ * Saves a round trip to the core service for every request of stateless transports (HTTP)
+ * that present the same device token over and over again.
+ * <p>
+ * Entries are evicted on device, device profile, tenant and credentials update notifications.
+ * Responses of validation requests that were in flight while an eviction happened are not cached,
+ * since they might be built from the outdated device state.
+ */
+class TransportCredentialsCache {
+
+    private final Cache<CacheKey, ValidateDeviceCredentialsResponse> cache;
+    private final AtomicLong version = new AtomicLong();
+
+    TransportCredentialsCache(long ttlMs, int maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttlMs, TimeUnit.MILLISECONDS)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    ValidateDeviceCredentialsResponse get(DeviceTransportType transportType, String token) {
+        return cache.getIfPresent(new CacheKey(transportType, token));
+    }
+
+    long getVersion() {
+        return version.get();
+    }
+
+    void put(long expectedVersion, DeviceTransportType transportType, String token, ValidateDeviceCredentialsResponse response) {
+        if (response == null || !response.hasDeviceInfo()) {
+            return;
+        }
+        CacheKey key = new CacheKey(transportType, token);
+        cache.put(key, response);
+        if (version.get() != expectedVersion) {
+            cache.invalidate(key);
+        }
+    }
+
+    void evictByDevice(DeviceId deviceId) {
+        evict(deviceInfo -> deviceId.equals(deviceInfo.getDeviceId()));
+    }
+
+    void evictByDeviceProfile(DeviceProfileId deviceProfileId) {
+        evict(deviceInfo -> deviceProfileId.equals(deviceInfo.getDeviceProfileId()));
+    }
+
+    void evictByTenant(TenantId tenantId) {
+        evict(deviceInfo -> tenantId.equals(deviceInfo.getTenantId()));
+    }
+
+    private void evict(Predicate<TransportDeviceInfo> filter) {
+        version.incrementAndGet();
+        cache.asMap().values().removeIf(response -> filter.test(response.getDeviceInfo()));
+    }
+
+    private record CacheKey(DeviceTransportType transportType, String token) {}
+
+}
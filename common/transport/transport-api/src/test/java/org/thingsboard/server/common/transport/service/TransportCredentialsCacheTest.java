@@ -0,0 +1,87 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.common.transport.service;
+
+import org.junit.jupiter.api.Test;
+import org.thingsboard.server.common.data.DeviceTransportType;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.data.id.DeviceProfileId;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.transport.auth.TransportDeviceInfo;
+import org.thingsboard.server.common.transport.auth.ValidateDeviceCredentialsResponse;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TransportCredentialsCacheTest {
+
+    private final TenantId tenantId = TenantId.fromUUID(UUID.randomUUID());
+    private final DeviceProfileId deviceProfileId = new DeviceProfileId(UUID.randomUUID());
+
+    private final TransportCredentialsCache cache = new TransportCredentialsCache(60000, 100);
+
+    @Test
+    public void testCachesOnlyResponsesWithDeviceInfo() {
+        cache.put(cache.getVersion(), DeviceTransportType.DEFAULT, "unknown", ValidateDeviceCredentialsResponse.builder().build());
+        ValidateDeviceCredentialsResponse response = response(new DeviceId(UUID.randomUUID()));
+        cache.put(cache.getVersion(), DeviceTransportType.DEFAULT, "token", response);
+
+        assertThat(cache.get(DeviceTransportType.DEFAULT, "unknown")).isNull();
+        assertThat(cache.get(DeviceTransportType.DEFAULT, "token")).isSameAs(response);
+        assertThat(cache.get(DeviceTransportType.MQTT, "token")).isNull();
+    }
+
+    @Test
+    public void testEvictByDeviceProfileAndTenant() {
+        DeviceId deviceA = new DeviceId(UUID.randomUUID());
+        DeviceId deviceB = new DeviceId(UUID.randomUUID());
+        cache.put(cache.getVersion(), DeviceTransportType.DEFAULT, "tokenA", response(deviceA));
+        cache.put(cache.getVersion(), DeviceTransportType.DEFAULT, "tokenB", response(deviceB));
+
+        cache.evictByDevice(deviceA);
+        assertThat(cache.get(DeviceTransportType.DEFAULT, "tokenA")).isNull();
+        assertThat(cache.get(DeviceTransportType.DEFAULT, "tokenB")).isNotNull();
+
+        cache.evictByDeviceProfile(new DeviceProfileId(UUID.randomUUID()));
+        assertThat(cache.get(DeviceTransportType.DEFAULT, "tokenB")).isNotNull();
+        cache.evictByDeviceProfile(deviceProfileId);
+        assertThat(cache.get(DeviceTransportType.DEFAULT, "tokenB")).isNull();
+
+        cache.put(cache.getVersion(), DeviceTransportType.DEFAULT, "tokenB", response(deviceB));
+        cache.evictByTenant(tenantId);
+        assertThat(cache.get(DeviceTransportType.DEFAULT, "tokenB")).isNull();
+    }
+
+    @Test
+    public void testDoesNotCacheResponseRequestedBeforeEviction() {
+        DeviceId deviceId = new DeviceId(UUID.randomUUID());
+        long version = cache.getVersion();
+        cache.evictByDevice(deviceId);
+        cache.put(version, DeviceTransportType.DEFAULT, "token", response(deviceId));
+
+        assertThat(cache.get(DeviceTransportType.DEFAULT, "token")).isNull();
+    }
+
+    private ValidateDeviceCredentialsResponse response(DeviceId deviceId) {
+        TransportDeviceInfo deviceInfo = new TransportDeviceInfo();
+        deviceInfo.setTenantId(tenantId);
+        deviceInfo.setDeviceProfileId(deviceProfileId);
+        deviceInfo.setDeviceId(deviceId);
+        return ValidateDeviceCredentialsResponse.builder().deviceInfo(deviceInfo).build();
+    }
+
+}
@@ -20,6 +20,7 @@ import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 
 import java.util.concurrent.Callable;
 
@@ -30,9 +31,16 @@ public abstract class AbstractListeningExecutor implements ListeningExecutor {
 
     private ListeningExecutorService service;
 
+    @Value("${actors.rule.use_virtual_threads:false}")
+    private boolean virtualThreadsEnabled;
+
     @PostConstruct
     public void init() {
-        this.service = MoreExecutors.listeningDecorator(ThingsBoardExecutors.newWorkStealingPool(getThreadPollSize(), getClass()));
+        if (isVirtualThreadsEnabled()) {
+            this.service = MoreExecutors.listeningDecorator(ThingsBoardExecutors.newVirtualThreadPerTaskExecutor(getThreadPollSize(), getClass().getSimpleName()));
+        } else {
+            this.service = MoreExecutors.listeningDecorator(ThingsBoardExecutors.newWorkStealingPool(getThreadPollSize(), getClass()));
+        }
     }
 
     @PreDestroy
@@ -62,4 +70,11 @@ public abstract class AbstractListeningExecutor implements ListeningExecutor {
 
     protected abstract int getThreadPollSize();
 
+    /**
+     * Whether to run the tasks in virtual threads. Thread pool size is used as the concurrency limit then.
+     */
+    protected boolean isVirtualThreadsEnabled() {
+        return virtualThreadsEnabled;
+    }
+
 }
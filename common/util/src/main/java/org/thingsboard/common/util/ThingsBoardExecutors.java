@@ -15,14 +15,19 @@
  */
 package org.thingsboard.common.util;
 
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
+@Slf4j
 public class ThingsBoardExecutors {
 
     /** Cannot instantiate. */
@@ -56,6 +61,54 @@ public class ThingsBoardExecutors {
         return newWorkStealingPool(parallelism, clazz.getSimpleName());
     }
 
+    /**
+     * Creates an executor for blocking (I/O bound) tasks that starts a new virtual thread per task.
+     * At most {@code maxConcurrency} tasks run at the same time, the rest wait for a permit in their own virtual threads,
+     * so the caller is never blocked.
+     * Virtual threads require Java 21+. On older runtimes falls back to {@link #newWorkStealingPool(int, String)}.
+     *
+     * @param maxConcurrency the maximum number of concurrently running tasks
+     * @param namePrefix used to define thread name
+     * @return the newly created executor
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor(int maxConcurrency, String namePrefix) {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor(namePrefix);
+        if (executor == null) {
+            log.warn("[{}] Virtual threads are not supported by the current JVM, falling back to the platform thread pool", namePrefix);
+            return newWorkStealingPool(maxConcurrency, namePrefix);
+        }
+        return new ConcurrencyLimitedExecutorService(executor, maxConcurrency);
+    }
+
+    public static boolean isVirtualThreadsSupported() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /*
+     * Java 21 API is invoked via reflection since the project is compiled for Java 17
+     * */
+    private static ExecutorService newVirtualThreadPerTaskExecutor(String namePrefix) {
+        if (!isVirtualThreadsSupported()) {
+            return null;
+        }
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix + "-", 0L);
+            ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            Method newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) newThreadPerTaskExecutor.invoke(null, threadFactory);
+        } catch (Exception e) {
+            log.warn("[{}] Failed to create virtual thread executor", namePrefix, e);
+            return null;
+        }
+    }
+
     /*
      * executor with limited tasks queue size
      * */
@@ -0,0 +1,99 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.common.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrencyLimitedExecutorServiceTest {
+
+    private ExecutorService executor;
+
+    @AfterEach
+    void cleanup() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testConcurrencyIsLimited() throws InterruptedException {
+        executor = new ConcurrencyLimitedExecutorService(Executors.newCachedThreadPool(), 2);
+        int tasks = 20;
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(tasks);
+        for (int i = 0; i < tasks; i++) {
+            executor.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException ignored) {
+                } finally {
+                    running.decrementAndGet();
+                    latch.countDown();
+                }
+            });
+        }
+
+        assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(maxRunning.get()).isBetween(1, 2);
+    }
+
+    @Test
+    void testSubmittedTaskIsCancelledWhenInterruptedWhileWaitingForPermit() throws Exception {
+        ExecutorService delegate = Executors.newCachedThreadPool();
+        executor = new ConcurrencyLimitedExecutorService(delegate, 1);
+        CountDownLatch blockerStarted = new CountDownLatch(1);
+        CountDownLatch releaseBlocker = new CountDownLatch(1);
+        executor.execute(() -> {
+            blockerStarted.countDown();
+            // keeps the only permit until released, even when the delegate is shut down
+            while (releaseBlocker.getCount() > 0) {
+                try {
+                    releaseBlocker.await();
+                } catch (InterruptedException ignored) {
+                }
+            }
+        });
+        assertThat(blockerStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+        Future<Integer> waiting = executor.submit(() -> 42);
+        delegate.shutdownNow();
+
+        assertThatThrownBy(() -> waiting.get(10, TimeUnit.SECONDS)).isInstanceOf(CancellationException.class);
+        assertThat(waiting.isCancelled()).isTrue();
+        releaseBlocker.countDown();
+    }
+
+    @Test
+    void testVirtualThreadPerTaskExecutorRunsTasks() throws Exception {
+        executor = ThingsBoardExecutors.newVirtualThreadPerTaskExecutor(4, "test-virtual");
+        assertThat(executor.submit(() -> 42).get(10, TimeUnit.SECONDS)).isEqualTo(42);
+    }
+
+}
@@ -58,6 +58,11 @@ public interface AlarmDao extends Dao<Alarm> {
 
     ListenableFuture<Alarm> findLatestByOriginatorAndTypeAsync(TenantId tenantId, EntityId originator, String type);
 
+    /**
+     * Returns the batch of the not cleared alarms of the tenant with the ids greater than the offset, ordered by id
+     */
+    List<Alarm> findActiveAlarms(TenantId tenantId, AlarmId idOffset, int limit);
+
     Alarm findAlarmById(TenantId tenantId, UUID key);
 
     ListenableFuture<Alarm> findAlarmByIdAsync(TenantId tenantId, UUID key);
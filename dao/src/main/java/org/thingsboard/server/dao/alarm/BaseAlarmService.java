@@ -146,7 +146,7 @@ public class BaseAlarmService extends AbstractCachedEntityService<TenantId, Page
     public AlarmApiCallResult acknowledgeAlarm(TenantId tenantId, AlarmId alarmId, long ackTs) {
         var result = withPropagated(alarmDao.acknowledgeAlarm(tenantId, alarmId, ackTs));
         if (result.getAlarm() != null) {
-            eventPublisher.publishEvent(ActionEntityEvent.builder().tenantId(tenantId).entityId(result.getAlarm().getId())
+            eventPublisher.publishEvent(ActionEntityEvent.builder().tenantId(tenantId).entityId(result.getAlarm().getId()).entity(result)
                     .actionType(ActionType.ALARM_ACK).build());
         }
         return result;
@@ -156,7 +156,7 @@ public class BaseAlarmService extends AbstractCachedEntityService<TenantId, Page
     public AlarmApiCallResult clearAlarm(TenantId tenantId, AlarmId alarmId, long clearTs, JsonNode details) {
         var result = withPropagated(alarmDao.clearAlarm(tenantId, alarmId, clearTs, details));
         if (result.getAlarm() != null) {
-            eventPublisher.publishEvent(ActionEntityEvent.builder().tenantId(tenantId).entityId(result.getAlarm().getId())
+            eventPublisher.publishEvent(ActionEntityEvent.builder().tenantId(tenantId).entityId(result.getAlarm().getId()).entity(result)
                     .actionType(ActionType.ALARM_CLEAR).build());
         }
         return result;
@@ -172,6 +172,11 @@ public class BaseAlarmService extends AbstractCachedEntityService<TenantId, Page
         return alarmDao.findLatestActiveByOriginatorAndTypeAsync(tenantId, originator, type);
     }
 
+    @Override
+    public List<Alarm> findActiveAlarms(TenantId tenantId, AlarmId idOffset, int limit) {
+        return alarmDao.findActiveAlarms(tenantId, idOffset, limit);
+    }
+
     @Override
     public PageData<AlarmData> findAlarmDataByQueryForEntities(TenantId tenantId,
                                                                AlarmDataQuery query, Collection<EntityId> orderedEntityIds) {
@@ -254,7 +259,7 @@ public class BaseAlarmService extends AbstractCachedEntityService<TenantId, Page
     public AlarmApiCallResult assignAlarm(TenantId tenantId, AlarmId alarmId, UserId assigneeId, long assignTime) {
         var result = withPropagated(alarmDao.assignAlarm(tenantId, alarmId, assigneeId, assignTime));
         if (result.getAlarm() != null) {
-            eventPublisher.publishEvent(ActionEntityEvent.builder().tenantId(tenantId).entityId(result.getAlarm().getId())
+            eventPublisher.publishEvent(ActionEntityEvent.builder().tenantId(tenantId).entityId(result.getAlarm().getId()).entity(result)
                     .actionType(ActionType.ALARM_ASSIGNED).build());
         }
         return result;
@@ -264,7 +269,7 @@ public class BaseAlarmService extends AbstractCachedEntityService<TenantId, Page
     public AlarmApiCallResult unassignAlarm(TenantId tenantId, AlarmId alarmId, long unassignTime) {
         var result = withPropagated(alarmDao.unassignAlarm(tenantId, alarmId, unassignTime));
         if (result.getAlarm() != null) {
-            eventPublisher.publishEvent(ActionEntityEvent.builder().tenantId(tenantId).entityId(result.getAlarm().getId())
+            eventPublisher.publishEvent(ActionEntityEvent.builder().tenantId(tenantId).entityId(result.getAlarm().getId()).entity(result)
                     .actionType(ActionType.ALARM_UNASSIGNED).build());
         }
         return result;
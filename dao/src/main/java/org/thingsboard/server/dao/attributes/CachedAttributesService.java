@@ -50,6 +50,7 @@ import org.thingsboard.server.dao.sql.JpaExecutorService;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -132,7 +133,7 @@ public class CachedAttributesService implements AttributesService {
             } else {
                 missCounter.increment();
                 Optional<AttributeKvEntry> result = attributesDao.find(tenantId, entityId, scope, attributeKey);
-                cache.put(attributeCacheKey, result.orElse(null));
+                cache.fill(attributeCacheKey, result.orElse(null));
                 return result;
             }
         });
@@ -164,13 +165,15 @@ public class CachedAttributesService implements AttributesService {
                     return jpaExecutorService.submit(() -> {
                         log.trace("[{}][{}] Lookup attributes from db: {}", entityId, scope, notFoundAttributeKeys);
                         List<AttributeKvEntry> result = attributesDao.find(tenantId, entityId, scope, notFoundAttributeKeys);
+                        Map<AttributeCacheKey, AttributeKvEntry> loadedAttributes = new HashMap<>();
                         for (AttributeKvEntry foundInDbAttribute : result) {
-                            put(entityId, scope, foundInDbAttribute);
+                            loadedAttributes.put(new AttributeCacheKey(scope, entityId, foundInDbAttribute.getKey()), foundInDbAttribute);
                             notFoundAttributeKeys.remove(foundInDbAttribute.getKey());
                         }
                         for (String key : notFoundAttributeKeys) {
-                            cache.put(new AttributeCacheKey(scope, entityId, key), null);
+                            loadedAttributes.put(new AttributeCacheKey(scope, entityId, key), null);
                         }
+                        cache.fillAll(loadedAttributes);
                         List<AttributeKvEntry> mergedAttributes = new ArrayList<>(cachedAttributes);
                         mergedAttributes.addAll(result);
                         log.trace("[{}][{}] Commit cache transaction: {}", entityId, scope, notFoundAttributeKeys);
@@ -181,16 +184,25 @@ public class CachedAttributesService implements AttributesService {
     }
 
     private Map<String, TbCacheValueWrapper<AttributeKvEntry>> findCachedAttributes(EntityId entityId, AttributeScope scope, Collection<String> attributeKeys) {
-        Map<String, TbCacheValueWrapper<AttributeKvEntry>> cachedAttributes = new HashMap<>();
-        for (String attributeKey : attributeKeys) {
+        if (attributeKeys.size() == 1) {
+            String attributeKey = attributeKeys.iterator().next();
             var cachedAttributeValue = cache.get(new AttributeCacheKey(scope, entityId, attributeKey));
             if (cachedAttributeValue != null) {
                 hitCounter.increment();
-                cachedAttributes.put(attributeKey, cachedAttributeValue);
+                return Map.of(attributeKey, cachedAttributeValue);
             } else {
                 missCounter.increment();
+                return Collections.emptyMap();
             }
         }
+        List<AttributeCacheKey> cacheKeys = attributeKeys.stream()
+                .map(attributeKey -> new AttributeCacheKey(scope, entityId, attributeKey))
+                .toList();
+        Map<AttributeCacheKey, TbCacheValueWrapper<AttributeKvEntry>> cachedValues = cache.getAll(cacheKeys);
+        Map<String, TbCacheValueWrapper<AttributeKvEntry>> cachedAttributes = new HashMap<>();
+        cachedValues.forEach((cacheKey, cachedAttributeValue) -> cachedAttributes.put(cacheKey.getKey(), cachedAttributeValue));
+        hitCounter.add(cachedAttributes.size());
+        missCounter.add(cacheKeys.size() - cachedAttributes.size());
         return cachedAttributes;
     }
 
@@ -58,6 +58,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -126,7 +127,12 @@ public class BaseRelationService implements RelationService {
     public ListenableFuture<Boolean> checkRelationAsync(TenantId tenantId, EntityId from, EntityId to, String relationType, RelationTypeGroup typeGroup) {
         log.trace("Executing checkRelationAsync [{}][{}][{}][{}]", from, to, relationType, typeGroup);
         validate(from, to, relationType, typeGroup);
-        return relationDao.checkRelationAsync(tenantId, from, to, relationType, typeGroup);
+        RelationCacheKey cacheKey = new RelationCacheKey(from, to, relationType, typeGroup);
+        ListenableFuture<EntityRelation> relation = cache.getAndPutInTransactionAsync(cacheKey,
+                () -> relationDao.getRelation(tenantId, from, to, relationType, typeGroup),
+                RelationCacheValue::getRelation,
+                r -> RelationCacheValue.builder().relation(r).build(), false, executor);
+        return Futures.transform(relation, Objects::nonNull, MoreExecutors.directExecutor());
     }
 
     @Override
@@ -301,14 +307,11 @@ public class BaseRelationService implements RelationService {
         validate(from);
         validateTypeGroup(typeGroup);
 
-        var cacheValue = cache.get(RelationCacheKey.builder().from(from).typeGroup(typeGroup).direction(EntitySearchDirection.FROM).build());
-
-        if (cacheValue != null && cacheValue.get() != null) {
-            return Futures.immediateFuture(cacheValue.get().getRelations());
-        } else {
-            //Disabled cache put for the async requests due to limitations of the cache implementation (Redis lib does not support thread-safe transactions)
-            return executor.submit(() -> findByFrom(tenantId, from, typeGroup));
-        }
+        RelationCacheKey cacheKey = RelationCacheKey.builder().from(from).typeGroup(typeGroup).direction(EntitySearchDirection.FROM).build();
+        return cache.getAndPutInTransactionAsync(cacheKey,
+                () -> relationDao.findAllByFrom(tenantId, from, typeGroup),
+                RelationCacheValue::getRelations,
+                relations -> RelationCacheValue.builder().relations(relations).build(), false, executor);
     }
 
     @Override
@@ -344,7 +347,11 @@ public class BaseRelationService implements RelationService {
         validate(from);
         validateType(relationType);
         validateTypeGroup(typeGroup);
-        return executor.submit(() -> findByFromAndType(tenantId, from, relationType, typeGroup));
+        RelationCacheKey cacheKey = RelationCacheKey.builder().from(from).type(relationType).typeGroup(typeGroup).direction(EntitySearchDirection.FROM).build();
+        return cache.getAndPutInTransactionAsync(cacheKey,
+                () -> relationDao.findAllByFromAndType(tenantId, from, relationType, typeGroup),
+                RelationCacheValue::getRelations,
+                relations -> RelationCacheValue.builder().relations(relations).build(), false, executor);
     }
 
     @Override
@@ -364,7 +371,11 @@ public class BaseRelationService implements RelationService {
         log.trace("Executing findByToAsync [{}][{}]", to, typeGroup);
         validate(to);
         validateTypeGroup(typeGroup);
-        return executor.submit(() -> findByTo(tenantId, to, typeGroup));
+        RelationCacheKey cacheKey = RelationCacheKey.builder().to(to).typeGroup(typeGroup).direction(EntitySearchDirection.TO).build();
+        return cache.getAndPutInTransactionAsync(cacheKey,
+                () -> relationDao.findAllByTo(tenantId, to, typeGroup),
+                RelationCacheValue::getRelations,
+                relations -> RelationCacheValue.builder().relations(relations).build(), false, executor);
     }
 
     @Override
@@ -414,7 +425,11 @@ public class BaseRelationService implements RelationService {
         validate(to);
         validateType(relationType);
         validateTypeGroup(typeGroup);
-        return executor.submit(() -> findByToAndType(tenantId, to, relationType, typeGroup));
+        RelationCacheKey cacheKey = RelationCacheKey.builder().to(to).type(relationType).typeGroup(typeGroup).direction(EntitySearchDirection.TO).build();
+        return cache.getAndPutInTransactionAsync(cacheKey,
+                () -> relationDao.findAllByToAndType(tenantId, to, relationType, typeGroup),
+                RelationCacheValue::getRelations,
+                relations -> RelationCacheValue.builder().relations(relations).build(), false, executor);
     }
 
     @Override
@@ -21,6 +21,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.thingsboard.common.util.ThingsBoardThreadFactory;
 import org.thingsboard.server.common.data.util.CollectionsUtil;
 import org.thingsboard.server.common.stats.MessagesStats;
+import org.thingsboard.server.common.stats.StatsTimer;
 
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -39,12 +40,25 @@ public class TbSqlBlockingQueue<E, R> implements TbSqlQueue<E, R> {
     private final BlockingQueue<TbSqlQueueElement<E, R>> queue = new LinkedBlockingQueue<>();
     private final TbSqlBlockingQueueParams params;
 
+    private static final int MIN_ADAPTIVE_BATCH_SIZE = 10;
+
     private ExecutorService executor;
     private final MessagesStats stats;
+    private final StatsTimer commitTimer;
+    private final StatsTimer waitTimer;
+
+    private volatile int currentBatchSize;
 
     public TbSqlBlockingQueue(TbSqlBlockingQueueParams params, MessagesStats stats) {
+        this(params, stats, null, null);
+    }
+
+    public TbSqlBlockingQueue(TbSqlBlockingQueueParams params, MessagesStats stats, StatsTimer commitTimer, StatsTimer waitTimer) {
         this.params = params;
         this.stats = stats;
+        this.commitTimer = commitTimer;
+        this.waitTimer = waitTimer;
+        this.currentBatchSize = params.getBatchSize();
     }
 
     @Override
@@ -54,6 +68,7 @@ public class TbSqlBlockingQueue<E, R> implements TbSqlQueue<E, R> {
             String logName = params.getLogName();
             int batchSize = params.getBatchSize();
             long maxDelay = params.getMaxDelay();
+            boolean adaptive = params.isAdaptiveBatchEnabled();
             final List<TbSqlQueueElement<E, R>> entities = new ArrayList<>(batchSize);
             while (!Thread.interrupted()) {
                 try {
@@ -64,8 +79,9 @@ public class TbSqlBlockingQueue<E, R> implements TbSqlQueue<E, R> {
                     } else {
                         entities.add(attr);
                     }
-                    queue.drainTo(entities, batchSize - 1);
-                    boolean fullPack = entities.size() == batchSize;
+                    int packSize = adaptive ? currentBatchSize : batchSize;
+                    queue.drainTo(entities, packSize - 1);
+                    boolean fullPack = entities.size() == packSize;
                     if (log.isDebugEnabled()) {
                         log.debug("[{}] Going to save {} entities", logName, entities.size());
                         log.trace("[{}] Going to save entities: {}", logName, entities);
@@ -77,7 +93,9 @@ public class TbSqlBlockingQueue<E, R> implements TbSqlQueue<E, R> {
                         entitiesToSave = entitiesToSave.stream().sorted((o1, o2) -> batchUpdateComparator.compare(o1.getEntity(), o2.getEntity())).toList();
                     }
 
+                    long commitStartTs = System.currentTimeMillis();
                     List<R> result = saveFunction.apply(entitiesToSave.stream().map(TbSqlQueueElement::getEntity).collect(Collectors.toList()));
+                    long commitTime = System.currentTimeMillis() - commitStartTs;
 
                     if (params.isWithResponse()) {
                         for (int i = 0; i < entitiesToSave.size(); i++) {
@@ -91,8 +109,14 @@ public class TbSqlBlockingQueue<E, R> implements TbSqlQueue<E, R> {
                         entities.forEach(v -> v.getFuture().set(null));
                     }
 
+                    recordLatency(entities, commitStartTs, commitTime);
+
                     stats.incrementSuccessful(entities.size());
-                    if (!fullPack) {
+                    if (adaptive) {
+                        currentBatchSize = adjustBatchSize(packSize, fullPack, commitTime);
+                    }
+                    // In adaptive mode a fast commit means the DB is idle, so there is no point to wait for a bigger pack
+                    if (!fullPack && !(adaptive && commitTime < params.getAdaptiveTargetLatencyMs())) {
                         long remainingDelay = maxDelay - (System.currentTimeMillis() - currentTs);
                         if (remainingDelay > 0) {
                             Thread.sleep(remainingDelay);
@@ -120,9 +144,21 @@ public class TbSqlBlockingQueue<E, R> implements TbSqlQueue<E, R> {
 
         logExecutor.scheduleAtFixedRate(() -> {
             if (!queue.isEmpty() || stats.getTotal() > 0 || stats.getSuccessful() > 0 || stats.getFailed() > 0) {
-                log.info("Queue-{} [{}] queueSize [{}] totalAdded [{}] totalSaved [{}] totalFailed [{}]", index,
-                        params.getLogName(), queue.size(), stats.getTotal(), stats.getSuccessful(), stats.getFailed());
+                if (params.isAdaptiveBatchEnabled()) {
+                    log.info("Queue-{} [{}] queueSize [{}] totalAdded [{}] totalSaved [{}] totalFailed [{}] batchSize [{}] avgCommitTime [{}]", index,
+                            params.getLogName(), queue.size(), stats.getTotal(), stats.getSuccessful(), stats.getFailed(),
+                            currentBatchSize, commitTimer != null ? commitTimer.getAvg() : 0.0);
+                } else {
+                    log.info("Queue-{} [{}] queueSize [{}] totalAdded [{}] totalSaved [{}] totalFailed [{}]", index,
+                            params.getLogName(), queue.size(), stats.getTotal(), stats.getSuccessful(), stats.getFailed());
+                }
                 stats.reset();
+                if (commitTimer != null) {
+                    commitTimer.reset();
+                }
+                if (waitTimer != null) {
+                    waitTimer.reset();
+                }
             }
         }, params.getStatsPrintIntervalMs(), params.getStatsPrintIntervalMs(), TimeUnit.MILLISECONDS);
     }
@@ -134,6 +170,39 @@ public class TbSqlBlockingQueue<E, R> implements TbSqlQueue<E, R> {
         }
     }
 
+    /*
+     * Multiplicative decrease when the commit is slower than the target latency,
+     * multiplicative increase while full packs are still committed fast enough.
+     * The configured batch size is the upper bound.
+     */
+    int adjustBatchSize(int packSize, boolean fullPack, long commitTime) {
+        long targetLatency = params.getAdaptiveTargetLatencyMs();
+        int minBatchSize = Math.min(MIN_ADAPTIVE_BATCH_SIZE, params.getBatchSize());
+        if (commitTime > targetLatency) {
+            return Math.max(minBatchSize, packSize / 2);
+        } else if (fullPack && commitTime < targetLatency / 2) {
+            return (int) Math.min(params.getBatchSize(), packSize * 2L);
+        }
+        return packSize;
+    }
+
+    private void recordLatency(List<TbSqlQueueElement<E, R>> entities, long commitStartTs, long commitTime) {
+        if (commitTimer != null) {
+            commitTimer.record(commitTime);
+        }
+        if (waitTimer != null) {
+            waitTimer.record(commitStartTs - entities.get(0).getEnqueueTs());
+        }
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    public int getCurrentBatchSize() {
+        return currentBatchSize;
+    }
+
     @Override
     public ListenableFuture<R> add(E element) {
         SettableFuture<R> future = SettableFuture.create();
@@ -31,4 +31,6 @@ public class TbSqlBlockingQueueParams {
     private final String statsNamePrefix;
     private final boolean batchSortEnabled;
     private final boolean withResponse;
+    private final boolean adaptiveBatchEnabled;
+    private final long adaptiveTargetLatencyMs;
 }
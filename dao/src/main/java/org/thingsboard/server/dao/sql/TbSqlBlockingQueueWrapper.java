@@ -20,6 +20,8 @@ import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.thingsboard.server.common.stats.MessagesStats;
 import org.thingsboard.server.common.stats.StatsFactory;
+import org.thingsboard.server.common.stats.StatsTimer;
+import org.thingsboard.server.common.stats.StatsType;
 
 import java.util.Comparator;
 import java.util.List;
@@ -51,7 +53,12 @@ public class TbSqlBlockingQueueWrapper<E, R> {
     public void init(ScheduledLogExecutorComponent logExecutor, Function<List<E>, List<R>> saveFunction, Comparator<E> batchUpdateComparator, Function<List<TbSqlQueueElement<E, R>>, List<TbSqlQueueElement<E, R>>> filter) {
         for (int i = 0; i < maxThreads; i++) {
             MessagesStats stats = statsFactory.createMessagesStats(params.getStatsNamePrefix() + ".queue." + i);
-            TbSqlBlockingQueue<E, R> queue = new TbSqlBlockingQueue<>(params, stats);
+            String[] tags = {"queue", params.getStatsNamePrefix(), "index", Integer.toString(i)};
+            StatsTimer commitTimer = statsFactory.createStatsTimer(StatsType.SQL_QUEUE.getName(), "commitTime", tags);
+            StatsTimer waitTimer = statsFactory.createStatsTimer(StatsType.SQL_QUEUE.getName(), "waitTime", tags);
+            TbSqlBlockingQueue<E, R> queue = new TbSqlBlockingQueue<>(params, stats, commitTimer, waitTimer);
+            statsFactory.createGauge(StatsType.SQL_QUEUE.getName(), "queueSize", queue, TbSqlBlockingQueue::size, tags);
+            statsFactory.createGauge(StatsType.SQL_QUEUE.getName(), "batchSize", queue, TbSqlBlockingQueue::getCurrentBatchSize, tags);
             queues.add(queue);
             queue.init(logExecutor, saveFunction, batchUpdateComparator, filter, i);
         }
@@ -15,6 +15,7 @@
  */
 package org.thingsboard.server.dao.sql.alarm;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
@@ -44,6 +45,9 @@ public interface AlarmRepository extends JpaRepository<AlarmEntity, UUID> {
                                                           @Param("alarmType") String alarmType,
                                                           Pageable pageable);
 
+    @Query("SELECT a FROM AlarmEntity a WHERE a.tenantId = :tenantId AND a.cleared = FALSE AND a.id > :idOffset ORDER BY a.id")
+    List<AlarmEntity> findActiveAlarms(@Param("tenantId") UUID tenantId, @Param("idOffset") UUID idOffset, Limit limit);
+
     @Query(value = "SELECT a " +
             "FROM AlarmInfoEntity a " +
             "LEFT JOIN EntityAlarmEntity ea ON a.id = ea.alarmId " +
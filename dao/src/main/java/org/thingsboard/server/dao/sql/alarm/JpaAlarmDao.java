@@ -20,6 +20,7 @@ import com.google.common.util.concurrent.FluentFuture;
 import com.google.common.util.concurrent.ListenableFuture;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -132,6 +133,12 @@ public class JpaAlarmDao extends JpaAbstractDao<AlarmEntity, Alarm> implements A
         return service.submit(() -> findLatestByOriginatorAndType(tenantId, originator, type));
     }
 
+    @Override
+    public List<Alarm> findActiveAlarms(TenantId tenantId, AlarmId idOffset, int limit) {
+        UUID offset = idOffset != null ? idOffset.getId() : new UUID(0L, 0L);
+        return DaoUtil.convertDataList(alarmRepository.findActiveAlarms(tenantId.getId(), offset, Limit.of(limit)));
+    }
+
     @Override
     public Alarm findAlarmById(TenantId tenantId, UUID key) {
         return findById(tenantId, key);
@@ -88,6 +88,12 @@ public class JpaAttributeDao extends JpaAbstractDaoListeningExecutorService impl
     @Value("${sql.batch_sort:true}")
     private boolean batchSortEnabled;
 
+    @Value("${sql.batch_adaptive.enabled:false}")
+    private boolean adaptiveBatchEnabled;
+
+    @Value("${sql.batch_adaptive.target_latency_ms:50}")
+    private long adaptiveTargetLatencyMs;
+
     private TbSqlBlockingQueueWrapper<AttributeKvEntity, Long> queue;
 
     @PostConstruct
@@ -100,6 +106,8 @@ public class JpaAttributeDao extends JpaAbstractDaoListeningExecutorService impl
                 .statsNamePrefix("attributes")
                 .batchSortEnabled(batchSortEnabled)
                 .withResponse(true)
+                .adaptiveBatchEnabled(adaptiveBatchEnabled)
+                .adaptiveTargetLatencyMs(adaptiveTargetLatencyMs)
                 .build();
 
         Function<AttributeKvEntity, Integer> hashcodeFunction = entity -> entity.getId().getEntityId().hashCode();
@@ -62,6 +62,12 @@ public abstract class AbstractJpaCloudEventDao<E extends AbstractCloudEventEntit
     @Value("${sql.cloud_events.stats_print_interval_ms:10000}")
     private long statsPrintIntervalMs;
 
+    @Value("${sql.batch_adaptive.enabled:false}")
+    private boolean adaptiveBatchEnabled;
+
+    @Value("${sql.batch_adaptive.target_latency_ms:50}")
+    private long adaptiveTargetLatencyMs;
+
     @Value("${sql.cloud_events.partition_size:24}")
     private int partitionSizeInHours;
 
@@ -97,6 +103,8 @@ public abstract class AbstractJpaCloudEventDao<E extends AbstractCloudEventEntit
                 .statsPrintIntervalMs(statsPrintIntervalMs)
                 .statsNamePrefix(getStatsNamePrefix())
                 .batchSortEnabled(true)
+                .adaptiveBatchEnabled(adaptiveBatchEnabled)
+                .adaptiveTargetLatencyMs(adaptiveTargetLatencyMs)
                 .build();
         Function<E, Integer> hashcodeFunction = entity -> {
             if (entity.getEntityId() != null) {
@@ -83,6 +83,12 @@ public class JpaBaseEdgeEventDao extends JpaPartitionedAbstractDao<EdgeEventEnti
     @Value("${sql.edge_events.stats_print_interval_ms:10000}")
     private long statsPrintIntervalMs;
 
+    @Value("${sql.batch_adaptive.enabled:false}")
+    private boolean adaptiveBatchEnabled;
+
+    @Value("${sql.batch_adaptive.target_latency_ms:50}")
+    private long adaptiveTargetLatencyMs;
+
     @Value("${sql.edge_events.partition_size:168}")
     private int partitionSizeInHours;
 
@@ -112,6 +118,8 @@ public class JpaBaseEdgeEventDao extends JpaPartitionedAbstractDao<EdgeEventEnti
                 .statsPrintIntervalMs(statsPrintIntervalMs)
                 .statsNamePrefix("edge.events")
                 .batchSortEnabled(true)
+                .adaptiveBatchEnabled(adaptiveBatchEnabled)
+                .adaptiveTargetLatencyMs(adaptiveTargetLatencyMs)
                 .build();
         Function<EdgeEventEntity, Integer> hashcodeFunction = entity -> {
             if (entity.getEntityId() != null) {
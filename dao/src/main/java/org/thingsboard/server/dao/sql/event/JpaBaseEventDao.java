@@ -90,6 +90,12 @@ public class JpaBaseEventDao implements EventDao {
     @Value("${sql.batch_sort:true}")
     private boolean batchSortEnabled;
 
+    @Value("${sql.batch_adaptive.enabled:false}")
+    private boolean adaptiveBatchEnabled;
+
+    @Value("${sql.batch_adaptive.target_latency_ms:50}")
+    private long adaptiveTargetLatencyMs;
+
     private TbSqlBlockingQueueWrapper<Event, Void> queue;
 
     private final Map<EventType, EventRepository<?, ?>> repositories = new ConcurrentHashMap<>();
@@ -103,6 +109,8 @@ public class JpaBaseEventDao implements EventDao {
                 .statsPrintIntervalMs(statsPrintIntervalMs)
                 .statsNamePrefix("events")
                 .batchSortEnabled(batchSortEnabled)
+                .adaptiveBatchEnabled(adaptiveBatchEnabled)
+                .adaptiveTargetLatencyMs(adaptiveTargetLatencyMs)
                 .build();
         Function<Event, Integer> hashcodeFunction = entity -> Objects.hash(super.hashCode(), entity.getTenantId(), entity.getEntityId());
         queue = new TbSqlBlockingQueueWrapper<>(params, hashcodeFunction, batchThreads, statsFactory);
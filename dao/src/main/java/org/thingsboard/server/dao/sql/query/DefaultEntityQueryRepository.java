@@ -17,6 +17,7 @@ package org.thingsboard.server.dao.sql.query;
 
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
@@ -53,14 +54,18 @@ import org.thingsboard.server.common.data.query.RelationsQueryFilter;
 import org.thingsboard.server.common.data.query.SingleEntityFilter;
 import org.thingsboard.server.common.data.relation.EntitySearchDirection;
 import org.thingsboard.server.common.data.relation.RelationEntityTypeFilter;
+import org.thingsboard.server.dao.sql.relation.RelationGraphIndex;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.BiPredicate;
 import java.util.stream.Collectors;
 
 @Repository
@@ -322,10 +327,16 @@ public class DefaultEntityQueryRepository implements EntityQueryRepository {
     @Value("${sql.relations.max_level:50}")
     int maxLevelAllowed; //This value has to be reasonable small to prevent infinite recursion as early as possible
 
+    @Value("${sql.relations.graph_index.max_ids:10000}")
+    int relationGraphIndexMaxIds;
+
     private final NamedParameterJdbcTemplate jdbcTemplate;
     private final TransactionTemplate transactionTemplate;
     private final DefaultQueryLogComponent queryLog;
 
+    @Autowired(required = false)
+    private RelationGraphIndex relationGraphIndex;
+
     public DefaultEntityQueryRepository(NamedParameterJdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, DefaultQueryLogComponent queryLog) {
         this.jdbcTemplate = jdbcTemplate;
         this.transactionTemplate = transactionTemplate;
@@ -697,6 +708,13 @@ public class DefaultEntityQueryRepository implements EntityQueryRepository {
         * FIXME:
         *  target entities are duplicated in result list, if search direction is TO and multiple relations are references to target entity
         * */
+        if (relationGraphIndex != null && relationGraphIndex.isReady() && !entityFilter.isMultiRoot() && !entityFilter.isFetchLastLevelOnly()) {
+            Map<EntityId, Integer> related = relationGraphIndex.findRelated(rootId, entityFilter.getDirection(),
+                    getMaxLevel(entityFilter.getMaxLevel()), buildRelationPredicate(entityFilter));
+            if (related.size() <= relationGraphIndexMaxIds) {
+                return "( " + selectFields + indexedRelationsTable(ctx, related) + ")";
+            }
+        }
         String from = getQueryTemplate(entityFilter.getDirection(), entityFilter.isMultiRoot());
 
         if (entityFilter.isMultiRoot()) {
@@ -768,6 +786,51 @@ public class DefaultEntityQueryRepository implements EntityQueryRepository {
         return "( " + selectFields + from + ")";
     }
 
+    private String indexedRelationsTable(SqlQueryContext ctx, Map<EntityId, Integer> related) {
+        if (related.isEmpty()) {
+            return " FROM (SELECT NULL::uuid entity_id, NULL::varchar entity_type, 0 lvl WHERE false) entity";
+        }
+        Map<EntityType, Map<Integer, List<UUID>>> grouped = new TreeMap<>();
+        related.forEach((entityId, lvl) -> grouped.computeIfAbsent(entityId.getEntityType(), type -> new TreeMap<>())
+                .computeIfAbsent(lvl, l -> new ArrayList<>()).add(entityId.getId()));
+        StringBuilder table = new StringBuilder(" FROM (");
+        int idx = 0;
+        for (Map.Entry<EntityType, Map<Integer, List<UUID>>> typeEntry : grouped.entrySet()) {
+            for (Map.Entry<Integer, List<UUID>> lvlEntry : typeEntry.getValue().entrySet()) {
+                if (idx > 0) {
+                    table.append(" UNION ALL ");
+                }
+                String paramName = "relation_index_ids" + idx++;
+                ctx.addUuidListParameter(paramName, lvlEntry.getValue());
+                table.append("SELECT unnest(ARRAY[:").append(paramName).append("]::uuid[]) entity_id, '")
+                        .append(typeEntry.getKey().name()).append("' entity_type, ")
+                        .append(lvlEntry.getKey()).append(" lvl");
+            }
+        }
+        return table.append(") entity").toString();
+    }
+
+    private BiPredicate<String, EntityType> buildRelationPredicate(RelationsQueryFilter entityFilter) {
+        List<BiPredicate<String, EntityType>> conditions = new ArrayList<>();
+        if (entityFilter.getFilters() != null) {
+            for (RelationEntityTypeFilter etf : entityFilter.getFilters()) {
+                String relationType = etf.getRelationType();
+                boolean hasRelationType = !StringUtils.isEmpty(relationType);
+                boolean hasEntityTypes = etf.getEntityTypes() != null && !etf.getEntityTypes().isEmpty();
+                if (hasRelationType || hasEntityTypes) {
+                    conditions.add((type, entityType) -> (!hasRelationType || etf.isNegate() != relationType.equals(type))
+                            && (!hasEntityTypes || etf.getEntityTypes().contains(entityType)));
+                }
+            }
+        }
+        if (conditions.isEmpty()) {
+            List<EntityType> defaultTypes = Arrays.asList(RELATION_QUERY_ENTITY_TYPES);
+            return (type, entityType) -> defaultTypes.contains(entityType);
+        }
+        boolean negate = entityFilter.isNegate();
+        return (type, entityType) -> negate != conditions.stream().anyMatch(condition -> condition.test(type, entityType));
+    }
+
     private String buildEtfCondition(SqlQueryContext ctx, RelationEntityTypeFilter etf, EntitySearchDirection direction, int entityTypeFilterIdx) {
         StringBuilder whereFilter = new StringBuilder();
         String relationType = etf.getRelationType();
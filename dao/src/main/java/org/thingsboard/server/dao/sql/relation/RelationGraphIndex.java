@@ -0,0 +1,213 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.dao.sql.relation;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.thingsboard.common.util.ThingsBoardThreadFactory;
+import org.thingsboard.server.common.data.EntityType;
+import org.thingsboard.server.common.data.audit.ActionType;
+import org.thingsboard.server.common.data.id.EntityId;
+import org.thingsboard.server.common.data.id.EntityIdFactory;
+import org.thingsboard.server.common.data.relation.EntityRelation;
+import org.thingsboard.server.common.data.relation.EntitySearchDirection;
+import org.thingsboard.server.common.data.relation.RelationTypeGroup;
+import org.thingsboard.server.dao.eventsourcing.RelationActionEvent;
+import org.thingsboard.server.dao.model.sql.RelationEntity;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiPredicate;
+
+/**
+ * In-memory adjacency index of COMMON relations, used to resolve recursive relation queries
+ * without the recursive CTE. The index is loaded once on startup and kept in sync via
+ * {@link RelationActionEvent}s, so it is only consistent for single-node deployments
+ * where all relation changes go through the local relation service.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "sql.relations.graph_index", value = "enabled", havingValue = "true")
+public class RelationGraphIndex {
+
+    private static final UUID NULL_UUID = UUID.fromString("00000000-0000-0000-0000-000000000000");
+
+    private final RelationRepository relationRepository;
+
+    @Value("${sql.relations.graph_index.load_batch_size:10000}")
+    private int loadBatchSize;
+
+    private final Map<EntityId, Set<Edge>> outbound = new ConcurrentHashMap<>();
+    private final Map<EntityId, Set<Edge>> inbound = new ConcurrentHashMap<>();
+    private final Set<RelationKey> deletedDuringLoad = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean loading;
+    private volatile boolean ready;
+    private ExecutorService loadExecutor;
+
+    public RelationGraphIndex(RelationRepository relationRepository) {
+        this.relationRepository = relationRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        loadExecutor = Executors.newSingleThreadExecutor(ThingsBoardThreadFactory.forName("relation-graph-index"));
+        loadExecutor.submit(this::load);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (loadExecutor != null) {
+            loadExecutor.shutdownNow();
+        }
+    }
+
+    void load() {
+        log.info("Loading relation graph index");
+        long ts = System.currentTimeMillis();
+        loading = true;
+        UUID lastFromEntityId = NULL_UUID;
+        String lastFromEntityType = "";
+        String lastRelationTypeGroup = "";
+        String lastRelationType = "";
+        UUID lastToEntityId = NULL_UUID;
+        String lastToEntityType = "";
+        long count = 0;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                List<RelationEntity> batch = relationRepository.findNextBatch(lastFromEntityId, lastFromEntityType, lastRelationTypeGroup,
+                        lastRelationType, lastToEntityId, lastToEntityType, loadBatchSize);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (RelationEntity relation : batch) {
+                    if (RelationTypeGroup.COMMON.name().equals(relation.getRelationTypeGroup())) {
+                        EntityId from = EntityIdFactory.getByTypeAndUuid(relation.getFromType(), relation.getFromId());
+                        EntityId to = EntityIdFactory.getByTypeAndUuid(relation.getToType(), relation.getToId());
+                        if (!deletedDuringLoad.contains(new RelationKey(from, to, relation.getRelationType()))) {
+                            add(from, to, relation.getRelationType());
+                            count++;
+                        }
+                    }
+                }
+                RelationEntity lastRecord = batch.get(batch.size() - 1);
+                lastFromEntityId = lastRecord.getFromId();
+                lastFromEntityType = lastRecord.getFromType();
+                lastRelationTypeGroup = lastRecord.getRelationTypeGroup();
+                lastRelationType = lastRecord.getRelationType();
+                lastToEntityId = lastRecord.getToId();
+                lastToEntityType = lastRecord.getToType();
+            }
+            ready = true;
+            log.info("Loaded {} relations into relation graph index in {} ms", count, System.currentTimeMillis() - ts);
+        } catch (Exception e) {
+            log.error("Failed to load relation graph index, recursive relation queries will use SQL", e);
+        } finally {
+            loading = false;
+            deletedDuringLoad.clear();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleEvent(RelationActionEvent event) {
+        EntityRelation relation = event.getRelation();
+        if (relation == null || !RelationTypeGroup.COMMON.equals(relation.getTypeGroup())) {
+            return;
+        }
+        if (ActionType.RELATION_ADD_OR_UPDATE.equals(event.getActionType())) {
+            add(relation.getFrom(), relation.getTo(), relation.getType());
+        } else if (ActionType.RELATION_DELETED.equals(event.getActionType())) {
+            if (loading) {
+                deletedDuringLoad.add(new RelationKey(relation.getFrom(), relation.getTo(), relation.getType()));
+            }
+            remove(relation.getFrom(), relation.getTo(), relation.getType());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Resolves entities related to the root within the given number of levels, following the semantics of the
+     * recursive relation query: traversal walks any COMMON relation, while the filter is applied to the relation
+     * that leads to the resulting entity.
+     *
+     * @return related entities mapped to the lowest level they were found at, in discovery order
+     */
+    public Map<EntityId, Integer> findRelated(EntityId root, EntitySearchDirection direction, int maxLevel,
+                                              BiPredicate<String, EntityType> filter) {
+        Map<EntityId, Set<Edge>> adjacency = EntitySearchDirection.FROM.equals(direction) ? outbound : inbound;
+        Map<EntityId, Integer> result = new LinkedHashMap<>();
+        Map<EntityId, Integer> visited = new HashMap<>();
+        Queue<EntityId> queue = new ArrayDeque<>();
+        visited.put(root, 0);
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            EntityId current = queue.poll();
+            int lvl = visited.get(current) + 1;
+            for (Edge edge : adjacency.getOrDefault(current, Collections.emptySet())) {
+                EntityId target = edge.entityId();
+                if (!result.containsKey(target) && filter.test(edge.relationType(), target.getEntityType())) {
+                    result.put(target, lvl);
+                }
+                if (lvl < maxLevel && !visited.containsKey(target)) {
+                    visited.put(target, lvl);
+                    queue.add(target);
+                }
+            }
+        }
+        return result;
+    }
+
+    void add(EntityId from, EntityId to, String relationType) {
+        outbound.computeIfAbsent(from, id -> ConcurrentHashMap.newKeySet()).add(new Edge(to, relationType));
+        inbound.computeIfAbsent(to, id -> ConcurrentHashMap.newKeySet()).add(new Edge(from, relationType));
+    }
+
+    void remove(EntityId from, EntityId to, String relationType) {
+        removeEdge(outbound, from, new Edge(to, relationType));
+        removeEdge(inbound, to, new Edge(from, relationType));
+    }
+
+    private static void removeEdge(Map<EntityId, Set<Edge>> adjacency, EntityId key, Edge edge) {
+        adjacency.computeIfPresent(key, (id, edges) -> {
+            edges.remove(edge);
+            return edges.isEmpty() ? null : edges;
+        });
+    }
+
+    private record Edge(EntityId entityId, String relationType) {}
+
+    private record RelationKey(EntityId from, EntityId to, String relationType) {}
+
+}
@@ -17,6 +17,7 @@ package org.thingsboard.server.dao.sqlts;
 
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
@@ -44,11 +45,16 @@ import org.thingsboard.server.dao.timeseries.TimeseriesDao;
 import org.thingsboard.server.dao.util.TimeUtils;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @SuppressWarnings("UnstableApiUsage")
 @Slf4j
@@ -76,6 +82,8 @@ public abstract class AbstractChunkedAggregationTimeseriesDao extends AbstractSq
                 .statsPrintIntervalMs(tsStatsPrintIntervalMs)
                 .statsNamePrefix("ts")
                 .batchSortEnabled(batchSortEnabled)
+                .adaptiveBatchEnabled(adaptiveBatchEnabled)
+                .adaptiveTargetLatencyMs(adaptiveTargetLatencyMs)
                 .build();
 
         Function<TsKvEntity, Integer> hashcodeFunction = entity -> entity.getEntityId().hashCode();
@@ -106,6 +114,18 @@ public abstract class AbstractChunkedAggregationTimeseriesDao extends AbstractSq
         });
     }
 
+    @Override
+    public ListenableFuture<Void> remove(TenantId tenantId, Collection<EntityId> entityIds, DeleteTsKvQuery query) {
+        return service.submit(() -> {
+            tsKvRepository.deleteAllByEntityIds(
+                    entityIds.stream().map(EntityId::getId).collect(Collectors.toList()),
+                    keyDictionaryDao.getOrSaveKeyId(query.getKey()),
+                    query.getStartTs(),
+                    query.getEndTs());
+            return null;
+        });
+    }
+
     @Override
     public ListenableFuture<Integer> savePartition(TenantId tenantId, EntityId entityId, long tsKvEntryTs, String key) {
         return Futures.immediateFuture(null);
@@ -116,6 +136,34 @@ public abstract class AbstractChunkedAggregationTimeseriesDao extends AbstractSq
         return processFindAllAsync(tenantId, entityId, queries);
     }
 
+    /**
+     * Not aggregated queries are executed with a single DB query per key for all the entities,
+     * aggregated queries are executed for each of the entities separately.
+     */
+    @Override
+    public ListenableFuture<Map<EntityId, List<ReadTsKvQueryResult>>> findAllAsync(TenantId tenantId, Collection<EntityId> entityIds, List<ReadTsKvQuery> queries) {
+        if (!queries.stream().allMatch(this::isNotAggregated)) {
+            return TimeseriesDao.super.findAllAsync(tenantId, entityIds, queries);
+        }
+        List<ListenableFuture<Map<UUID, ReadTsKvQueryResult>>> futures = new ArrayList<>(queries.size());
+        for (ReadTsKvQuery query : queries) {
+            futures.add(service.submit(() -> findAllWithLimit(entityIds, query)));
+        }
+        return Futures.transform(Futures.allAsList(futures), results -> {
+            Map<EntityId, List<ReadTsKvQueryResult>> result = new LinkedHashMap<>();
+            for (EntityId entityId : entityIds) {
+                List<ReadTsKvQueryResult> entityResults = new ArrayList<>(queries.size());
+                for (int i = 0; i < queries.size(); i++) {
+                    ReadTsKvQueryResult queryResult = results.get(i).get(entityId.getId());
+                    entityResults.add(queryResult != null ? queryResult :
+                            new ReadTsKvQueryResult(queries.get(i).getId(), new ArrayList<>(), queries.get(i).getStartTs()));
+                }
+                result.put(entityId, entityResults);
+            }
+            return result;
+        }, MoreExecutors.directExecutor());
+    }
+
     @Override
     public ListenableFuture<ReadTsKvQueryResult> findAllAsync(TenantId tenantId, EntityId entityId, ReadTsKvQuery query) {
         var aggParams = query.getAggParameters();
@@ -158,6 +206,30 @@ public abstract class AbstractChunkedAggregationTimeseriesDao extends AbstractSq
         return new ReadTsKvQueryResult(query.getId(), tsKvEntries, lastTs);
     }
 
+    Map<UUID, ReadTsKvQueryResult> findAllWithLimit(Collection<EntityId> entityIds, ReadTsKvQuery query) {
+        Integer keyId = keyDictionaryDao.getOrSaveKeyId(query.getKey());
+        List<UUID> entityUuids = entityIds.stream().map(EntityId::getId).distinct().toList();
+        List<TsKvEntity> tsKvEntities = Direction.fromString(query.getOrder()).isAscending() ?
+                tsKvRepository.findAllWithLimitAsc(entityUuids, keyId, query.getStartTs(), query.getEndTs(), query.getLimit()) :
+                tsKvRepository.findAllWithLimitDesc(entityUuids, keyId, query.getStartTs(), query.getEndTs(), query.getLimit());
+        Map<UUID, List<TsKvEntry>> entriesByEntity = new HashMap<>();
+        for (TsKvEntity tsKvEntity : tsKvEntities) {
+            tsKvEntity.setStrKey(query.getKey());
+            entriesByEntity.computeIfAbsent(tsKvEntity.getEntityId(), id -> new ArrayList<>()).add(tsKvEntity.toData());
+        }
+        Map<UUID, ReadTsKvQueryResult> result = new HashMap<>();
+        entriesByEntity.forEach((entityId, tsKvEntries) -> {
+            long lastTs = tsKvEntries.stream().map(TsKvEntry::getTs).max(Long::compare).orElse(query.getStartTs());
+            result.put(entityId, new ReadTsKvQueryResult(query.getId(), tsKvEntries, lastTs));
+        });
+        return result;
+    }
+
+    private boolean isNotAggregated(ReadTsKvQuery query) {
+        var aggParams = query.getAggParameters();
+        return Aggregation.NONE.equals(aggParams.getAggregation()) || aggParams.getInterval() < 1;
+    }
+
     ListenableFuture<Optional<TsKvEntity>> findAndAggregateAsync(EntityId entityId, String key, long startTs, long endTs, long ts, Aggregation aggregation) {
         return service.submit(() -> {
             TsKvEntity entity = switchAggregation(entityId, key, startTs, endTs, aggregation);
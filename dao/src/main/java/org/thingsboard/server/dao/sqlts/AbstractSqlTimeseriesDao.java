@@ -65,10 +65,30 @@ public abstract class AbstractSqlTimeseriesDao extends BaseAbstractSqlTimeseries
     @Value("${sql.batch_sort:true}")
     protected boolean batchSortEnabled;
 
+    @Value("${sql.batch_adaptive.enabled:false}")
+    protected boolean adaptiveBatchEnabled;
+
+    @Value("${sql.batch_adaptive.target_latency_ms:50}")
+    protected long adaptiveTargetLatencyMs;
+
     @Value("${sql.ttl.ts.ts_key_value_ttl:0}")
     private long systemTtl;
 
+    @Value("${sql.ttl.ts.chunked.enabled:true}")
+    private boolean chunkedTtlCleanupEnabled;
+
+    @Autowired
+    private SqlTimeseriesTtlCleaner ttlCleaner;
+
     public void cleanup(long systemTtl) {
+        if (chunkedTtlCleanupEnabled) {
+            try {
+                ttlCleaner.cleanup(systemTtl);
+            } catch (Exception e) {
+                log.error("Exception occurred during chunked timeseries TTL task execution ", e);
+            }
+            return;
+        }
         log.info("Going to cleanup old timeseries data using ttl: {}s", systemTtl);
         try (Connection connection = dataSource.getConnection();
              PreparedStatement stmt = connection.prepareStatement("call cleanup_timeseries_by_ttl(?,?,?)")) {
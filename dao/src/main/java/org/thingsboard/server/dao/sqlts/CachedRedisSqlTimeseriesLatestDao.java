@@ -40,8 +40,17 @@ import org.thingsboard.server.dao.timeseries.TimeseriesLatestDao;
 import org.thingsboard.server.dao.timeseries.TsLatestCacheKey;
 import org.thingsboard.server.dao.util.SqlTsLatestAnyDaoCachedRedis;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 @Slf4j
 @Component
@@ -132,6 +141,84 @@ public class CachedRedisSqlTimeseriesLatestDao extends BaseAbstractSqlTimeseries
         return Futures.transform(doFindLatest(tenantId, entityId, key), x -> sqlDao.wrapNullTsKvEntry(key, x.orElse(null)), MoreExecutors.directExecutor());
     }
 
+    @Override
+    public ListenableFuture<List<TsKvEntry>> findLatest(TenantId tenantId, EntityId entityId, Collection<String> keys) {
+        if (keys.size() <= 1) {
+            return TimeseriesLatestDao.super.findLatest(tenantId, entityId, keys);
+        }
+        List<TsLatestCacheKey> cacheKeys = keys.stream().map(key -> new TsLatestCacheKey(entityId, key)).toList();
+        ListenableFuture<Map<TsLatestCacheKey, TbCacheValueWrapper<TsKvEntry>>> cacheFuture = cacheExecutorService.submit(() -> cache.getAll(cacheKeys));
+
+        return Futures.transformAsync(cacheFuture, cachedValues -> {
+            List<ListenableFuture<TsKvEntry>> futures = new ArrayList<>(cacheKeys.size());
+            for (TsLatestCacheKey cacheKey : cacheKeys) {
+                String key = cacheKey.getKey();
+                TbCacheValueWrapper<TsKvEntry> cacheValueWrap = cachedValues.get(cacheKey);
+                if (cacheValueWrap != null) {
+                    log.debug("findLatest cache hit [{}][{}]", entityId, key);
+                    futures.add(Futures.immediateFuture(sqlDao.wrapNullTsKvEntry(key, cacheValueWrap.get())));
+                    continue;
+                }
+                log.debug("findLatest cache miss [{}][{}]", entityId, key);
+                futures.add(Futures.transform(sqlDao.findLatestOpt(tenantId, entityId, key), daoValue -> {
+                    cache.fill(cacheKey, daoValue.orElse(null));
+                    return sqlDao.wrapNullTsKvEntry(key, daoValue.orElse(null));
+                }, MoreExecutors.directExecutor()));
+            }
+            return Futures.allAsList(futures);
+        }, MoreExecutors.directExecutor());
+    }
+
+    @Override
+    public ListenableFuture<Map<EntityId, List<TsKvEntry>>> findLatest(TenantId tenantId, Collection<EntityId> entityIds, Collection<String> keys) {
+        List<TsLatestCacheKey> cacheKeys = new ArrayList<>(entityIds.size() * keys.size());
+        for (EntityId entityId : entityIds) {
+            for (String key : keys) {
+                cacheKeys.add(new TsLatestCacheKey(entityId, key));
+            }
+        }
+        ListenableFuture<Map<TsLatestCacheKey, TbCacheValueWrapper<TsKvEntry>>> cacheFuture = cacheExecutorService.submit(() -> cache.getAll(cacheKeys));
+
+        return Futures.transformAsync(cacheFuture, cachedValues -> {
+            Set<EntityId> missedEntityIds = new LinkedHashSet<>();
+            Set<String> missedKeys = new LinkedHashSet<>();
+            int misses = 0;
+            for (TsLatestCacheKey cacheKey : cacheKeys) {
+                if (cachedValues.get(cacheKey) == null) {
+                    missedEntityIds.add(cacheKey.getEntityId());
+                    missedKeys.add(cacheKey.getKey());
+                    misses++;
+                }
+            }
+            log.debug("findLatest cache misses [{}] of [{}]", misses, cacheKeys.size());
+            if (missedEntityIds.isEmpty()) {
+                return Futures.immediateFuture(toLatestByEntity(cacheKeys, cachedValues, Collections.emptyMap(), keys.size()));
+            }
+            // all the cache misses are fetched from the DB with a single query, DB call should run in DB executor
+            ListenableFuture<Map<UUID, Map<String, TsKvEntry>>> daoFuture = service.submit(() -> sqlDao.doFindLatestSync(missedEntityIds, missedKeys));
+            return Futures.transform(daoFuture, daoValues -> toLatestByEntity(cacheKeys, cachedValues, daoValues, keys.size()), cacheExecutorService);
+        }, MoreExecutors.directExecutor());
+    }
+
+    private Map<EntityId, List<TsKvEntry>> toLatestByEntity(List<TsLatestCacheKey> cacheKeys, Map<TsLatestCacheKey, TbCacheValueWrapper<TsKvEntry>> cachedValues,
+                                                            Map<UUID, Map<String, TsKvEntry>> daoValues, int keysCount) {
+        Map<EntityId, List<TsKvEntry>> result = new LinkedHashMap<>();
+        Map<TsLatestCacheKey, TsKvEntry> missedValues = new HashMap<>();
+        for (TsLatestCacheKey cacheKey : cacheKeys) {
+            TbCacheValueWrapper<TsKvEntry> cacheValueWrap = cachedValues.get(cacheKey);
+            TsKvEntry value;
+            if (cacheValueWrap != null) {
+                value = cacheValueWrap.get();
+            } else {
+                value = daoValues.getOrDefault(cacheKey.getEntityId().getId(), Collections.emptyMap()).get(cacheKey.getKey());
+                missedValues.put(cacheKey, value);
+            }
+            result.computeIfAbsent(cacheKey.getEntityId(), id -> new ArrayList<>(keysCount)).add(sqlDao.wrapNullTsKvEntry(cacheKey.getKey(), value));
+        }
+        cache.fillAll(missedValues);
+        return result;
+    }
+
     public ListenableFuture<Optional<TsKvEntry>> doFindLatest(TenantId tenantId, EntityId entityId, String key) {
         final TsLatestCacheKey cacheKey = new TsLatestCacheKey(entityId, key);
         ListenableFuture<TbCacheValueWrapper<TsKvEntry>> cacheFuture = cacheExecutorService.submit(() -> cache.get(cacheKey));
@@ -146,7 +233,7 @@ public class CachedRedisSqlTimeseriesLatestDao extends BaseAbstractSqlTimeseries
             ListenableFuture<Optional<TsKvEntry>> daoFuture = sqlDao.findLatestOpt(tenantId, entityId, key);
 
             return Futures.transform(daoFuture, daoValue -> {
-                cache.put(cacheKey, daoValue.orElse(null));
+                cache.fill(cacheKey, daoValue.orElse(null));
                 return daoValue;
             }, MoreExecutors.directExecutor());
         }, MoreExecutors.directExecutor());
@@ -57,8 +57,11 @@ import org.thingsboard.server.dao.timeseries.TimeseriesLatestDao;
 import org.thingsboard.server.dao.util.SqlTsLatestAnyDao;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -102,6 +105,12 @@ public class SqlTimeseriesLatestDao extends BaseAbstractSqlTimeseriesDao impleme
     @Value("${sql.batch_sort:true}")
     protected boolean batchSortEnabled;
 
+    @Value("${sql.batch_adaptive.enabled:false}")
+    protected boolean adaptiveBatchEnabled;
+
+    @Value("${sql.batch_adaptive.target_latency_ms:50}")
+    protected long adaptiveTargetLatencyMs;
+
     @Autowired
     protected ScheduledLogExecutorComponent logExecutor;
 
@@ -121,6 +130,8 @@ public class SqlTimeseriesLatestDao extends BaseAbstractSqlTimeseriesDao impleme
                 .statsNamePrefix("ts.latest")
                 .batchSortEnabled(batchSortEnabled)
                 .withResponse(true)
+                .adaptiveBatchEnabled(adaptiveBatchEnabled)
+                .adaptiveTargetLatencyMs(adaptiveTargetLatencyMs)
                 .build();
 
         java.util.function.Function<TsKvLatestEntity, Integer> hashcodeFunction = entity -> entity.getEntityId().hashCode();
@@ -169,6 +180,20 @@ public class SqlTimeseriesLatestDao extends BaseAbstractSqlTimeseriesDao impleme
         return service.submit(() -> wrapNullTsKvEntry(key, doFindLatestSync(entityId, key)));
     }
 
+    @Override
+    public ListenableFuture<Map<EntityId, List<TsKvEntry>>> findLatest(TenantId tenantId, Collection<EntityId> entityIds, Collection<String> keys) {
+        log.trace("findLatest [{}][{}][{}]", tenantId, entityIds, keys);
+        return service.submit(() -> {
+            Map<UUID, Map<String, TsKvEntry>> latest = doFindLatestSync(entityIds, keys);
+            Map<EntityId, List<TsKvEntry>> result = new LinkedHashMap<>();
+            for (EntityId entityId : entityIds) {
+                Map<String, TsKvEntry> entityLatest = latest.getOrDefault(entityId.getId(), Collections.emptyMap());
+                result.put(entityId, keys.stream().map(key -> wrapNullTsKvEntry(key, entityLatest.get(key))).toList());
+            }
+            return result;
+        });
+    }
+
     @Override
     public ListenableFuture<List<TsKvEntry>> findAllLatest(TenantId tenantId, EntityId entityId) {
         return getFindAllLatestFuture(entityId);
@@ -226,6 +251,23 @@ public class SqlTimeseriesLatestDao extends BaseAbstractSqlTimeseriesDao impleme
         }
     }
 
+    /**
+     * Fetches the latest values of the keys for all the entities with a single query. Absent values are not included in the result
+     */
+    protected Map<UUID, Map<String, TsKvEntry>> doFindLatestSync(Collection<EntityId> entityIds, Collection<String> keys) {
+        Map<Integer, String> keysById = new HashMap<>();
+        for (String key : keys) {
+            keysById.put(keyDictionaryDao.getOrSaveKeyId(key), key);
+        }
+        List<UUID> entityUuids = entityIds.stream().map(EntityId::getId).distinct().toList();
+        Map<UUID, Map<String, TsKvEntry>> result = new HashMap<>();
+        for (TsKvLatestEntity entity : tsKvLatestRepository.findAllByEntityIdsAndKeys(entityUuids, keysById.keySet())) {
+            entity.setStrKey(keysById.get(entity.getKey()));
+            result.computeIfAbsent(entity.getEntityId(), id -> new HashMap<>()).put(entity.getStrKey(), DaoUtil.getData(entity));
+        }
+        return result;
+    }
+
     protected ListenableFuture<TsKvLatestRemovingResult> getRemoveLatestFuture(TenantId tenantId, EntityId entityId, DeleteTsKvQuery query) {
         ListenableFuture<TsKvEntry> latestFuture = service.submit(() -> doFindLatestSync(entityId, query.getKey()));
         return Futures.transformAsync(latestFuture, latest -> {
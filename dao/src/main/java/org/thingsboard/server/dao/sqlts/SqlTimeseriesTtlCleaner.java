@@ -0,0 +1,302 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.dao.sqlts;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.thingsboard.common.util.JacksonUtil;
+import org.thingsboard.server.common.data.AdminSettings;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.stats.DefaultCounter;
+import org.thingsboard.server.common.stats.StatsFactory;
+import org.thingsboard.server.dao.model.ModelConstants;
+import org.thingsboard.server.dao.settings.AdminSettingsDao;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Removes expired telemetry from the ts_kv table in small, independently committed chunks.
+ * <p>
+ * Follows the same rules as the cleanup_timeseries_by_ttl procedure: the TTL of a tenant or customer is taken from its 'TTL'
+ * attribute and falls back to the system TTL, and telemetry of devices, assets and customers is removed.
+ * Each run is limited by execution time and by the number of removed rows.
+ * When the budget is exhausted, the position is saved to the admin settings and the next run continues from it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SqlTimeseriesTtlCleaner {
+
+    public static final String PROGRESS_SETTINGS_KEY = "tsTtlCleanupProgress";
+    private static final String STATS_NAME = "ts_ttl_cleanup";
+    private static final String TTL_ATTRIBUTE_KEY = "TTL";
+    // the smallest uuid in the PostgreSQL ordering, the keyset walk starts right after it
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+
+    private static final String SELECT_TTL_ATTRIBUTES = "SELECT entity_id, long_v FROM attribute_kv " +
+            "WHERE attribute_key = (SELECT key_id FROM key_dictionary WHERE key = ?) AND long_v IS NOT NULL";
+    private static final String SELECT_TENANTS = "SELECT id FROM tenant";
+    private static final String SELECT_CUSTOMERS = "SELECT id, tenant_id FROM customer";
+    private static final String DELETE_EXPIRED = "DELETE FROM ts_kv WHERE (entity_id, key, ts) IN " +
+            "(SELECT entity_id, key, ts FROM ts_kv WHERE entity_id = ANY (?) AND ts < ? LIMIT ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AdminSettingsDao adminSettingsDao;
+    private final StatsFactory statsFactory;
+
+    @Value("${sql.ttl.ts.chunked.entities_batch_size:100}")
+    private int entitiesBatchSize;
+
+    @Value("${sql.ttl.ts.chunked.delete_batch_size:10000}")
+    private int deleteBatchSize;
+
+    @Value("${sql.ttl.ts.chunked.max_execution_time_ms:600000}")
+    private long maxExecutionTimeMs;
+
+    @Value("${sql.ttl.ts.chunked.max_rows_per_run:0}")
+    private long maxRowsPerRun;
+
+    @Value("${sql.ttl.ts.chunked.pause_between_batches_ms:0}")
+    private long pauseBetweenBatchesMs;
+
+    private DefaultCounter removedRowsCounter;
+    private DefaultCounter deleteBatchesCounter;
+    private DefaultCounter completedRunsCounter;
+    private DefaultCounter interruptedRunsCounter;
+
+    @PostConstruct
+    public void init() {
+        this.removedRowsCounter = statsFactory.createDefaultCounter(STATS_NAME, "name", "removedRows");
+        this.deleteBatchesCounter = statsFactory.createDefaultCounter(STATS_NAME, "name", "deleteBatches");
+        this.completedRunsCounter = statsFactory.createDefaultCounter(STATS_NAME, "name", "completedRuns");
+        this.interruptedRunsCounter = statsFactory.createDefaultCounter(STATS_NAME, "name", "interruptedRuns");
+    }
+
+    /**
+     * Runs one budgeted cleanup pass and returns the number of removed rows.
+     */
+    public long cleanup(long systemTtl) {
+        long startTs = System.currentTimeMillis();
+        CleanupRun run = new CleanupRun(startTs, loadProgress());
+        log.info("Going to cleanup old timeseries data in chunks using ttl: {}s, starting from {}", systemTtl, run.progress);
+
+        Map<UUID, Long> expirationTimes = resolveExpirationTimes(systemTtl, startTs);
+        boolean completed = true;
+        for (TtlEntityType entityType : TtlEntityType.values()) {
+            if (entityType.ordinal() < run.progress.getEntityType().ordinal()) {
+                continue;
+            }
+            if (!cleanup(run, entityType, expirationTimes)) {
+                completed = false;
+                break;
+            }
+        }
+
+        if (completed) {
+            adminSettingsDao.removeByTenantIdAndKey(TenantId.SYS_TENANT_ID.getId(), PROGRESS_SETTINGS_KEY);
+            completedRunsCounter.increment();
+            log.info("Total telemetry removed by TTL: [{}] in {} ms", run.removed, System.currentTimeMillis() - startTs);
+        } else {
+            saveProgress(run.progress);
+            interruptedRunsCounter.increment();
+            log.info("Removed [{}] telemetry records by TTL in {} ms, the budget is exhausted. The next run will continue from {}",
+                    run.removed, System.currentTimeMillis() - startTs, run.progress);
+        }
+        return run.removed;
+    }
+
+    private boolean cleanup(CleanupRun run, TtlEntityType entityType, Map<UUID, Long> expirationTimes) {
+        UUID idOffset = entityType == run.progress.getEntityType() && run.progress.getIdOffset() != null ?
+                run.progress.getIdOffset() : MIN_ID;
+        while (true) {
+            List<UUID[]> entities = jdbcTemplate.query(entityType.query, (rs, rowNum) -> new UUID[]{
+                    rs.getObject(1, UUID.class), rs.getObject(2, UUID.class)
+            }, idOffset, entitiesBatchSize);
+            if (entities.isEmpty()) {
+                return true;
+            }
+            Map<Long, List<UUID>> entitiesByExpirationTime = new LinkedHashMap<>();
+            for (UUID[] entity : entities) {
+                Long expirationTime = expirationTimes.get(entity[1]);
+                if (expirationTime != null) {
+                    entitiesByExpirationTime.computeIfAbsent(expirationTime, ts -> new ArrayList<>()).add(entity[0]);
+                }
+            }
+            for (Map.Entry<Long, List<UUID>> entry : entitiesByExpirationTime.entrySet()) {
+                if (!deleteExpired(run, entry.getValue(), entry.getKey())) {
+                    run.progress = new CleanupProgress(entityType, idOffset);
+                    return false;
+                }
+            }
+            idOffset = entities.get(entities.size() - 1)[0];
+            run.progress = new CleanupProgress(entityType, idOffset);
+            if (entities.size() < entitiesBatchSize) {
+                return true;
+            }
+        }
+    }
+
+    private boolean deleteExpired(CleanupRun run, List<UUID> entityIds, long expirationTime) {
+        int removed;
+        do {
+            if (run.isBudgetExhausted()) {
+                return false;
+            }
+            removed = jdbcTemplate.update(connection -> {
+                PreparedStatement stmt = connection.prepareStatement(DELETE_EXPIRED);
+                stmt.setArray(1, connection.createArrayOf("uuid", entityIds.toArray()));
+                stmt.setLong(2, expirationTime);
+                stmt.setInt(3, deleteBatchSize);
+                return stmt;
+            });
+            run.removed += removed;
+            removedRowsCounter.add(removed);
+            deleteBatchesCounter.increment();
+            if (removed > 0 && pauseBetweenBatchesMs > 0) {
+                try {
+                    Thread.sleep(pauseBetweenBatchesMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        } while (removed >= deleteBatchSize);
+        return true;
+    }
+
+    /**
+     * Maps the tenant id (for tenant level entities) and the customer id (for customer level entities and customers) to the
+     * timestamp before which telemetry is expired. Owners without a positive TTL are not present in the map.
+     */
+    private Map<UUID, Long> resolveExpirationTimes(long systemTtl, long now) {
+        Map<UUID, Long> ttlAttributes = new HashMap<>();
+        jdbcTemplate.query(SELECT_TTL_ATTRIBUTES, rs -> {
+            ttlAttributes.putIfAbsent(rs.getObject(1, UUID.class), rs.getLong(2));
+        }, TTL_ATTRIBUTE_KEY);
+
+        Map<UUID, Long> tenantTtls = new HashMap<>();
+        Map<UUID, Long> expirationTimes = new HashMap<>();
+        jdbcTemplate.query(SELECT_TENANTS, rs -> {
+            UUID tenantId = rs.getObject(1, UUID.class);
+            long ttl = ttlAttributes.getOrDefault(tenantId, systemTtl);
+            tenantTtls.put(tenantId, ttl);
+            if (ttl > 0) {
+                expirationTimes.put(tenantId, toExpirationTime(now, ttl));
+            }
+        });
+        jdbcTemplate.query(SELECT_CUSTOMERS, rs -> {
+            UUID customerId = rs.getObject(1, UUID.class);
+            Long ttl = ttlAttributes.get(customerId);
+            if (ttl == null) {
+                ttl = tenantTtls.getOrDefault(rs.getObject(2, UUID.class), 0L);
+            }
+            if (ttl > 0) {
+                expirationTimes.put(customerId, toExpirationTime(now, ttl));
+            }
+        });
+        return expirationTimes;
+    }
+
+    private static long toExpirationTime(long now, long ttl) {
+        return now - TimeUnit.SECONDS.toMillis(ttl);
+    }
+
+    private CleanupProgress loadProgress() {
+        AdminSettings settings = adminSettingsDao.findByTenantIdAndKey(TenantId.SYS_TENANT_ID.getId(), PROGRESS_SETTINGS_KEY);
+        if (settings != null && settings.getJsonValue() != null) {
+            try {
+                CleanupProgress progress = JacksonUtil.treeToValue(settings.getJsonValue(), CleanupProgress.class);
+                if (progress.getEntityType() != null) {
+                    return progress;
+                }
+            } catch (Exception e) {
+                log.warn("Failed to parse timeseries TTL cleanup progress {}, starting from the beginning", settings.getJsonValue(), e);
+            }
+        }
+        return new CleanupProgress(TtlEntityType.DEVICE, null);
+    }
+
+    private void saveProgress(CleanupProgress progress) {
+        AdminSettings settings = adminSettingsDao.findByTenantIdAndKey(TenantId.SYS_TENANT_ID.getId(), PROGRESS_SETTINGS_KEY);
+        if (settings == null) {
+            settings = new AdminSettings();
+            settings.setTenantId(TenantId.SYS_TENANT_ID);
+            settings.setKey(PROGRESS_SETTINGS_KEY);
+        }
+        JsonNode value = JacksonUtil.valueToTree(progress);
+        settings.setJsonValue(value);
+        adminSettingsDao.save(TenantId.SYS_TENANT_ID, settings);
+    }
+
+    private class CleanupRun {
+
+        private final long deadline;
+        private CleanupProgress progress;
+        private long removed;
+
+        CleanupRun(long startTs, CleanupProgress progress) {
+            this.deadline = maxExecutionTimeMs > 0 ? startTs + maxExecutionTimeMs : Long.MAX_VALUE;
+            this.progress = progress;
+        }
+
+        boolean isBudgetExhausted() {
+            return System.currentTimeMillis() >= deadline || (maxRowsPerRun > 0 && removed >= maxRowsPerRun);
+        }
+
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class CleanupProgress {
+
+        private TtlEntityType entityType;
+        private UUID idOffset;
+
+    }
+
+    enum TtlEntityType {
+
+        DEVICE("SELECT id, CASE WHEN customer_id IS NULL OR customer_id = '" + ModelConstants.NULL_UUID + "' THEN tenant_id ELSE customer_id END " +
+                "FROM device WHERE id > ? ORDER BY id LIMIT ?"),
+        ASSET("SELECT id, CASE WHEN customer_id IS NULL OR customer_id = '" + ModelConstants.NULL_UUID + "' THEN tenant_id ELSE customer_id END " +
+                "FROM asset WHERE id > ? ORDER BY id LIMIT ?"),
+        CUSTOMER("SELECT id, id FROM customer WHERE id > ? ORDER BY id LIMIT ?");
+
+        private final String query;
+
+        TtlEntityType(String query) {
+            this.query = query;
+        }
+
+    }
+
+}
@@ -21,6 +21,7 @@ import org.springframework.data.repository.query.Param;
 import org.thingsboard.server.dao.model.sqlts.latest.TsKvLatestCompositeKey;
 import org.thingsboard.server.dao.model.sqlts.latest.TsKvLatestEntity;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -41,6 +42,11 @@ public interface TsKvLatestRepository extends JpaRepository<TsKvLatestEntity, Ts
             "WHERE ts_kv_latest.entity_id IN :entityIds ORDER BY key_dictionary.key", nativeQuery = true)
     List<String> findAllKeysByEntityIds(@Param("entityIds") List<UUID> entityIds);
 
+    @Query(value = "SELECT entity_id, key, ts, bool_v, str_v, long_v, dbl_v, json_v, version FROM ts_kv_latest " +
+            "WHERE entity_id IN :entityIds AND key IN :keys", nativeQuery = true)
+    List<TsKvLatestEntity> findAllByEntityIdsAndKeys(@Param("entityIds") Collection<UUID> entityIds,
+                                                     @Param("keys") Collection<Integer> keys);
+
     @Query(value = "SELECT entity_id, key, ts, bool_v, str_v, long_v, dbl_v, json_v, version FROM ts_kv_latest WHERE (entity_id, key) > " +
             "(:entityId, :key) ORDER BY entity_id, key LIMIT :batchSize", nativeQuery = true)
     List<TsKvLatestEntity> findNextBatch(@Param("entityId") UUID entityId,
@@ -24,6 +24,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.thingsboard.server.dao.model.sqlts.ts.TsKvCompositeKey;
 import org.thingsboard.server.dao.model.sqlts.ts.TsKvEntity;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -44,6 +45,32 @@ public interface TsKvRepository extends JpaRepository<TsKvEntity, TsKvCompositeK
                                       @Param("endTs") long endTs,
                                       Pageable pageable);
 
+    /*
+     * Multi-entity versions of findAllWithLimit: the limit is applied to each of the entities separately,
+     * so every entity is served by its own index range scan instead of sorting the whole time range
+     * */
+    @Query(value = "SELECT t.entity_id, t.key, t.ts, t.bool_v, t.str_v, t.long_v, t.dbl_v, t.json_v " +
+            "FROM unnest(CAST(ARRAY[:entityIds] AS uuid[])) AS e(id) CROSS JOIN LATERAL (" +
+            "SELECT * FROM ts_kv WHERE entity_id = e.id AND key = :entityKey AND ts >= :startTs AND ts < :endTs " +
+            "ORDER BY ts ASC LIMIT :limit) t " +
+            "ORDER BY t.entity_id, t.ts ASC", nativeQuery = true)
+    List<TsKvEntity> findAllWithLimitAsc(@Param("entityIds") Collection<UUID> entityIds,
+                                         @Param("entityKey") int key,
+                                         @Param("startTs") long startTs,
+                                         @Param("endTs") long endTs,
+                                         @Param("limit") int limit);
+
+    @Query(value = "SELECT t.entity_id, t.key, t.ts, t.bool_v, t.str_v, t.long_v, t.dbl_v, t.json_v " +
+            "FROM unnest(CAST(ARRAY[:entityIds] AS uuid[])) AS e(id) CROSS JOIN LATERAL (" +
+            "SELECT * FROM ts_kv WHERE entity_id = e.id AND key = :entityKey AND ts >= :startTs AND ts < :endTs " +
+            "ORDER BY ts DESC LIMIT :limit) t " +
+            "ORDER BY t.entity_id, t.ts DESC", nativeQuery = true)
+    List<TsKvEntity> findAllWithLimitDesc(@Param("entityIds") Collection<UUID> entityIds,
+                                          @Param("entityKey") int key,
+                                          @Param("startTs") long startTs,
+                                          @Param("endTs") long endTs,
+                                          @Param("limit") int limit);
+
     @Transactional
     @Modifying
     @Query("DELETE FROM TsKvEntity tskv WHERE tskv.entityId = :entityId " +
@@ -53,6 +80,15 @@ public interface TsKvRepository extends JpaRepository<TsKvEntity, TsKvCompositeK
                 @Param("startTs") long startTs,
                 @Param("endTs") long endTs);
 
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TsKvEntity tskv WHERE tskv.entityId IN :entityIds " +
+            "AND tskv.key = :entityKey AND tskv.ts >= :startTs AND tskv.ts < :endTs")
+    void deleteAllByEntityIds(@Param("entityIds") Collection<UUID> entityIds,
+                              @Param("entityKey") int key,
+                              @Param("startTs") long startTs,
+                              @Param("endTs") long endTs);
+
     @Query("SELECT new TsKvEntity(MAX(tskv.strValue), MAX(tskv.ts)) FROM TsKvEntity tskv " +
             "WHERE tskv.strValue IS NOT NULL " +
             "AND tskv.entityId = :entityId AND tskv.key = :entityKey AND tskv.ts >= :startTs AND tskv.ts < :endTs")
@@ -49,7 +49,9 @@ import org.thingsboard.server.dao.service.Validator;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -123,6 +125,39 @@ public class BaseTimeseriesService implements TimeseriesService {
                 }, MoreExecutors.directExecutor());
     }
 
+    @Override
+    public ListenableFuture<Map<EntityId, List<TsKvEntry>>> findAll(TenantId tenantId, Collection<EntityId> entityIds, List<ReadTsKvQuery> queries) {
+        entityIds.forEach(BaseTimeseriesService::validate);
+        queries.forEach(this::validate);
+        List<EntityId> entityViewIds = new ArrayList<>();
+        List<EntityId> otherIds = new ArrayList<>();
+        for (EntityId entityId : entityIds) {
+            (EntityType.ENTITY_VIEW.equals(entityId.getEntityType()) ? entityViewIds : otherIds).add(entityId);
+        }
+        List<ListenableFuture<Map<EntityId, List<TsKvEntry>>>> futures = new ArrayList<>();
+        if (!otherIds.isEmpty()) {
+            futures.add(Futures.transform(timeseriesDao.findAllAsync(tenantId, otherIds, queries), results -> {
+                Map<EntityId, List<TsKvEntry>> result = new LinkedHashMap<>();
+                results.forEach((entityId, queryResults) -> result.put(entityId,
+                        queryResults.stream().map(ReadTsKvQueryResult::getData).flatMap(Collection::stream).collect(Collectors.toList())));
+                return result;
+            }, MoreExecutors.directExecutor()));
+        }
+        // entity view queries are remapped to the target entity and its time window, so they are executed one by one
+        for (EntityId entityViewId : entityViewIds) {
+            futures.add(Futures.transform(findAll(tenantId, entityViewId, queries), data -> Map.of(entityViewId, data), MoreExecutors.directExecutor()));
+        }
+        return Futures.transform(Futures.allAsList(futures), results -> {
+            Map<EntityId, List<TsKvEntry>> merged = new LinkedHashMap<>();
+            results.forEach(merged::putAll);
+            Map<EntityId, List<TsKvEntry>> result = new LinkedHashMap<>();
+            for (EntityId entityId : entityIds) {
+                result.put(entityId, merged.getOrDefault(entityId, Collections.emptyList()));
+            }
+            return result;
+        }, MoreExecutors.directExecutor());
+    }
+
     @Override
     public ListenableFuture<Optional<TsKvEntry>> findLatest(TenantId tenantId, EntityId entityId, String key) {
         validate(entityId);
@@ -132,12 +167,15 @@ public class BaseTimeseriesService implements TimeseriesService {
     @Override
     public ListenableFuture<List<TsKvEntry>> findLatest(TenantId tenantId, EntityId entityId, Collection<String> keys) {
         validate(entityId);
-        List<ListenableFuture<TsKvEntry>> futures = new ArrayList<>(keys.size());
         keys.forEach(key -> Validator.validateString(key, k -> "Incorrect key " + k));
-        for (String key : keys) {
-            futures.add(timeseriesLatestDao.findLatest(tenantId, entityId, key));
-        }
-        return Futures.allAsList(futures);
+        return timeseriesLatestDao.findLatest(tenantId, entityId, keys);
+    }
+
+    @Override
+    public ListenableFuture<Map<EntityId, List<TsKvEntry>>> findLatest(TenantId tenantId, Collection<EntityId> entityIds, Collection<String> keys) {
+        entityIds.forEach(BaseTimeseriesService::validate);
+        keys.forEach(key -> Validator.validateString(key, k -> "Incorrect key " + k));
+        return timeseriesLatestDao.findLatest(tenantId, entityIds, keys);
     }
 
     @Override
@@ -242,6 +280,13 @@ public class BaseTimeseriesService implements TimeseriesService {
         return Futures.allAsList(futures);
     }
 
+    @Override
+    public ListenableFuture<Void> removeHistory(TenantId tenantId, Collection<EntityId> entityIds, DeleteTsKvQuery query) {
+        entityIds.forEach(BaseTimeseriesService::validate);
+        validate(query);
+        return timeseriesDao.remove(tenantId, entityIds, query);
+    }
+
     @Override
     public ListenableFuture<List<TsKvLatestRemovingResult>> removeLatest(TenantId tenantId, EntityId entityId, Collection<String> keys) {
         validate(entityId);
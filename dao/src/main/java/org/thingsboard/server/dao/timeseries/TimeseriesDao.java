@@ -15,7 +15,9 @@
  */
 package org.thingsboard.server.dao.timeseries;
 
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import org.thingsboard.server.common.data.id.EntityId;
 import org.thingsboard.server.common.data.id.TenantId;
 import org.thingsboard.server.common.data.kv.DeleteTsKvQuery;
@@ -23,7 +25,11 @@ import org.thingsboard.server.common.data.kv.ReadTsKvQuery;
 import org.thingsboard.server.common.data.kv.ReadTsKvQueryResult;
 import org.thingsboard.server.common.data.kv.TsKvEntry;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Andrew Shvayka
@@ -32,11 +38,40 @@ public interface TimeseriesDao {
 
     ListenableFuture<List<ReadTsKvQueryResult>> findAllAsync(TenantId tenantId, EntityId entityId, List<ReadTsKvQuery> queries);
 
+    /**
+     * Executes the same queries for each of the entities. Entities are returned in the order of the entity ids.
+     */
+    default ListenableFuture<Map<EntityId, List<ReadTsKvQueryResult>>> findAllAsync(TenantId tenantId, Collection<EntityId> entityIds, List<ReadTsKvQuery> queries) {
+        List<EntityId> entityIdsList = new ArrayList<>(entityIds);
+        List<ListenableFuture<List<ReadTsKvQueryResult>>> futures = new ArrayList<>(entityIdsList.size());
+        for (EntityId entityId : entityIdsList) {
+            futures.add(findAllAsync(tenantId, entityId, queries));
+        }
+        return Futures.transform(Futures.allAsList(futures), results -> {
+            Map<EntityId, List<ReadTsKvQueryResult>> result = new LinkedHashMap<>();
+            for (int i = 0; i < entityIdsList.size(); i++) {
+                result.put(entityIdsList.get(i), results.get(i));
+            }
+            return result;
+        }, MoreExecutors.directExecutor());
+    }
+
     ListenableFuture<Integer> save(TenantId tenantId, EntityId entityId, TsKvEntry tsKvEntry, long ttl);
 
     ListenableFuture<Integer> savePartition(TenantId tenantId, EntityId entityId, long tsKvEntryTs, String key);
 
     ListenableFuture<Void> remove(TenantId tenantId, EntityId entityId, DeleteTsKvQuery query);
 
+    /**
+     * Removes the timeseries history matching the query for each of the entities.
+     */
+    default ListenableFuture<Void> remove(TenantId tenantId, Collection<EntityId> entityIds, DeleteTsKvQuery query) {
+        List<ListenableFuture<Void>> futures = new ArrayList<>(entityIds.size());
+        for (EntityId entityId : entityIds) {
+            futures.add(remove(tenantId, entityId, query));
+        }
+        return Futures.transform(Futures.allAsList(futures), results -> null, MoreExecutors.directExecutor());
+    }
+
     void cleanup(long systemTtl);
 }
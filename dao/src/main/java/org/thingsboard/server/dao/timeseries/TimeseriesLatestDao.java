@@ -15,7 +15,9 @@
  */
 package org.thingsboard.server.dao.timeseries;
 
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import org.thingsboard.server.common.data.id.DeviceProfileId;
 import org.thingsboard.server.common.data.id.EntityId;
 import org.thingsboard.server.common.data.id.TenantId;
@@ -26,6 +28,9 @@ import org.thingsboard.server.common.data.page.PageData;
 import org.thingsboard.server.common.data.page.PageLink;
 import org.thingsboard.server.dao.model.sqlts.latest.TsKvLatestEntity;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -44,6 +49,35 @@ public interface TimeseriesLatestDao {
      */
     ListenableFuture<TsKvEntry> findLatest(TenantId tenantId, EntityId entityId, String key);
 
+    /**
+     * Batch version of {@link #findLatest(TenantId, EntityId, String)}. Entries are returned in the order of the keys
+     */
+    default ListenableFuture<List<TsKvEntry>> findLatest(TenantId tenantId, EntityId entityId, Collection<String> keys) {
+        List<ListenableFuture<TsKvEntry>> futures = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            futures.add(findLatest(tenantId, entityId, key));
+        }
+        return Futures.allAsList(futures);
+    }
+
+    /**
+     * Multi-entity version of {@link #findLatest(TenantId, EntityId, Collection)}. Entities are returned in the order of the entity ids
+     */
+    default ListenableFuture<Map<EntityId, List<TsKvEntry>>> findLatest(TenantId tenantId, Collection<EntityId> entityIds, Collection<String> keys) {
+        List<EntityId> entityIdsList = new ArrayList<>(entityIds);
+        List<ListenableFuture<List<TsKvEntry>>> futures = new ArrayList<>(entityIdsList.size());
+        for (EntityId entityId : entityIdsList) {
+            futures.add(findLatest(tenantId, entityId, keys));
+        }
+        return Futures.transform(Futures.allAsList(futures), results -> {
+            Map<EntityId, List<TsKvEntry>> result = new LinkedHashMap<>();
+            for (int i = 0; i < entityIdsList.size(); i++) {
+                result.put(entityIdsList.get(i), results.get(i));
+            }
+            return result;
+        }, MoreExecutors.directExecutor());
+    }
+
     ListenableFuture<List<TsKvEntry>> findAllLatest(TenantId tenantId, EntityId entityId);
 
     ListenableFuture<Long> saveLatest(TenantId tenantId, EntityId entityId, TsKvEntry tsKvEntry);
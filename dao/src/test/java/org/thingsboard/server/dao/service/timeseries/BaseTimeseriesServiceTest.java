@@ -54,6 +54,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -169,6 +170,40 @@ public abstract class BaseTimeseriesServiceTest extends AbstractServiceTest {
         equalsIgnoreVersion(toTsEntry(TS, stringKvEntry), entries.get(0));
     }
 
+    @Test
+    public void testFindLatestForMultipleEntities() throws Exception {
+        DeviceId otherDeviceId = new DeviceId(Uuids.timeBased());
+        DeviceId emptyDeviceId = new DeviceId(Uuids.timeBased());
+        saveEntries(deviceId, TS - 1);
+        saveEntries(deviceId, TS);
+        saveEntries(otherDeviceId, TS - 1);
+
+        Map<EntityId, List<TsKvEntry>> entries = tsService.findLatest(tenantId, List.of(deviceId, otherDeviceId, emptyDeviceId), List.of(STRING_KEY, LONG_KEY))
+                .get(MAX_TIMEOUT, TimeUnit.SECONDS);
+        assertThat(entries.keySet()).containsExactly(deviceId, otherDeviceId, emptyDeviceId);
+        equalsIgnoreVersion(toTsEntry(TS, stringKvEntry), entries.get(deviceId).get(0));
+        equalsIgnoreVersion(toTsEntry(TS, longKvEntry), entries.get(deviceId).get(1));
+        equalsIgnoreVersion(toTsEntry(TS - 1, stringKvEntry), entries.get(otherDeviceId).get(0));
+        equalsIgnoreVersion(toTsEntry(TS - 1, longKvEntry), entries.get(otherDeviceId).get(1));
+        assertThat(entries.get(emptyDeviceId)).hasSize(2).allMatch(entry -> entry.getValue() == null);
+    }
+
+    @Test
+    public void testFindAllForMultipleEntities() throws Exception {
+        DeviceId otherDeviceId = new DeviceId(Uuids.timeBased());
+        for (long ts = TS - 3; ts <= TS; ts++) {
+            saveEntries(deviceId, ts);
+            saveEntries(otherDeviceId, ts);
+        }
+
+        List<ReadTsKvQuery> queries = List.of(new BaseReadTsKvQuery(STRING_KEY, TS - 3, TS, 0, 2, Aggregation.NONE, DESC_ORDER));
+        Map<EntityId, List<TsKvEntry>> entries = tsService.findAll(tenantId, List.of(otherDeviceId, deviceId), queries).get(MAX_TIMEOUT, TimeUnit.SECONDS);
+        assertThat(entries.keySet()).containsExactly(otherDeviceId, deviceId);
+        for (List<TsKvEntry> entityEntries : entries.values()) {
+            assertThat(entityEntries).extracting(TsKvEntry::getTs).containsExactly(TS - 1, TS - 2);
+        }
+    }
+
     @Test
     public void testFindLatestOpt_givenSaveWithHistoricalNonOrderedTS() throws Exception {
         if (databaseTsLatestType.equals("cassandra")) {
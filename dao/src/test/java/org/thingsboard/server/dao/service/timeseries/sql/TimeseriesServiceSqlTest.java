@@ -16,15 +16,29 @@
 package org.thingsboard.server.dao.service.timeseries.sql;
 
 import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thingsboard.server.common.data.AdminSettings;
+import org.thingsboard.server.common.data.Device;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.data.kv.Aggregation;
+import org.thingsboard.server.common.data.kv.BaseReadTsKvQuery;
+import org.thingsboard.server.common.data.id.TenantId;
 import org.thingsboard.server.common.data.kv.TsKvEntry;
+import org.thingsboard.server.dao.device.DeviceDao;
+import org.thingsboard.server.dao.device.DeviceProfileService;
 import org.thingsboard.server.dao.service.DaoSqlTest;
 import org.thingsboard.server.dao.service.timeseries.BaseTimeseriesServiceTest;
+import org.thingsboard.server.dao.settings.AdminSettingsDao;
+import org.thingsboard.server.dao.sqlts.SqlTimeseriesTtlCleaner;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
@@ -32,6 +46,18 @@ import static org.awaitility.Awaitility.await;
 @DaoSqlTest
 public class TimeseriesServiceSqlTest extends BaseTimeseriesServiceTest {
 
+    @Autowired
+    private DeviceDao deviceDao;
+
+    @Autowired
+    private DeviceProfileService deviceProfileService;
+
+    @Autowired
+    private SqlTimeseriesTtlCleaner ttlCleaner;
+
+    @Autowired
+    private AdminSettingsDao adminSettingsDao;
+
     @Test
     public void testRemoveLatestAndNoValuePresentInDB() throws ExecutionException, InterruptedException, TimeoutException {
         TsKvEntry tsKvEntry = toTsEntry(TS, stringKvEntry);
@@ -53,4 +79,89 @@ public class TimeseriesServiceSqlTest extends BaseTimeseriesServiceTest {
                 });
     }
 
+    @Test
+    public void testCleanupRemovesExpiredTimeseries() throws Exception {
+        // the id sorts below ModelConstants.NULL_UUID, so the cleanup has to walk the whole id range to reach it
+        Device device = new Device();
+        device.setId(new DeviceId(UUID.fromString("00000000-0000-0000-0000-000000000001")));
+        device.setTenantId(tenantId);
+        device.setName("TTL device");
+        device.setType("default");
+        device.setDeviceProfileId(deviceProfileService.findDefaultDeviceProfile(tenantId).getId());
+        DeviceId savedDeviceId = deviceDao.save(tenantId, device).getId();
+
+        long now = System.currentTimeMillis();
+        long expiredTs = now - TimeUnit.HOURS.toMillis(2);
+        for (int i = 0; i < 5; i++) {
+            tsService.save(tenantId, savedDeviceId, toTsEntry(expiredTs + i, stringKvEntry)).get(MAX_TIMEOUT, TimeUnit.SECONDS);
+        }
+        tsService.save(tenantId, savedDeviceId, toTsEntry(now, stringKvEntry)).get(MAX_TIMEOUT, TimeUnit.SECONDS);
+
+        tsService.cleanup(TimeUnit.HOURS.toSeconds(1));
+
+        List<TsKvEntry> entries = tsService.findAll(tenantId, savedDeviceId,
+                List.of(new BaseReadTsKvQuery(STRING_KEY, 0L, now + 1, 0, 100, Aggregation.NONE, "ASC"))).get(MAX_TIMEOUT, TimeUnit.SECONDS);
+        assertThat(entries.stream().map(TsKvEntry::getTs).collect(Collectors.toList())).containsExactly(now);
+    }
+
+    @Test
+    public void testCleanupStopsWhenRowBudgetIsExhaustedAndContinuesFromSavedProgress() throws Exception {
+        // the ids sort before all generated ids, so the devices are the first ones the cleanup walks through
+        DeviceId firstDeviceId = saveDevice(UUID.fromString("00000000-0000-0000-0000-000000000002"), "First TTL device");
+        DeviceId secondDeviceId = saveDevice(UUID.fromString("00000000-0000-0000-0000-000000000003"), "Second TTL device");
+        adminSettingsDao.removeByTenantIdAndKey(TenantId.SYS_TENANT_ID.getId(), SqlTimeseriesTtlCleaner.PROGRESS_SETTINGS_KEY);
+
+        long now = System.currentTimeMillis();
+        long expiredTs = now - TimeUnit.HOURS.toMillis(2);
+        for (DeviceId id : List.of(firstDeviceId, secondDeviceId)) {
+            for (int i = 0; i < 3; i++) {
+                tsService.save(tenantId, id, toTsEntry(expiredTs + i, stringKvEntry)).get(MAX_TIMEOUT, TimeUnit.SECONDS);
+            }
+            tsService.save(tenantId, id, toTsEntry(now, stringKvEntry)).get(MAX_TIMEOUT, TimeUnit.SECONDS);
+        }
+
+        ReflectionTestUtils.setField(ttlCleaner, "entitiesBatchSize", 1);
+        ReflectionTestUtils.setField(ttlCleaner, "deleteBatchSize", 2);
+        ReflectionTestUtils.setField(ttlCleaner, "maxRowsPerRun", 3L);
+        try {
+            assertThat(ttlCleaner.cleanup(TimeUnit.HOURS.toSeconds(1))).isEqualTo(3);
+        } finally {
+            ReflectionTestUtils.setField(ttlCleaner, "entitiesBatchSize", 100);
+            ReflectionTestUtils.setField(ttlCleaner, "deleteBatchSize", 10000);
+            ReflectionTestUtils.setField(ttlCleaner, "maxRowsPerRun", 0L);
+        }
+
+        assertThat(findTimestamps(firstDeviceId, now)).containsExactly(now);
+        assertThat(findTimestamps(secondDeviceId, now)).containsExactly(expiredTs, expiredTs + 1, expiredTs + 2, now);
+        AdminSettings progress = adminSettingsDao.findByTenantIdAndKey(TenantId.SYS_TENANT_ID.getId(), SqlTimeseriesTtlCleaner.PROGRESS_SETTINGS_KEY);
+        assertThat(progress).isNotNull();
+        assertThat(progress.getJsonValue().get("entityType").asText()).isEqualTo("DEVICE");
+        assertThat(progress.getJsonValue().get("idOffset").asText()).isEqualTo(firstDeviceId.getId().toString());
+
+        // the next run starts after the first device, so expired telemetry saved there in the meantime is kept until the run after
+        tsService.save(tenantId, firstDeviceId, toTsEntry(expiredTs, stringKvEntry)).get(MAX_TIMEOUT, TimeUnit.SECONDS);
+
+        ttlCleaner.cleanup(TimeUnit.HOURS.toSeconds(1));
+
+        assertThat(findTimestamps(firstDeviceId, now)).containsExactly(expiredTs, now);
+        assertThat(findTimestamps(secondDeviceId, now)).containsExactly(now);
+        assertThat(adminSettingsDao.findByTenantIdAndKey(TenantId.SYS_TENANT_ID.getId(), SqlTimeseriesTtlCleaner.PROGRESS_SETTINGS_KEY)).isNull();
+    }
+
+    private DeviceId saveDevice(UUID id, String name) {
+        Device device = new Device();
+        device.setId(new DeviceId(id));
+        device.setTenantId(tenantId);
+        device.setName(name);
+        device.setType("default");
+        device.setDeviceProfileId(deviceProfileService.findDefaultDeviceProfile(tenantId).getId());
+        return deviceDao.save(tenantId, device).getId();
+    }
+
+    private List<Long> findTimestamps(DeviceId deviceId, long now) throws Exception {
+        List<TsKvEntry> entries = tsService.findAll(tenantId, deviceId,
+                List.of(new BaseReadTsKvQuery(STRING_KEY, 0L, now + 1, 0, 100, Aggregation.NONE, "ASC"))).get(MAX_TIMEOUT, TimeUnit.SECONDS);
+        return entries.stream().map(TsKvEntry::getTs).collect(Collectors.toList());
+    }
+
 }
@@ -0,0 +1,85 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.dao.sql;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.thingsboard.server.common.stats.MessagesStats;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class TbSqlBlockingQueueTest {
+
+    private TbSqlBlockingQueue<String, Void> queue;
+
+    @AfterEach
+    void tearDown() {
+        if (queue != null) {
+            queue.destroy();
+        }
+    }
+
+    @Test
+    void testAdjustBatchSize() {
+        queue = new TbSqlBlockingQueue<>(params(true, 1000), mock(MessagesStats.class));
+
+        assertThat(queue.adjustBatchSize(1000, true, 100)).isEqualTo(500);
+        assertThat(queue.adjustBatchSize(500, false, 100)).isEqualTo(250);
+        assertThat(queue.adjustBatchSize(12, true, 100)).isEqualTo(10);
+        assertThat(queue.adjustBatchSize(10, true, 100)).isEqualTo(10);
+
+        assertThat(queue.adjustBatchSize(250, true, 10)).isEqualTo(500);
+        assertThat(queue.adjustBatchSize(800, true, 10)).isEqualTo(1000);
+        assertThat(queue.adjustBatchSize(250, false, 10)).isEqualTo(250);
+        assertThat(queue.adjustBatchSize(250, true, 40)).isEqualTo(250);
+    }
+
+    @Test
+    void testPartialPackIsFlushedImmediatelyWhenDbIsIdle() throws Exception {
+        queue = new TbSqlBlockingQueue<>(params(true, 60000), mock(MessagesStats.class));
+        queue.init(mockLogExecutor(), l -> null, String::compareTo, l -> l, 0);
+
+        queue.add("first").get(5, TimeUnit.SECONDS);
+        long ts = System.currentTimeMillis();
+        queue.add("second").get(5, TimeUnit.SECONDS);
+        assertThat(System.currentTimeMillis() - ts).isLessThan(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private static ScheduledLogExecutorComponent mockLogExecutor() {
+        ScheduledLogExecutorComponent logExecutor = mock(ScheduledLogExecutorComponent.class);
+        doAnswer(inv -> null).when(logExecutor).scheduleAtFixedRate(any(), anyLong(), anyLong(), any());
+        return logExecutor;
+    }
+
+    private static TbSqlBlockingQueueParams params(boolean adaptive, long maxDelay) {
+        return TbSqlBlockingQueueParams.builder()
+                .logName("Test")
+                .batchSize(1000)
+                .maxDelay(maxDelay)
+                .statsPrintIntervalMs(10000)
+                .statsNamePrefix("test")
+                .adaptiveBatchEnabled(adaptive)
+                .adaptiveTargetLatencyMs(50)
+                .build();
+    }
+
+}
@@ -0,0 +1,124 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.server.dao.sql.relation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thingsboard.server.common.data.EntityType;
+import org.thingsboard.server.common.data.audit.ActionType;
+import org.thingsboard.server.common.data.id.AssetId;
+import org.thingsboard.server.common.data.id.DeviceId;
+import org.thingsboard.server.common.data.id.EntityId;
+import org.thingsboard.server.common.data.id.TenantId;
+import org.thingsboard.server.common.data.relation.EntityRelation;
+import org.thingsboard.server.common.data.relation.EntitySearchDirection;
+import org.thingsboard.server.common.data.relation.RelationTypeGroup;
+import org.thingsboard.server.dao.eventsourcing.RelationActionEvent;
+import org.thingsboard.server.dao.model.sql.RelationEntity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RelationGraphIndexTest {
+
+    private final TenantId tenantId = TenantId.fromUUID(UUID.randomUUID());
+    private final AssetId building = new AssetId(UUID.randomUUID());
+    private final AssetId floor = new AssetId(UUID.randomUUID());
+    private final DeviceId sensor = new DeviceId(UUID.randomUUID());
+    private final DeviceId meter = new DeviceId(UUID.randomUUID());
+
+    private RelationGraphIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RelationGraphIndex(mock(RelationRepository.class));
+        index.add(building, floor, EntityRelation.CONTAINS_TYPE);
+        index.add(floor, sensor, EntityRelation.CONTAINS_TYPE);
+        index.add(floor, meter, EntityRelation.MANAGES_TYPE);
+    }
+
+    @Test
+    void givenHierarchy_whenFindRelatedFrom_thenAllLevelsReturned() {
+        Map<EntityId, Integer> related = index.findRelated(building, EntitySearchDirection.FROM, 2, (type, entityType) -> true);
+
+        assertThat(related).containsOnly(Map.entry((EntityId) floor, 1), Map.entry((EntityId) sensor, 2), Map.entry((EntityId) meter, 2));
+    }
+
+    @Test
+    void givenMaxLevel_whenFindRelated_thenDeeperLevelsSkipped() {
+        assertThat(index.findRelated(building, EntitySearchDirection.FROM, 1, (type, entityType) -> true)).containsOnlyKeys(floor);
+    }
+
+    @Test
+    void givenFilter_whenFindRelated_thenFilterAppliedToLastRelationOnly() {
+        Map<EntityId, Integer> related = index.findRelated(building, EntitySearchDirection.FROM, 5,
+                (type, entityType) -> EntityRelation.CONTAINS_TYPE.equals(type) && entityType == EntityType.DEVICE);
+
+        assertThat(related).containsOnlyKeys(sensor);
+    }
+
+    @Test
+    void givenCycle_whenFindRelated_thenTraversalTerminates() {
+        index.add(sensor, building, EntityRelation.CONTAINS_TYPE);
+
+        Map<EntityId, Integer> related = index.findRelated(building, EntitySearchDirection.FROM, 50, (type, entityType) -> true);
+
+        assertThat(related).containsOnlyKeys(floor, sensor, meter, building);
+        assertThat(related.get(building)).isEqualTo(3);
+    }
+
+    @Test
+    void givenDirectionTo_whenFindRelated_thenInboundRelationsFollowed() {
+        assertThat(index.findRelated(sensor, EntitySearchDirection.TO, 5, (type, entityType) -> true)).containsOnlyKeys(floor, building);
+    }
+
+    @Test
+    void givenRelationEvents_whenHandled_thenIndexUpdated() {
+        EntityRelation relation = new EntityRelation(floor, sensor, EntityRelation.CONTAINS_TYPE);
+        index.handleEvent(new RelationActionEvent(tenantId, relation, ActionType.RELATION_DELETED));
+        assertThat(index.findRelated(building, EntitySearchDirection.FROM, 5, (type, entityType) -> true)).containsOnlyKeys(floor, meter);
+
+        index.handleEvent(new RelationActionEvent(tenantId, relation, ActionType.RELATION_ADD_OR_UPDATE));
+        assertThat(index.findRelated(building, EntitySearchDirection.FROM, 5, (type, entityType) -> true)).containsOnlyKeys(floor, meter, sensor);
+
+        EntityRelation toDevice = new EntityRelation(building, meter, EntityRelation.CONTAINS_TYPE, RelationTypeGroup.RULE_NODE);
+        index.handleEvent(new RelationActionEvent(tenantId, toDevice, ActionType.RELATION_ADD_OR_UPDATE));
+        assertThat(index.findRelated(building, EntitySearchDirection.FROM, 1, (type, entityType) -> true)).containsOnlyKeys(floor);
+    }
+
+    @Test
+    void givenRepositoryBatches_whenLoad_thenIndexReady() {
+        RelationRepository repository = mock(RelationRepository.class);
+        RelationEntity entity = new RelationEntity(new EntityRelation(building, sensor, EntityRelation.CONTAINS_TYPE));
+        when(repository.findNextBatch(any(), anyString(), anyString(), anyString(), any(), anyString(), anyInt()))
+                .thenReturn(List.of(entity)).thenReturn(List.of());
+        RelationGraphIndex loaded = new RelationGraphIndex(repository);
+
+        loaded.load();
+
+        assertThat(loaded.isReady()).isTrue();
+        assertThat(loaded.findRelated(building, EntitySearchDirection.FROM, 1, (type, entityType) -> true)).containsOnlyKeys(sensor);
+    }
+
+}
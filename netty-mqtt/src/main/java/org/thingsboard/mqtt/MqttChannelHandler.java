@@ -194,6 +194,7 @@ final class MqttChannelHandler extends SimpleChannelInboundHandler<MqttMessage>
                     }
                 });
                 channel.flush();
+                this.client.drainOutboundBuffer();
                 if (this.client.isReconnect()) {
                     this.client.onSuccessfulReconnect();
                 }
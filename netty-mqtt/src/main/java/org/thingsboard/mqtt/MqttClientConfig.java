@@ -90,6 +90,45 @@ public final class MqttClientConfig {
 
     }
 
+    /**
+     * Optional outbound buffer of publish messages. When set, {@link MqttClient#publish} completes as soon as the message
+     * is accepted by the buffer, and the buffer delivers it once the connection is available.
+     */
+    @Nullable
+    @Getter
+    @Setter
+    private OutboundBufferConfig outboundBufferConfig;
+
+    /**
+     * @param maxMessages  maximum number of buffered messages
+     * @param maxSizeBytes maximum total size of buffered payloads
+     * @param maxInflight  maximum number of buffered messages sent and not yet acknowledged by the broker
+     * @param maxAttempts  maximum number of failed send attempts after which the message is moved to the dead letters
+     * @param retryDelayMs initial delay before resending a failed message, doubled on every next failure
+     * @param directory    directory to spool buffered messages to, or null to keep them in memory only
+     */
+    public record OutboundBufferConfig(int maxMessages, long maxSizeBytes, int maxInflight, int maxAttempts, long retryDelayMs, String directory) {
+
+        public OutboundBufferConfig {
+            if (maxMessages <= 0) {
+                throw new IllegalArgumentException("Max buffered messages (maxMessages) must be greater than zero, but was " + maxMessages);
+            }
+            if (maxSizeBytes <= 0) {
+                throw new IllegalArgumentException("Max buffer size (maxSizeBytes) must be greater than zero, but was " + maxSizeBytes);
+            }
+            if (maxInflight <= 0) {
+                throw new IllegalArgumentException("Max in-flight messages (maxInflight) must be greater than zero, but was " + maxInflight);
+            }
+            if (maxAttempts <= 0) {
+                throw new IllegalArgumentException("Max send attempts (maxAttempts) must be greater than zero, but was " + maxAttempts);
+            }
+            if (retryDelayMs < 0) {
+                throw new IllegalArgumentException("Retry delay (retryDelayMs) must be greater than or equal to zero, but was " + retryDelayMs);
+            }
+        }
+
+    }
+
     public MqttClientConfig() {
         this(null);
     }
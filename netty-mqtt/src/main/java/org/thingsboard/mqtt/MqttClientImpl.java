@@ -20,10 +20,13 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
@@ -97,6 +100,9 @@ final class MqttClientImpl implements MqttClient {
 
     private EventLoopGroup eventLoop;
 
+    private final MqttOutboundBuffer outboundBuffer;
+    private EventLoop outboundBufferEventLoop;
+
     private volatile Channel channel;
 
     private volatile boolean disconnected = false;
@@ -131,6 +137,8 @@ final class MqttClientImpl implements MqttClient {
         this.defaultHandler = defaultHandler;
         this.handlerExecutor = handlerExecutor;
         this.reconnectStrategy = new ReconnectStrategyExponential(getClientConfig().getReconnectDelay());
+        var outboundBufferConfig = clientConfig.getOutboundBufferConfig();
+        this.outboundBuffer = outboundBufferConfig != null ? new MqttOutboundBuffer(outboundBufferConfig, clientConfig.getOwnerId()) : null;
     }
 
     /**
@@ -162,6 +170,9 @@ final class MqttClientImpl implements MqttClient {
         if (this.eventLoop == null) {
             this.eventLoop = new NioEventLoopGroup();
         }
+        if (this.outboundBufferEventLoop == null) {
+            this.outboundBufferEventLoop = this.eventLoop.next();
+        }
         this.host = host;
         this.port = port;
         Promise<MqttConnectResult> connectFuture = new DefaultPromise<>(this.eventLoop.next());
@@ -194,6 +205,9 @@ final class MqttClientImpl implements MqttClient {
                     qos2PendingIncomingPublishes.clear();
                     pendingPublishes.forEach((id, mqttPendingPublish) -> mqttPendingPublish.onChannelClosed());
                     pendingPublishes.clear();
+                    if (outboundBuffer != null) {
+                        outboundBuffer.onChannelClosed();
+                    }
                     pendingSubscribeTopics.clear();
                     handlerToSubscription.clear();
                     scheduleConnectIfRequired(host, port, true);
@@ -398,6 +412,82 @@ final class MqttClientImpl implements MqttClient {
      */
     @Override
     public Future<Void> publish(String topic, ByteBuf payload, MqttQoS qos, boolean retain) {
+        if (outboundBuffer != null) {
+            return publishToOutboundBuffer(topic, payload, qos, retain);
+        }
+        return sendPublish(topic, payload, qos, retain);
+    }
+
+    private Future<Void> publishToOutboundBuffer(String topic, ByteBuf payload, MqttQoS qos, boolean retain) {
+        log.trace("[{}] Adding message to {} to the outbound buffer", channel != null ? channel.id() : "UNKNOWN", topic);
+        Promise<Void> future = new DefaultPromise<>(this.eventLoop.next());
+        try {
+            MqttOutboundBuffer.Entry entry = outboundBuffer.add(topic, ByteBufUtil.getBytes(payload), qos, retain);
+            if (entry == null) {
+                future.setFailure(new OutboundBufferFullException("Outbound buffer is full for client '%s', unable to publish message to topic '%s'"
+                        .formatted(clientConfig.getClientId(), topic)));
+                return future;
+            }
+            // the message is acknowledged only after it is stored, so it is not lost on restart
+            entry.getPersistFuture().whenComplete((result, e) -> {
+                if (e == null) {
+                    future.setSuccess(null);
+                } else {
+                    future.setFailure(e);
+                }
+            });
+            if (outboundBuffer.isPersistent()) {
+                // the disk writes are done on the buffer event loop, the messages added meanwhile are stored as one batch
+                EventLoop persistEventLoop = outboundBufferEventLoop != null ? outboundBufferEventLoop : this.eventLoop.next();
+                persistEventLoop.execute(() -> {
+                    outboundBuffer.persistPending();
+                    drainOutboundBuffer();
+                });
+            } else {
+                drainOutboundBuffer();
+            }
+        } catch (Exception e) {
+            future.setFailure(e);
+        } finally {
+            payload.release();
+        }
+        return future;
+    }
+
+    /**
+     * Sends the oldest buffered messages that fit into the in-flight window. Called when a message is added to the buffer,
+     * when a buffered message is acknowledged, when the retry delay of a failed message passes
+     * and when the connection is (re)established.
+     * All sends happen on the same event loop, so the buffer order is preserved on the wire.
+     */
+    void drainOutboundBuffer() {
+        if (outboundBuffer == null || outboundBufferEventLoop == null) {
+            return;
+        }
+        outboundBufferEventLoop.execute(() -> {
+            if (!isConnected()) {
+                return;
+            }
+            for (MqttOutboundBuffer.Entry entry : outboundBuffer.nextToSend()) {
+                sendPublish(entry.getTopic(), Unpooled.wrappedBuffer(entry.getPayload()), entry.getQos(), entry.isRetain())
+                        .addListener(result -> {
+                            if (result.isSuccess()) {
+                                outboundBuffer.onDelivered(entry);
+                            } else {
+                                log.debug("[{}] Failed to deliver buffered message to {}", clientConfig.getOwnerId(), entry.getTopic(), result.cause());
+                                long retryDelayMs = outboundBuffer.onFailed(entry);
+                                if (retryDelayMs > 0) {
+                                    outboundBufferEventLoop.schedule(this::drainOutboundBuffer, retryDelayMs, TimeUnit.MILLISECONDS);
+                                    return;
+                                }
+                            }
+                            drainOutboundBuffer();
+                        });
+            }
+        });
+    }
+
+    private Future<Void> sendPublish(String topic, ByteBuf payload, MqttQoS qos, boolean retain) {
         log.trace("[{}] Publishing message to {}", channel != null ? channel.id() : "UNKNOWN", topic);
         Promise<Void> future = new DefaultPromise<>(this.eventLoop.next());
         MqttFixedHeader fixedHeader = new MqttFixedHeader(MqttMessageType.PUBLISH, false, qos, retain, 0);
@@ -0,0 +1,356 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.mqtt;
+
+import io.netty.handler.codec.mqtt.MqttQoS;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Bounded FIFO of outbound publish messages that are not yet acknowledged by the broker.
+ * Messages are handed out in the order they were added, limited by the in-flight window,
+ * and are removed only on delivery. On channel close all in-flight messages become pending again,
+ * so they are replayed in the original order after reconnect.
+ * <p>
+ * A message that failed to be sent is retried with an exponential backoff. Later messages wait for it,
+ * so the order is kept. After the configured number of failed attempts the message is removed from the buffer
+ * as a dead letter, i.e. moved to the dead letter subdirectory of the spool directory or dropped with a warning.
+ * <p>
+ * When a spool directory is configured, every message is also stored as a separate file
+ * and the buffer is restored from that directory when the client is created.
+ * The files are written by {@link #persistPending()} outside of the buffer lock,
+ * and a message is handed out for sending only after its file is forced to the disk.
+ */
+@Slf4j
+final class MqttOutboundBuffer {
+
+    private static final String FILE_SUFFIX = ".msg";
+    private static final String DEAD_LETTER_DIRECTORY = "dead-letter";
+    private static final long MAX_RETRY_DELAY_MS = TimeUnit.MINUTES.toMillis(1);
+
+    private final MqttClientConfig.OutboundBufferConfig config;
+    private final String ownerId;
+    private final Path directory;
+
+    private final Deque<Entry> entries = new ArrayDeque<>();
+    private final List<Entry> pendingPersist = new ArrayList<>();
+    private long nextSeq;
+    private long sizeBytes;
+    private int inflight;
+    private int generation;
+
+    MqttOutboundBuffer(MqttClientConfig.OutboundBufferConfig config, String ownerId) {
+        this.config = config;
+        this.ownerId = ownerId;
+        this.directory = config.directory() != null ? Paths.get(config.directory()) : null;
+        if (directory != null) {
+            restore();
+        }
+    }
+
+    /**
+     * Adds the message to the end of the buffer. For the persistent buffer the message is not sent
+     * until it is stored by {@link #persistPending()}.
+     *
+     * @return the added message, or null if the buffer has reached its size limits
+     */
+    synchronized Entry add(String topic, byte[] payload, MqttQoS qos, boolean retain) {
+        if (entries.size() >= config.maxMessages() || sizeBytes + payload.length > config.maxSizeBytes()) {
+            return null;
+        }
+        Entry entry = new Entry(nextSeq++, topic, payload, qos, retain);
+        if (directory != null) {
+            pendingPersist.add(entry);
+        } else {
+            entry.persisted = true;
+            entry.persistFuture.complete(null);
+        }
+        entries.addLast(entry);
+        sizeBytes += payload.length;
+        return entry;
+    }
+
+    boolean isPersistent() {
+        return directory != null;
+    }
+
+    /**
+     * Stores the messages added since the previous call in the spool directory and forces them to the disk,
+     * with a single sync of the directory for the whole batch. Completes the persist future of every message;
+     * the messages that failed to be stored are removed from the buffer.
+     * The files are written without holding the buffer lock, so adding and sending messages is not blocked by the disk.
+     */
+    void persistPending() {
+        List<Entry> batch;
+        synchronized (this) {
+            if (pendingPersist.isEmpty()) {
+                return;
+            }
+            batch = new ArrayList<>(pendingPersist);
+            pendingPersist.clear();
+        }
+        List<Entry> stored = new ArrayList<>(batch.size());
+        for (Entry entry : batch) {
+            try {
+                write(entry);
+                stored.add(entry);
+            } catch (IOException e) {
+                log.warn("{} Failed to store outbound message to {} in {}", ownerId, entry.topic, directory, e);
+                synchronized (this) {
+                    if (entries.remove(entry)) {
+                        sizeBytes -= entry.payload.length;
+                    }
+                }
+                delete(entry);
+                entry.persistFuture.completeExceptionally(new UncheckedIOException("Failed to store outbound message in " + directory, e));
+            }
+        }
+        if (stored.isEmpty()) {
+            return;
+        }
+        syncDirectory();
+        synchronized (this) {
+            stored.forEach(entry -> entry.persisted = true);
+        }
+        stored.forEach(entry -> entry.persistFuture.complete(null));
+    }
+
+    /**
+     * Returns the oldest messages that are not sent yet, as many as the in-flight window allows.
+     * Stops at the first message that waits for its retry delay, so the messages are not reordered.
+     */
+    synchronized List<Entry> nextToSend() {
+        List<Entry> result = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (Entry entry : entries) {
+            if (inflight >= config.maxInflight()) {
+                break;
+            }
+            if (!entry.sent) {
+                if (!entry.persisted || entry.nextAttemptTs > now) {
+                    break;
+                }
+                entry.sent = true;
+                entry.generation = generation;
+                inflight++;
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    synchronized void onDelivered(Entry entry) {
+        if (!entries.remove(entry)) {
+            return;
+        }
+        if (entry.sent && entry.generation == generation) {
+            inflight--;
+        }
+        sizeBytes -= entry.payload.length;
+        if (directory != null) {
+            delete(entry);
+        }
+    }
+
+    /**
+     * Returns the message to the buffer after a failed send attempt, or removes it as a dead letter
+     * once the configured number of attempts is reached. Failures of the messages sent over an already closed channel
+     * are not counted, since those messages are replayed after reconnect anyway.
+     *
+     * @return the delay in milliseconds before the buffer should be drained again
+     */
+    synchronized long onFailed(Entry entry) {
+        if (!entry.sent || entry.generation != generation) {
+            return 0;
+        }
+        entry.sent = false;
+        inflight--;
+        entry.attempts++;
+        if (entry.attempts >= config.maxAttempts()) {
+            deadLetter(entry);
+            return 0;
+        }
+        long delay = Math.min(config.retryDelayMs() << Math.min(entry.attempts - 1, 20), MAX_RETRY_DELAY_MS);
+        entry.nextAttemptTs = System.currentTimeMillis() + delay;
+        return delay;
+    }
+
+    synchronized void onChannelClosed() {
+        generation++;
+        inflight = 0;
+        entries.forEach(entry -> entry.sent = false);
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private void restore() {
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> stream = Files.list(directory)) {
+                files = stream.filter(file -> file.getFileName().toString().endsWith(FILE_SUFFIX)).sorted().toList();
+            }
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                try {
+                    long seq = Long.parseLong(fileName.substring(0, fileName.length() - FILE_SUFFIX.length()));
+                    Entry entry = read(seq, Files.readAllBytes(file));
+                    entry.persisted = true;
+                    entry.persistFuture.complete(null);
+                    entries.addLast(entry);
+                    sizeBytes += entry.payload.length;
+                    nextSeq = Math.max(nextSeq, seq + 1);
+                } catch (Exception e) {
+                    log.warn("{} Failed to restore outbound message from {}, dropping it", ownerId, file, e);
+                    Files.deleteIfExists(file);
+                }
+            }
+            if (!entries.isEmpty()) {
+                log.info("{} Restored {} outbound messages from {}", ownerId, entries.size(), directory);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to restore outbound buffer from " + directory, e);
+        }
+    }
+
+    private void write(Entry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(entry.payload.length + entry.topic.length() + 16);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(entry.qos.value());
+        out.writeBoolean(entry.retain);
+        out.writeUTF(entry.topic);
+        out.writeInt(entry.payload.length);
+        out.write(entry.payload);
+        ByteBuffer data = ByteBuffer.wrap(bytes.toByteArray());
+        try (FileChannel channel = FileChannel.open(getFile(entry.seq), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Forces the directory entries of the new files to the disk. Not supported on some platforms, e.g. on Windows.
+     */
+    private void syncDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("{} Failed to sync outbound buffer directory {}", ownerId, directory, e);
+        }
+    }
+
+    private void deadLetter(Entry entry) {
+        entries.remove(entry);
+        sizeBytes -= entry.payload.length;
+        if (directory == null) {
+            log.warn("{} Dropping outbound message to {} after {} failed attempts", ownerId, entry.topic, entry.attempts);
+            return;
+        }
+        Path file = getFile(entry.seq);
+        try {
+            Path deadLetterDirectory = Files.createDirectories(directory.resolve(DEAD_LETTER_DIRECTORY));
+            Files.move(file, deadLetterDirectory.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+            log.warn("{} Moved outbound message to {} to {} after {} failed attempts", ownerId, entry.topic, deadLetterDirectory, entry.attempts);
+        } catch (IOException e) {
+            log.warn("{} Failed to move outbound message {} to the dead letters, dropping it", ownerId, entry.seq, e);
+            delete(entry);
+        }
+    }
+
+    private Entry read(long seq, byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        MqttQoS qos = MqttQoS.valueOf(in.readByte());
+        boolean retain = in.readBoolean();
+        String topic = in.readUTF();
+        byte[] payload = new byte[in.readInt()];
+        in.readFully(payload);
+        return new Entry(seq, topic, payload, qos, retain);
+    }
+
+    private void delete(Entry entry) {
+        try {
+            Files.deleteIfExists(getFile(entry.seq));
+        } catch (IOException e) {
+            log.warn("{} Failed to delete delivered outbound message {}", ownerId, entry.seq, e);
+        }
+    }
+
+    private Path getFile(long seq) {
+        return directory.resolve(String.format("%020d%s", seq, FILE_SUFFIX));
+    }
+
+    @Getter(AccessLevel.PACKAGE)
+    static final class Entry {
+
+        private final long seq;
+        private final String topic;
+        private final byte[] payload;
+        private final MqttQoS qos;
+        private final boolean retain;
+
+        /**
+         * Completed when the message is stored in the spool directory, or immediately for the in-memory buffer.
+         */
+        private final CompletableFuture<Void> persistFuture = new CompletableFuture<>();
+
+        @Getter(AccessLevel.NONE)
+        private boolean persisted;
+        @Getter(AccessLevel.NONE)
+        private boolean sent;
+        @Getter(AccessLevel.NONE)
+        private int generation;
+        @Getter(AccessLevel.NONE)
+        private int attempts;
+        @Getter(AccessLevel.NONE)
+        private long nextAttemptTs;
+
+        private Entry(long seq, String topic, byte[] payload, MqttQoS qos, boolean retain) {
+            this.seq = seq;
+            this.topic = topic;
+            this.payload = payload;
+            this.qos = qos;
+            this.retain = retain;
+        }
+
+    }
+
+}
@@ -0,0 +1,191 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.mqtt;
+
+import io.netty.handler.codec.mqtt.MqttQoS;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MqttOutboundBufferTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void givenInflightWindow_whenNextToSend_thenReturnsOldestMessagesWithinWindow() {
+        var buffer = new MqttOutboundBuffer(new MqttClientConfig.OutboundBufferConfig(10, 1024, 2, 3, 0, null), "test");
+        add(buffer, "1", "2", "3");
+
+        List<MqttOutboundBuffer.Entry> first = buffer.nextToSend();
+        assertThat(first).extracting(MqttOutboundBuffer.Entry::getTopic).containsExactly("1", "2");
+        assertThat(buffer.nextToSend()).isEmpty();
+
+        buffer.onDelivered(first.get(0));
+        assertThat(buffer.nextToSend()).extracting(MqttOutboundBuffer.Entry::getTopic).containsExactly("3");
+        assertThat(buffer.size()).isEqualTo(2);
+    }
+
+    @Test
+    void givenInflightMessages_whenChannelClosed_thenMessagesAreReplayedInOrder() {
+        var buffer = new MqttOutboundBuffer(new MqttClientConfig.OutboundBufferConfig(10, 1024, 2, 3, 0, null), "test");
+        add(buffer, "1", "2", "3");
+        List<MqttOutboundBuffer.Entry> sent = buffer.nextToSend();
+
+        buffer.onChannelClosed();
+        // late failure of the message sent over the closed channel must not affect the window
+        buffer.onFailed(sent.get(1));
+
+        assertThat(buffer.nextToSend()).extracting(MqttOutboundBuffer.Entry::getTopic).containsExactly("1", "2");
+        assertThat(buffer.nextToSend()).isEmpty();
+    }
+
+    @Test
+    void givenBufferLimits_whenAdd_thenRejectsMessagesOverLimits() {
+        var buffer = new MqttOutboundBuffer(new MqttClientConfig.OutboundBufferConfig(2, 1024, 1, 3, 0, null), "test");
+        assertThat(buffer.add("1", new byte[10], MqttQoS.AT_LEAST_ONCE, false)).isNotNull();
+        assertThat(buffer.add("2", new byte[10], MqttQoS.AT_LEAST_ONCE, false)).isNotNull();
+        assertThat(buffer.add("3", new byte[10], MqttQoS.AT_LEAST_ONCE, false)).isNull();
+
+        buffer = new MqttOutboundBuffer(new MqttClientConfig.OutboundBufferConfig(10, 15, 1, 3, 0, null), "test");
+        assertThat(buffer.add("1", new byte[10], MqttQoS.AT_LEAST_ONCE, false)).isNotNull();
+        assertThat(buffer.add("2", new byte[10], MqttQoS.AT_LEAST_ONCE, false)).isNull();
+    }
+
+    @Test
+    void givenSpoolDirectory_whenBufferRecreated_thenUndeliveredMessagesAreRestored() {
+        var config = new MqttClientConfig.OutboundBufferConfig(10, 1024, 1, 3, 0, tempDir.toString());
+        var buffer = new MqttOutboundBuffer(config, "test");
+        add(buffer, "1", "2", "3");
+        buffer.onDelivered(buffer.nextToSend().get(0));
+
+        var restored = new MqttOutboundBuffer(config, "test");
+        assertThat(restored.size()).isEqualTo(2);
+        var entry = restored.nextToSend().get(0);
+        assertThat(entry.getTopic()).isEqualTo("2");
+        assertThat(entry.getQos()).isEqualTo(MqttQoS.AT_LEAST_ONCE);
+        assertThat(entry.isRetain()).isTrue();
+        assertThat(new String(entry.getPayload(), StandardCharsets.UTF_8)).isEqualTo("payload-2");
+
+        restored.add("4", new byte[1], MqttQoS.AT_MOST_ONCE, false);
+        restored.persistPending();
+        assertThat(new MqttOutboundBuffer(config, "test").size()).isEqualTo(3);
+    }
+
+    @Test
+    void givenSpoolDirectory_whenMessageIsNotPersistedYet_thenItIsNotSentNorAcknowledged() throws Exception {
+        var buffer = new MqttOutboundBuffer(new MqttClientConfig.OutboundBufferConfig(10, 1024, 2, 3, 0, tempDir.toString()), "test");
+        var entry = buffer.add("1", new byte[1], MqttQoS.AT_LEAST_ONCE, false);
+
+        assertThat(buffer.nextToSend()).isEmpty();
+        assertThat(entry.getPersistFuture()).isNotDone();
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files).isEmpty();
+        }
+
+        buffer.persistPending();
+
+        assertThat(entry.getPersistFuture()).isCompleted();
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files).hasSize(1);
+        }
+        assertThat(buffer.nextToSend()).containsExactly(entry);
+    }
+
+    @Test
+    void givenInMemoryBuffer_whenAdd_thenMessageIsAcknowledgedImmediately() {
+        var buffer = new MqttOutboundBuffer(new MqttClientConfig.OutboundBufferConfig(10, 1024, 2, 3, 0, null), "test");
+        var entry = buffer.add("1", new byte[1], MqttQoS.AT_LEAST_ONCE, false);
+
+        assertThat(entry.getPersistFuture()).isCompleted();
+        assertThat(buffer.nextToSend()).containsExactly(entry);
+    }
+
+    @Test
+    void givenFailedMessage_whenNextToSend_thenMessageAndLaterMessagesWaitForRetryDelay() {
+        var buffer = new MqttOutboundBuffer(new MqttClientConfig.OutboundBufferConfig(10, 1024, 2, 3, TimeUnit.SECONDS.toMillis(30), null), "test");
+        add(buffer, "1", "2");
+        List<MqttOutboundBuffer.Entry> sent = buffer.nextToSend();
+
+        assertThat(buffer.onFailed(sent.get(0))).isEqualTo(TimeUnit.SECONDS.toMillis(30));
+        buffer.onDelivered(sent.get(1));
+        add(buffer, "3");
+
+        assertThat(buffer.nextToSend()).isEmpty();
+        assertThat(buffer.size()).isEqualTo(2);
+    }
+
+    @Test
+    void givenFailedMessage_whenRetryDelayPassed_thenMessageIsResentWithDoubledDelayOnNextFailure() {
+        var buffer = new MqttOutboundBuffer(new MqttClientConfig.OutboundBufferConfig(10, 1024, 1, 5, 1, null), "test");
+        add(buffer, "1");
+
+        assertThat(buffer.onFailed(buffer.nextToSend().get(0))).isEqualTo(1);
+        List<MqttOutboundBuffer.Entry> resent = Awaitility.await().atMost(5, TimeUnit.SECONDS).until(buffer::nextToSend, entries -> !entries.isEmpty());
+        assertThat(buffer.onFailed(resent.get(0))).isEqualTo(2);
+        resent = Awaitility.await().atMost(5, TimeUnit.SECONDS).until(buffer::nextToSend, entries -> !entries.isEmpty());
+        assertThat(buffer.onFailed(resent.get(0))).isEqualTo(4);
+    }
+
+    @Test
+    void givenMaxAttemptsReached_whenFailed_thenMessageIsMovedToDeadLetters() throws Exception {
+        var config = new MqttClientConfig.OutboundBufferConfig(10, 1024, 1, 2, 0, tempDir.toString());
+        var buffer = new MqttOutboundBuffer(config, "test");
+        add(buffer, "1", "2");
+
+        assertThat(buffer.onFailed(buffer.nextToSend().get(0))).isZero();
+        var entry = buffer.nextToSend().get(0);
+        assertThat(entry.getTopic()).isEqualTo("1");
+        assertThat(buffer.onFailed(entry)).isZero();
+
+        assertThat(buffer.size()).isEqualTo(1);
+        assertThat(buffer.nextToSend()).extracting(MqttOutboundBuffer.Entry::getTopic).containsExactly("2");
+        try (Stream<Path> deadLetters = Files.list(tempDir.resolve("dead-letter"))) {
+            assertThat(deadLetters).hasSize(1);
+        }
+        assertThat(new MqttOutboundBuffer(config, "test").size()).isEqualTo(1);
+    }
+
+    @Test
+    void givenInflightMessage_whenFailedAfterChannelClosed_thenAttemptIsNotCounted() {
+        var buffer = new MqttOutboundBuffer(new MqttClientConfig.OutboundBufferConfig(10, 1024, 1, 1, 0, null), "test");
+        add(buffer, "1");
+        var entry = buffer.nextToSend().get(0);
+
+        buffer.onChannelClosed();
+        buffer.onFailed(entry);
+
+        assertThat(buffer.size()).isEqualTo(1);
+        assertThat(buffer.nextToSend()).containsExactly(entry);
+    }
+
+    private void add(MqttOutboundBuffer buffer, String... topics) {
+        for (String topic : topics) {
+            assertThat(buffer.add(topic, ("payload-" + topic).getBytes(StandardCharsets.UTF_8), MqttQoS.AT_LEAST_ONCE, true)).isNotNull();
+        }
+        buffer.persistPending();
+    }
+
+}
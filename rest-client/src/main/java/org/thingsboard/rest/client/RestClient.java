@@ -128,6 +128,8 @@ import org.thingsboard.server.common.data.id.WidgetsBundleId;
 import org.thingsboard.server.common.data.kv.Aggregation;
 import org.thingsboard.server.common.data.kv.AttributeKvEntry;
 import org.thingsboard.server.common.data.kv.IntervalType;
+import org.thingsboard.server.common.data.kv.TimeseriesBatchRequest;
+import org.thingsboard.server.common.data.kv.TimeseriesExportFormat;
 import org.thingsboard.server.common.data.kv.TsKvEntry;
 import org.thingsboard.server.common.data.mobile.app.MobileApp;
 import org.thingsboard.server.common.data.mobile.bundle.MobileAppBundle;
@@ -187,11 +189,15 @@ import org.thingsboard.server.common.data.widget.WidgetTypeDetails;
 import org.thingsboard.server.common.data.widget.WidgetTypeInfo;
 import org.thingsboard.server.common.data.widget.WidgetsBundle;
 
+import java.io.BufferedReader;
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -199,6 +205,7 @@ import java.util.UUID;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static org.thingsboard.server.common.data.StringUtils.isEmpty;
@@ -2526,6 +2533,55 @@ public class RestClient implements Closeable {
         return RestJsonConverter.toTimeseries(timeseries);
     }
 
+    /**
+     * Returns time series of multiple entities keyed by the entity id.
+     */
+    public Map<UUID, List<TsKvEntry>> getTimeseriesBatch(TimeseriesBatchRequest request) {
+        Map<UUID, Map<String, List<JsonNode>>> timeseries = restTemplate.exchange(
+                baseURL + "/api/plugins/telemetry/values/timeseries/batch",
+                HttpMethod.POST,
+                new HttpEntity<>(request),
+                new ParameterizedTypeReference<Map<UUID, Map<String, List<JsonNode>>>>() {
+                }).getBody();
+        Map<UUID, List<TsKvEntry>> result = new LinkedHashMap<>();
+        if (timeseries != null) {
+            timeseries.forEach((entityId, entityTimeseries) -> result.put(entityId, RestJsonConverter.toTimeseries(entityTimeseries)));
+        }
+        return result;
+    }
+
+    /**
+     * Streams raw time series of the entity in the [startTs, endTs) range, passing the records to the consumer as they are received,
+     * without collecting the whole result in memory.
+     */
+    public void exportTimeseries(EntityId entityId, List<String> keys, long startTs, long endTs, boolean useStrictDataTypes, Consumer<TsKvEntry> consumer) {
+        Map<String, String> params = new HashMap<>();
+        params.put("entityType", entityId.getEntityType().name());
+        params.put("entityId", entityId.getId().toString());
+        params.put("keys", listToString(keys));
+        params.put("startTs", String.valueOf(startTs));
+        params.put("endTs", String.valueOf(endTs));
+        params.put("format", TimeseriesExportFormat.NDJSON.name());
+        params.put("useStrictDataTypes", Boolean.toString(useStrictDataTypes));
+
+        restTemplate.execute(
+                baseURL + "/api/plugins/telemetry/{entityType}/{entityId}/values/timeseries/export?keys={keys}&startTs={startTs}&endTs={endTs}&format={format}&useStrictDataTypes={useStrictDataTypes}",
+                HttpMethod.GET,
+                null,
+                response -> {
+                    try (BufferedReader reader = new BufferedReader(new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))) {
+                        String line;
+                        while ((line = reader.readLine()) != null) {
+                            if (!line.isEmpty()) {
+                                consumer.accept(RestJsonConverter.toExportedTimeseries(JacksonUtil.toJsonNode(line)));
+                            }
+                        }
+                    }
+                    return null;
+                },
+                params);
+    }
+
     public boolean saveDeviceAttributes(DeviceId deviceId, String scope, JsonNode request) {
         return restTemplate
                 .postForEntity(baseURL + "/api/plugins/telemetry/{deviceId}/{scope}", request, Object.class, deviceId.getId().toString(), scope)
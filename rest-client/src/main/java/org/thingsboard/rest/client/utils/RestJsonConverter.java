@@ -70,6 +70,10 @@ public class RestJsonConverter {
         }
     }
 
+    public static TsKvEntry toExportedTimeseries(JsonNode ts) {
+        return new BasicTsKvEntry(ts.get(TS).asLong(), parseValue(ts.get(KEY).asText(), ts.get(VALUE)));
+    }
+
     private static KvEntry parseValue(String key, JsonNode value) {
         if (!value.isContainerNode()) {
             if (value.isBoolean()) {
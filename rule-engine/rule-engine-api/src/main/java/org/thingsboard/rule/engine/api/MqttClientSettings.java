@@ -23,4 +23,6 @@ public interface MqttClientSettings {
 
     double getRetransmissionJitterFactor();
 
+    String getOutboundBufferDirectory();
+
 }
@@ -16,6 +16,7 @@
 package org.thingsboard.rule.engine.api;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import org.thingsboard.server.common.data.plugin.ComponentLifecycleEvent;
 import org.thingsboard.server.common.data.util.TbPair;
 import org.thingsboard.server.common.msg.TbMsg;
 import org.thingsboard.server.common.msg.queue.PartitionChangeMsg;
@@ -34,6 +35,15 @@ public interface TbNode {
     default void destroy() {
     }
 
+    /**
+     * Called instead of {@link #destroy()} when the rule node is stopped for the given reason.
+     * Nodes that keep state outside of the memory may override it to clean that state up
+     * once the node is {@link ComponentLifecycleEvent#DELETED deleted} from the rule chain.
+     */
+    default void destroy(TbContext ctx, ComponentLifecycleEvent reason) {
+        destroy();
+    }
+
     default void onPartitionChangeMsg(TbContext ctx, PartitionChangeMsg msg) {
     }
 
@@ -57,9 +57,22 @@ public final class TbNodeUtils {
     }
 
     public static String processPattern(String pattern, TbMsg tbMsg) {
+        JsonNode json;
         try {
-            String result = processPattern(pattern, tbMsg.getMetaData());
-            JsonNode json = JacksonUtil.toJsonNode(tbMsg.getData());
+            json = JacksonUtil.toJsonNode(tbMsg.getData());
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to process pattern!", e);
+        }
+        return processPattern(pattern, tbMsg.getMetaData(), json);
+    }
+
+    /**
+     * Same as {@link #processPattern(String, TbMsg)}, but uses the already parsed message data
+     * instead of parsing it again for every processed pattern.
+     */
+    public static String processPattern(String pattern, TbMsgMetaData metaData, JsonNode json) {
+        try {
+            String result = processPattern(pattern, metaData);
 
             result = result.replace(ALL_DATA_TEMPLATE, JacksonUtil.toString(json));
 
@@ -56,6 +56,19 @@ public class TbNodeUtilsTest {
         Assertions.assertEquals("ABC metadata_value data_value", result);
     }
 
+    @Test
+    public void testReplacementWithParsedData() {
+        String pattern = "ABC ${metadata_key} $[data_key]";
+        TbMsgMetaData md = new TbMsgMetaData();
+        md.putValue("metadata_key", "metadata_value");
+
+        ObjectNode node = JacksonUtil.newObjectNode();
+        node.put("data_key", "data_value");
+
+        String result = TbNodeUtils.processPattern(pattern, md, node);
+        Assertions.assertEquals("ABC metadata_value data_value", result);
+    }
+
     @Test
     public void testNoReplacement() {
         String pattern = "ABC ${metadata_key} $[data_key]";
@@ -0,0 +1,172 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.rule.engine.external;
+
+import com.google.common.base.Utf8;
+import lombok.extern.slf4j.Slf4j;
+import org.thingsboard.rule.engine.api.TbContext;
+import org.thingsboard.server.common.data.msg.TbMsgType;
+import org.thingsboard.server.common.msg.TbMsg;
+import org.thingsboard.server.common.msg.TbMsgMetaData;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Base class of the external rule nodes that are able to send several messages in a single request.
+ * Batching is enabled by the optional batching configuration of the node.
+ */
+@Slf4j
+public abstract class TbAbstractBatchingExternalNode extends TbAbstractExternalNode {
+
+    private TbExternalNodeBatchConfiguration batchConfig;
+    private TbContext batchCtx;
+    private final Map<String, PendingBatch> pendingBatches = new HashMap<>();
+
+    protected void initBatching(TbContext ctx, TbExternalNodeBatchConfiguration batchConfig) {
+        this.batchConfig = batchConfig != null && batchConfig.isEnabled() ? batchConfig : null;
+        this.batchCtx = ctx;
+        this.pendingBatches.clear();
+    }
+
+    protected boolean isBatchingEnabled() {
+        return batchConfig != null;
+    }
+
+    /**
+     * Handles the message if it belongs to the batching: adds it to the pending batch when batching is enabled,
+     * or flushes the batch if the message is the linger timeout of that batch. The linger timeout that was scheduled
+     * before the node was updated with batching disabled is dropped.
+     *
+     * @return true if the message was consumed and must not be processed by the node
+     */
+    protected boolean tryAddToBatch(TbContext ctx, TbMsg msg) {
+        if (msg.isTypeOf(TbMsgType.EXTERNAL_NODE_BATCH_TIMEOUT_SELF_MSG)) {
+            if (isBatchingEnabled()) {
+                onBatchTimeout(ctx, msg);
+            } else {
+                log.trace("[{}] Dropping batch timeout message since batching is disabled", ctx.getSelfId());
+            }
+            return true;
+        }
+        if (!isBatchingEnabled()) {
+            return false;
+        }
+        addToBatch(ctx, msg);
+        return true;
+    }
+
+    /**
+     * Adds the message to the pending batch. The batch is sent once it reaches the configured number of messages
+     * or payload size, or when the linger time passes since its first message. All the calls happen on the rule node
+     * actor, so the pending batches are not synchronized.
+     */
+    private void addToBatch(TbContext ctx, TbMsg msg) {
+        var tbMsg = ackIfNeeded(ctx, msg);
+        String batchKey;
+        try {
+            batchKey = getBatchKey(tbMsg);
+        } catch (Exception e) {
+            tellFailure(ctx, tbMsg, e);
+            return;
+        }
+        PendingBatch batch = pendingBatches.get(batchKey);
+        if (batch == null) {
+            TbMsg timeoutMsg = ctx.newMsg(null, TbMsgType.EXTERNAL_NODE_BATCH_TIMEOUT_SELF_MSG, ctx.getSelfId(), TbMsgMetaData.EMPTY, batchKey);
+            batch = new PendingBatch(timeoutMsg.getId());
+            pendingBatches.put(batchKey, batch);
+            ctx.tellSelf(timeoutMsg, batchConfig.getLingerMs());
+        }
+        batch.msgs.add(tbMsg);
+        batch.sizeBytes += tbMsg.getData() != null ? Utf8.encodedLength(tbMsg.getData()) : 0;
+        if (batch.msgs.size() >= batchConfig.getMaxSize() || batch.sizeBytes >= batchConfig.getMaxSizeBytes()) {
+            flushBatch(ctx, batchKey);
+        }
+    }
+
+    private void onBatchTimeout(TbContext ctx, TbMsg msg) {
+        String batchKey = msg.getData();
+        PendingBatch batch = pendingBatches.get(batchKey);
+        if (batch != null && batch.timeoutMsgId.equals(msg.getId())) {
+            flushBatch(ctx, batchKey);
+        }
+    }
+
+    /**
+     * Returns the key of the batch the message belongs to. Only messages with the same key
+     * (e.g. the same resolved topic or endpoint) can be sent in one request.
+     */
+    protected abstract String getBatchKey(TbMsg msg);
+
+    /**
+     * Sends the batch of messages as a single request. Implementations must report the result
+     * of each message individually using {@link #tellSuccess} and {@link #tellFailure}.
+     */
+    protected abstract void processBatch(TbContext ctx, List<TbMsg> msgs);
+
+    private void flushBatch(TbContext ctx, String batchKey) {
+        PendingBatch batch = pendingBatches.remove(batchKey);
+        if (batch == null || batch.msgs.isEmpty()) {
+            return;
+        }
+        log.trace("[{}] Sending batch of {} messages, {} bytes", ctx.getSelfId(), batch.msgs.size(), batch.sizeBytes);
+        try {
+            processBatch(ctx, batch.msgs);
+        } catch (Exception e) {
+            log.debug("[{}] Failed to process batch of {} messages", ctx.getSelfId(), batch.msgs.size(), e);
+            batch.msgs.forEach(msg -> tellFailure(ctx, msg, e));
+        }
+    }
+
+    /**
+     * Fails the messages of the pending batches, so that they are not lost silently when they were already acknowledged.
+     */
+    protected void destroyBatching() {
+        if (pendingBatches.isEmpty()) {
+            return;
+        }
+        RuntimeException error = new RuntimeException("Batch was not sent because the rule node is stopped!");
+        int pending = 0;
+        for (PendingBatch batch : pendingBatches.values()) {
+            for (TbMsg msg : batch.msgs) {
+                pending++;
+                try {
+                    tellFailure(batchCtx, msg, error);
+                } catch (Exception e) {
+                    log.debug("Failed to report failure of the batched message: {}", msg, e);
+                }
+            }
+        }
+        pendingBatches.clear();
+        log.debug("Failed {} batched message(s) on destroy", pending);
+    }
+
+    private static class PendingBatch {
+
+        private final UUID timeoutMsgId;
+        private final List<TbMsg> msgs = new ArrayList<>();
+        private int sizeBytes;
+
+        private PendingBatch(UUID timeoutMsgId) {
+            this.timeoutMsgId = timeoutMsgId;
+        }
+
+    }
+
+}
@@ -0,0 +1,32 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.rule.engine.external;
+
+import lombok.Data;
+
+/**
+ * Optional batching settings of the external rule nodes. Messages are accumulated until either the number of
+ * messages, the total payload size or the linger time reaches its limit, and then are sent as a single request.
+ */
+@Data
+public class TbExternalNodeBatchConfiguration {
+
+    private boolean enabled;
+    private int maxSize = 100;
+    private int maxSizeBytes = 256 * 1024;
+    private long lingerMs = 1000;
+
+}
@@ -0,0 +1,57 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.rule.engine.math;
+
+import net.objecthunter.exp4j.Expression;
+import net.objecthunter.exp4j.ExpressionBuilder;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+
+import static org.thingsboard.common.util.ExpressionFunctionsUtil.userDefinedFunctions;
+
+/**
+ * Keeps compiled custom math expressions shared between all math nodes and threads.
+ * The expression is parsed once per function text and set of variables,
+ * while each evaluation works with a cheap copy that has its own variable bindings.
+ */
+final class TbMathExpressionCache {
+
+    private static final ConcurrentMap<ExpressionKey, Expression> expressions =
+            new ConcurrentReferenceHashMap<>(16, ConcurrentReferenceHashMap.ReferenceType.SOFT);
+
+    private TbMathExpressionCache() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    static Expression newExpression(String function, Set<String> variables) {
+        Expression compiled = expressions.computeIfAbsent(new ExpressionKey(function, variables), TbMathExpressionCache::compile);
+        return new Expression(compiled);
+    }
+
+    private static Expression compile(ExpressionKey key) {
+        return new ExpressionBuilder(key.function())
+                .functions(userDefinedFunctions)
+                .implicitMultiplication(true)
+                .variables(key.variables())
+                .build();
+    }
+
+    private record ExpressionKey(String function, Set<String> variables) {
+    }
+
+}
@@ -21,8 +21,6 @@ import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 import lombok.extern.slf4j.Slf4j;
-import net.objecthunter.exp4j.Expression;
-import net.objecthunter.exp4j.ExpressionBuilder;
 import org.springframework.util.ConcurrentReferenceHashMap;
 import org.thingsboard.common.util.JacksonUtil;
 import org.thingsboard.rule.engine.api.AttributesSaveRequest;
@@ -48,12 +46,12 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import static org.thingsboard.common.util.ExpressionFunctionsUtil.userDefinedFunctions;
 import static org.thingsboard.rule.engine.math.TbMathArgumentType.CONSTANT;
 
 @SuppressWarnings("UnstableApiUsage")
@@ -84,8 +82,8 @@ import static org.thingsboard.rule.engine.math.TbMathArgumentType.CONSTANT;
 public class TbMathNode implements TbNode {
 
     private static final ConcurrentMap<EntityId, SemaphoreWithTbMsgQueue> locks = new ConcurrentReferenceHashMap<>(16, ConcurrentReferenceHashMap.ReferenceType.WEAK);
-    private final ThreadLocal<Expression> customExpression = new ThreadLocal<>();
     private TbMathNodeConfiguration config;
+    private Set<String> customFunctionVariables;
     private boolean msgBodyToJsonConversionRequired;
 
     @Override
@@ -102,6 +100,7 @@ public class TbMathNode implements TbNode {
             } else if (config.getCustomFunction().length() > 256) {
                 throw new RuntimeException("Custom function is too complex (length > 256)!");
             }
+            customFunctionVariables = config.getArguments().stream().map(TbMathArgument::getName).collect(Collectors.toUnmodifiableSet());
         }
         msgBodyToJsonConversionRequired = config.getArguments().stream().anyMatch(arg -> TbMathArgumentType.MESSAGE_BODY.equals(arg.getType()));
         msgBodyToJsonConversionRequired = msgBodyToJsonConversionRequired || TbMathArgumentType.MESSAGE_BODY.equals(config.getResult().getType());
@@ -125,7 +124,7 @@ public class TbMathNode implements TbNode {
 
     private ListenableFuture<TbMsg> updateMsgAndDb(TbContext ctx, TbMsg msg, Optional<ObjectNode> msgBodyOpt, double result) {
         TbMathResult mathResultDef = config.getResult();
-        String mathResultKey = getKeyFromTemplate(msg, mathResultDef.getType(), mathResultDef.getKey());
+        String mathResultKey = getKeyFromTemplate(msg, msgBodyOpt, mathResultDef.getType(), mathResultDef.getKey());
         switch (mathResultDef.getType()) {
             case MESSAGE_BODY:
                 return Futures.immediateFuture(addToBody(msg, mathResultDef, mathResultKey, msgBodyOpt, result));
@@ -308,15 +307,7 @@ public class TbMathNode implements TbNode {
             case DEG:
                 return apply(args.get(0), Math::toDegrees);
             case CUSTOM:
-                var expr = customExpression.get();
-                if (expr == null) {
-                    expr = new ExpressionBuilder(config.getCustomFunction())
-                            .functions(userDefinedFunctions)
-                            .implicitMultiplication(true)
-                            .variables(config.getArguments().stream().map(TbMathArgument::getName).collect(Collectors.toSet()))
-                            .build();
-                    customExpression.set(expr);
-                }
+                var expr = TbMathExpressionCache.newExpression(config.getCustomFunction(), customFunctionVariables);
                 for (int i = 0; i < config.getArguments().size(); i++) {
                     expr.setVariable(config.getArguments().get(i).getName(), args.get(i).getValue());
                 }
@@ -335,7 +326,7 @@ public class TbMathNode implements TbNode {
     }
 
     ListenableFuture<TbMathArgumentValue> resolveArguments(TbContext ctx, TbMsg msg, Optional<ObjectNode> msgBodyOpt, TbMathArgument arg) {
-        String argKey = getKeyFromTemplate(msg, arg.getType(), arg.getKey());
+        String argKey = getKeyFromTemplate(msg, msgBodyOpt, arg.getType(), arg.getKey());
         switch (arg.getType()) {
             case CONSTANT:
                 return Futures.immediateFuture(TbMathArgumentValue.constant(arg));
@@ -358,8 +349,14 @@ public class TbMathNode implements TbNode {
 
     }
 
-    private String getKeyFromTemplate(TbMsg msg, TbMathArgumentType type, String keyPattern) {
-        return CONSTANT.equals(type) ? keyPattern : TbNodeUtils.processPattern(keyPattern, msg);
+    private String getKeyFromTemplate(TbMsg msg, Optional<ObjectNode> msgBodyOpt, TbMathArgumentType type, String keyPattern) {
+        if (CONSTANT.equals(type) || !keyPattern.contains("$")) {
+            return keyPattern;
+        }
+        // reuse the already parsed message body instead of parsing it for every argument
+        return msgBodyOpt.isPresent() ?
+                TbNodeUtils.processPattern(keyPattern, msg.getMetaData(), msgBodyOpt.get()) :
+                TbNodeUtils.processPattern(keyPattern, msg);
     }
 
     private AttributeScope getAttributeScope(String attrScope) {
@@ -0,0 +1,117 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.rule.engine.mqtt;
+
+import io.netty.handler.codec.mqtt.MqttVersion;
+import lombok.extern.slf4j.Slf4j;
+import org.thingsboard.common.util.JacksonUtil;
+import org.thingsboard.mqtt.MqttClient;
+import org.thingsboard.mqtt.MqttClientConfig;
+import org.thingsboard.server.common.data.StringUtils;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Reference-counted MQTT clients shared by the MQTT nodes with equivalent broker, credentials and client settings.
+ * The client is connected by the first node that acquires it and is disconnected when the last node releases it.
+ */
+@Slf4j
+final class TbMqttClientPool {
+
+    private static final ConcurrentMap<Key, PooledClient> clients = new ConcurrentHashMap<>();
+
+    private TbMqttClientPool() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    static MqttClient acquire(Key key, Callable<MqttClient> clientFactory) throws Exception {
+        while (true) {
+            PooledClient pooled = clients.computeIfAbsent(key, k -> new PooledClient());
+            synchronized (pooled) {
+                if (pooled.released) {
+                    // released by the last owner in the meantime, will create a new one
+                    continue;
+                }
+                if (pooled.client == null) {
+                    try {
+                        pooled.client = clientFactory.call();
+                    } catch (Exception e) {
+                        pooled.released = true;
+                        clients.remove(key, pooled);
+                        throw e;
+                    }
+                    log.debug("[{}:{}] Created shared MQTT client", key.host(), key.port());
+                }
+                pooled.refCount++;
+                return pooled.client;
+            }
+        }
+    }
+
+    static void release(Key key) {
+        PooledClient pooled = clients.get(key);
+        if (pooled == null) {
+            return;
+        }
+        synchronized (pooled) {
+            if (pooled.released || --pooled.refCount > 0) {
+                return;
+            }
+            pooled.released = true;
+            clients.remove(key, pooled);
+            log.debug("[{}:{}] Disconnecting shared MQTT client", key.host(), key.port());
+            pooled.client.disconnect();
+        }
+    }
+
+    static int size() {
+        return clients.size();
+    }
+
+    private static class PooledClient {
+
+        private MqttClient client;
+        private int refCount;
+        private boolean released;
+
+    }
+
+    record Key(String host, int port, boolean ssl, String credentials, String clientId, String username, String password,
+               boolean cleanSession, MqttVersion protocolVersion, MqttClientConfig.RetransmissionConfig retransmissionConfig,
+               MqttClientConfig.OutboundBufferConfig outboundBufferConfig) {
+
+        static Key of(TbMqttNodeConfiguration nodeConfiguration, MqttClientConfig clientConfig) {
+            return new Key(
+                    nodeConfiguration.getHost(),
+                    nodeConfiguration.getPort(),
+                    nodeConfiguration.isSsl(),
+                    JacksonUtil.toString(nodeConfiguration.getCredentials()),
+                    // random client ids are generated per node and do not identify the connection
+                    StringUtils.isEmpty(nodeConfiguration.getClientId()) ? null : clientConfig.getClientId(),
+                    clientConfig.getUsername(),
+                    clientConfig.getPassword(),
+                    clientConfig.isCleanSession(),
+                    clientConfig.getProtocolVersion(),
+                    clientConfig.getRetransmissionConfig(),
+                    clientConfig.getOutboundBufferConfig()
+            );
+        }
+
+    }
+
+}
@@ -16,13 +16,16 @@
 package org.thingsboard.rule.engine.mqtt;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
 import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.mqtt.MqttQoS;
 import io.netty.handler.codec.mqtt.MqttVersion;
 import io.netty.handler.ssl.SslContext;
 import io.netty.util.concurrent.Promise;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.FileSystemUtils;
 import org.thingsboard.common.util.JacksonUtil;
 import org.thingsboard.mqtt.MqttClient;
 import org.thingsboard.mqtt.MqttClientConfig;
@@ -36,9 +39,10 @@ import org.thingsboard.rule.engine.api.util.TbNodeUtils;
 import org.thingsboard.rule.engine.credentials.BasicCredentials;
 import org.thingsboard.rule.engine.credentials.ClientCredentials;
 import org.thingsboard.rule.engine.credentials.CredentialsType;
-import org.thingsboard.rule.engine.external.TbAbstractExternalNode;
+import org.thingsboard.rule.engine.external.TbAbstractBatchingExternalNode;
 import org.thingsboard.server.common.data.StringUtils;
 import org.thingsboard.server.common.data.plugin.ComponentClusteringMode;
+import org.thingsboard.server.common.data.plugin.ComponentLifecycleEvent;
 import org.thingsboard.server.common.data.plugin.ComponentType;
 import org.thingsboard.server.common.data.util.TbPair;
 import org.thingsboard.server.common.msg.TbMsg;
@@ -46,6 +50,9 @@ import org.thingsboard.server.common.msg.TbMsgMetaData;
 
 import javax.net.ssl.SSLException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -61,18 +68,24 @@ import java.util.concurrent.TimeoutException;
         configDirective = "tbExternalNodeMqttConfig",
         icon = "call_split"
 )
-public class TbMqttNode extends TbAbstractExternalNode {
+public class TbMqttNode extends TbAbstractBatchingExternalNode {
 
     private static final int MQTT_3_MAX_CLIENT_ID_LENGTH = 23;
     private static final int MQTT_5_MAX_CLIENT_ID_LENGTH = 256;
 
     protected TbMqttNodeConfiguration mqttNodeConfiguration;
     protected MqttClient mqttClient;
+    private TbMqttClientPool.Key sharedClientKey;
 
     @Override
     public void init(TbContext ctx, TbNodeConfiguration configuration) throws TbNodeException {
         super.init(ctx);
         this.mqttNodeConfiguration = TbNodeUtils.convert(configuration, TbMqttNodeConfiguration.class);
+        var outboundBuffer = mqttNodeConfiguration.getOutboundBuffer();
+        if (outboundBuffer == null || !outboundBuffer.isEnabled() || !outboundBuffer.isPersistent()) {
+            // the messages spooled before the persistent buffer was turned off are never sent
+            deleteOutboundBufferDirectory(ctx);
+        }
         try {
             this.mqttClient = initClient(ctx);
         } catch (TbNodeException e) {
@@ -80,10 +93,14 @@ public class TbMqttNode extends TbAbstractExternalNode {
         } catch (Exception e) {
             throw new TbNodeException(e);
         }
+        initBatching(ctx, mqttNodeConfiguration.getBatching());
     }
 
     @Override
     public void onMsg(TbContext ctx, TbMsg msg) {
+        if (tryAddToBatch(ctx, msg)) {
+            return;
+        }
         String topic = TbNodeUtils.processPattern(mqttNodeConfiguration.getTopicPattern(), msg);
         var tbMsg = ackIfNeeded(ctx, msg);
         this.mqttClient.publish(topic, Unpooled.wrappedBuffer(getData(tbMsg, mqttNodeConfiguration.isParseToPlainText()).getBytes(StandardCharsets.UTF_8)),
@@ -98,6 +115,41 @@ public class TbMqttNode extends TbAbstractExternalNode {
                 );
     }
 
+    @Override
+    protected String getBatchKey(TbMsg msg) {
+        return TbNodeUtils.processPattern(mqttNodeConfiguration.getTopicPattern(), msg);
+    }
+
+    @Override
+    protected void processBatch(TbContext ctx, List<TbMsg> msgs) {
+        String topic = getBatchKey(msgs.get(0));
+        ArrayNode payload = JacksonUtil.newArrayNode();
+        for (TbMsg msg : msgs) {
+            String data = getData(msg, mqttNodeConfiguration.isParseToPlainText());
+            JsonNode node = null;
+            if (!mqttNodeConfiguration.isParseToPlainText()) {
+                try {
+                    node = JacksonUtil.toJsonNode(data);
+                } catch (IllegalArgumentException e) {
+                    // not a JSON payload, added as a text node
+                }
+            }
+            payload.add(node != null ? node : new TextNode(data));
+        }
+        this.mqttClient.publish(topic, Unpooled.wrappedBuffer(JacksonUtil.toString(payload).getBytes(StandardCharsets.UTF_8)),
+                        MqttQoS.AT_LEAST_ONCE, mqttNodeConfiguration.isRetainedMessage())
+                .addListener(future -> {
+                            for (TbMsg msg : msgs) {
+                                if (future.isSuccess()) {
+                                    tellSuccess(ctx, msg);
+                                } else {
+                                    tellFailure(ctx, processException(msg, future.cause()), future.cause());
+                                }
+                            }
+                        }
+                );
+    }
+
     private TbMsg processException(TbMsg origMsg, Throwable e) {
         TbMsgMetaData metaData = origMsg.getMetaData().copy();
         metaData.putValue("error", e.getClass() + ": " + e.getMessage());
@@ -108,11 +160,50 @@ public class TbMqttNode extends TbAbstractExternalNode {
 
     @Override
     public void destroy() {
+        destroyBatching();
         if (mqttClient != null) {
-            mqttClient.disconnect();
+            if (sharedClientKey != null) {
+                TbMqttClientPool.release(sharedClientKey);
+            } else {
+                mqttClient.disconnect();
+            }
         }
     }
 
+    @Override
+    public void destroy(TbContext ctx, ComponentLifecycleEvent reason) {
+        destroy();
+        if (reason == ComponentLifecycleEvent.DELETED) {
+            deleteOutboundBufferDirectory(ctx);
+        }
+    }
+
+    private void deleteOutboundBufferDirectory(TbContext ctx) {
+        String rootDirectory = ctx.getMqttClientSettings().getOutboundBufferDirectory();
+        if (StringUtils.isBlank(rootDirectory)) {
+            return;
+        }
+        Path directory = Paths.get(rootDirectory, ctx.getSelf().getId().getId().toString());
+        try {
+            if (FileSystemUtils.deleteRecursively(directory)) {
+                log.debug("[{}] Deleted outbound buffer directory {}", ctx.getSelfId(), directory);
+            }
+        } catch (Exception e) {
+            log.warn("[{}] Failed to delete outbound buffer directory {}", ctx.getSelfId(), directory, e);
+        }
+    }
+
+    private String getOutboundBufferDirectory(TbContext ctx, TbMqttNodeOutboundBufferConfiguration outboundBuffer) throws TbNodeException {
+        if (!outboundBuffer.isPersistent()) {
+            return null;
+        }
+        String directory = ctx.getMqttClientSettings().getOutboundBufferDirectory();
+        if (StringUtils.isBlank(directory)) {
+            throw new TbNodeException("Persistent outbound buffer requires 'mqtt.client.outbound_buffer.directory' to be configured!", true);
+        }
+        return Paths.get(directory, ctx.getSelf().getId().getId().toString()).toString();
+    }
+
     String getOwnerId(TbContext ctx) {
         return "Tenant[" + ctx.getTenantId().getId() + "]RuleNode[" + ctx.getSelf().getId().getId() + "]";
     }
@@ -132,8 +223,29 @@ public class TbMqttNode extends TbAbstractExternalNode {
                 mqttClientSettings.getRetransmissionInitialDelayMillis(),
                 mqttClientSettings.getRetransmissionJitterFactor()
         ));
+        var outboundBuffer = mqttNodeConfiguration.getOutboundBuffer();
+        if (outboundBuffer != null && outboundBuffer.isEnabled()) {
+            config.setOutboundBufferConfig(new MqttClientConfig.OutboundBufferConfig(
+                    outboundBuffer.getMaxMessages(),
+                    outboundBuffer.getMaxSizeBytes(),
+                    outboundBuffer.getMaxInflight(),
+                    outboundBuffer.getMaxAttempts(),
+                    outboundBuffer.getRetryDelayMs(),
+                    getOutboundBufferDirectory(ctx, outboundBuffer)
+            ));
+        }
 
         prepareMqttClientConfig(config);
+        if (mqttNodeConfiguration.isSharedConnection()) {
+            var key = TbMqttClientPool.Key.of(mqttNodeConfiguration, config);
+            MqttClient client = TbMqttClientPool.acquire(key, () -> connectClient(ctx, config));
+            sharedClientKey = key;
+            return client;
+        }
+        return connectClient(ctx, config);
+    }
+
+    private MqttClient connectClient(TbContext ctx, MqttClientConfig config) throws Exception {
         MqttClient client = getMqttClient(ctx, config);
         client.setEventLoop(ctx.getSharedEventLoop());
         Promise<MqttConnectResult> connectFuture = client.connect(mqttNodeConfiguration.getHost(), mqttNodeConfiguration.getPort());
@@ -20,6 +20,7 @@ import lombok.Data;
 import org.thingsboard.rule.engine.api.NodeConfiguration;
 import org.thingsboard.rule.engine.credentials.AnonymousCredentials;
 import org.thingsboard.rule.engine.credentials.ClientCredentials;
+import org.thingsboard.rule.engine.external.TbExternalNodeBatchConfiguration;
 
 @Data
 public class TbMqttNodeConfiguration implements NodeConfiguration<TbMqttNodeConfiguration> {
@@ -36,6 +37,9 @@ public class TbMqttNodeConfiguration implements NodeConfiguration<TbMqttNodeConf
     private boolean parseToPlainText;
     private MqttVersion protocolVersion;
     private ClientCredentials credentials;
+    private TbExternalNodeBatchConfiguration batching;
+    private TbMqttNodeOutboundBufferConfiguration outboundBuffer;
+    private boolean sharedConnection;
 
     @Override
     public TbMqttNodeConfiguration defaultConfiguration() {
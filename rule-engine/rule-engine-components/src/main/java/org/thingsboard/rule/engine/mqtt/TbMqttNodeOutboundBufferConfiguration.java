@@ -0,0 +1,36 @@
+/**
+ * Copyright © 2016-2025 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.thingsboard.rule.engine.mqtt;
+
+import lombok.Data;
+
+/**
+ * Optional outbound buffer of the MQTT node. Published messages are acknowledged once they are accepted by the buffer
+ * and are delivered in order when the broker is reachable, so broker outages do not fail the rule engine messages.
+ * The persistent buffer also survives restarts of the node.
+ */
+@Data
+public class TbMqttNodeOutboundBufferConfiguration {
+
+    private boolean enabled;
+    private boolean persistent;
+    private int maxMessages = 10000;
+    private long maxSizeBytes = 64 * 1024 * 1024;
+    private int maxInflight = 10;
+    private int maxAttempts = 10;
+    private long retryDelayMs = 1000;
+
+}
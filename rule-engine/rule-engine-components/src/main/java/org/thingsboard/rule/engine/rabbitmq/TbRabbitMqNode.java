@@ -27,7 +27,7 @@ import org.thingsboard.rule.engine.api.TbContext;
 import org.thingsboard.rule.engine.api.TbNodeConfiguration;
 import org.thingsboard.rule.engine.api.TbNodeException;
 import org.thingsboard.rule.engine.api.util.TbNodeUtils;
-import org.thingsboard.rule.engine.external.TbAbstractExternalNode;
+import org.thingsboard.rule.engine.external.TbAbstractBatchingExternalNode;
 import org.thingsboard.server.common.data.StringUtils;
 import org.thingsboard.server.common.data.plugin.ComponentType;
 import org.thingsboard.server.common.msg.TbMsg;
@@ -35,6 +35,8 @@ import org.thingsboard.server.common.msg.TbMsgMetaData;
 
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.thingsboard.common.util.DonAsynchron.withCallback;
 
@@ -48,7 +50,7 @@ import static org.thingsboard.common.util.DonAsynchron.withCallback;
         configDirective = "tbExternalNodeRabbitMqConfig",
         iconUrl = "data:image/svg+xml;base64,PHN2ZyB4bWxucz0iaHR0cDovL3d3dy53My5vcmcvMjAwMC9zdmciIHhtbDpzcGFjZT0icHJlc2VydmUiIHZlcnNpb249IjEuMSIgeT0iMHB4IiB4PSIwcHgiIHZpZXdCb3g9IjAgMCAxMDAwIDEwMDAiPjxwYXRoIHN0cm9rZS13aWR0aD0iLjg0OTU2IiBkPSJtODYwLjQ3IDQxNi4zMmgtMjYyLjAxYy0xMi45MTMgMC0yMy42MTgtMTAuNzA0LTIzLjYxOC0yMy42MTh2LTI3Mi43MWMwLTIwLjMwNS0xNi4yMjctMzYuMjc2LTM2LjI3Ni0zNi4yNzZoLTkzLjc5MmMtMjAuMzA1IDAtMzYuMjc2IDE2LjIyNy0zNi4yNzYgMzYuMjc2djI3MC44NGMtMC4yNTQ4NyAxNC4xMDMtMTEuNDY5IDI1LjU3Mi0yNS43NDIgMjUuNTcybC04NS42MzYgMC42Nzk2NWMtMTQuMTAzIDAtMjUuNTcyLTExLjQ2OS0yNS41NzItMjUuNTcybDAuNjc5NjUtMjcxLjUyYzAtMjAuMzA1LTE2LjIyNy0zNi4yNzYtMzYuMjc2LTM2LjI3NmgtOTMuNTM3Yy0yMC4zMDUgMC0zNi4yNzYgMTYuMjI3LTM2LjI3NiAzNi4yNzZ2NzYzLjg0YzAgMTguMDk2IDE0Ljc4MiAzMi40NTMgMzIuNDUzIDMyLjQ1M2g3MjIuODFjMTguMDk2IDAgMzIuNDUzLTE0Ljc4MiAzMi40NTMtMzIuNDUzdi00MzUuMzFjLTEuMTg5NC0xOC4xODEtMTUuMjkyLTMyLjE5OC0zMy4zODgtMzIuMTk4em0tMTIyLjY4IDI4Ny4wN2MwIDIzLjYxOC0xOC44NiA0Mi40NzgtNDIuNDc4IDQyLjQ3OGgtNzMuOTk3Yy0yMy42MTggMC00Mi40NzgtMTguODYtNDIuNDc4LTQyLjQ3OHYtNzQuMjUyYzAtMjMuNjE4IDE4Ljg2LTQyLjQ3OCA0Mi40NzgtNDIuNDc4aDczLjk5N2MyMy42MTggMCA0Mi40NzggMTguODYgNDIuNDc4IDQyLjQ3OHoiLz48L3N2Zz4="
 )
-public class TbRabbitMqNode extends TbAbstractExternalNode {
+public class TbRabbitMqNode extends TbAbstractBatchingExternalNode {
 
     private static final String supportedPropertiesStr = String.join(", ",
             "BASIC", "TEXT_PLAIN", "MINIMAL_BASIC", "MINIMAL_PERSISTENT_BASIC", "PERSISTENT_BASIC", "PERSISTENT_TEXT_PLAIN"
@@ -58,19 +60,27 @@ public class TbRabbitMqNode extends TbAbstractExternalNode {
 
     private static final String ERROR = "error";
 
+    static final long BATCH_CONFIRM_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(10);
+
     private TbRabbitMqNodeConfiguration config;
 
     private Connection connection;
     private Channel channel;
+    private Channel batchChannel;
 
     @Override
     public void init(TbContext ctx, TbNodeConfiguration configuration) throws TbNodeException {
         super.init(ctx);
         this.config = TbNodeUtils.convert(configuration, TbRabbitMqNodeConfiguration.class);
+        initBatching(ctx, config.getBatching());
         ConnectionFactory factory = getConnectionFactory();
         try {
             this.connection = factory.newConnection();
             this.channel = this.connection.createChannel();
+            if (isBatchingEnabled()) {
+                this.batchChannel = this.connection.createChannel();
+                this.batchChannel.confirmSelect();
+            }
         } catch (Exception e) {
             throw new TbNodeException(e);
         }
@@ -78,6 +88,9 @@ public class TbRabbitMqNode extends TbAbstractExternalNode {
 
     @Override
     public void onMsg(TbContext ctx, TbMsg msg) {
+        if (tryAddToBatch(ctx, msg)) {
+            return;
+        }
         var tbMsg = ackIfNeeded(ctx, msg);
         withCallback(publishMessageAsync(ctx, tbMsg),
                 m -> tellSuccess(ctx, m),
@@ -98,11 +111,40 @@ public class TbRabbitMqNode extends TbAbstractExternalNode {
         return factory;
     }
 
+    @Override
+    protected String getBatchKey(TbMsg msg) {
+        return "";
+    }
+
+    /**
+     * Publishes the messages of the batch over the dedicated channel in publisher confirms mode and waits
+     * for the broker to confirm the whole batch at once instead of confirming each message.
+     */
+    @Override
+    protected void processBatch(TbContext ctx, List<TbMsg> msgs) {
+        withCallback(ctx.getExternalCallExecutor().executeAsync(() -> publishBatch(msgs)),
+                published -> published.forEach(m -> tellSuccess(ctx, m)),
+                t -> msgs.forEach(m -> tellFailure(ctx, processException(m, t), t)));
+    }
+
     private ListenableFuture<TbMsg> publishMessageAsync(TbContext ctx, TbMsg msg) {
-        return ctx.getExternalCallExecutor().executeAsync(() -> publishMessage(ctx, msg));
+        return ctx.getExternalCallExecutor().executeAsync(() -> publishMessage(channel, msg));
+    }
+
+    private List<TbMsg> publishBatch(List<TbMsg> msgs) throws Exception {
+        // batches are published one at a time so that the confirms of different batches are not mixed up
+        synchronized (batchChannel) {
+            for (TbMsg msg : msgs) {
+                publishMessage(batchChannel, msg);
+            }
+            if (!batchChannel.waitForConfirms(BATCH_CONFIRM_TIMEOUT_MS)) {
+                throw new RuntimeException("Batch of " + msgs.size() + " messages was not confirmed by the broker!");
+            }
+        }
+        return msgs;
     }
 
-    private TbMsg publishMessage(TbContext ctx, TbMsg msg) throws Exception {
+    private TbMsg publishMessage(Channel channel, TbMsg msg) throws Exception {
         String exchangeName = "";
         if (!StringUtils.isEmpty(this.config.getExchangeNamePattern())) {
             exchangeName = TbNodeUtils.processPattern(this.config.getExchangeNamePattern(), msg);
@@ -133,6 +175,7 @@ public class TbRabbitMqNode extends TbAbstractExternalNode {
 
     @Override
     public void destroy() {
+        destroyBatching();
         if (this.connection != null) {
             try {
                 this.connection.close();
@@ -18,6 +18,7 @@ package org.thingsboard.rule.engine.rabbitmq;
 import com.rabbitmq.client.ConnectionFactory;
 import lombok.Data;
 import org.thingsboard.rule.engine.api.NodeConfiguration;
+import org.thingsboard.rule.engine.external.TbExternalNodeBatchConfiguration;
 
 import java.util.Collections;
 import java.util.Map;
@@ -37,6 +38,7 @@ public class TbRabbitMqNodeConfiguration implements NodeConfiguration<TbRabbitMq
     private int connectionTimeout;
     private int handshakeTimeout;
     private Map<String, String> clientProperties;
+    private TbExternalNodeBatchConfiguration batching;
 
     @Override
     public TbRabbitMqNodeConfiguration defaultConfiguration() {
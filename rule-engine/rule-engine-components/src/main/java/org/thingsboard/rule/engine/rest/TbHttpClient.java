@@ -15,6 +15,7 @@
  */
 package org.thingsboard.rule.engine.rest;
 
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.handler.ssl.SslContext;
@@ -52,8 +53,11 @@ import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -83,17 +87,26 @@ public class TbHttpClient {
 
     public static final String MAX_IN_MEMORY_BUFFER_SIZE_IN_KB = "tb.http.maxInMemoryBufferSizeInKb";
 
+    static final int DEFAULT_MAX_PENDING_REQUESTS_COUNT = 10000;
+
     private final TbRestApiCallNodeConfiguration config;
 
     private EventLoopGroup eventLoopGroup;
     private WebClient webClient;
     private Semaphore semaphore;
+    private int maxPendingRequestsCount;
+    private final Queue<PendingRequest> pendingRequests = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingRequestsCount = new AtomicInteger();
+    private final AtomicInteger peakPendingRequestsCount = new AtomicInteger();
+    private final AtomicInteger rejectedRequestsCount = new AtomicInteger();
 
     TbHttpClient(TbRestApiCallNodeConfiguration config, EventLoopGroup eventLoopGroupShared) throws TbNodeException {
         try {
             this.config = config;
             if (config.getMaxParallelRequestsCount() > 0) {
                 semaphore = new Semaphore(config.getMaxParallelRequestsCount());
+                maxPendingRequestsCount = config.getMaxPendingRequestsCount() > 0 ?
+                        config.getMaxPendingRequestsCount() : DEFAULT_MAX_PENDING_REQUESTS_COUNT;
             }
 
             ConnectionProvider connectionProvider = ConnectionProvider
@@ -198,58 +211,181 @@ public class TbHttpClient {
     }
 
     void destroy() {
+        int pending = 0;
+        PendingRequest request;
+        while ((request = pendingRequests.poll()) != null) {
+            pendingRequestsCount.decrementAndGet();
+            pending++;
+            failRequest(request, new RuntimeException("Request was not sent because the rule node is stopped!"));
+        }
+        if (pending > 0) {
+            log.debug("Failed {} pending request(s) on destroy", pending);
+        }
         if (this.eventLoopGroup != null) {
             this.eventLoopGroup.shutdownGracefully(0, 5, TimeUnit.SECONDS);
         }
     }
 
+    /**
+     * Sends the request for the message. When the number of parallel requests is limited and all slots are busy,
+     * the message is queued and sent once one of the in-flight requests completes, so the calling (rule engine
+     * dispatcher) thread is never blocked waiting for a slow endpoint. If the read timeout is set, queued messages
+     * that waited longer than it are failed with the same error as before. Messages that do not fit into the queue
+     * of the max pending requests count are failed right away.
+     */
     public void processMessage(TbContext ctx, TbMsg msg,
                                Consumer<TbMsg> onSuccess,
                                BiConsumer<TbMsg, Throwable> onFailure) {
-        try {
-            if (semaphore != null && !semaphore.tryAcquire(config.getReadTimeoutMs(), TimeUnit.MILLISECONDS)) {
-                onFailure.accept(msg, new RuntimeException("Timeout during waiting for reply!"));
-                return;
+        processRequest(new PendingRequest(ctx, List.of(msg), false, onSuccess, onFailure, System.currentTimeMillis()));
+    }
+
+    /**
+     * Sends the messages in a single request with the JSON array of their payloads as the body. The endpoint and
+     * headers are resolved using the first message, the response is reported for each message individually.
+     */
+    public void processMessages(TbContext ctx, List<TbMsg> msgs,
+                                Consumer<TbMsg> onSuccess,
+                                BiConsumer<TbMsg, Throwable> onFailure) {
+        processRequest(new PendingRequest(ctx, msgs, true, onSuccess, onFailure, System.currentTimeMillis()));
+    }
+
+    private void processRequest(PendingRequest request) {
+        if (semaphore == null) {
+            sendRequest(request, null);
+            return;
+        }
+        int pending = pendingRequestsCount.incrementAndGet();
+        if (pending > maxPendingRequestsCount) {
+            pendingRequestsCount.decrementAndGet();
+            rejectedRequestsCount.incrementAndGet();
+            failRequest(request, new RuntimeException("The maximum number of pending requests (" + maxPendingRequestsCount + ") is reached!"));
+            return;
+        }
+        pendingRequests.add(request);
+        peakPendingRequestsCount.accumulateAndGet(pending, Math::max);
+        tryProcessPendingRequests();
+    }
+
+    private void failRequest(PendingRequest request, Throwable t) {
+        for (TbMsg msg : request.msgs()) {
+            try {
+                request.onFailure().accept(msg, t);
+            } catch (Throwable e) {
+                log.debug("Failed to report failure of the message: {}", msg, e);
             }
+        }
+    }
+
+    public int getPendingRequestsCount() {
+        return pendingRequestsCount.get();
+    }
 
-            String endpointUrl = TbNodeUtils.processPattern(config.getRestEndpointUrlPattern(), msg);
-            HttpMethod method = HttpMethod.valueOf(config.getRequestMethod());
-            URI uri = buildEncodedUri(endpointUrl);
+    public int getPeakPendingRequestsCount() {
+        return peakPendingRequestsCount.get();
+    }
+
+    public int getRejectedRequestsCount() {
+        return rejectedRequestsCount.get();
+    }
 
-            RequestBodySpec request = webClient
-                    .method(method)
-                    .uri(uri)
-                    .headers(headers -> prepareHeaders(headers, msg));
+    /**
+     * Logs the pending requests queue depth: the current and the peak size since the previous call and the number
+     * of requests rejected because the queue was full.
+     */
+    void printPendingRequestsStats(Object nodeId) {
+        int current = pendingRequestsCount.get();
+        int peak = peakPendingRequestsCount.getAndSet(current);
+        int rejected = rejectedRequestsCount.getAndSet(0);
+        if (peak > 0 || rejected > 0) {
+            log.info("[{}] Pending requests: current [{}], peak [{}], rejected [{}], max [{}]", nodeId, current, peak, rejected, maxPendingRequestsCount);
+        }
+    }
 
-            if ((HttpMethod.POST.equals(method) || HttpMethod.PUT.equals(method) ||
-                    HttpMethod.PATCH.equals(method) || HttpMethod.DELETE.equals(method)) &&
-                    !config.isIgnoreRequestBody()) {
-                request.body(BodyInserters.fromValue(getData(msg, config.isParseToPlainText())));
+    private void tryProcessPendingRequests() {
+        while (!pendingRequests.isEmpty()) {
+            // The semaphore have to be acquired before EACH poll and released before NEXT poll.
+            // Otherwise, some request will remain unprocessed in queue
+            if (!semaphore.tryAcquire()) {
+                log.trace("All {} parallel requests are in progress, {} request(s) pending", config.getMaxParallelRequestsCount(), pendingRequestsCount.get());
+                return;
             }
+            PendingRequest request = pendingRequests.poll();
+            if (request == null) {
+                semaphore.release();
+                continue;
+            }
+            pendingRequestsCount.decrementAndGet();
+            List<TbMsg> validMsgs = request.msgs().stream().filter(msg -> msg.getCallback().isMsgValid()).toList();
+            if (validMsgs.isEmpty()) {
+                log.trace("Skipping non-valid message(s) [{}]", request.msgs());
+                semaphore.release();
+                continue;
+            }
+            if (config.getReadTimeoutMs() > 0 && System.currentTimeMillis() - request.queuedTs() > config.getReadTimeoutMs()) {
+                semaphore.release();
+                validMsgs.forEach(msg -> request.onFailure().accept(msg, new RuntimeException("Timeout during waiting for reply!")));
+                continue;
+            }
+            try {
+                sendRequest(validMsgs.size() == request.msgs().size() ? request : request.withMsgs(validMsgs), this::releaseAndProcessPendingRequests);
+            } catch (Throwable t) {
+                semaphore.release();
+                log.debug("Failed to process message(s): {}", validMsgs, t);
+                validMsgs.forEach(msg -> request.onFailure().accept(msg, t)); // not allowed to throw here, because queue will remain unprocessed
+            }
+        }
+    }
 
-            request
-                    .retrieve()
-                    .toEntity(String.class)
-                    .subscribe(responseEntity -> {
-                        if (semaphore != null) {
-                            semaphore.release();
-                        }
+    private void releaseAndProcessPendingRequests() {
+        semaphore.release();
+        tryProcessPendingRequests();
+    }
+
+    private void sendRequest(PendingRequest pendingRequest, Runnable onComplete) {
+        TbContext ctx = pendingRequest.ctx();
+        List<TbMsg> msgs = pendingRequest.msgs();
+        TbMsg firstMsg = msgs.get(0);
+        String endpointUrl = TbNodeUtils.processPattern(config.getRestEndpointUrlPattern(), firstMsg);
+        HttpMethod method = HttpMethod.valueOf(config.getRequestMethod());
+        URI uri = buildEncodedUri(endpointUrl);
+
+        RequestBodySpec request = webClient
+                .method(method)
+                .uri(uri)
+                .headers(headers -> prepareHeaders(headers, firstMsg));
+
+        if ((HttpMethod.POST.equals(method) || HttpMethod.PUT.equals(method) ||
+                HttpMethod.PATCH.equals(method) || HttpMethod.DELETE.equals(method)) &&
+                !config.isIgnoreRequestBody()) {
+            request.body(BodyInserters.fromValue(pendingRequest.batch() ?
+                    getBatchData(msgs, config.isParseToPlainText()) : getData(firstMsg, config.isParseToPlainText())));
+        }
 
+        request
+                .retrieve()
+                .toEntity(String.class)
+                .subscribe(responseEntity -> {
+                    if (onComplete != null) {
+                        onComplete.run();
+                    }
+
+                    for (TbMsg msg : msgs) {
                         if (responseEntity.getStatusCode().is2xxSuccessful()) {
-                            onSuccess.accept(processResponse(ctx, msg, responseEntity));
+                            pendingRequest.onSuccess().accept(processResponse(ctx, msg, responseEntity));
                         } else {
-                            onFailure.accept(processFailureResponse(msg, responseEntity), null);
-                        }
-                    }, throwable -> {
-                        if (semaphore != null) {
-                            semaphore.release();
+                            pendingRequest.onFailure().accept(processFailureResponse(msg, responseEntity), null);
                         }
-
-                        onFailure.accept(processException(msg, throwable), processThrowable(throwable));
-                    });
-        } catch (InterruptedException e) {
-            log.warn("Timeout during waiting for reply!", e);
-        }
+                    }
+                }, throwable -> {
+                    if (onComplete != null) {
+                        onComplete.run();
+                    }
+
+                    Throwable cause = processThrowable(throwable);
+                    for (TbMsg msg : msgs) {
+                        pendingRequest.onFailure().accept(processException(msg, throwable), cause);
+                    }
+                });
     }
 
     private Throwable processThrowable(Throwable origin) {
@@ -289,6 +425,18 @@ public class TbHttpClient {
         return parseToPlainText ? JacksonUtil.toPlainText(data) : JacksonUtil.toJsonNode(data);
     }
 
+    private ArrayNode getBatchData(List<TbMsg> msgs, boolean parseToPlainText) {
+        ArrayNode data = JacksonUtil.newArrayNode();
+        for (TbMsg msg : msgs) {
+            if (parseToPlainText) {
+                data.add(JacksonUtil.toPlainText(msg.getData()));
+            } else {
+                data.add(JacksonUtil.toJsonNode(msg.getData()));
+            }
+        }
+        return data;
+    }
+
     private TbMsg processResponse(TbContext ctx, TbMsg origMsg, ResponseEntity<String> response) {
         TbMsgMetaData metaData = origMsg.getMetaData();
         HttpStatus httpStatus = (HttpStatus) response.getStatusCode();
@@ -429,4 +577,15 @@ public class TbHttpClient {
         }
     }
 
+    private record PendingRequest(TbContext ctx, List<TbMsg> msgs, boolean batch,
+                                  Consumer<TbMsg> onSuccess,
+                                  BiConsumer<TbMsg, Throwable> onFailure,
+                                  long queuedTs) {
+
+        PendingRequest withMsgs(List<TbMsg> msgs) {
+            return new PendingRequest(ctx, msgs, batch, onSuccess, onFailure, queuedTs);
+        }
+
+    }
+
 }
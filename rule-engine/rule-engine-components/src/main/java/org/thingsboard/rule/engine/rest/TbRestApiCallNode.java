@@ -23,12 +23,13 @@ import org.thingsboard.rule.engine.api.TbContext;
 import org.thingsboard.rule.engine.api.TbNodeConfiguration;
 import org.thingsboard.rule.engine.api.TbNodeException;
 import org.thingsboard.rule.engine.api.util.TbNodeUtils;
-import org.thingsboard.rule.engine.external.TbAbstractExternalNode;
+import org.thingsboard.rule.engine.external.TbAbstractBatchingExternalNode;
 import org.thingsboard.server.common.data.plugin.ComponentType;
 import org.thingsboard.server.common.data.util.TbPair;
 import org.thingsboard.server.common.msg.TbMsg;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @RuleNode(
@@ -48,30 +49,68 @@ import java.util.List;
         configDirective = "tbExternalNodeRestApiCallConfig",
         iconUrl = "data:image/svg+xml;base64,PHN2ZyBzdHlsZT0iZW5hYmxlLWJhY2tncm91bmQ6bmV3IDAgMCA1MTIgNTEyIiB4bWxucz0iaHR0cDovL3d3dy53My5vcmcvMjAwMC9zdmciIHhtbDpzcGFjZT0icHJlc2VydmUiIHZpZXdCb3g9IjAgMCA1MTIgNTEyIiB2ZXJzaW9uPSIxLjEiIHk9IjBweCIgeD0iMHB4Ij48ZyB0cmFuc2Zvcm09Im1hdHJpeCguOTQ5NzUgMCAwIC45NDk3NSAxNy4xMiAyNi40OTIpIj48cGF0aCBkPSJtMTY5LjExIDEwOC41NGMtOS45MDY2IDAuMDczNC0xOS4wMTQgNi41NzI0LTIyLjAxNCAxNi40NjlsLTY5Ljk5MyAyMzEuMDhjLTMuNjkwNCAxMi4xODEgMy4yODkyIDI1LjIyIDE1LjQ2OSAyOC45MSAyLjIyNTkgMC42NzQ4MSA0LjQ5NjkgMSA2LjcyODUgMSA5Ljk3MjEgMCAxOS4xNjUtNi41MTUzIDIyLjE4Mi0xNi40NjdhNi41MjI0IDYuNTIyNCAwIDAgMCAwLjAwMiAtMC4wMDJsNjkuOTktMjMxLjA3YTYuNTIyNCA2LjUyMjQgMCAwIDAgMCAtMC4wMDJjMy42ODU1LTEyLjE4MS0zLjI4Ny0yNS4yMjUtMTUuNDcxLTI4LjkxMi0yLjI4MjUtMC42OTE0NS00LjYxMTYtMS4wMTY5LTYuODk4NC0xem04NC45ODggMGMtOS45MDQ4IDAuMDczNC0xOS4wMTggNi41Njc1LTIyLjAxOCAxNi40NjlsLTY5Ljk4NiAyMzEuMDhjLTMuNjg5OCAxMi4xNzkgMy4yODUzIDI1LjIxNyAxNS40NjUgMjguOTA4IDIuMjI5NyAwLjY3NjQ3IDQuNTAwOCAxLjAwMiA2LjczMjQgMS4wMDIgOS45NzIxIDAgMTkuMTY1LTYuNTE1MyAyMi4xODItMTYuNDY3YTYuNTIyNCA2LjUyMjQgMCAwIDAgMC4wMDIgLTAuMDAybDY5Ljk4OC0yMzEuMDdjMy42OTA4LTEyLjE4MS0zLjI4NTItMjUuMjIzLTE1LjQ2Ny0yOC45MTItMi4yODE0LTAuNjkyMzEtNC42MTA4LTEuMDE4OS02Ljg5ODQtMS4wMDJ6bS0yMTcuMjkgNDIuMjNjLTEyLjcyOS0wLjAwMDg3LTIzLjE4OCAxMC40NTYtMjMuMTg4IDIzLjE4NiAwLjAwMSAxMi43MjggMTAuNDU5IDIzLjE4NiAyMy4xODggMjMuMTg2IDEyLjcyNy0wLjAwMSAyMy4xODMtMTAuNDU5IDIzLjE4NC0yMy4xODYgMC4wMDA4NzYtMTIuNzI4LTEwLjQ1Ni0yMy4xODUtMjMuMTg0LTIzLjE4NnptMCAxNDYuNjRjLTEyLjcyNy0wLjAwMDg3LTIzLjE4NiAxMC40NTUtMjMuMTg4IDIzLjE4NC0wLjAwMDg3MyAxMi43MjkgMTAuNDU4IDIzLjE4OCAyMy4xODggMjMuMTg4IDEyLjcyOC0wLjAwMSAyMy4xODQtMTAuNDYgMjMuMTg0LTIzLjE4OC0wLjAwMS0xMi43MjYtMTAuNDU3LTIzLjE4My0yMy4xODQtMjMuMTg0em0yNzAuNzkgNDIuMjExYy0xMi43MjcgMC0yMy4xODQgMTAuNDU3LTIzLjE4NCAyMy4xODRzMTAuNDU1IDIzLjE4OCAyMy4xODQgMjMuMTg4aDE1NC45OGMxMi43MjkgMCAyMy4xODYtMTAuNDYgMjMuMTg2LTIzLjE4OCAwLjAwMS0xMi43MjgtMTAuNDU4LTIzLjE4NC0yMy4xODYtMjMuMTg0eiIgdHJhbnNmb3JtPSJtYXRyaXgoMS4wMzc2IDAgMCAxLjAzNzYgLTcuNTY3NiAtMTQuOTI1KSIgc3Ryb2tlLXdpZHRoPSIxLjI2OTMiLz48L2c+PC9zdmc+"
 )
-public class TbRestApiCallNode extends TbAbstractExternalNode {
+public class TbRestApiCallNode extends TbAbstractBatchingExternalNode {
 
     static final String PARSE_TO_PLAIN_TEXT = "parseToPlainText";
     static final String MAX_IN_MEMORY_BUFFER_SIZE_IN_KB = "maxInMemoryBufferSizeInKb";
     static final String TRIM_DOUBLE_QUOTES = "trimDoubleQuotes";
+    static final long PENDING_REQUESTS_STATS_PRINT_INTERVAL_SEC = 60;
     protected TbHttpClient httpClient;
+    private volatile boolean destroyed;
 
     @Override
     public void init(TbContext ctx, TbNodeConfiguration configuration) throws TbNodeException {
         super.init(ctx);
         TbRestApiCallNodeConfiguration config = TbNodeUtils.convert(configuration, TbRestApiCallNodeConfiguration.class);
         httpClient = new TbHttpClient(config, ctx.getSharedEventLoop());
+        initBatching(ctx, config.getBatching());
+        if (config.getMaxParallelRequestsCount() > 0) {
+            schedulePendingRequestsStats(ctx);
+        }
+    }
+
+    private void schedulePendingRequestsStats(TbContext ctx) {
+        ctx.schedule(() -> {
+            if (!destroyed) {
+                httpClient.printPendingRequestsStats(ctx.getSelfId());
+                schedulePendingRequestsStats(ctx);
+            }
+        }, PENDING_REQUESTS_STATS_PRINT_INTERVAL_SEC, TimeUnit.SECONDS);
     }
 
     @Override
     public void onMsg(TbContext ctx, TbMsg msg) {
+        if (tryAddToBatch(ctx, msg)) {
+            return;
+        }
         var tbMsg = ackIfNeeded(ctx, msg);
         httpClient.processMessage(ctx, tbMsg,
                 m -> tellSuccess(ctx, m),
                 (m, t) -> tellFailure(ctx, m, t));
     }
 
+    @Override
+    protected String getBatchKey(TbMsg msg) {
+        TbRestApiCallNodeConfiguration config = httpClient.getConfig();
+        StringBuilder key = new StringBuilder(TbNodeUtils.processPattern(config.getRestEndpointUrlPattern(), msg));
+        if (config.getHeaders() != null) {
+            config.getHeaders().forEach((k, v) -> key.append('|').append(TbNodeUtils.processPattern(k, msg))
+                    .append('=').append(TbNodeUtils.processPattern(v, msg)));
+        }
+        return key.toString();
+    }
+
+    @Override
+    protected void processBatch(TbContext ctx, List<TbMsg> msgs) {
+        httpClient.processMessages(ctx, msgs,
+                m -> tellSuccess(ctx, m),
+                (m, t) -> tellFailure(ctx, m, t));
+    }
+
     @Override
     public void destroy() {
+        destroyed = true;
+        destroyBatching();
         if (this.httpClient != null) {
             this.httpClient.destroy();
         }
@@ -22,6 +22,7 @@ import org.springframework.http.MediaType;
 import org.thingsboard.rule.engine.api.NodeConfiguration;
 import org.thingsboard.rule.engine.credentials.AnonymousCredentials;
 import org.thingsboard.rule.engine.credentials.ClientCredentials;
+import org.thingsboard.rule.engine.external.TbExternalNodeBatchConfiguration;
 
 import java.util.Collections;
 import java.util.Map;
@@ -36,6 +37,7 @@ public class TbRestApiCallNodeConfiguration implements NodeConfiguration<TbRestA
     private boolean useSimpleClientHttpFactory;
     private int readTimeoutMs;
     private int maxParallelRequestsCount;
+    private int maxPendingRequestsCount;
     private boolean parseToPlainText;
     private boolean enableProxy;
     private boolean useSystemProxyProperties;
@@ -47,6 +49,7 @@ public class TbRestApiCallNodeConfiguration implements NodeConfiguration<TbRestA
     private ClientCredentials credentials;
     private boolean ignoreRequestBody;
     private int maxInMemoryBufferSizeInKb;
+    private TbExternalNodeBatchConfiguration batching;
 
     @Override
     public TbRestApiCallNodeConfiguration defaultConfiguration() {
@@ -57,6 +60,7 @@ public class TbRestApiCallNodeConfiguration implements NodeConfiguration<TbRestA
         configuration.setUseSimpleClientHttpFactory(false);
         configuration.setReadTimeoutMs(0);
         configuration.setMaxParallelRequestsCount(0);
+        configuration.setMaxPendingRequestsCount(TbHttpClient.DEFAULT_MAX_PENDING_REQUESTS_COUNT);
         configuration.setParseToPlainText(false);
         configuration.setEnableProxy(false);
         configuration.setCredentials(new AnonymousCredentials());
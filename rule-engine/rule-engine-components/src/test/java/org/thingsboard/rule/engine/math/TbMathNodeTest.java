@@ -61,6 +61,7 @@ import java.math.RoundingMode;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -886,6 +887,20 @@ public class TbMathNodeTest {
         );
     }
 
+    @Test
+    public void testCustomExpressionCopiesHaveIndependentVariables() {
+        var variables = Set.of("a", "b");
+        var first = TbMathExpressionCache.newExpression("2a+3b", variables);
+        var second = TbMathExpressionCache.newExpression("2a+3b", variables);
+        assertThat(first).isNotSameAs(second);
+
+        first.setVariable("a", 2).setVariable("b", 2);
+        second.setVariable("a", 4).setVariable("b", 3);
+
+        assertThat(first.evaluate()).isEqualTo(10);
+        assertThat(second.evaluate()).isEqualTo(17);
+    }
+
     static class RuleDispatcherExecutor extends AbstractListeningExecutor {
         @Override
         protected int getThreadPollSize() {
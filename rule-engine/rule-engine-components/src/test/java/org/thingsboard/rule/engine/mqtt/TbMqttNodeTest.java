@@ -29,6 +29,7 @@ import io.netty.util.concurrent.Promise;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -50,21 +51,27 @@ import org.thingsboard.rule.engine.api.util.TbNodeUtils;
 import org.thingsboard.rule.engine.credentials.AnonymousCredentials;
 import org.thingsboard.rule.engine.credentials.BasicCredentials;
 import org.thingsboard.rule.engine.credentials.CertPemCredentials;
+import org.thingsboard.rule.engine.external.TbExternalNodeBatchConfiguration;
 import org.thingsboard.server.common.data.id.DeviceId;
 import org.thingsboard.server.common.data.id.RuleNodeId;
 import org.thingsboard.server.common.data.id.TenantId;
 import org.thingsboard.server.common.data.msg.TbMsgType;
 import org.thingsboard.server.common.data.msg.TbNodeConnectionType;
+import org.thingsboard.server.common.data.plugin.ComponentLifecycleEvent;
 import org.thingsboard.server.common.data.rule.RuleNode;
 import org.thingsboard.server.common.msg.TbMsg;
 import org.thingsboard.server.common.msg.TbMsgMetaData;
 
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -80,6 +87,7 @@ import static org.mockito.BDDMockito.mock;
 import static org.mockito.BDDMockito.never;
 import static org.mockito.BDDMockito.spy;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.times;
 import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.BDDMockito.willReturn;
 import static org.mockito.Mockito.lenient;
@@ -124,6 +132,11 @@ public class TbMqttNodeTest extends AbstractRuleNodeUpgradeTest {
             public double getRetransmissionJitterFactor() {
                 return 0.15;
             }
+
+            @Override
+            public String getOutboundBufferDirectory() {
+                return null;
+            }
         });
     }
 
@@ -375,6 +388,96 @@ public class TbMqttNodeTest extends AbstractRuleNodeUpgradeTest {
         assertThat(actualMsg).usingRecursiveComparison().ignoringFields("ctx").isEqualTo(expectedMsg);
     }
 
+    @Test
+    public void givenBatchingEnabled_whenOnMsg_thenPublishBatchInSingleMessage() throws Exception {
+        TbExternalNodeBatchConfiguration batching = new TbExternalNodeBatchConfiguration();
+        batching.setEnabled(true);
+        batching.setMaxSize(2);
+        mqttNodeConfig.setBatching(batching);
+
+        given(ctxMock.isExternalNodeForceAck()).willReturn(false);
+        mockSuccessfulInit();
+        mqttNode.init(ctxMock, new TbNodeConfiguration(JacksonUtil.valueToTree(mqttNodeConfig)));
+
+        TbMsg timeoutMsg = newBatchTimeoutMsg();
+        given(ctxMock.newMsg(any(), any(TbMsgType.class), any(), any(), any())).willReturn(timeoutMsg);
+        Future<Void> future = mock(Future.class);
+        given(future.isSuccess()).willReturn(true);
+        given(mqttClientMock.publish(any(String.class), any(ByteBuf.class), any(MqttQoS.class), anyBoolean())).willReturn(future);
+        willAnswer(invocation -> {
+            GenericFutureListener<Future<Void>> listener = invocation.getArgument(0);
+            listener.operationComplete(future);
+            return null;
+        }).given(future).addListener(any());
+
+        mqttNode.onMsg(ctxMock, newTelemetryMsg("{\"temperature\":1}"));
+        then(mqttClientMock).should(never()).publish(any(String.class), any(ByteBuf.class), any(MqttQoS.class), anyBoolean());
+        mqttNode.onMsg(ctxMock, newTelemetryMsg("{\"temperature\":2}"));
+
+        then(ctxMock).should().tellSelf(timeoutMsg, batching.getLingerMs());
+        ArgumentCaptor<ByteBuf> payload = ArgumentCaptor.forClass(ByteBuf.class);
+        then(mqttClientMock).should().publish(eq(mqttNodeConfig.getTopicPattern()), payload.capture(), eq(MqttQoS.AT_LEAST_ONCE), eq(false));
+        assertThat(JacksonUtil.toJsonNode(payload.getValue().toString(StandardCharsets.UTF_8)))
+                .isEqualTo(JacksonUtil.toJsonNode("[{\"temperature\":1},{\"temperature\":2}]"));
+        then(ctxMock).should(times(2)).tellSuccess(any(TbMsg.class));
+    }
+
+    @Test
+    public void givenBatchingEnabledAndBatchTimeoutMsg_whenOnMsg_thenPublishPendingBatch() throws Exception {
+        TbExternalNodeBatchConfiguration batching = new TbExternalNodeBatchConfiguration();
+        batching.setEnabled(true);
+        mqttNodeConfig.setBatching(batching);
+
+        given(ctxMock.isExternalNodeForceAck()).willReturn(false);
+        mockSuccessfulInit();
+        mqttNode.init(ctxMock, new TbNodeConfiguration(JacksonUtil.valueToTree(mqttNodeConfig)));
+
+        TbMsg timeoutMsg = newBatchTimeoutMsg();
+        given(ctxMock.newMsg(any(), any(TbMsgType.class), any(), any(), any())).willReturn(timeoutMsg);
+        Future<Void> future = mock(Future.class);
+        given(mqttClientMock.publish(any(String.class), any(ByteBuf.class), any(MqttQoS.class), anyBoolean())).willReturn(future);
+
+        mqttNode.onMsg(ctxMock, newTelemetryMsg("{\"temperature\":1}"));
+        then(mqttClientMock).should(never()).publish(any(String.class), any(ByteBuf.class), any(MqttQoS.class), anyBoolean());
+        mqttNode.onMsg(ctxMock, timeoutMsg);
+
+        then(mqttClientMock).should().publish(eq(mqttNodeConfig.getTopicPattern()), any(ByteBuf.class), eq(MqttQoS.AT_LEAST_ONCE), eq(false));
+    }
+
+    @Test
+    public void givenBatchingEnabledAndPendingBatch_whenDestroy_thenTellFailure() throws Exception {
+        TbExternalNodeBatchConfiguration batching = new TbExternalNodeBatchConfiguration();
+        batching.setEnabled(true);
+        mqttNodeConfig.setBatching(batching);
+
+        given(ctxMock.isExternalNodeForceAck()).willReturn(false);
+        mockSuccessfulInit();
+        mqttNode.init(ctxMock, new TbNodeConfiguration(JacksonUtil.valueToTree(mqttNodeConfig)));
+        given(ctxMock.newMsg(any(), any(TbMsgType.class), any(), any(), any())).willReturn(newBatchTimeoutMsg());
+
+        TbMsg msg = newTelemetryMsg("{\"temperature\":1}");
+        mqttNode.onMsg(ctxMock, msg);
+        mqttNode.destroy();
+
+        then(mqttClientMock).should(never()).publish(any(String.class), any(ByteBuf.class), any(MqttQoS.class), anyBoolean());
+        ArgumentCaptor<Throwable> throwable = ArgumentCaptor.forClass(Throwable.class);
+        then(ctxMock).should().tellFailure(eq(msg), throwable.capture());
+        assertThat(throwable.getValue()).hasMessage("Batch was not sent because the rule node is stopped!");
+    }
+
+    @Test
+    public void givenBatchingDisabled_whenBatchTimeoutMsg_thenDropMsg() throws Exception {
+        given(ctxMock.isExternalNodeForceAck()).willReturn(false);
+        mockSuccessfulInit();
+        mqttNode.init(ctxMock, new TbNodeConfiguration(JacksonUtil.valueToTree(mqttNodeConfig)));
+
+        mqttNode.onMsg(ctxMock, newBatchTimeoutMsg());
+
+        then(mqttClientMock).should(never()).publish(any(String.class), any(ByteBuf.class), any(MqttQoS.class), anyBoolean());
+        then(ctxMock).should(never()).tellSuccess(any());
+        then(ctxMock).should(never()).tellFailure(any(), any());
+    }
+
     @Test
     public void givenMqttClientIsNotNull_whenDestroy_thenDisconnect() {
         ReflectionTestUtils.setField(mqttNode, "mqttClient", mqttClientMock);
@@ -389,6 +492,64 @@ public class TbMqttNodeTest extends AbstractRuleNodeUpgradeTest {
         then(mqttClientMock).shouldHaveNoInteractions();
     }
 
+    @Test
+    public void givenPersistentOutboundBuffer_whenDestroyOnDelete_thenDeleteOutboundBufferDirectory(@TempDir Path tempDir) throws Exception {
+        TbMqttNodeOutboundBufferConfiguration outboundBuffer = new TbMqttNodeOutboundBufferConfiguration();
+        outboundBuffer.setEnabled(true);
+        outboundBuffer.setPersistent(true);
+        mqttNodeConfig.setOutboundBuffer(outboundBuffer);
+        ReflectionTestUtils.setField(mqttNode, "mqttNodeConfiguration", mqttNodeConfig);
+        ReflectionTestUtils.setField(mqttNode, "mqttClient", mqttClientMock);
+        MqttClientSettings mqttClientSettings = mock(MqttClientSettings.class);
+        given(mqttClientSettings.getOutboundBufferDirectory()).willReturn(tempDir.toString());
+        given(ctxMock.getMqttClientSettings()).willReturn(mqttClientSettings);
+        given(ctxMock.getSelf()).willReturn(new RuleNode(RULE_NODE_ID));
+        Path nodeDirectory = Files.createDirectories(tempDir.resolve(RULE_NODE_ID.getId().toString()));
+        Files.write(nodeDirectory.resolve("00000000000000000000.msg"), new byte[]{1});
+
+        mqttNode.destroy(ctxMock, ComponentLifecycleEvent.STOPPED);
+        assertThat(nodeDirectory).exists();
+
+        mqttNode.destroy(ctxMock, ComponentLifecycleEvent.DELETED);
+        assertThat(nodeDirectory).doesNotExist();
+        then(mqttClientMock).should(times(2)).disconnect();
+    }
+
+    @Test
+    public void givenOutboundBufferTurnedOff_whenInit_thenDeleteOutboundBufferDirectory(@TempDir Path tempDir) throws Exception {
+        MqttClientSettings mqttClientSettings = mock(MqttClientSettings.class);
+        given(mqttClientSettings.getOutboundBufferDirectory()).willReturn(tempDir.toString());
+        given(ctxMock.getMqttClientSettings()).willReturn(mqttClientSettings);
+        Path nodeDirectory = Files.createDirectories(tempDir.resolve(RULE_NODE_ID.getId().toString()));
+        Files.write(nodeDirectory.resolve("00000000000000000000.msg"), new byte[]{1});
+
+        mockSuccessfulInit();
+        mqttNode.init(ctxMock, new TbNodeConfiguration(JacksonUtil.valueToTree(mqttNodeConfig)));
+
+        assertThat(nodeDirectory).doesNotExist();
+    }
+
+    @Test
+    public void givenEquivalentConfigs_whenAcquireSharedClient_thenClientIsCreatedOnceAndDisconnectedByLastRelease() throws Exception {
+        var key = TbMqttClientPool.Key.of(mqttNodeConfig, new MqttClientConfig());
+        var otherKey = TbMqttClientPool.Key.of(mqttNodeConfig, new MqttClientConfig());
+        var factoryCalls = new AtomicInteger();
+        Callable<MqttClient> factory = () -> {
+            factoryCalls.incrementAndGet();
+            return mqttClientMock;
+        };
+
+        assertThat(TbMqttClientPool.acquire(key, factory)).isSameAs(mqttClientMock);
+        assertThat(TbMqttClientPool.acquire(otherKey, factory)).isSameAs(mqttClientMock);
+        assertThat(factoryCalls.get()).isEqualTo(1);
+
+        TbMqttClientPool.release(key);
+        then(mqttClientMock).should(never()).disconnect();
+        TbMqttClientPool.release(otherKey);
+        then(mqttClientMock).should().disconnect();
+        assertThat(TbMqttClientPool.size()).isZero();
+    }
+
     @ParameterizedTest
     @MethodSource
     public void verifyProtocolVersionMapping(MqttVersion expectedVersion) throws Exception {
@@ -432,6 +593,24 @@ public class TbMqttNodeTest extends AbstractRuleNodeUpgradeTest {
         return mqttNode;
     }
 
+    private TbMsg newTelemetryMsg(String data) {
+        return TbMsg.newMsg()
+                .type(TbMsgType.POST_TELEMETRY_REQUEST)
+                .originator(DEVICE_ID)
+                .copyMetaData(TbMsgMetaData.EMPTY)
+                .data(data)
+                .build();
+    }
+
+    private TbMsg newBatchTimeoutMsg() {
+        return TbMsg.newMsg()
+                .type(TbMsgType.EXTERNAL_NODE_BATCH_TIMEOUT_SELF_MSG)
+                .originator(RULE_NODE_ID)
+                .copyMetaData(TbMsgMetaData.EMPTY)
+                .data(mqttNodeConfig.getTopicPattern())
+                .build();
+    }
+
     private void mockConnectClient() {
         given(ctxMock.getTenantId()).willReturn(TENANT_ID);
         given(ctxMock.getSelf()).willReturn(new RuleNode(RULE_NODE_ID));
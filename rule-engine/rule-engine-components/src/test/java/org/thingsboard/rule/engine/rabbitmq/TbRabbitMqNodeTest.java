@@ -41,6 +41,7 @@ import org.thingsboard.rule.engine.api.TbContext;
 import org.thingsboard.rule.engine.api.TbNodeConfiguration;
 import org.thingsboard.rule.engine.api.TbNodeException;
 import org.thingsboard.rule.engine.api.util.TbNodeUtils;
+import org.thingsboard.rule.engine.external.TbExternalNodeBatchConfiguration;
 import org.thingsboard.server.common.data.StringUtils;
 import org.thingsboard.server.common.data.id.DeviceId;
 import org.thingsboard.server.common.data.msg.TbMsgType;
@@ -91,6 +92,8 @@ public class TbRabbitMqNodeTest {
     private Connection connectionMock;
     @Mock
     private Channel channelMock;
+    @Mock
+    private Channel batchChannelMock;
 
     @BeforeEach
     public void setUp() {
@@ -261,6 +264,87 @@ public class TbRabbitMqNodeTest {
                         "'! Only " + supportedPropertiesStr + " message properties types are supported!");
     }
 
+    @Test
+    public void givenBatchingEnabled_whenOnMsg_thenPublishBatchAndWaitForConfirms() throws Exception {
+        config.setBatching(newBatchConfiguration(2));
+
+        given(ctxMock.isExternalNodeForceAck()).willReturn(false);
+        mockOnInitWithBatching();
+        given(ctxMock.getExternalCallExecutor()).willReturn(executor);
+        given(ctxMock.newMsg(any(), any(TbMsgType.class), any(), any(), any())).willReturn(newBatchTimeoutMsg());
+        given(batchChannelMock.waitForConfirms(TbRabbitMqNode.BATCH_CONFIRM_TIMEOUT_MS)).willReturn(true);
+
+        node.init(ctxMock, new TbNodeConfiguration(JacksonUtil.valueToTree(config)));
+        TbMsg first = newTelemetryMsg("{\"temperature\":1}");
+        TbMsg second = newTelemetryMsg("{\"temperature\":2}");
+        node.onMsg(ctxMock, first);
+        then(batchChannelMock).should(never()).basicPublish(any(), any(), any(), any());
+        node.onMsg(ctxMock, second);
+
+        then(batchChannelMock).should().confirmSelect();
+        then(batchChannelMock).should().basicPublish("", "", null, first.getData().getBytes(StandardCharsets.UTF_8));
+        then(batchChannelMock).should().basicPublish("", "", null, second.getData().getBytes(StandardCharsets.UTF_8));
+        then(batchChannelMock).should().waitForConfirms(TbRabbitMqNode.BATCH_CONFIRM_TIMEOUT_MS);
+        then(channelMock).should(never()).basicPublish(any(), any(), any(), any());
+        then(ctxMock).should().tellSuccess(first);
+        then(ctxMock).should().tellSuccess(second);
+    }
+
+    @Test
+    public void givenBatchingEnabledAndBatchIsNotConfirmed_whenOnMsg_thenTellFailure() throws Exception {
+        config.setBatching(newBatchConfiguration(2));
+
+        given(ctxMock.isExternalNodeForceAck()).willReturn(false);
+        mockOnInitWithBatching();
+        given(ctxMock.getExternalCallExecutor()).willReturn(executor);
+        given(ctxMock.newMsg(any(), any(TbMsgType.class), any(), any(), any())).willReturn(newBatchTimeoutMsg());
+        given(batchChannelMock.waitForConfirms(TbRabbitMqNode.BATCH_CONFIRM_TIMEOUT_MS)).willReturn(false);
+
+        node.init(ctxMock, new TbNodeConfiguration(JacksonUtil.valueToTree(config)));
+        node.onMsg(ctxMock, newTelemetryMsg("{\"temperature\":1}"));
+        node.onMsg(ctxMock, newTelemetryMsg("{\"temperature\":2}"));
+
+        ArgumentCaptor<TbMsg> actualMsg = ArgumentCaptor.forClass(TbMsg.class);
+        ArgumentCaptor<Throwable> throwable = ArgumentCaptor.forClass(Throwable.class);
+        then(ctxMock).should(times(2)).tellFailure(actualMsg.capture(), throwable.capture());
+        assertThat(throwable.getValue()).hasMessage("Batch of 2 messages was not confirmed by the broker!");
+        assertThat(actualMsg.getAllValues()).allSatisfy(msg -> assertThat(msg.getMetaData().getValue("error")).isNotNull());
+        then(ctxMock).should(never()).tellSuccess(any());
+    }
+
+    @Test
+    public void givenBatchingEnabledAndPendingBatch_whenDestroy_thenTellFailure() throws Exception {
+        config.setBatching(newBatchConfiguration(10));
+
+        given(ctxMock.isExternalNodeForceAck()).willReturn(false);
+        mockOnInitWithBatching();
+        given(ctxMock.newMsg(any(), any(TbMsgType.class), any(), any(), any())).willReturn(newBatchTimeoutMsg());
+
+        node.init(ctxMock, new TbNodeConfiguration(JacksonUtil.valueToTree(config)));
+        TbMsg msg = newTelemetryMsg("{\"temperature\":1}");
+        node.onMsg(ctxMock, msg);
+        node.destroy();
+
+        then(batchChannelMock).should(never()).basicPublish(any(), any(), any(), any());
+        ArgumentCaptor<Throwable> throwable = ArgumentCaptor.forClass(Throwable.class);
+        then(ctxMock).should().tellFailure(eq(msg), throwable.capture());
+        assertThat(throwable.getValue()).hasMessage("Batch was not sent because the rule node is stopped!");
+        then(connectionMock).should().close();
+    }
+
+    @Test
+    public void givenBatchingDisabled_whenBatchTimeoutMsg_thenDropMsg() throws Exception {
+        given(ctxMock.isExternalNodeForceAck()).willReturn(false);
+        mockOnInit();
+
+        node.init(ctxMock, new TbNodeConfiguration(JacksonUtil.valueToTree(config)));
+        node.onMsg(ctxMock, newBatchTimeoutMsg());
+
+        then(channelMock).should(never()).basicPublish(any(), any(), any(), any());
+        then(ctxMock).should(never()).tellSuccess(any());
+        then(ctxMock).should(never()).tellFailure(any(), any());
+    }
+
     @Test
     public void givenConnection_whenDestroy_thenShouldClose() throws IOException {
         ReflectionTestUtils.setField(node, "connection", connectionMock);
@@ -280,4 +364,35 @@ public class TbRabbitMqNodeTest {
         given(connectionMock.createChannel()).willReturn(channelMock);
     }
 
+    private void mockOnInitWithBatching() throws IOException, TimeoutException {
+        willAnswer(invocation -> factoryMock).given(node).getConnectionFactory();
+        given(factoryMock.newConnection()).willReturn(connectionMock);
+        given(connectionMock.createChannel()).willReturn(channelMock, batchChannelMock);
+    }
+
+    private TbExternalNodeBatchConfiguration newBatchConfiguration(int maxSize) {
+        TbExternalNodeBatchConfiguration batching = new TbExternalNodeBatchConfiguration();
+        batching.setEnabled(true);
+        batching.setMaxSize(maxSize);
+        return batching;
+    }
+
+    private TbMsg newTelemetryMsg(String data) {
+        return TbMsg.newMsg()
+                .type(TbMsgType.POST_TELEMETRY_REQUEST)
+                .originator(DEVICE_ID)
+                .copyMetaData(TbMsgMetaData.EMPTY)
+                .data(data)
+                .build();
+    }
+
+    private TbMsg newBatchTimeoutMsg() {
+        return TbMsg.newMsg()
+                .type(TbMsgType.EXTERNAL_NODE_BATCH_TIMEOUT_SELF_MSG)
+                .originator(DEVICE_ID)
+                .copyMetaData(TbMsgMetaData.EMPTY)
+                .data("")
+                .build();
+    }
+
 }
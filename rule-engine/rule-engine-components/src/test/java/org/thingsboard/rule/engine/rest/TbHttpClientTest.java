@@ -36,6 +36,7 @@ import org.thingsboard.server.common.msg.TbMsgMetaData;
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
@@ -187,6 +188,109 @@ public class TbHttpClientTest {
         Assertions.assertEquals(successResponseBody, capturedData.getValue());
     }
 
+    @Test
+    public void givenMaxParallelRequestsReached_whenProcessMessage_thenQueueWithoutBlocking() throws Exception {
+        var server = startClientAndServer();
+        try {
+            server.when(request().withMethod("GET").withPath("/slow"))
+                    .respond(response().withStatusCode(200).withBody("OK").withDelay(TimeUnit.MILLISECONDS, 1000));
+
+            var httpClient = createSlowEndpointClient(server, 0);
+            var ctx = mock(TbContext.class);
+            when(ctx.transformMsg(any(), any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+            int msgCount = 3;
+            CountDownLatch latch = new CountDownLatch(msgCount);
+            for (int i = 0; i < msgCount; i++) {
+                httpClient.processMessage(ctx, newMsg(), m -> latch.countDown(), (m, t) -> latch.countDown());
+            }
+            // the calling thread was not blocked: the first request is in flight, the rest are queued
+            Assertions.assertEquals(msgCount, latch.getCount());
+            Assertions.assertEquals(msgCount - 1, httpClient.getPendingRequestsCount());
+
+            Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));
+            Assertions.assertEquals(0, httpClient.getPendingRequestsCount());
+            Assertions.assertEquals(msgCount - 1, httpClient.getPeakPendingRequestsCount());
+            Assertions.assertEquals(msgCount, server.retrieveRecordedRequests(request().withPath("/slow")).length);
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void givenPendingRequestsQueueIsFull_whenProcessMessage_thenFailMessage() throws Exception {
+        var server = startClientAndServer();
+        try {
+            server.when(request().withMethod("GET").withPath("/slow"))
+                    .respond(response().withStatusCode(200).withBody("OK").withDelay(TimeUnit.SECONDS, 5));
+
+            var httpClient = createSlowEndpointClient(server, 1);
+            var ctx = mock(TbContext.class);
+            List<TbMsg> failed = new CopyOnWriteArrayList<>();
+
+            TbMsg inFlight = newMsg();
+            TbMsg queued = newMsg();
+            TbMsg rejected = newMsg();
+            httpClient.processMessage(ctx, inFlight, m -> {}, (m, t) -> failed.add(m));
+            httpClient.processMessage(ctx, queued, m -> {}, (m, t) -> failed.add(m));
+            httpClient.processMessage(ctx, rejected, m -> {}, (m, t) -> failed.add(m));
+
+            Assertions.assertEquals(List.of(rejected), failed);
+            Assertions.assertEquals(1, httpClient.getPendingRequestsCount());
+            Assertions.assertEquals(1, httpClient.getRejectedRequestsCount());
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void givenPendingRequests_whenDestroy_thenFailPendingMessages() throws Exception {
+        var server = startClientAndServer();
+        try {
+            server.when(request().withMethod("GET").withPath("/slow"))
+                    .respond(response().withStatusCode(200).withBody("OK").withDelay(TimeUnit.SECONDS, 5));
+
+            var httpClient = createSlowEndpointClient(server, 0);
+            var ctx = mock(TbContext.class);
+            List<TbMsg> failed = new CopyOnWriteArrayList<>();
+
+            TbMsg inFlight = newMsg();
+            TbMsg queued = newMsg();
+            httpClient.processMessage(ctx, inFlight, m -> {}, (m, t) -> failed.add(m));
+            httpClient.processMessage(ctx, queued, m -> {}, (m, t) -> failed.add(m));
+            Assertions.assertEquals(1, httpClient.getPendingRequestsCount());
+
+            httpClient.destroy();
+
+            Assertions.assertEquals(List.of(queued), failed);
+            Assertions.assertEquals(0, httpClient.getPendingRequestsCount());
+        } finally {
+            server.stop();
+        }
+    }
+
+    private TbHttpClient createSlowEndpointClient(ClientAndServer server, int maxPendingRequestsCount) throws Exception {
+        var config = new TbRestApiCallNodeConfiguration().defaultConfiguration();
+        config.setRequestMethod("GET");
+        config.setRestEndpointUrlPattern("http://localhost:" + server.getPort() + "/slow");
+        config.setUseSimpleClientHttpFactory(true);
+        config.setMaxParallelRequestsCount(1);
+        config.setMaxPendingRequestsCount(maxPendingRequestsCount);
+        config.setReadTimeoutMs(10000);
+
+        eventLoop = new NioEventLoopGroup();
+        return new TbHttpClient(config, eventLoop);
+    }
+
+    private TbMsg newMsg() {
+        return TbMsg.newMsg()
+                .type(TbMsgType.POST_TELEMETRY_REQUEST)
+                .originator(new DeviceId(EntityId.NULL_UUID))
+                .copyMetaData(TbMsgMetaData.EMPTY)
+                .data(TbMsg.EMPTY_JSON_OBJECT)
+                .build();
+    }
+
     private ClientAndServer setUpDummyServer(String host, String path, String paramKey, String paramVal, String successResponseBody) {
         var server = startClientAndServer(host, 1080);
         createGetMethodExpectations(server, path, paramKey, paramVal, successResponseBody);
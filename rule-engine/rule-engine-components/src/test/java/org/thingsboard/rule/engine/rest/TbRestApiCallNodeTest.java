@@ -16,6 +16,7 @@
 package org.thingsboard.rule.engine.rest;
 
 import com.datastax.oss.driver.api.core.uuid.Uuids;
+import org.apache.http.HttpEntityEnclosingRequest;
 import org.apache.http.HttpException;
 import org.apache.http.HttpRequest;
 import org.apache.http.HttpResponse;
@@ -24,6 +25,7 @@ import org.apache.http.impl.bootstrap.HttpServer;
 import org.apache.http.impl.bootstrap.ServerBootstrap;
 import org.apache.http.protocol.HttpContext;
 import org.apache.http.protocol.HttpRequestHandler;
+import org.apache.http.util.EntityUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -38,6 +40,7 @@ import org.thingsboard.rule.engine.api.TbContext;
 import org.thingsboard.rule.engine.api.TbNode;
 import org.thingsboard.rule.engine.api.TbNodeConfiguration;
 import org.thingsboard.rule.engine.api.TbNodeException;
+import org.thingsboard.rule.engine.external.TbExternalNodeBatchConfiguration;
 import org.thingsboard.server.common.data.id.DeviceId;
 import org.thingsboard.server.common.data.id.EntityId;
 import org.thingsboard.server.common.data.id.RuleChainId;
@@ -51,12 +54,18 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 public class TbRestApiCallNodeTest extends AbstractRuleNodeUpgradeTest {
@@ -233,6 +242,52 @@ public class TbRestApiCallNodeTest extends AbstractRuleNodeUpgradeTest {
         assertEquals(TbMsg.EMPTY_JSON_OBJECT, dataCaptor.getValue());
     }
 
+    @Test
+    public void givenBatchingEnabled_whenOnMsg_thenSendMessagesInSingleRequest() throws IOException, InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicReference<String> requestBody = new AtomicReference<>();
+        final AtomicInteger requestCount = new AtomicInteger();
+        setupServer("*", (request, response, context) -> {
+            requestCount.incrementAndGet();
+            requestBody.set(EntityUtils.toString(((HttpEntityEnclosingRequest) request).getEntity()));
+            response.setStatusCode(200);
+            latch.countDown();
+        });
+
+        TbRestApiCallNodeConfiguration config = new TbRestApiCallNodeConfiguration().defaultConfiguration();
+        config.setRestEndpointUrlPattern(String.format("http://localhost:%d/batch", server.getLocalPort()));
+        TbExternalNodeBatchConfiguration batching = new TbExternalNodeBatchConfiguration();
+        batching.setEnabled(true);
+        batching.setMaxSize(2);
+        batching.setLingerMs(TimeUnit.MINUTES.toMillis(1));
+        config.setBatching(batching);
+
+        TbMsg timeoutMsg = TbMsg.newMsg()
+                .type(TbMsgType.EXTERNAL_NODE_BATCH_TIMEOUT_SELF_MSG)
+                .originator(originator)
+                .copyMetaData(TbMsgMetaData.EMPTY)
+                .data("")
+                .build();
+        when(ctx.newMsg(any(), any(TbMsgType.class), any(), any(), any())).thenReturn(timeoutMsg);
+        initWithConfig(config);
+
+        for (int i = 0; i < 2; i++) {
+            restNode.onMsg(ctx, TbMsg.newMsg()
+                    .type(TbMsgType.POST_TELEMETRY_REQUEST)
+                    .originator(originator)
+                    .copyMetaData(metaData)
+                    .dataType(TbMsgDataType.JSON)
+                    .data("{\"temperature\":" + i + "}")
+                    .build());
+        }
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS), "Server handled request");
+        verify(ctx).tellSelf(eq(timeoutMsg), eq(TimeUnit.MINUTES.toMillis(1)));
+        verify(ctx, timeout(5000).times(2)).tellSuccess(any());
+        assertEquals(1, requestCount.get());
+        assertEquals(JacksonUtil.toJsonNode("[{\"temperature\":0},{\"temperature\":1}]"), JacksonUtil.toJsonNode(requestBody.get()));
+    }
+
     private static Stream<Arguments> givenFromVersionAndConfig_whenUpgrade_thenVerifyHasChangesAndConfig() {
         return Stream.of(
                 // config for version 2 with upgrade from version 0